@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares the results of a benchmark run with the baseline results, both
+ * written by JMH in CSV format ({@code -rf csv}). The committed baseline is
+ * {@code benchmarks/baseline/results.csv}, see the README of the benchmarks
+ * for the machine it was measured on. Results of different machines are not
+ * comparable.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.csv> <results.csv> [threshold]},
+ * where the threshold is the relative slowdown tolerated before a benchmark
+ * counts as a regression (default 0.1, i.e., 10%). The exit code is 1 if
+ * there is any regression.
+ */
+public class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD = 0.1;
+
+    /**
+     * Score of one benchmark, for one combination of parameters
+     */
+    static class Result {
+
+        final String mode;
+
+        final double score;
+
+        final String unit;
+
+        Result(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        /**
+         * @return true if higher scores are better, i.e., for throughput
+         */
+        boolean isThroughput() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.csv> <results.csv> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        Map<String, Result> baseline = readResults(Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8));
+        Map<String, Result> current = readResults(Files.readAllLines(Paths.get(args[1]), StandardCharsets.UTF_8));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null || !before.unit.equals(now.unit) || !before.mode.equals(now.mode)) {
+                System.out.println(String.format(Locale.ROOT, "%-100s %12.3f %s (no baseline)",
+                        entry.getKey(), now.score, now.unit));
+                continue;
+            }
+
+            double slowdown = getSlowdown(before, now);
+            boolean isRegression = slowdown > threshold;
+            if (isRegression) {
+                regressions++;
+            }
+            System.out.println(String.format(Locale.ROOT, "%-100s %12.3f -> %12.3f %s %+7.1f%%%s",
+                    entry.getKey(), before.score, now.score, now.unit, 100.0 * slowdown,
+                    isRegression ? " REGRESSION" : ""));
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) slower than the baseline by more than "
+                    + (100.0 * threshold) + "%");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return the relative slowdown from the baseline to the current result,
+     * negative if the current result is faster
+     */
+    static double getSlowdown(Result baseline, Result current) {
+        if (baseline.isThroughput()) {
+            return baseline.score / current.score - 1.0;
+        } else {
+            return current.score / baseline.score - 1.0;
+        }
+    }
+
+    /**
+     * Parses the CSV output of JMH. Benchmarks are identified by their name
+     * and the values of their parameters
+     *
+     * @param lines
+     * @return the results by benchmark
+     */
+    static Map<String, Result> readResults(List<String> lines) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+
+        List<String> header = parseLine(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            List<String> values = parseLine(line);
+            StringBuilder key = new StringBuilder(values.get(benchmark));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && !values.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring("Param: ".length()))
+                            .append('=').append(values.get(i));
+                }
+            }
+            results.put(key.toString(), new Result(values.get(mode), parseDouble(values.get(score)),
+                    values.get(unit)));
+        }
+        return results;
+    }
+
+    private static double parseDouble(String value) {
+        return value.isEmpty() || value.equals("NaN") ? Double.NaN : Double.parseDouble(value);
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import com.examples.with.different.packagename.ncs.Triangle;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testsuite.TestSuiteChromosome;
+
+import java.lang.reflect.Method;
+
+/**
+ * Sample inputs shared by the benchmarks. The class under test is
+ * {@link Triangle} from the test fixtures of the client, loaded through the
+ * instrumenting class loader of EvoSuite.
+ */
+public class BenchmarkFixtures {
+
+    public static final String TARGET_CLASS = Triangle.class.getName();
+
+    /**
+     * Inputs of the triangle tests, covering all branches of {@code Triangle.exe}
+     */
+    private static final int[][] TRIANGLES = {
+            {0, 1, 1}, {1, 0, 1}, {1, 1, 0}, {3, 4, 5},
+            {2, 2, 3}, {2, 3, 2}, {3, 2, 2}, {1, 1, 5},
+            {1, 5, 1}, {5, 1, 1}, {7, 7, 7}
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Makes {@link #TARGET_CLASS} the class under test, so that it gets fully
+     * instrumented when loaded by {@link #loadTargetClass()}
+     */
+    public static void setUpTargetClass() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.TARGET_CLASS = TARGET_CLASS;
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.BRANCH};
+    }
+
+    public static Class<?> loadTargetClass() throws ClassNotFoundException {
+        return TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(TARGET_CLASS);
+    }
+
+    /**
+     * Creates a test with the given number of calls to {@code Triangle.exe},
+     * each one with three int parameters, i.e., four statements per call
+     *
+     * @param calls
+     * @return
+     */
+    public static DefaultTestCase createTriangleTest(int calls) throws ReflectiveOperationException {
+        Method exe = loadTargetClass().getMethod("exe", int.class, int.class, int.class);
+        TestCaseBuilder builder = new TestCaseBuilder();
+        for (int i = 0; i < calls; i++) {
+            int[] sides = TRIANGLES[i % TRIANGLES.length];
+            VariableReference a = builder.appendIntPrimitive(sides[0]);
+            VariableReference b = builder.appendIntPrimitive(sides[1]);
+            VariableReference c = builder.appendIntPrimitive(sides[2]);
+            builder.appendMethod(null, exe, a, b, c);
+        }
+        return builder.getDefaultTestCase();
+    }
+
+    /**
+     * Creates a suite with one single-call test for each of the sample inputs
+     *
+     * @return
+     */
+    public static TestSuiteChromosome createTriangleSuite() throws ReflectiveOperationException {
+        Method exe = loadTargetClass().getMethod("exe", int.class, int.class, int.class);
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        for (int[] sides : TRIANGLES) {
+            TestCaseBuilder builder = new TestCaseBuilder();
+            VariableReference a = builder.appendIntPrimitive(sides[0]);
+            VariableReference b = builder.appendIntPrimitive(sides[1]);
+            VariableReference c = builder.appendIntPrimitive(sides[2]);
+            builder.appendMethod(null, exe, a, b, c);
+
+            TestChromosome test = new TestChromosome();
+            test.setTestCase(builder.getDefaultTestCase());
+            suite.addTest(test);
+        }
+        return suite;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.symbolic.ConstraintSetIndex;
+import org.evosuite.symbolic.PathConditionUtils;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.evosuite.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the subset and superset lookups of the DSE query cache, with the
+ * set-trie index and with a linear scan of the cached queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstraintSetIndexBenchmark {
+
+    private static final int NUMBER_OF_QUERIES = 100;
+
+    @Param({"1000", "10000", "100000"})
+    public int cacheSize;
+
+    private final ConstraintSetIndex index = new ConstraintSetIndex();
+
+    private final Set<Set<Constraint<?>>> cachedQueries = new LinkedHashSet<>();
+
+    private final List<Set<Constraint<?>>> queries = new ArrayList<>();
+
+    private final List<Constraint<?>> constraints = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Randomness.setSeed(42);
+        IntegerVariable variable = new IntegerVariable("x", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        for (int i = 0; i < 2000; i++) {
+            constraints.add(new IntegerConstraint(variable, Comparator.NE, new IntegerConstant(i)));
+        }
+        while (cachedQueries.size() < cacheSize) {
+            Set<Constraint<?>> query = createQuery();
+            index.add(query);
+            cachedQueries.add(query);
+        }
+        for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+            queries.add(createQuery());
+        }
+    }
+
+    /**
+     * Path conditions share their first branches, so the constraints are
+     * drawn from a pool of increasing size.
+     */
+    private Set<Constraint<?>> createQuery() {
+        Set<Constraint<?>> query = new HashSet<>();
+        int length = 5 + Randomness.nextInt(25);
+        for (int i = 0; i < length; i++) {
+            int pool = Math.min(constraints.size(), 4 * (i + 1) * (i + 1));
+            query.add(constraints.get(Randomness.nextInt(pool)));
+        }
+        return query;
+    }
+
+    @Benchmark
+    public int supersetLookupIndex() {
+        int found = 0;
+        for (Set<Constraint<?>> query : queries) {
+            if (index.getSupersetOf(query) != null)
+                found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int supersetLookupLinear() {
+        int found = 0;
+        for (Set<Constraint<?>> query : queries) {
+            if (PathConditionUtils.isConstraintSetSubSetOf(query, cachedQueries))
+                found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int subsetLookupIndex() {
+        int found = 0;
+        for (Set<Constraint<?>> query : queries) {
+            if (index.getSubsetOf(query) != null)
+                found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int subsetLookupLinear() {
+        int found = 0;
+        for (Set<Constraint<?>> query : queries) {
+            if (PathConditionUtils.isConstraintSetSupraSetOf(query, cachedQueries))
+                found++;
+        }
+        return found;
+    }
+}
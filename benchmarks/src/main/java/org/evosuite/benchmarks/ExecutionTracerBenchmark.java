@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the callbacks the instrumented code makes at every branch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionTracerBenchmark {
+
+    private static final int NUMBER_OF_BRANCHES = 256;
+
+    private int counter = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExecutionTracer.enable();
+        ExecutionTracer.setCheckCallerThread(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTrace() {
+        ExecutionTracer.getExecutionTracer().clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ExecutionTracer.setCheckCallerThread(true);
+        ExecutionTracer.disable();
+    }
+
+    @Benchmark
+    public void passedBranchUnary() {
+        int i = counter++;
+        ExecutionTracer.passedBranch(i & 7, Opcodes.IFEQ, i & (NUMBER_OF_BRANCHES - 1), 0);
+    }
+
+    @Benchmark
+    public void passedBranchBinary() {
+        int i = counter++;
+        ExecutionTracer.passedBranch(i & 7, 3, Opcodes.IF_ICMPLT, i & (NUMBER_OF_BRANCHES - 1), 0);
+    }
+
+    @Benchmark
+    public void passedBranchReference() {
+        int i = counter++;
+        ExecutionTracer.passedBranch((i & 1) == 0 ? null : this, Opcodes.IFNULL,
+                i & (NUMBER_OF_BRANCHES - 1), 0);
+    }
+}
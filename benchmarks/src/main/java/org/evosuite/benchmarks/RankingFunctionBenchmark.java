@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.RankingType;
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.operators.ranking.EfficientPreferenceSorting;
+import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
+import org.evosuite.ga.operators.ranking.RankBasedPreferenceSorting;
+import org.evosuite.ga.operators.ranking.RankingFunction;
+import org.evosuite.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the ranking of the MOSA population (parents and offspring) w.r.t.
+ * the uncovered goals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingFunctionBenchmark {
+
+    private static class Goal extends FitnessFunction<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(DummyChromosome individual) {
+            throw new IllegalStateException("Fitness values are set by the benchmark");
+        }
+
+        @Override
+        public boolean isMaximizationFunction() {
+            return false;
+        }
+    }
+
+    @Param({"PREFERENCE_SORTING", "FAST_NON_DOMINATED_SORTING", "EFFICIENT_PREFERENCE_SORTING"})
+    public RankingType rankingType;
+
+    @Param({"10", "100", "1000"})
+    public int numberOfGoals;
+
+    private final Set<Goal> goals = new LinkedHashSet<>();
+
+    private final List<DummyChromosome> population = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Randomness.setSeed(42);
+        Properties.POPULATION = 50;
+        for (int i = 0; i < numberOfGoals; i++) {
+            goals.add(new Goal());
+        }
+        // parents and offspring. Fitness values are correlated, as for tests
+        // of the same class, so that there are several fronts
+        for (int i = 0; i < 2 * Properties.POPULATION; i++) {
+            DummyChromosome chromosome = new DummyChromosome(i);
+            double quality = Randomness.nextDouble();
+            for (Goal goal : goals) {
+                chromosome.setFitness(goal, quality + 0.3 * Randomness.nextDouble());
+            }
+            population.add(chromosome);
+        }
+    }
+
+    private RankingFunction<DummyChromosome> createRankingFunction() {
+        switch (rankingType) {
+            case FAST_NON_DOMINATED_SORTING:
+                return new FastNonDominatedSorting<>();
+            case EFFICIENT_PREFERENCE_SORTING:
+                return new EfficientPreferenceSorting<>();
+            case PREFERENCE_SORTING:
+            default:
+                return new RankBasedPreferenceSorting<>();
+        }
+    }
+
+    @Benchmark
+    public RankingFunction<DummyChromosome> rank() {
+        RankingFunction<DummyChromosome> ranking = createRankingFunction();
+        ranking.computeRankingAssignment(population, goals);
+        return ranking;
+    }
+}
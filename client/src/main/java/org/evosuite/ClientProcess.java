@@ -132,6 +132,8 @@ public class ClientProcess {
 
     private static void setupRuntimeProperties() {
         RuntimeSettings.useVFS = Properties.VIRTUAL_FS;
+        RuntimeSettings.useDirectVirtualFileBuffers = Properties.VIRTUAL_FS_DIRECT_BUFFERS;
+        RuntimeSettings.maxVirtualFileSize = Properties.VIRTUAL_FS_MAX_FILE_SIZE;
         RuntimeSettings.mockJVMNonDeterminism = Properties.REPLACE_CALLS;
         RuntimeSettings.mockSystemIn = Properties.REPLACE_SYSTEM_IN;
         RuntimeSettings.mockGUI = Properties.REPLACE_GUI;
@@ -307,6 +307,27 @@ public class Properties {
     @Parameter(key = "migrants_communication_rate", group = "Test Creation", description = "Determines amount of migrants per communication step")
     public static int MIGRANTS_COMMUNICATION_RATE = 3;
 
+    public enum MigrationTopology {
+        /**
+         * Send migrants to the next client still searching
+         */
+        RING,
+        /**
+         * Client 0 exchanges migrants with all other clients
+         */
+        STAR,
+        /**
+         * Send migrants to all other clients
+         */
+        FULLY_CONNECTED
+    }
+
+    @Parameter(key = "migration_topology", group = "Test Creation", description = "Which clients receive the migrants of a client")
+    public static MigrationTopology MIGRATION_TOPOLOGY = MigrationTopology.RING;
+
+    @Parameter(key = "migrants_share_archive", group = "Test Creation", description = "Also send the archive solutions of newly covered goals to other clients when migrating")
+    public static boolean MIGRANTS_SHARE_ARCHIVE = true;
+
     // ---------------------------------------------------------------
     // Search algorithm
     public enum Algorithm {
@@ -326,7 +347,9 @@ public class Properties {
     public enum RankingType {
         // Preference sorting is the ranking strategy proposed in
         PREFERENCE_SORTING,
-        FAST_NON_DOMINATED_SORTING
+        FAST_NON_DOMINATED_SORTING,
+        // Same ranking as preference sorting, computed with an efficient non-dominated sort
+        EFFICIENT_PREFERENCE_SORTING
     }
 
     @Parameter(key = "ranking_type", group = "Runtime", description = "type of ranking to use in MOSA")
@@ -502,6 +525,21 @@ public class Properties {
     @Parameter(key = "cvc4_path", group = "DSE", description = "Indicates the path to the CVC4 solver")
     public static String CVC4_PATH = null;
 
+    @Parameter(key = "dse_solver_incremental", group = "DSE", description = "Keep the processes of external solvers alive between queries, and send each query in its own assertion scope")
+    public static boolean DSE_SOLVER_INCREMENTAL = false;
+
+    @Parameter(key = "dse_solver_threads", group = "DSE", description = "Number of threads solving the queries of the children of a path condition in advance, while the tests of the previous children are built and executed. When greater than 1, the next test of the work list is also executed concolically on its own thread while waiting for the solver. Only used with external solvers")
+    public static int DSE_SOLVER_THREADS = 1;
+
+    @Parameter(key = "dse_solver_session_max_queries", group = "DSE", description = "Number of queries after which the process of an external solver is restarted, when using dse_solver_incremental")
+    public static int DSE_SOLVER_SESSION_MAX_QUERIES = 1000;
+
+    @Parameter(key = "dse_persistent_solver_cache", group = "DSE", description = "Store the results of the constraint solver in the CTG directory, and reuse them in later runs")
+    public static boolean DSE_PERSISTENT_SOLVER_CACHE = false;
+
+    @Parameter(key = "dse_persistent_solver_cache_size", group = "DSE", description = "Maximum number of results in the persistent solver cache. The least recently used ones are evicted")
+    public static int DSE_PERSISTENT_SOLVER_CACHE_SIZE = 100000;
+
     public enum DSEStoppingConditionCriterion {
         TARGETCOVERAGE,
         MAXTIME,
@@ -1163,6 +1201,9 @@ public class Properties {
     @Parameter(key = "max_mutants_per_test", group = "Output", description = "How many mutants to use when trying to find assertions for a test")
     public static int MAX_MUTANTS_PER_TEST = 100;
 
+    @Parameter(key = "mutation_infection_filter", group = "Output", description = "Only execute tests on the mutants they infect when generating assertions, as mutants that are reached but not infected cannot be killed")
+    public static boolean MUTATION_INFECTION_FILTER = true;
+
     @Parameter(key = "max_mutants_per_method", group = "Output", description = "How many mutants can be inserted into a single method")
     public static int MAX_MUTANTS_PER_METHOD = 700;
 
@@ -1264,6 +1305,12 @@ public class Properties {
     @Parameter(key = "virtual_fs", group = "Sandbox", description = "Usa a virtual file system for all File I/O operations")
     public static boolean VIRTUAL_FS = true;
 
+    @Parameter(key = "virtual_fs_direct_buffers", group = "Sandbox", description = "Store the content of virtual files in direct (off-heap) buffers")
+    public static boolean VIRTUAL_FS_DIRECT_BUFFERS = false;
+
+    @Parameter(key = "virtual_fs_max_file_size", group = "Sandbox", description = "Maximum size in bytes of a file in the virtual file system. Writes beyond it fail, and such tests might not be reproducible outside of EvoSuite")
+    public static int VIRTUAL_FS_MAX_FILE_SIZE = Integer.MAX_VALUE;
+
 
     @Parameter(key = "virtual_net", group = "Sandbox", description = "Usa a virtual network for all TCP/UDP communications")
     public static boolean VIRTUAL_NET = true;
@@ -1325,6 +1372,12 @@ public class Properties {
     @Parameter(key = "instrumentation_skip_debug", description = "Skip debug information in bytecode instrumentation (needed for compatibility with classes transformed by Emma code instrumentation due to an ASM bug)")
     public static boolean INSTRUMENTATION_SKIP_DEBUG = false;
 
+    @Parameter(key = "instrumentation_cache", description = "Store the instrumented bytecode of the classes that are not analyzed for coverage in the CTG directory, keyed by the hash of their bytecode and the instrumentation settings, and reuse it in later runs")
+    public static boolean INSTRUMENTATION_CACHE = false;
+
+    @Parameter(key = "instrumentation_cache_max_size", description = "Maximum size in MB of the instrumentation cache. The least recently used entries are deleted when the cache is opened")
+    public static int INSTRUMENTATION_CACHE_MAX_SIZE = 100;
+
     @Parameter(key = "instrument_parent", description = "Also count coverage goals in superclasses")
     public static boolean INSTRUMENT_PARENT = false;
 
@@ -1489,6 +1542,15 @@ public class Properties {
     @Parameter(key = "max_loop_iterations", group = "Test Execution", description = "Max number of iterations allowed per loop. A negative value means no check is done.")
     public static long MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
 
+    @Parameter(key = "primitive_branch_trace", group = "Test Execution", description = "Store branch coverage and distances of an execution in primitive arrays indexed by branch id rather than in synchronized maps. Only safe when the SUT does not update the trace from several threads at once")
+    public static boolean PRIMITIVE_BRANCH_TRACE = false;
+
+    @Parameter(key = "test_execution_workers", group = "Test Execution", description = "Number of workers executing the tests of a population, and a test on its mutants during assertion generation, concurrently, each with its own copies of the classes under test. Workers are only used if virtual_fs, virtual_net, replace_calls and reset_static_fields are all off, as the runtime is not reset before each test of a worker. Results are deterministic only with 1 worker")
+    public static int TEST_EXECUTION_WORKERS = 1;
+
+    @Parameter(key = "execution_result_cache_size", group = "Test Execution", description = "Maximum number of execution results kept to be reused by tests with the same code, instead of executing them again. Tests accessing files or the network are always executed. 0 disables the cache")
+    public static int EXECUTION_RESULT_CACHE_SIZE = 0;
+
     // ---------------------------------------------------------------
     // Debugging
 
@@ -1565,6 +1627,12 @@ public class Properties {
     @Parameter(key = "CP_file_path", group = "Runtime", description = "Location of file where classpath is specified (in its first line). This is needed for operating systems like Windows where cannot have too long input parameters")
     public static String CP_FILE_PATH = null;
 
+    @Parameter(key = "classpath_index", group = "Runtime", description = "Store the classes of each jar on the classpath in the CTG directory, keyed by path, size and modification time of the jar, instead of scanning unchanged jars again in later runs")
+    public static boolean CLASSPATH_INDEX = false;
+
+    @Parameter(key = "max_open_jars", group = "Runtime", description = "Maximum number of jars on the classpath kept open at the same time. The least recently used ones are closed. 0 means no limit")
+    public static int MAX_OPEN_JARS = 0;
+
 
     @Parameter(key = "PROJECT_PREFIX", group = "Runtime", description = "Package name of target package")
     public static String PROJECT_PREFIX = "";
@@ -1628,6 +1696,20 @@ public class Properties {
     @Parameter(key = "process_communication_port", group = "Runtime", description = "Port at which the communication with the external process is done")
     public static int PROCESS_COMMUNICATION_PORT = -1;
 
+    public enum ProcessCommunication {
+        /**
+         * Java RMI, with a registry on the loopback address
+         */
+        RMI,
+        /**
+         * Binary protocol on a loopback socket, without registry lookups
+         */
+        SOCKET
+    }
+
+    @Parameter(key = "process_communication", group = "Runtime", description = "Transport used for the communication between the master and the client processes")
+    public static ProcessCommunication PROCESS_COMMUNICATION = ProcessCommunication.RMI;
+
     @Parameter(key = "spawn_process_manager_port", group = "Runtime", description = "Port at which the spawn process manager (if any) is listening")
     public static Integer SPAWN_PROCESS_MANAGER_PORT = null;
 
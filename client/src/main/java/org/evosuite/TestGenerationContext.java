@@ -50,9 +50,12 @@ import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.setup.TestClusterGenerator;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.SolverCache;
 import org.evosuite.testcarver.extraction.CarvingManager;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.TestExecutionWorkerPool;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.utils.ArrayUtil;
 import org.slf4j.Logger;
@@ -149,6 +152,9 @@ public class TestGenerationContext {
         classLoader = new InstrumentingClassLoader();
 
         TestCaseExecutor.pullDown();
+        TestExecutionWorkerPool.pullDown();
+        // the results were traced with the previous instrumentation
+        ExecutionResultCache.getInstance().clear();
 
         ExecutionTracer.getExecutionTracer().clear();
 
@@ -224,6 +230,7 @@ public class TestGenerationContext {
         MethodCallReplacementCache.resetSingleton();
 
         DSEStatistics.clear();
+        SolverCache.getInstance().clear();
 
         // keep the list of initialized classes (clear them when needed in
         // the system test cases)
@@ -49,6 +49,8 @@ import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.StatisticsSender;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.PersistentSolverCache;
+import org.evosuite.symbolic.solver.SmtSolverSessionPool;
 import org.evosuite.testcase.*;
 import org.evosuite.testcase.execution.*;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
@@ -469,6 +471,8 @@ public class TestSuiteGenerator {
 
         if (Properties.isDSEEnabledInLocalSearch() || Properties.isDSEStrategySelected()) {
             DSEStatistics.getInstance().logStatistics();
+            PersistentSolverCache.flushInstance();
+            SmtSolverSessionPool.closeAll();
         }
 
         if (Properties.FILTER_SANDBOX_TESTS) {
@@ -481,7 +485,7 @@ public class TestSuiteGenerator {
                 if (result.hasSecurityException()) {
                     int position = result.getFirstPositionOfThrownException();
                     if (position > 0) {
-                        test.getTestCase().chop(position);
+                        test.getMutableTestCase().chop(position);
                         result = TestCaseExecutor.runTest(test.getTestCase());
                         test.setLastExecutionResult(result);
                     }
@@ -552,7 +556,7 @@ public class TestSuiteGenerator {
             return;
         }
 
-        List<TestCase> testCases = chromosome.getTests(); // make copy of
+        List<TestCase> testCases = chromosome.getMutableTests(); // make copy of
         // current tests
 
         // first, let's just get rid of all the tests that do not compile
@@ -19,6 +19,7 @@
  */
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 
 import java.util.HashSet;
@@ -110,4 +111,12 @@ public class ArrayLengthTraceEntry implements OutputTraceEntry {
         return new ArrayLengthTraceEntry(var, length);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        return new ArrayLengthTraceEntry(var.copy(newTestCase, 0), length);
+    }
+
 }
@@ -20,6 +20,7 @@
 
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 
 import java.util.Arrays;
@@ -108,4 +109,13 @@ public class ArrayTraceEntry implements OutputTraceEntry {
         return new ArrayTraceEntry(var, Arrays.copyOf(value, value.length));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        return new ArrayTraceEntry(var.copy(newTestCase, 0),
+                (Object[]) OutputTrace.changeClassLoader(value, loader));
+    }
+
 }
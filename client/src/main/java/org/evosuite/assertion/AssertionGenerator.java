@@ -113,7 +113,7 @@ public abstract class AssertionGenerator {
             if (!TimeController.getInstance().hasTimeToExecuteATestCase())
                 break;
 
-            addAssertions(test.getTestCase());
+            addAssertions(test.getMutableTestCase());
         }
     }
 
@@ -182,13 +182,13 @@ public abstract class AssertionGenerator {
     public void filterFailingAssertions(TestSuiteChromosome testSuite) {
         List<TestChromosome> tests = testSuite.getTestChromosomes();
         for (TestChromosome test : tests) {
-            filterFailingAssertions(test.getTestCase());
+            filterFailingAssertions(test.getMutableTestCase());
         }
 
         // Execute again in different order
         Randomness.shuffle(tests);
         for (TestChromosome test : tests) {
-            filterFailingAssertions(test.getTestCase());
+            filterFailingAssertions(test.getMutableTestCase());
         }
     }
 
@@ -223,7 +223,7 @@ public abstract class AssertionGenerator {
             ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Mutants, MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutantCounter());
 
             for (TestChromosome test : suite.getTestChromosomes()) {
-                DefaultTestCase dtest = (DefaultTestCase) test.getTestCase();
+                DefaultTestCase dtest = (DefaultTestCase) test.getMutableTestCase();
                 dtest.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
                 test.setChanged(true); // clears cached results
                 test.clearCachedMutationResults();
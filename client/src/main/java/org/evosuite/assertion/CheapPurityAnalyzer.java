@@ -87,7 +87,7 @@ public class CheapPurityAnalyzer {
      * @param descriptor The method descriptor
      * @return true if the method is cheap-pure, false otherwise
      */
-    public boolean isPure(String className, String methodName, String descriptor) {
+    public synchronized boolean isPure(String className, String methodName, String descriptor) {
         MethodEntry entry = new MethodEntry(className, methodName, descriptor);
         return isPure(entry);
     }
@@ -350,7 +350,7 @@ public class CheapPurityAnalyzer {
      * @param method
      * @return true if the method is cheap-pure, otherwise false.
      */
-    public boolean isPure(java.lang.reflect.Method method) {
+    public synchronized boolean isPure(java.lang.reflect.Method method) {
         // Using getName rather than getCanonicalName because that's what
         // the inheritancetree also uses
         String className = method.getDeclaringClass().getName();
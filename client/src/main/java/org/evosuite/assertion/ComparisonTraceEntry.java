@@ -20,6 +20,7 @@
 package org.evosuite.assertion;
 
 import org.evosuite.Properties;
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 
 import java.util.HashMap;
@@ -205,4 +206,16 @@ public class ComparisonTraceEntry implements OutputTraceEntry {
         return copy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        ComparisonTraceEntry copy = new ComparisonTraceEntry(var.copy(newTestCase, 0));
+        for (Map.Entry<VariableReference, Boolean> entry : equalityMap.entrySet()) {
+            copy.addEntry(entry.getKey().copy(newTestCase, 0), entry.getValue());
+        }
+        return copy;
+    }
+
 }
@@ -19,6 +19,7 @@
  */
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 
 import java.util.HashMap;
@@ -145,4 +146,16 @@ public class ContainsTraceEntry implements OutputTraceEntry {
         return copy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        ContainsTraceEntry copy = new ContainsTraceEntry(containerVar.copy(newTestCase, 0));
+        for (Map.Entry<VariableReference, Boolean> entry : containsMap.entrySet()) {
+            copy.addEntry(entry.getKey().copy(newTestCase, 0), entry.getValue());
+        }
+        return copy;
+    }
+
 }
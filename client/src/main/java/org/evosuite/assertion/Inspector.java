@@ -202,6 +202,25 @@ public class Inspector implements Serializable {
         }
     }
 
+    /**
+     * Create an inspector for the same method of the class with the same name
+     * in the given class loader. Unlike {@link #changeClassLoader(ClassLoader)},
+     * this inspector is left unchanged
+     *
+     * @param loader the class loader
+     * @return a new inspector
+     */
+    public Inspector copy(ClassLoader loader) {
+        Inspector copy = new Inspector(clazz, method);
+        try {
+            copy.clazz = loader.loadClass(clazz.getName());
+        } catch (ClassNotFoundException e) {
+            LoggingUtils.getEvoLogger().info("Class not found - keeping old class loader ", e);
+        }
+        copy.changeClassLoader(loader);
+        return copy;
+    }
+
     public void changeClassLoader(ClassLoader loader) {
 
         try {
@@ -244,11 +244,12 @@ public class InspectorManager {
      * @param clazz a {@link java.lang.Class} object.
      * @return a {@link java.util.List} object.
      */
-    public List<Inspector> getInspectors(Class<?> clazz) {
+    public synchronized List<Inspector> getInspectors(Class<?> clazz) {
         if (!inspectors.containsKey(clazz)) {
             determineInspectors(clazz);
         }
-        return inspectors.get(clazz);
+        // inspectors may be removed while the caller iterates, possibly on another thread
+        return new ArrayList<>(inspectors.get(clazz));
     }
 
     /**
@@ -259,7 +260,7 @@ public class InspectorManager {
      * @param clazz     a {@link java.lang.Class} object.
      * @param inspector a {@link org.evosuite.assertion.Inspector} object.
      */
-    public void removeInspector(Class<?> clazz, Inspector inspector) {
+    public synchronized void removeInspector(Class<?> clazz, Inspector inspector) {
         if (inspectors.containsKey(clazz)) {
             inspectors.get(clazz).remove(inspector);
         }
@@ -19,6 +19,7 @@
  */
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -198,4 +199,17 @@ public class InspectorTraceEntry implements OutputTraceEntry {
         return copy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        InspectorTraceEntry copy = new InspectorTraceEntry(var.copy(newTestCase, 0));
+        for (Map.Entry<Inspector, Object> entry : inspectorMap.entrySet()) {
+            copy.addValue(entry.getKey().copy(loader),
+                    OutputTrace.changeClassLoader(entry.getValue(), loader));
+        }
+        return copy;
+    }
+
 }
@@ -44,7 +44,7 @@ public class JuampiAssertionGenerator extends SimpleMutationAssertionGenerator{
 
         Set<Integer> tkilled = new HashSet<>();
         // Generation
-        for(TestCase test: suite.getTests()){
+        for(TestCase test: suite.getMutableTests()){
             logger.debug("Running on original");
             ExecutionResult origResult = runTest(test);
             logger.debug("Adding Mutation Killed Assertions");
@@ -98,15 +98,7 @@ public class JuampiAssertionGenerator extends SimpleMutationAssertionGenerator{
         }
 
         Map<Mutation, List<OutputTrace<?>>> mutationTraces = new HashMap<>();
-        List<Mutation> executedMutants = new ArrayList<>();
-
-        for (Integer mutationId : origResult.getTrace().getTouchedMutants()) {
-            if (!mutants.containsKey(mutationId)) {
-                //logger.warn("Mutation ID unknown: " + mutationId);
-                //logger.warn(mutants.keySet().toString());
-            } else
-                executedMutants.add(mutants.get(mutationId));
-        }
+        List<Mutation> executedMutants = getMutantsToExecute(origResult, mutants);
 
         Randomness.shuffle(executedMutants);
         logger.debug("Executed mutants: " + origResult.getTrace().getTouchedMutants());
@@ -245,7 +237,7 @@ public class JuampiAssertionGenerator extends SimpleMutationAssertionGenerator{
         // Final result: selected assertions per test
         Map<TestCase, LinkedHashSet<Assertion>> finalAssertionsByTest = new LinkedHashMap<>();
 
-        Set<TestCase> testBag = new LinkedHashSet<>(suite.getTests());
+        Set<TestCase> testBag = new LinkedHashSet<>(suite.getMutableTests());
         Set<Mutation> mutantsBag = new LinkedHashSet<>();
         Map<Assertion, TestCase> assertionBag = new LinkedHashMap<>();
         Map<TestCase, LinkedHashSet<Mutation>> mutantsKilled = new LinkedHashMap<>();
@@ -22,15 +22,18 @@ package org.evosuite.assertion;
 import org.evosuite.Properties;
 import org.evosuite.Properties.Criterion;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.TimeController;
 import org.evosuite.coverage.mutation.Mutation;
 import org.evosuite.coverage.mutation.MutationObserver;
 import org.evosuite.coverage.mutation.MutationPool;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.rmi.ClientServices;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.TestExecutionWorkerPool;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.FieldStatement;
@@ -158,6 +161,138 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
         return result;
     }
 
+    /**
+     * Execute a test case on each of the given mutants, until the time of the
+     * phase runs out. With more than one
+     * {@link Properties#TEST_EXECUTION_WORKERS}, the mutants are executed
+     * concurrently by the {@link TestExecutionWorkerPool}, each worker with
+     * its own copies of the classes under test and its own trace observers.
+     * The traces are translated back to the test case, and the results are
+     * returned in the order of the mutants, so that the assertions derived
+     * from them do not depend on the number of workers.
+     *
+     * @param test    The test case that should be executed
+     * @param mutants The mutants on which the test case shall be executed
+     * @return one result per mutant that was executed, in the order of the mutants
+     */
+    protected List<ExecutionResult> runTestOnMutants(TestCase test, List<Mutation> mutants) {
+        if (TestExecutionWorkerPool.isEnabled() && mutants.size() > 1 && test instanceof DefaultTestCase
+                && TestExecutionWorkerPool.getInstance().canIsolate(test)) {
+            ClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+            List<MutantExecution> tasks = new ArrayList<>(mutants.size());
+            for (Mutation mutant : mutants) {
+                tasks.add(new MutantExecution(test, mutant, loader));
+            }
+            List<ExecutionResult> results = new ArrayList<>(mutants.size());
+            for (ExecutionResult result : TestExecutionWorkerPool.getInstance().execute(test, tasks)) {
+                if (result == null) {
+                    logger.info("Reached maximum time to generate assertions!");
+                    break;
+                }
+                MaxStatementsStoppingCondition.statementsExecuted(test.size());
+                results.add(result);
+            }
+            return results;
+        }
+
+        List<ExecutionResult> results = new ArrayList<>(mutants.size());
+        for (Mutation mutant : mutants) {
+            if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
+                logger.info("Reached maximum time to generate assertions!");
+                break;
+            }
+            logger.debug("Running test on mutation {}", mutant.getMutationName());
+            results.add(runTest(test, mutant));
+        }
+        return results;
+    }
+
+    /**
+     * Execution of a test case on a mutant by a worker of the
+     * {@link TestExecutionWorkerPool}
+     */
+    private static class MutantExecution implements TestExecutionWorkerPool.WorkerTask<ExecutionResult> {
+
+        private final TestCase test;
+
+        private final Mutation mutant;
+
+        private final ClassLoader loader;
+
+        private MutantExecution(TestCase test, Mutation mutant, ClassLoader loader) {
+            this.test = test;
+            this.mutant = mutant;
+            this.loader = loader;
+        }
+
+        @Override
+        public ExecutionResult execute(TestCase copy, ClassLoader workerLoader) {
+            if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
+                return null;
+            }
+
+            // the shared observers are used by the thread generating the assertions
+            Map<Class<?>, AssertionTraceObserver<?>> observers = new LinkedHashMap<>();
+            observers.put(PrimitiveTraceEntry.class, new PrimitiveTraceObserver());
+            observers.put(ComparisonTraceEntry.class, new ComparisonTraceObserver());
+            observers.put(SameTraceEntry.class, new SameTraceObserver());
+            observers.put(InspectorTraceEntry.class, new InspectorTraceObserver());
+            observers.put(PrimitiveFieldTraceEntry.class, new PrimitiveFieldTraceObserver());
+            observers.put(NullTraceEntry.class, new NullTraceObserver());
+            observers.put(ArrayTraceEntry.class, new ArrayTraceObserver());
+            observers.put(ArrayLengthTraceEntry.class, new ArrayLengthObserver());
+            observers.put(ContainsTraceEntry.class, new ContainsTraceObserver());
+
+            TestCaseExecutor executor = TestCaseExecutor.getInstance();
+            executor.newObservers();
+            observers.values().forEach(executor::addObserver);
+
+            ExecutionResult result;
+            logger.debug("Running test on mutation {} on a worker", mutant.getMutationName());
+            MutationObserver.activateMutation(mutant);
+            try {
+                result = executor.execute(copy);
+            } finally {
+                MutationObserver.deactivateMutation(mutant);
+                executor.newObservers();
+            }
+
+            result.setTest(test);
+            for (Map.Entry<Class<?>, AssertionTraceObserver<?>> entry : observers.entrySet()) {
+                result.setTrace(entry.getValue().getTrace().clone(test, loader), entry.getKey());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Determine the mutants a test case needs to be executed on: the mutants
+     * touched by the execution on the original unit. A mutant that is reached
+     * but whose infection distance is never 0 behaves exactly like the original
+     * unit on this test, so it cannot be killed and is skipped, unless
+     * {@link Properties#MUTATION_INFECTION_FILTER} is disabled.
+     *
+     * @param origResult result of the execution on the original unit
+     * @param mutants    the mutants that are considered
+     * @return the mutants to execute the test on
+     */
+    protected List<Mutation> getMutantsToExecute(ExecutionResult origResult, Map<Integer, Mutation> mutants) {
+        List<Mutation> executedMutants = new ArrayList<>();
+        Map<Integer, Double> distances = origResult.getTrace().getMutationDistances();
+        for (Integer mutationId : origResult.getTrace().getTouchedMutants()) {
+            if (!mutants.containsKey(mutationId)) {
+                continue;
+            }
+            Double distance = distances.get(mutationId);
+            if (Properties.MUTATION_INFECTION_FILTER && distance != null && distance > 0.0) {
+                logger.debug("Skipping mutant {}, as it is not infected", mutationId);
+                continue;
+            }
+            executedMutants.add(mutants.get(mutationId));
+        }
+        return executedMutants;
+    }
+
     protected Criterion[] oldCriterion = Properties.CRITERION;
 
     /**
@@ -20,6 +20,7 @@
 
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 
 import java.util.HashSet;
@@ -138,4 +139,12 @@ public class NullTraceEntry implements OutputTraceEntry {
         return new NullTraceEntry(var, isNull);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        return new NullTraceEntry(var.copy(newTestCase, 0), isNull);
+    }
+
 }
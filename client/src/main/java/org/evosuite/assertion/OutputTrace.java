@@ -25,6 +25,7 @@ import org.evosuite.testcase.variable.VariableReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,7 +36,6 @@ import java.util.Map;
  */
 public class OutputTrace<T extends OutputTraceEntry> implements Cloneable {
 
-    @SuppressWarnings("unused")
     private static final Logger logger = LoggerFactory.getLogger(OutputTrace.class);
 
     /**
@@ -256,6 +256,82 @@ public class OutputTrace<T extends OutputTraceEntry> implements Cloneable {
         return copy;
     }
 
+    /**
+     * Create a copy of this trace for another copy of the test case it was
+     * recorded on, whose classes were loaded by the given class loader. The
+     * variables, inspectors, fields and enum values of the entries are
+     * replaced by their counterparts, such that the copy can be compared
+     * with the traces of the other test case
+     *
+     * @param newTestCase the copy of the test case
+     * @param loader      the class loader of the copy
+     * @return a copy of this trace
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized OutputTrace<T> clone(TestCase newTestCase, ClassLoader loader) {
+        OutputTrace<T> copy = new OutputTrace<>();
+        for (Integer position : trace.keySet()) {
+            copy.trace.put(position, new HashMap<>());
+            for (Integer var : trace.get(position).keySet()) {
+                copy.trace.get(position).put(var,
+                        (T) trace.get(position).get(var).cloneEntry(newTestCase, loader));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Replace enum constants, also within arrays, by the constants of the
+     * same name in the given class loader. Other values are not class loader
+     * specific in traces
+     *
+     * @param value  a traced value
+     * @param loader the class loader
+     * @return the value to use with the given class loader
+     */
+    static Object changeClassLoader(Object value, ClassLoader loader) {
+        if (value instanceof Object[]) {
+            Object[] values = (Object[]) value;
+            Object[] copy = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                copy[i] = changeClassLoader(values[i], loader);
+            }
+            return copy;
+        }
+        if (!(value instanceof Enum)) {
+            return value;
+        }
+        Enum<?> constant = (Enum<?>) value;
+        try {
+            Class<?> enumClass = loader.loadClass(constant.getDeclaringClass().getName());
+            for (Object other : enumClass.getEnumConstants()) {
+                if (((Enum<?>) other).name().equals(constant.name())) {
+                    return other;
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            logger.warn("Error changing classloader for enum constant " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Look up the field of the same class in the given class loader
+     *
+     * @param field  a traced field
+     * @param loader the class loader
+     * @return the field to use with the given class loader
+     */
+    static Field changeClassLoader(Field field, ClassLoader loader) {
+        try {
+            Class<?> declaringClass = loader.loadClass(field.getDeclaringClass().getName());
+            return declaringClass.getDeclaredField(field.getName());
+        } catch (ClassNotFoundException | NoSuchFieldException e) {
+            logger.warn("Error changing classloader for field " + field);
+            return field;
+        }
+    }
+
     @Override
     public String toString() {
         return "Output trace of size " + trace.size();
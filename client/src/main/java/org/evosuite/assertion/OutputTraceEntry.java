@@ -19,6 +19,8 @@
  */
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
+
 import java.util.Set;
 
 /**
@@ -66,4 +68,14 @@ public interface OutputTraceEntry {
      */
     OutputTraceEntry cloneEntry();
 
+    /**
+     * Copy this entry for another copy of the test case it was recorded on, whose
+     * classes were loaded by the given class loader
+     *
+     * @param newTestCase the copy of the test case
+     * @param loader      the class loader of the copy
+     * @return a {@link org.evosuite.assertion.OutputTraceEntry} object.
+     */
+    OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader);
+
 }
@@ -19,6 +19,7 @@
  */
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 
 import java.lang.reflect.Field;
@@ -172,4 +173,17 @@ public class PrimitiveFieldTraceEntry implements OutputTraceEntry {
         return copy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        PrimitiveFieldTraceEntry copy = new PrimitiveFieldTraceEntry(var.copy(newTestCase, 0));
+        for (Map.Entry<Field, Object> entry : fieldMap.entrySet()) {
+            copy.addValue(OutputTrace.changeClassLoader(entry.getKey(), loader),
+                    OutputTrace.changeClassLoader(entry.getValue(), loader));
+        }
+        return copy;
+    }
+
 }
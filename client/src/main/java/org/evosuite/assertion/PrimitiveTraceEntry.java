@@ -19,6 +19,7 @@
  */
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 
 import java.util.HashSet;
@@ -138,4 +139,13 @@ public class PrimitiveTraceEntry implements OutputTraceEntry {
         return new PrimitiveTraceEntry(var, value);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        return new PrimitiveTraceEntry(var.copy(newTestCase, 0),
+                OutputTrace.changeClassLoader(value, loader));
+    }
+
 }
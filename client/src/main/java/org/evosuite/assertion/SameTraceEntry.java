@@ -19,6 +19,7 @@
  */
 package org.evosuite.assertion;
 
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -182,4 +183,16 @@ public class SameTraceEntry implements OutputTraceEntry {
         return copy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputTraceEntry cloneEntry(TestCase newTestCase, ClassLoader loader) {
+        SameTraceEntry copy = new SameTraceEntry(var.copy(newTestCase, 0));
+        for (Map.Entry<VariableReference, Boolean> entry : equalityMap.entrySet()) {
+            copy.addEntry(entry.getKey().copy(newTestCase, 0), entry.getValue());
+        }
+        return copy;
+    }
+
 }
@@ -61,7 +61,7 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
         int numTest = 0;
         boolean timeIsShort = false;
 
-        for (TestCase test : suite.getTests()) {
+        for (TestCase test : suite.getMutableTests()) {
             if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
                 logger.warn("Reached maximum time to generate assertions, aborting assertion generation");
                 break;
@@ -132,28 +132,16 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
         }
 
         Map<Mutation, List<OutputTrace<?>>> mutationTraces = new HashMap<>();
-        List<Mutation> executedMutants = new ArrayList<>();
-
-        for (Integer mutationId : origResult.getTrace().getTouchedMutants()) {
-            if (!mutants.containsKey(mutationId)) {
-                //logger.warn("Mutation ID unknown: " + mutationId);
-                //logger.warn(mutants.keySet().toString());
-            } else
-                executedMutants.add(mutants.get(mutationId));
-        }
+        List<Mutation> executedMutants = getMutantsToExecute(origResult, mutants);
 
         Randomness.shuffle(executedMutants);
         logger.debug("Executed mutants: " + origResult.getTrace().getTouchedMutants());
 
+        List<Mutation> mutantsToRun = new ArrayList<>();
         int numExecutedMutants = 0;
         for (Mutation m : executedMutants) {
 
             numExecutedMutants++;
-            if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
-                logger.info("Reached maximum time to generate assertions!");
-                break;
-            }
-
             assert (m != null);
             if (MutationTimeoutStoppingCondition.isDisabled(m)) {
                 killed.add(m.getId());
@@ -184,8 +172,14 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 			}
 			*/
 
-            logger.debug("Running test on mutation {}", m.getMutationName());
-            ExecutionResult mutantResult = runTest(test, m);
+            mutantsToRun.add(m);
+        }
+
+        // The results are merged in the order of the mutants, also when they are executed concurrently
+        List<ExecutionResult> mutantResults = runTestOnMutants(test, mutantsToRun);
+        for (int i = 0; i < mutantResults.size(); i++) {
+            Mutation m = mutantsToRun.get(i);
+            ExecutionResult mutantResult = mutantResults.get(i);
 
             int numKilled = 0;
             for (Class<?> observerClass : observerClasses) {
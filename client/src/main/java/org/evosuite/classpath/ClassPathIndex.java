@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Names of the classes inside the jars of the classpath that survive the
+ * client process, so that {@link ResourceList} does not need to open and scan
+ * every jar again in later runs on the same project.
+ * <p>
+ * The classes of a jar are stored together with its size and modification
+ * time, and are only returned if the jar is unchanged. Jars that changed, or
+ * that are seen for the first time, are scanned and replace their entry.
+ * The index is stored in the CTG directory and read through a memory mapped
+ * buffer. Concurrent clients do not merge their entries: the last one to
+ * flush wins.
+ */
+public final class ClassPathIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathIndex.class);
+
+    public static final String INDEX_FILE_NAME = "classpath-index.bin";
+
+    /**
+     * Increase when the file format changes
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static ClassPathIndex instance = null;
+
+    private final File file;
+
+    /**
+     * Key -> absolute path of a jar
+     */
+    private final Map<String, JarIndex> jars = new LinkedHashMap<>();
+
+    private boolean changed = false;
+
+    private static final class JarIndex {
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final List<String> classes;
+
+        JarIndex(long size, long lastModified, List<String> classes) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.classes = classes;
+        }
+
+        boolean isUpToDate(File jar) {
+            return jar.length() == size && jar.lastModified() == lastModified;
+        }
+    }
+
+    ClassPathIndex(File file) {
+        this.file = file;
+    }
+
+    public static boolean isEnabled() {
+        return Properties.CLASSPATH_INDEX;
+    }
+
+    public static synchronized ClassPathIndex getInstance() {
+        if (instance == null) {
+            instance = new ClassPathIndex(new File(Properties.CTG_DIR, INDEX_FILE_NAME));
+            instance.load();
+        }
+        return instance;
+    }
+
+    /**
+     * Write the entries of the current instance to disk, if it was ever used
+     */
+    public static synchronized void flushInstance() {
+        if (instance != null) {
+            instance.flush();
+        }
+    }
+
+    /**
+     * Returns the names of the classes in the given jar, in the order of the
+     * jar entries
+     *
+     * @param jar
+     * @return null if the jar is not indexed or changed since it was indexed
+     */
+    public synchronized List<String> getClasses(File jar) {
+        JarIndex index = jars.get(jar.getAbsolutePath());
+        if (index == null || !index.isUpToDate(jar)) {
+            return null;
+        }
+        return index.classes;
+    }
+
+    /**
+     * Stores the names of the classes in the given jar, as it is now
+     *
+     * @param jar
+     * @param classes
+     */
+    public synchronized void putClasses(File jar, List<String> classes) {
+        jars.put(jar.getAbsolutePath(), new JarIndex(jar.length(), jar.lastModified(),
+                Collections.unmodifiableList(new ArrayList<>(classes))));
+        changed = true;
+    }
+
+    public synchronized int size() {
+        return jars.size();
+    }
+
+    /**
+     * Loads the stored entries, replacing the ones in memory. A missing or
+     * unreadable file results in an empty index.
+     */
+    synchronized void load() {
+        jars.clear();
+        changed = false;
+        if (!file.exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != FORMAT_VERSION) {
+                logger.info("Ignoring classpath index {} with a different format", file);
+                return;
+            }
+            int numberOfJars = buffer.getInt();
+            for (int i = 0; i < numberOfJars; i++) {
+                String path = readString(buffer);
+                long size = buffer.getLong();
+                long lastModified = buffer.getLong();
+                int numberOfClasses = buffer.getInt();
+                List<String> classes = new ArrayList<>(numberOfClasses);
+                for (int j = 0; j < numberOfClasses; j++) {
+                    classes.add(readString(buffer));
+                }
+                jars.put(path, new JarIndex(size, lastModified, Collections.unmodifiableList(classes)));
+            }
+            logger.debug("Loaded the classes of {} jars from {}", jars.size(), file);
+        } catch (IOException | RuntimeException e) {
+            // a truncated file results in a BufferUnderflowException
+            logger.warn("Cannot read classpath index {}: {}", file, e.toString());
+            jars.clear();
+        }
+    }
+
+    /**
+     * Writes the entries to disk, if they changed since they were loaded
+     */
+    public synchronized void flush() {
+        if (!changed) {
+            return;
+        }
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            logger.warn("Cannot create folder {} for the classpath index", dir);
+            return;
+        }
+        File tmp;
+        try {
+            // unique, as several clients may share the index
+            tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        } catch (IOException e) {
+            logger.warn("Cannot write classpath index {}: {}", file, e.toString());
+            return;
+        }
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(jars.size());
+                for (Map.Entry<String, JarIndex> entry : jars.entrySet()) {
+                    JarIndex index = entry.getValue();
+                    writeString(out, entry.getKey());
+                    out.writeLong(index.size);
+                    out.writeLong(index.lastModified);
+                    out.writeInt(index.classes.size());
+                    for (String className : index.classes) {
+                        writeString(out, className);
+                    }
+                }
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            changed = false;
+            logger.debug("Stored the classes of {} jars in {}", jars.size(), file);
+        } catch (IOException e) {
+            logger.warn("Cannot write classpath index {}: {}", file, e.toString());
+            tmp.delete();
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
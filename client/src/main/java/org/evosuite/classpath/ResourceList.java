@@ -19,6 +19,7 @@
  */
 package org.evosuite.classpath;
 
+import org.evosuite.Properties;
 import org.evosuite.runtime.InitializingListenerUtils;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
@@ -87,14 +88,33 @@ public class ResourceList {
         }
 
         /**
-         * Keep track of all jars we opened.
+         * Keep track of all jars we opened, in least recently used order.
+         * If there are more than {@link Properties#MAX_OPEN_JARS}, the least
+         * recently used one is closed. As reads change the order, all
+         * accesses must be synchronized on the cache.
          * Key -> the path of the jar file
          */
-        public Map<String, JarFile> openedJars = new LinkedHashMap<>();
+        public Map<String, JarFile> openedJars = new LinkedHashMap<String, JarFile>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
 
-        public JarFile getJar(String entry) {
-            if (openedJars.containsKey(entry)) {
-                return openedJars.get(entry);
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JarFile> eldest) {
+                if (Properties.MAX_OPEN_JARS <= 0 || size() <= Properties.MAX_OPEN_JARS) {
+                    return false;
+                }
+                try {
+                    eldest.getValue().close();
+                } catch (IOException e) {
+                    logger.error("Cannot close jar file " + eldest.getKey() + ". " + e);
+                }
+                return true;
+            }
+        };
+
+        public synchronized JarFile getJar(String entry) {
+            JarFile opened = openedJars.get(entry);
+            if (opened != null) {
+                return opened;
             }
             try {
                 JarFile jar = new JarFile(entry);
@@ -106,7 +126,34 @@ public class ResourceList {
             }
         }
 
-        public void close() {
+        /**
+         * Opens the given entry of a jar. If jars are closed when there are
+         * too many of them, the entry is read while holding the lock of the
+         * cache, as the jar could be closed before the stream is read otherwise
+         *
+         * @param jarPath   the path of the jar file
+         * @param entryPath the path of the entry inside of the jar
+         * @return null if the jar cannot be opened or has no such entry
+         * @throws IOException if the entry cannot be read
+         */
+        public synchronized InputStream getInputStream(String jarPath, String entryPath) throws IOException {
+            JarFile jar = getJar(jarPath);
+            if (jar == null) {
+                return null;
+            }
+            JarEntry entry = jar.getJarEntry(entryPath);
+            if (entry == null) {
+                logger.error("Error: could not find " + entryPath + " inside of jar file " + jarPath);
+                return null;
+            }
+            InputStream is = jar.getInputStream(entry);
+            if (Properties.MAX_OPEN_JARS > 0) {
+                is = readFully(is);
+            }
+            return is;
+        }
+
+        public synchronized void close() {
             for (JarFile jar : openedJars.values()) {
                 try {
                     jar.close();
@@ -208,23 +255,12 @@ public class ResourceList {
         }
 
         if (cpEntry.endsWith(".jar") || cpEntry.endsWith(".war")) {
-            JarFile jar = getCache().getJar(cpEntry);
-            if (jar == null) {
-                return null;
-            }
-            JarEntry entry = jar.getJarEntry(path);
-            if (entry == null) {
-                logger.error("Error: could not find " + path + " inside of jar file " + cpEntry);
-                return null;
-            }
-            InputStream is = null;
             try {
-                is = jar.getInputStream(entry);
+                return getCache().getInputStream(cpEntry, path);
             } catch (IOException e) {
                 logger.error("Error while reading jar file " + cpEntry + ": " + e.getMessage(), e);
                 return null;
             }
-            return is;
         } else {
             //if not a jar/war, it is a folder
             File classFile = null;
@@ -298,6 +334,7 @@ public class ResourceList {
             classPathEntry = (new File(classPathEntry)).getAbsolutePath();
 
             addEntry(classPathEntry);
+            flushIndex();
 
             //no need to scan the classpath entry cache if it does not have the given prefix
             Set<String> cps = getCache().mapPrefixToCPs.get(prefix);
@@ -476,6 +513,27 @@ public class ResourceList {
         for (String entry : cp.split(File.pathSeparator)) {
             addEntry(entry);
         }
+        flushIndex();
+    }
+
+    private static void flushIndex() {
+        if (ClassPathIndex.isEnabled()) {
+            ClassPathIndex.flushInstance();
+        }
+    }
+
+    private static InputStream readFully(InputStream input) throws IOException {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            return new ByteArrayInputStream(buffer.toByteArray());
+        } finally {
+            input.close();
+        }
     }
 
     private void addEntry(String classPathElement) throws IllegalArgumentException {
@@ -561,18 +619,19 @@ public class ResourceList {
     }
 
     private void scanJar(String jarEntry) {
-        JarFile zf = getCache().getJar(jarEntry);
-
-        Enumeration<?> e = zf.entries();
-        while (e.hasMoreElements()) {
-            JarEntry ze = (JarEntry) e.nextElement();
-            String entryName = ze.getName();
-
-            if (!entryName.endsWith(".class")) {
-                continue;
+        File jarFile = new File(jarEntry);
+        List<String> classNames = null;
+        if (ClassPathIndex.isEnabled()) {
+            classNames = ClassPathIndex.getInstance().getClasses(jarFile);
+        }
+        if (classNames == null) {
+            classNames = listClassesInJar(jarEntry);
+            if (ClassPathIndex.isEnabled()) {
+                ClassPathIndex.getInstance().putClasses(jarFile, classNames);
             }
+        }
 
-            String className = getClassNameFromResourcePath(entryName);
+        for (String className : classNames) {
 
             // The same class may exist in different classpath entries
             // and only the first one is kept
@@ -594,4 +653,28 @@ public class ResourceList {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the names of all the classes inside the given jar, in the order
+     * of the jar entries
+     */
+    private List<String> listClassesInJar(String jarEntry) {
+        Cache cache = getCache();
+        List<String> classNames = new ArrayList<>();
+        // the jar must not be closed while its entries are listed
+        synchronized (cache) {
+            JarFile zf = cache.getJar(jarEntry);
+            Enumeration<?> e = zf.entries();
+            while (e.hasMoreElements()) {
+                JarEntry ze = (JarEntry) e.nextElement();
+                String entryName = ze.getName();
+
+                if (!entryName.endsWith(".class")) {
+                    continue;
+                }
+
+                classNames.add(getClassNameFromResourcePath(entryName));
+            }
+        }
+        return classNames;
+    }
+}
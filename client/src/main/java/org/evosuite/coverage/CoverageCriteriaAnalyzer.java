@@ -90,7 +90,7 @@ public class CoverageCriteriaAnalyzer {
         logger.info("Changing classloader of test suite for criterion: " + criterion);
 
         for (TestChromosome test : testSuite.getTestChromosomes()) {
-            DefaultTestCase dtest = (DefaultTestCase) test.getTestCase();
+            DefaultTestCase dtest = (DefaultTestCase) test.getMutableTestCase();
             dtest.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
         }
         Properties.CRITERION = oldCriterion;
@@ -221,7 +221,7 @@ public class CoverageCriteriaAnalyzer {
             reinstrument(testSuiteCopy, criterion);
 
             for (TestChromosome test : testSuiteCopy.getTestChromosomes()) {
-                test.getTestCase().clearCoveredGoals();
+                test.getMutableTestCase().clearCoveredGoals();
                 test.clearCachedResults();
 
                 // independently of mutation being a main or secondary criteria,
@@ -28,6 +28,7 @@ import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testsuite.SuiteFitnessAggregate;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.objectweb.asm.Type;
@@ -37,6 +38,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -74,6 +76,12 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
     private final Set<Integer> toRemoveBranchesF = new LinkedHashSet<>();
     private final Set<String> toRemoveRootBranches = new LinkedHashSet<>();
 
+    /**
+     * Key of the test the covered goals of a result were recorded for, in the
+     * fitness contributions of the result
+     */
+    private final RecordedGoals recordedGoals = new RecordedGoals();
+
     private final Set<Integer> removedBranchesT = new LinkedHashSet<>();
     private final Set<Integer> removedBranchesF = new LinkedHashSet<>();
     private final Set<String> removedRootBranches = new LinkedHashSet<>();
@@ -175,7 +183,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 callCount.put(name, 1);
                 if (branchlessMethodCoverageMap.containsKey(name)) {
                     TestFitnessFunction goal = branchlessMethodCoverageMap.get(name);
-                    test.getTestCase().addCoveredGoal(goal);
+                    test.addCoveredGoal(goal);
                     toRemoveRootBranches.add(name);
                     if (Properties.TEST_ARCHIVE) {
                         Archive.getArchiveInstance().updateArchive(goal, test, 0.0);
@@ -201,7 +209,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
             // if this is a target branch or not
             if (branchlessMethodCoverageMap.containsKey(entry.getKey())) {
                 TestFitnessFunction goal = branchlessMethodCoverageMap.get(entry.getKey());
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 toRemoveRootBranches.add(entry.getKey());
                 if (Properties.TEST_ARCHIVE) {
                     Archive.getArchiveInstance().updateArchive(goal, test, 0.0);
@@ -240,7 +248,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
             BranchCoverageTestFitness goal = (BranchCoverageTestFitness) this.branchCoverageTrueMap.get(entry.getKey());
             assert goal != null;
             if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 toRemoveBranchesT.add(entry.getKey());
             }
             if (Properties.TEST_ARCHIVE) {
@@ -264,7 +272,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
             BranchCoverageTestFitness goal = (BranchCoverageTestFitness) this.branchCoverageFalseMap.get(entry.getKey());
             assert goal != null;
             if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 toRemoveBranchesF.add(entry.getKey());
             }
             if (Properties.TEST_ARCHIVE) {
@@ -275,19 +283,19 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
     }
 
     /**
-     * Iterate over all execution results and summarize statistics
+     * Iterate over all execution results and collect their contributions. The
+     * traces are only analyzed for results that have not been seen before, the
+     * contributions of all other results are cached on the results. The goals
+     * covered by a result are recorded once for each test the result belongs
+     * to: when the trace is analyzed, and again only if the result was copied
+     * to another test since, e.g., a test that stopped sharing its test case
+     * with its clones, or a test with the same code
      *
      * @param results
-     * @param predicateCount
-     * @param callCount
-     * @param trueDistance
-     * @param falseDistance
+     * @param contributions
      * @return
      */
-    private boolean analyzeTraces(TestSuiteChromosome suite,
-                                  List<ExecutionResult> results,
-                                  Map<Integer, Integer> predicateCount, Map<String, Integer> callCount,
-                                  Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
+    private boolean analyzeTraces(List<ExecutionResult> results, List<TestContribution> contributions) {
         boolean hasTimeoutOrTestException = false;
         for (ExecutionResult result : results) {
             if (result.hasTimeout() || result.hasTestException()) {
@@ -295,20 +303,97 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestContribution contribution = (TestContribution) result.getFitnessContribution(this);
+            if (contribution == null) {
+                contribution = analyzeTrace(result);
+                result.setFitnessContribution(this, contribution);
+                result.setFitnessContribution(recordedGoals, result.test);
+            } else if (result.getFitnessContribution(recordedGoals) != result.test) {
+                recordCoveredGoals(result, contribution);
+                result.setFitnessContribution(recordedGoals, result.test);
+            }
+            contributions.add(contribution);
+        }
+        return hasTimeoutOrTestException;
+    }
+
+    private TestChromosome createChromosome(ExecutionResult result) {
+        TestChromosome test = new TestChromosome();
+        test.setTestCase(result.test);
+        test.setLastExecutionResult(result);
+        test.setChanged(false);
+        return test;
+    }
+
+    /**
+     * Summarize the statistics of a single execution result, and record the
+     * goals it covers
+     *
+     * @param result
+     * @return
+     */
+    private TestContribution analyzeTrace(ExecutionResult result) {
+        Map<Integer, Double> trueDistance = new HashMap<>();
+        Map<Integer, Double> falseDistance = new HashMap<>();
+        Map<Integer, Integer> predicateCount = new HashMap<>();
+        Map<String, Integer> callCount = new LinkedHashMap<>();
+
+        TestChromosome test = createChromosome(result);
+
+        handleBranchlessMethods(test, result, callCount);
+        handlePredicateCount(result, predicateCount);
+        handleTrueDistances(test, result, trueDistance);
+        handleFalseDistances(test, result, falseDistance);
+
+        // In case there were exceptions in a constructor
+        handleConstructorExceptions(test, result, callCount);
 
-            handleBranchlessMethods(test, result, callCount);
-            handlePredicateCount(result, predicateCount);
-            handleTrueDistances(test, result, trueDistance);
-            handleFalseDistances(test, result, falseDistance);
+        return new TestContribution(predicateCount, trueDistance, falseDistance, callCount.keySet());
+    }
+
+    /**
+     * Record the goals covered by a result whose contribution was cached
+     * earlier, in the same way as the handlers do when the trace is analyzed:
+     * the goals are added to the test, scheduled for removal, and the archive
+     * is updated. Goals removed since the contribution was cached are skipped
+     *
+     * @param result
+     * @param contribution
+     */
+    private void recordCoveredGoals(ExecutionResult result, TestContribution contribution) {
+        TestChromosome test = createChromosome(result);
 
-            // In case there were exceptions in a constructor
-            handleConstructorExceptions(test, result, callCount);
+        for (String method : contribution.calledMethods) {
+            TestFitnessFunction goal = branchlessMethodCoverageMap.get(method);
+            if (goal == null)
+                continue;
+            test.addCoveredGoal(goal);
+            toRemoveRootBranches.add(method);
+            if (Properties.TEST_ARCHIVE) {
+                Archive.getArchiveInstance().updateArchive(goal, test, 0.0);
+            }
+        }
+        recordCoveredBranches(test, contribution.trueDistance, branchCoverageTrueMap,
+                removedBranchesT, toRemoveBranchesT);
+        recordCoveredBranches(test, contribution.falseDistance, branchCoverageFalseMap,
+                removedBranchesF, toRemoveBranchesF);
+    }
+
+    private void recordCoveredBranches(TestChromosome test, Map<Integer, Double> distances,
+                                       Map<Integer, TestFitnessFunction> goals,
+                                       Set<Integer> removedBranches, Set<Integer> toRemoveBranches) {
+        for (Entry<Integer, Double> entry : distances.entrySet()) {
+            TestFitnessFunction goal = goals.get(entry.getKey());
+            if (goal == null || removedBranches.contains(entry.getKey()))
+                continue;
+            if ((Double.compare(entry.getValue(), 0.0) == 0)) {
+                test.addCoveredGoal(goal);
+                toRemoveBranches.add(entry.getKey());
+            }
+            if (Properties.TEST_ARCHIVE) {
+                Archive.getArchiveInstance().updateArchive(goal, test, entry.getValue());
+            }
         }
-        return hasTimeoutOrTestException;
     }
 
     @Override
@@ -378,34 +463,53 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
         double fitness = 0.0;
 
         List<ExecutionResult> results = runTestSuite(suite);
-        Map<Integer, Double> trueDistance = new LinkedHashMap<>();
-        Map<Integer, Double> falseDistance = new LinkedHashMap<>();
-        Map<Integer, Integer> predicateCount = new LinkedHashMap<>();
-        Map<String, Integer> callCount = new LinkedHashMap<>();
+        List<TestContribution> contributions = new ArrayList<>(results.size());
 
         // Collect stats in the traces
-        boolean hasTimeoutOrTestException = analyzeTraces(suite, results, predicateCount,
-                callCount, trueDistance,
-                falseDistance);
+        boolean hasTimeoutOrTestException = analyzeTraces(results, contributions);
+
+        // Only account for the tests that changed since the last evaluation
+        SuiteAggregate aggregate = (SuiteAggregate) suite.getFitnessAggregate(this);
+        if (aggregate == null) {
+            aggregate = new SuiteAggregate();
+            suite.setFitnessAggregate(this, aggregate);
+        }
+        aggregate.update(contributions);
+
+        Map<Integer, Double> trueDistance = aggregate.trueDistance;
+        Map<Integer, Double> falseDistance = aggregate.falseDistance;
+        Map<String, Integer> callCount = aggregate.callCount;
 
         // Collect branch distances of covered branches
         int numCoveredBranches = 0;
+        int numExecutedPredicates = 0;
+
+        for (Entry<Integer, Integer> entry : aggregate.predicateCount.entrySet()) {
+            Integer key = entry.getKey();
+            // Goals covered since the contributions were cached are ignored
+            if (removedBranchesT.contains(key) && removedBranchesF.contains(key))
+                continue;
+            numExecutedPredicates++;
 
-        for (Integer key : predicateCount.keySet()) {
+            boolean hasTrueDistance = !removedBranchesT.contains(key)
+                    && trueDistance.containsKey(key);
+            boolean hasFalseDistance = !removedBranchesF.contains(key)
+                    && branchCoverageFalseMap.containsKey(key)
+                    && falseDistance.containsKey(key);
 
             double df = 0.0;
             double dt = 0.0;
-            int numExecuted = predicateCount.get(key);
+            int numExecuted = entry.getValue();
 
             if (removedBranchesT.contains(key))
                 numExecuted++;
             if (removedBranchesF.contains(key))
                 numExecuted++;
 
-            if (trueDistance.containsKey(key)) {
+            if (hasTrueDistance) {
                 dt = trueDistance.get(key);
             }
-            if (falseDistance.containsKey(key)) {
+            if (hasFalseDistance) {
                 df = falseDistance.get(key);
             }
             // If the branch predicate was only executed once, then add 1
@@ -415,15 +519,15 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 fitness += normalize(df) + normalize(dt);
             }
 
-            if (falseDistance.containsKey(key) && (Double.compare(df, 0.0) == 0))
+            if (hasFalseDistance && (Double.compare(df, 0.0) == 0))
                 numCoveredBranches++;
 
-            if (trueDistance.containsKey(key) && (Double.compare(dt, 0.0) == 0))
+            if (hasTrueDistance && (Double.compare(dt, 0.0) == 0))
                 numCoveredBranches++;
         }
 
         // +1 for every branch that was not executed
-        fitness += 2 * (totalBranches - predicateCount.size());
+        fitness += 2 * (totalBranches - numExecutedPredicates);
 
         // Ensure all methods are called
         int missingMethods = 0;
@@ -520,6 +624,184 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
         }
     }
 
+    /**
+     * Statistics of the execution of a single test, which are merged into the
+     * {@link SuiteAggregate} of the suites containing the test. Only filtered
+     * by the goals that were already covered when the test was analyzed, goals
+     * covered later are filtered when computing the fitness.
+     */
+    private static final class RecordedGoals implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final class TestContribution {
+
+        private final Map<Integer, Integer> predicateCount;
+
+        private final Map<Integer, Double> trueDistance;
+
+        private final Map<Integer, Double> falseDistance;
+
+        private final Set<String> calledMethods;
+
+        private TestContribution(Map<Integer, Integer> predicateCount, Map<Integer, Double> trueDistance,
+                                 Map<Integer, Double> falseDistance, Set<String> calledMethods) {
+            this.predicateCount = predicateCount;
+            this.trueDistance = trueDistance;
+            this.falseDistance = falseDistance;
+            this.calledMethods = calledMethods;
+        }
+    }
+
+    /**
+     * Statistics of a whole suite, maintained incrementally: when the suite is
+     * evaluated again, only the contributions of the tests that were removed
+     * or added since the last evaluation are subtracted or added.
+     * <p>
+     * Execution counts and method calls are sums. For the minimal distances,
+     * the number of tests reaching the minimum is kept, so that the minimum
+     * only needs to be recomputed from the remaining tests when the last of
+     * them is removed.
+     */
+    private static final class SuiteAggregate implements SuiteFitnessAggregate {
+
+        /**
+         * Contributions of the tests of the suite, with their multiplicity
+         */
+        private Map<TestContribution, Integer> members = new IdentityHashMap<>();
+
+        private final Map<Integer, Integer> predicateCount;
+
+        private final Map<String, Integer> callCount;
+
+        private final Map<Integer, Double> trueDistance;
+
+        private final Map<Integer, Double> falseDistance;
+
+        private final Map<Integer, Integer> trueMinCount;
+
+        private final Map<Integer, Integer> falseMinCount;
+
+        private SuiteAggregate() {
+            predicateCount = new LinkedHashMap<>();
+            callCount = new HashMap<>();
+            trueDistance = new HashMap<>();
+            falseDistance = new HashMap<>();
+            trueMinCount = new HashMap<>();
+            falseMinCount = new HashMap<>();
+        }
+
+        private SuiteAggregate(SuiteAggregate other) {
+            members = new IdentityHashMap<>(other.members);
+            predicateCount = new LinkedHashMap<>(other.predicateCount);
+            callCount = new HashMap<>(other.callCount);
+            trueDistance = new HashMap<>(other.trueDistance);
+            falseDistance = new HashMap<>(other.falseDistance);
+            trueMinCount = new HashMap<>(other.trueMinCount);
+            falseMinCount = new HashMap<>(other.falseMinCount);
+        }
+
+        @Override
+        public SuiteAggregate copy() {
+            return new SuiteAggregate(this);
+        }
+
+        /**
+         * Bring the statistics up to date with the given contributions of the
+         * current tests of the suite
+         *
+         * @param contributions
+         */
+        private void update(List<TestContribution> contributions) {
+            Map<TestContribution, Integer> current = new IdentityHashMap<>();
+            for (TestContribution contribution : contributions) {
+                current.merge(contribution, 1, Integer::sum);
+            }
+
+            Set<Integer> staleTrue = new HashSet<>();
+            Set<Integer> staleFalse = new HashSet<>();
+            for (Entry<TestContribution, Integer> entry : members.entrySet()) {
+                int removed = entry.getValue() - current.getOrDefault(entry.getKey(), 0);
+                for (int i = 0; i < removed; i++) {
+                    subtract(entry.getKey(), staleTrue, staleFalse);
+                }
+            }
+            for (Entry<TestContribution, Integer> entry : current.entrySet()) {
+                int added = entry.getValue() - members.getOrDefault(entry.getKey(), 0);
+                for (int i = 0; i < added; i++) {
+                    add(entry.getKey());
+                }
+            }
+            members = current;
+
+            for (Integer branch : staleTrue) {
+                recomputeMin(branch, true);
+            }
+            for (Integer branch : staleFalse) {
+                recomputeMin(branch, false);
+            }
+        }
+
+        private void add(TestContribution contribution) {
+            contribution.predicateCount.forEach((branch, count) -> predicateCount.merge(branch, count, Integer::sum));
+            contribution.calledMethods.forEach(method -> callCount.merge(method, 1, Integer::sum));
+            contribution.trueDistance.forEach((branch, distance) -> addMin(trueDistance, trueMinCount, branch, distance, 1));
+            contribution.falseDistance.forEach((branch, distance) -> addMin(falseDistance, falseMinCount, branch, distance, 1));
+        }
+
+        private void subtract(TestContribution contribution, Set<Integer> staleTrue, Set<Integer> staleFalse) {
+            contribution.predicateCount.forEach((branch, count) -> decrement(predicateCount, branch, count));
+            contribution.calledMethods.forEach(method -> decrement(callCount, method, 1));
+            contribution.trueDistance.forEach((branch, distance) -> subtractMin(trueDistance, trueMinCount, branch, distance, staleTrue));
+            contribution.falseDistance.forEach((branch, distance) -> subtractMin(falseDistance, falseMinCount, branch, distance, staleFalse));
+        }
+
+        private static <K> void decrement(Map<K, Integer> counts, K key, int amount) {
+            int remaining = counts.get(key) - amount;
+            if (remaining == 0)
+                counts.remove(key);
+            else
+                counts.put(key, remaining);
+        }
+
+        private static void addMin(Map<Integer, Double> min, Map<Integer, Integer> minCount, Integer branch,
+                                   double distance, int multiplicity) {
+            Double old = min.get(branch);
+            if (old == null || distance < old) {
+                min.put(branch, distance);
+                minCount.put(branch, multiplicity);
+            } else if (distance == old) {
+                minCount.merge(branch, multiplicity, Integer::sum);
+            }
+        }
+
+        private static void subtractMin(Map<Integer, Double> min, Map<Integer, Integer> minCount, Integer branch,
+                                        double distance, Set<Integer> stale) {
+            Double old = min.get(branch);
+            if (old == null || distance != old)
+                return;
+            decrement(minCount, branch, 1);
+            if (!minCount.containsKey(branch)) {
+                min.remove(branch);
+                stale.add(branch);
+            }
+        }
+
+        private void recomputeMin(Integer branch, boolean trueBranch) {
+            Map<Integer, Double> min = trueBranch ? trueDistance : falseDistance;
+            Map<Integer, Integer> minCount = trueBranch ? trueMinCount : falseMinCount;
+            min.remove(branch);
+            minCount.remove(branch);
+            for (Entry<TestContribution, Integer> entry : members.entrySet()) {
+                Map<Integer, Double> distances = trueBranch ? entry.getKey().trueDistance : entry.getKey().falseDistance;
+                Double distance = distances.get(branch);
+                if (distance != null)
+                    addMin(min, minCount, branch, distance, entry.getValue());
+            }
+        }
+    }
+
     private void writeObject(ObjectOutputStream oos) throws IOException {
         oos.defaultWriteObject();
     }
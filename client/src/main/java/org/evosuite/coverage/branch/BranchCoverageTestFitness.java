@@ -169,7 +169,7 @@ public class BranchCoverageTestFitness extends TestFitnessFunction {
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
         if (Properties.TEST_ARCHIVE) {
@@ -162,7 +162,7 @@ public class OnlyBranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 }
                 OnlyBranchCoverageTestFitness goal = (OnlyBranchCoverageTestFitness) branchCoverageTrueMap.get(entry.getKey());
                 if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                    test.getTestCase().addCoveredGoal(goal);
+                    test.addCoveredGoal(goal);
                     toRemoveBranchesT.add(entry.getKey());
                 }
                 if (Properties.TEST_ARCHIVE) {
@@ -180,7 +180,7 @@ public class OnlyBranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 }
                 OnlyBranchCoverageTestFitness goal = (OnlyBranchCoverageTestFitness) branchCoverageFalseMap.get(entry.getKey());
                 if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                    test.getTestCase().addCoveredGoal(goal);
+                    test.addCoveredGoal(goal);
                     toRemoveBranchesF.add(entry.getKey());
                 }
                 if (Properties.TEST_ARCHIVE) {
@@ -199,7 +199,7 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
                     if (Double.compare(distanceT, 0.0) == 0) {
                         if (removedGoals.contains(goalT))
                             continue;
-                        test.getTestCase().addCoveredGoal(goalT);
+                        test.addCoveredGoal(goalT);
                         toRemoveGoals.add(goalT);
                     }
                     if (Properties.TEST_ARCHIVE) {
@@ -219,7 +219,7 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
                     if (Double.compare(distanceF, 0.0) == 0) {
                         if (removedGoals.contains(goalF))
                             continue;
-                        test.getTestCase().addCoveredGoal(goalF);
+                        test.addCoveredGoal(goalF);
                         toRemoveGoals.add(goalF);
                     }
                     if (Properties.TEST_ARCHIVE) {
@@ -266,7 +266,7 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
                     if (count > 0) {
                         if (removedGoals.contains(goal))
                             continue;
-                        test.getTestCase().addCoveredGoal(goal);
+                        test.addCoveredGoal(goal);
                         toRemoveGoals.add(goal);
                     }
                     if (Properties.TEST_ARCHIVE) {
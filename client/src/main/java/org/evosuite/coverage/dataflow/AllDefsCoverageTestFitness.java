@@ -72,7 +72,7 @@ public class AllDefsCoverageTestFitness extends TestFitnessFunction {
         Properties.TEST_ARCHIVE = false;
         double defFitness = goalDefinitionFitness.getFitness(individual, result);
         if (defFitness == 0.0) {
-            individual.getTestCase().removeCoveredGoal(goalDefinitionFitness);
+            individual.removeCoveredGoal(goalDefinitionFitness);
         }
         Properties.TEST_ARCHIVE = archive;
 
@@ -148,7 +148,7 @@ public class ExceptionCoverageTestFitness extends TestFitnessFunction {
         }
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
         if (Properties.TEST_ARCHIVE) {
@@ -168,7 +168,7 @@ public class IBranchSuiteFitness extends TestSuiteFitnessFunction {
                     }
                     if (Double.compare(distanceT, 0.0) == 0) {
                         if (updateChromosome)
-                            test.getTestCase().addCoveredGoal(goalT);
+                            test.addCoveredGoal(goalT);
                         toRemoveBranchesT.add(goalT);
                     }
 
@@ -192,7 +192,7 @@ public class IBranchSuiteFitness extends TestSuiteFitnessFunction {
                     }
                     if (Double.compare(distanceF, 0.0) == 0) {
                         if (updateChromosome)
-                            test.getTestCase().addCoveredGoal(goalF);
+                            test.addCoveredGoal(goalF);
                         toRemoveBranchesF.add(goalF);
                     }
 
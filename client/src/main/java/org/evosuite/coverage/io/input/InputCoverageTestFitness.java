@@ -145,7 +145,7 @@ public class InputCoverageTestFitness extends TestFitnessFunction {
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
         if (Properties.TEST_ARCHIVE) {
@@ -169,7 +169,7 @@ public class LineCoverageTestFitness extends TestFitnessFunction {
                 if (newFitness == 0.0) {
                     // Although the BranchCoverage goal has been covered, it is not part of the
                     // optimisation
-                    individual.getTestCase().removeCoveredGoal(branchFitness);
+                    individual.removeCoveredGoal(branchFitness);
                     // If the control dependency was covered, then likely
                     // an exception happened before the line was reached
                     newFitness = 1.0;
@@ -186,7 +186,7 @@ public class LineCoverageTestFitness extends TestFitnessFunction {
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
         if (Properties.TEST_ARCHIVE) {
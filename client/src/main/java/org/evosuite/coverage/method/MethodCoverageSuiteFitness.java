@@ -105,7 +105,7 @@ public class MethodCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 TestFitnessFunction goal = methodCoverageMap.get(name);
 
                 // only include methods being called
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 calledMethods.add(name);
                 this.toRemoveMethods.add(name);
 
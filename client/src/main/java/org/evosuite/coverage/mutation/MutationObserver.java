@@ -32,6 +32,72 @@ public class MutationObserver {
      */
     public static int activeMutation = -1;
 
+    /**
+     * Observers of parallel test execution workers. The binding is inherited
+     * by the test execution threads the workers spawn
+     */
+    private static final ThreadLocal<MutationObserver> workerInstance = new InheritableThreadLocal<>();
+
+    /**
+     * Avoid the thread local lookup on every mutation point reached by the
+     * instrumented code as long as no worker has ever been bound
+     */
+    private static volatile boolean workersBound = false;
+
+    /**
+     * The mutation activated on the worker this observer is bound to
+     */
+    private volatile int workerActiveMutation = -1;
+
+    private MutationObserver() {
+    }
+
+    /**
+     * Create the mutation state of a parallel test execution worker, see
+     * {@link org.evosuite.testcase.execution.TestExecutionWorkerPool}
+     *
+     * @return a new observer, with no mutation activated
+     */
+    public static MutationObserver newWorkerInstance() {
+        return new MutationObserver();
+    }
+
+    /**
+     * Make the (de)activation of mutations on the current thread, and on all
+     * the threads it spawns, affect the given worker observer only
+     *
+     * @param observer an observer created by {@link #newWorkerInstance()}
+     */
+    public static void bindToCurrentThread(MutationObserver observer) {
+        workersBound = true;
+        workerInstance.set(observer);
+    }
+
+    public static void unbindFromCurrentThread() {
+        workerInstance.remove();
+    }
+
+    private static MutationObserver getWorkerInstance() {
+        if (workersBound) {
+            return workerInstance.get();
+        }
+        return null;
+    }
+
+    /**
+     * Called by the instrumented code to determine whether a mutation
+     * point needs to execute its mutated code
+     *
+     * @return the id of the active mutation, or -1
+     */
+    public static int getActiveMutation() {
+        MutationObserver observer = getWorkerInstance();
+        if (observer != null) {
+            return observer.workerActiveMutation;
+        }
+        return activeMutation;
+    }
+
     /**
      * <p>mutationTouched</p>
      *
@@ -48,7 +114,7 @@ public class MutationObserver {
      */
     public static void activateMutation(Mutation mutation) {
         if (mutation != null)
-            activeMutation = mutation.getId();
+            activateMutation(mutation.getId());
     }
 
     /**
@@ -57,14 +123,19 @@ public class MutationObserver {
      * @param id a int.
      */
     public static void activateMutation(int id) {
-        activeMutation = id;
+        MutationObserver observer = getWorkerInstance();
+        if (observer != null) {
+            observer.workerActiveMutation = id;
+        } else {
+            activeMutation = id;
+        }
     }
 
     /**
      * <p>deactivateMutation</p>
      */
     public static void deactivateMutation() {
-        activeMutation = -1;
+        activateMutation(-1);
     }
 
     /**
@@ -73,7 +144,7 @@ public class MutationObserver {
      * @param mutation a {@link org.evosuite.coverage.mutation.Mutation} object.
      */
     public static void deactivateMutation(Mutation mutation) {
-        activeMutation = -1;
+        activateMutation(-1);
     }
 
 }
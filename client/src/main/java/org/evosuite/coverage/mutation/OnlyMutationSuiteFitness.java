@@ -109,7 +109,7 @@ public class OnlyMutationSuiteFitness extends MutationSuiteFitness {
                 }
 
                 if (fit == 0.0) {
-                    test.getTestCase().addCoveredGoal(goal); // update list of covered goals
+                    test.addCoveredGoal(goal); // update list of covered goals
                     this.toRemoveMutants.add(mutantID); // goal to not be considered by the next iteration of the evolutionary algorithm
                 }
 
@@ -128,17 +128,23 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
         Set<Integer> newKilled = new LinkedHashSet<>();
 
         List<TestChromosome> executionOrder = prioritizeTests(suite); // Quicker tests first
+
+        // Using private reflection can lead to false positives
+        // that represent unrealistic behaviour. Thus, we only
+        // use reflection for basic criteria, not for mutation
+        for (TestChromosome test : executionOrder) {
+            ExecutionResult result = test.getLastExecutionResult();
+            if (!result.calledReflection())
+                touchedMutants.addAll(result.getTrace().getTouchedMutants());
+        }
+        logger.debug("Tests touched " + touchedMutants.size() + " mutants");
+
         for (TestChromosome test : executionOrder) {
             ExecutionResult result = test.getLastExecutionResult();
-            // Using private reflection can lead to false positives
-            // that represent unrealistic behaviour. Thus, we only
-            // use reflection for basic criteria, not for mutation
             if (result.calledReflection())
                 continue;
 
             ExecutionTrace trace = result.getTrace();
-            touchedMutants.addAll(trace.getTouchedMutants());
-            logger.debug("Tests touched " + touchedMutants.size() + " mutants");
 
             Map<Integer, Double> touchedMutantsDistances = trace.getMutationDistances();
             if (touchedMutantsDistances.isEmpty()) {
@@ -158,10 +164,16 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
                     continue;
                 }
 
+                boolean hasBeenTouched = touchedMutantsDistances.containsKey(mutantID);
+                if (!hasBeenTouched && touchedMutants.contains(mutantID)) {
+                    // A test that does not reach the mutant can neither kill it, nor
+                    // improve on the fitness of another test of the suite that reaches it
+                    continue;
+                }
+
                 mutantsChecked++;
 
                 double mutantInfectionDistance = 3.0;
-                boolean hasBeenTouched = touchedMutantsDistances.containsKey(mutantID);
 
                 if (hasBeenTouched) {
                     // Infection happened, so we need to check propagation
@@ -399,7 +399,7 @@ public class StrongMutationTestFitness extends MutationTestFitness {
 
         updateIndividual(individual, fitness);
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
             //assert(isCovered(individual, result));
         }
         assert (fitness >= 0.0);
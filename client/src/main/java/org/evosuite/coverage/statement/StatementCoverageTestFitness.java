@@ -138,7 +138,7 @@ public class StatementCoverageTestFitness extends TestFitnessFunction {
                 r = 0.0;
                 // Although the BranchCoverage goal has been covered, it is not part of the
                 // optimisation
-                individual.getTestCase().removeCoveredGoal(branchFitness);
+                individual.removeCoveredGoal(branchFitness);
                 break;
             }
             if (newFitness < r)
@@ -150,7 +150,7 @@ public class StatementCoverageTestFitness extends TestFitnessFunction {
         updateIndividual(individual, r);
 
         if (r == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
         if (Properties.TEST_ARCHIVE) {
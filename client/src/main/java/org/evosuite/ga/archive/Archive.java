@@ -56,16 +56,30 @@ public abstract class Archive implements Serializable {
     private static final Logger logger = LoggerFactory.getLogger(Archive.class);
 
     /**
-     * Map used to store all targets (values of the map) of each method (here represented by its name,
-     * keys of the map)
+     * Index of all registered targets, with their coverage and the number of targets of each method
+     * that have not been covered yet
      */
-    protected final Map<String, Set<TestFitnessFunction>> nonCoveredTargetsOfEachMethod =
-            new LinkedHashMap<>();
+    protected final TargetIndex targetIndex = new TargetIndex();
 
     /**
      * Has this archive been updated with new candidate solutions?
      */
-    protected boolean hasBeenUpdated = false;
+    protected volatile boolean hasBeenUpdated = false;
+
+    /**
+     * Number of locks that guard the solutions of the targets. The solutions of the target with id
+     * {@code i} are guarded by lock {@code i % NUMBER_OF_STRIPES}, so that concurrent updates of
+     * different targets rarely contend
+     */
+    private static final int NUMBER_OF_STRIPES = 64;
+
+    private final Object[] stripes = new Object[NUMBER_OF_STRIPES];
+
+    {
+        for (int i = 0; i < NUMBER_OF_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
 
     /**
      * Register a target.
@@ -94,34 +108,40 @@ public abstract class Archive implements Serializable {
      * Register a non-covered target of a method.
      *
      * @param target
+     * @return the id of the target in the {@link #targetIndex}
      */
-    protected void registerNonCoveredTargetOfAMethod(TestFitnessFunction target) {
-        String targetMethod = this.getMethodFullName(target);
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
-            this.nonCoveredTargetsOfEachMethod.put(targetMethod, new LinkedHashSet<>());
-        }
-        this.nonCoveredTargetsOfEachMethod.get(targetMethod).add(target);
+    protected int registerNonCoveredTargetOfAMethod(TestFitnessFunction target) {
+        return this.targetIndex.register(target, this.getMethodFullName(target));
+    }
+
+    /**
+     * @param id the id of a target in the {@link #targetIndex}
+     * @return the lock that guards the solutions of the target
+     */
+    protected Object getLock(int id) {
+        return this.stripes[id % NUMBER_OF_STRIPES];
     }
 
     /**
      * Removes a specific covered target from the list of non-covered targets of a method.
      *
      * @param target
+     * @return true if the target had not been covered before
      */
-    protected void removeNonCoveredTargetOfAMethod(TestFitnessFunction target) {
-        String targetMethod = this.getMethodFullName(target);
-        if (this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
-            // target has been covered, therefore we can remove it from the list of non-covered
-            this.nonCoveredTargetsOfEachMethod.get(targetMethod).remove(target);
-
-            if (this.nonCoveredTargetsOfEachMethod.get(targetMethod).isEmpty()) {
-                // method is fully covered, therefore we do not need to keep track of it
-                this.nonCoveredTargetsOfEachMethod.remove(targetMethod);
-
-                // inform TestCluster that method 'targetMethod' is fully covered
+    protected boolean removeNonCoveredTargetOfAMethod(TestFitnessFunction target) {
+        int id = this.targetIndex.getId(target);
+        if (id < 0) {
+            return false;
+        }
+        int remaining = this.targetIndex.markCovered(id);
+        if (remaining == 0) {
+            // method is fully covered, inform TestCluster that method 'targetMethod' is fully covered.
+            // Only the thread covering its last target gets here
+            synchronized (this) {
                 this.ignoreMethodCall(this.getClassName(target), this.getMethodName(target));
             }
         }
+        return remaining >= 0;
     }
 
     /**
@@ -476,10 +496,7 @@ public abstract class Archive implements Serializable {
      * @return true if a method has been fully covered, false otherwise
      */
     protected boolean isMethodFullyCovered(String methodFullName) {
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
-            return true;
-        }
-        return this.nonCoveredTargetsOfEachMethod.get(methodFullName).isEmpty();
+        return this.targetIndex.getNumberOfRemainingTargets(methodFullName) == 0;
     }
 
     /**
@@ -489,10 +506,7 @@ public abstract class Archive implements Serializable {
      * @return
      */
     public int getNumOfRemainingTargets(String methodFullName) {
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
-            return 0;
-        }
-        return this.nonCoveredTargetsOfEachMethod.get(methodFullName).size();
+        return this.targetIndex.getNumberOfRemainingTargets(methodFullName);
     }
 
     /**
@@ -504,7 +518,7 @@ public abstract class Archive implements Serializable {
      * Reset any field.
      */
     public void reset() {
-        this.nonCoveredTargetsOfEachMethod.clear();
+        this.targetIndex.clear();
     }
 
     /**
@@ -67,7 +67,7 @@ public class ArchiveTestChromosomeFactory implements ChromosomeFactory<TestChrom
                     test =
                     seededTests
                             .remove(seededTests.size() - 1); //pull out one element, 'last' just for efficiency
-            test.getTestCase().removeAssertions(); // no assertions are used during search
+            test.getMutableTestCase().removeAssertions(); // no assertions are used during search
             return test;
         }
 
@@ -77,7 +77,7 @@ public class ArchiveTestChromosomeFactory implements ChromosomeFactory<TestChrom
                 && Randomness.nextDouble() < Properties.SEED_CLONE) {
             logger.info("Creating test based on archive");
             test = new TestChromosome();
-            test.setTestCase(Archive.getArchiveInstance().getRandomSolution().getTestCase());
+            test.setTestCase(Archive.getArchiveInstance().getRandomSolution().getMutableTestCase());
             int mutations = Randomness.nextInt(Properties.SEED_MUTATIONS);
             for (int i = 0; i < mutations; i++) {
                 test.mutate();
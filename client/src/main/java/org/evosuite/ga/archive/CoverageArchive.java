@@ -30,9 +30,7 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -46,17 +44,6 @@ public class CoverageArchive extends Archive {
 
     private static final Logger logger = LoggerFactory.getLogger(CoverageArchive.class);
 
-    /**
-     * Map used to store all covered targets (keys of the map) and the corresponding covering
-     * solutions (values of the map)
-     */
-    private final Map<TestFitnessFunction, TestChromosome> covered = new LinkedHashMap<>();
-
-    /**
-     * Set used to store all targets that have not been covered yet
-     */
-    private final Set<TestFitnessFunction> uncovered = new LinkedHashSet<>();
-
     public static final CoverageArchive instance = new CoverageArchive();
 
 
@@ -67,9 +54,8 @@ public class CoverageArchive extends Archive {
     public void addTarget(TestFitnessFunction target) {
         super.addTarget(target);
 
-        if (!this.uncovered.contains(target)) {
+        if (this.targetIndex.getId(target) < 0) {
             logger.debug("Registering new target '" + target + "'");
-            this.uncovered.add(target);
         }
 
         this.registerNonCoveredTargetOfAMethod(target);
@@ -81,7 +67,8 @@ public class CoverageArchive extends Archive {
     @Override
     public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
         super.updateArchive(target, solution, fitnessValue);
-        assert this.covered.containsKey(target) || this.uncovered.contains(target) : "Unknown goal: " + target;
+        int id = this.targetIndex.getId(target);
+        assert id >= 0 : "Unknown goal: " + target;
 
         if (fitnessValue > 0.0) {
             // as this type of archive only cares about covered targets, it ignores all
@@ -89,28 +76,29 @@ public class CoverageArchive extends Archive {
             return;
         }
 
-        boolean isNewCoveredTarget = false;
-        boolean isNewSolutionBetterThanCurrent = false;
+        synchronized (this.getLock(id)) {
+            boolean isNewCoveredTarget = false;
+            boolean isNewSolutionBetterThanCurrent = false;
 
-        TestChromosome currentSolution = this.covered.get(target);
+            TestChromosome currentSolution = this.targetIndex.getSolution(id);
 
-        if (currentSolution == null) {
-            logger.debug("Solution for non-covered target '" + target + "'");
-            isNewCoveredTarget = true;
-        } else {
-            isNewSolutionBetterThanCurrent = this.isBetterThanCurrent(currentSolution, solution);
-        }
+            if (currentSolution == null) {
+                logger.debug("Solution for non-covered target '" + target + "'");
+                isNewCoveredTarget = true;
+            } else {
+                isNewSolutionBetterThanCurrent = this.isBetterThanCurrent(currentSolution, solution);
+            }
 
-        if (isNewCoveredTarget || isNewSolutionBetterThanCurrent) {
-            // update the archive if a new target has been covered, or if solution covers already existing
-            // covered targets but it has been considered a better solution
-            this.addToArchive(target, solution);
+            if (isNewCoveredTarget || isNewSolutionBetterThanCurrent) {
+                // update the archive if a new target has been covered, or if solution covers already existing
+                // covered targets but it has been considered a better solution
+                this.addToArchive(id, target, solution);
+            }
         }
     }
 
-    private void addToArchive(TestFitnessFunction target, TestChromosome solution) {
-        this.uncovered.remove(target);
-        this.covered.put(target, solution);
+    private void addToArchive(int id, TestFitnessFunction target, TestChromosome solution) {
+        this.targetIndex.setSolution(id, solution);
         this.removeNonCoveredTargetOfAMethod(target);
         this.hasBeenUpdated = true;
 
@@ -127,7 +115,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public boolean isArchiveEmpty() {
-        return this.covered.isEmpty();
+        return this.targetIndex.getNumberOfCovered() == 0;
     }
 
     /**
@@ -135,7 +123,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfTargets() {
-        return this.covered.keySet().size() + this.uncovered.size();
+        return this.targetIndex.size();
     }
 
     /**
@@ -143,7 +131,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfCoveredTargets() {
-        return this.covered.size();
+        return this.targetIndex.getNumberOfCovered();
     }
 
     /**
@@ -151,7 +139,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfCoveredTargets(Class<?> targetClass) {
-        return (int) this.covered.keySet().stream().filter(target -> target.getClass() == targetClass)
+        return (int) this.getCoveredTargets().stream().filter(target -> target.getClass() == targetClass)
                 .count();
     }
 
@@ -160,7 +148,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getCoveredTargets() {
-        return this.covered.keySet();
+        return this.targetIndex.getTargets(true);
     }
 
     /**
@@ -168,7 +156,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfUncoveredTargets() {
-        return this.uncovered.size();
+        return this.targetIndex.getNumberOfUncovered();
     }
 
     /**
@@ -176,7 +164,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfUncoveredTargets(Class<?> targetClass) {
-        return (int) this.uncovered.stream().filter(target -> target.getClass() == targetClass).count();
+        return (int) this.getUncoveredTargets().stream().filter(target -> target.getClass() == targetClass).count();
     }
 
     /**
@@ -184,14 +172,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getUncoveredTargets() {
-        return this.uncovered;
-    }
-
-    private Set<TestFitnessFunction> getTargets() {
-        Set<TestFitnessFunction> targets = new LinkedHashSet<>();
-        targets.addAll(this.getCoveredTargets());
-        targets.addAll(this.getUncoveredTargets());
-        return targets;
+        return this.targetIndex.getTargets(false);
     }
 
     /**
@@ -200,7 +181,7 @@ public class CoverageArchive extends Archive {
     @Override
     public boolean hasTarget(TestFitnessFunction target) {
         assert target != null;
-        return this.covered.containsKey(target) || this.uncovered.contains(target);
+        return this.targetIndex.getId(target) >= 0;
     }
 
     /**
@@ -208,7 +189,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfSolutions() {
-        return this.covered.size();
+        return this.targetIndex.getNumberOfCovered();
     }
 
     /**
@@ -216,7 +197,14 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestChromosome> getSolutions() {
-        return new LinkedHashSet<>(this.covered.values());
+        Set<TestChromosome> solutions = new LinkedHashSet<>();
+        for (int id = 0; id < this.targetIndex.size(); id++) {
+            TestChromosome solution = this.targetIndex.getSolution(id);
+            if (solution != null) {
+                solutions.add(solution);
+            }
+        }
+        return solutions;
     }
 
     /**
@@ -233,8 +221,8 @@ public class CoverageArchive extends Archive {
     @Override
     public TestChromosome getSolution(TestFitnessFunction target) {
         assert target != null;
-        assert this.covered.containsKey(target);
-        return this.covered.get(target);
+        assert this.hasSolution(target);
+        return this.targetIndex.getSolution(this.targetIndex.getId(target));
     }
 
     /**
@@ -243,7 +231,8 @@ public class CoverageArchive extends Archive {
     @Override
     public boolean hasSolution(TestFitnessFunction target) {
         assert target != null;
-        return this.covered.containsKey(target);
+        int id = this.targetIndex.getId(target);
+        return id >= 0 && this.targetIndex.isCovered(id);
     }
 
     /**
@@ -283,7 +272,8 @@ public class CoverageArchive extends Archive {
         // to avoid adding the same solution to 'mergedSolution' suite
         Set<TestChromosome> solutionsSampledFromArchive = new LinkedHashSet<>();
 
-        for (TestFitnessFunction target : this.getTargets()) {
+        for (int id = 0; id < this.targetIndex.size(); id++) {
+            TestFitnessFunction target = this.targetIndex.getTarget(id);
             // has target been covered? to answer it, we perform a local check rather than calling method
             // {@link TestFitnessFunction.isCoveredBy} as it may perform a fitness evaluation to access
             // whether that 'target' is covered or not (and therefore, it could be more expensive)
@@ -296,7 +286,7 @@ public class CoverageArchive extends Archive {
             }
 
             if (!isGoalCovered) {
-                TestChromosome chromosome = this.covered.get(target);
+                TestChromosome chromosome = this.targetIndex.getSolution(id);
 
                 // is there any solution in the archive that covers it, and has that solution not been
                 // considered yet?
@@ -341,7 +331,5 @@ public class CoverageArchive extends Archive {
     @Override
     public void reset() {
         super.reset();
-        this.covered.clear();
-        this.uncovered.clear();
     }
 }
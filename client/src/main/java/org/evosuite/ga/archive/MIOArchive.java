@@ -33,8 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.*;
-
-import static java.util.stream.Collectors.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Implementation of the archive described in the 'Many Independent Objective (MIO) Algorithm for
@@ -49,10 +48,11 @@ public class MIOArchive extends Archive {
     private static final Logger logger = LoggerFactory.getLogger(MIOArchive.class);
 
     /**
-     * Map used to store all targets (keys of the map) and the corresponding covering solutions
-     * (values of the map)
+     * Populations of solutions of all targets, indexed by the id of the target in the
+     * {@link #targetIndex}. A population is guarded by the lock of its target. Most targets are
+     * registered before the search starts, so the list is rarely copied
      **/
-    protected final Map<TestFitnessFunction, Population> archive = new LinkedHashMap<>();
+    protected final List<Population> populations = new CopyOnWriteArrayList<>();
 
     public static final MIOArchive instance = new MIOArchive();
 
@@ -63,12 +63,17 @@ public class MIOArchive extends Archive {
     public void addTarget(TestFitnessFunction target) {
         super.addTarget(target);
 
-        if (!this.archive.containsKey(target)) {
-            logger.debug("Registering new target '" + target + "'");
-            this.archive.put(target, new Population(Properties.NUMBER_OF_TESTS_PER_TARGET));
-        }
+        synchronized (this.populations) {
+            if (this.targetIndex.getId(target) < 0) {
+                logger.debug("Registering new target '" + target + "'");
+                // the population is added first, so that the id of a registered target always
+                // refers to a population
+                this.populations.add(new Population(Properties.NUMBER_OF_TESTS_PER_TARGET));
+            }
 
-        this.registerNonCoveredTargetOfAMethod(target);
+            int id = this.registerNonCoveredTargetOfAMethod(target);
+            assert id < this.populations.size();
+        }
     }
 
     /**
@@ -77,16 +82,20 @@ public class MIOArchive extends Archive {
     @Override
     public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
         super.updateArchive(target, solution, fitnessValue);
-        assert this.archive.containsKey(target);
+        int id = this.targetIndex.getId(target);
+        assert id >= 0 : "Unknown goal: " + target;
 
         ExecutionResult executionResult = solution.getLastExecutionResult();
         // remove all statements after an exception
         if (!executionResult.noThrownExceptions()) {
-            solution.getTestCase().chop(executionResult.getFirstPositionOfThrownException() + 1);
+            solution.getMutableTestCase().chop(executionResult.getFirstPositionOfThrownException() + 1);
         }
 
-        boolean isNewCoveredTarget = this.archive.get(target)
-                .addSolution(1.0 - FitnessFunction.normalize(fitnessValue), solution);
+        boolean isNewCoveredTarget;
+        synchronized (this.getLock(id)) {
+            isNewCoveredTarget = this.populations.get(id)
+                    .addSolution(1.0 - FitnessFunction.normalize(fitnessValue), solution);
+        }
         if (isNewCoveredTarget) {
             this.removeNonCoveredTargetOfAMethod(target);
             this.hasBeenUpdated = true;
@@ -106,7 +115,7 @@ public class MIOArchive extends Archive {
      */
     @Override
     public int getNumberOfTargets() {
-        return this.archive.keySet().size();
+        return this.targetIndex.size();
     }
 
     /**
@@ -114,7 +123,7 @@ public class MIOArchive extends Archive {
      */
     @Override
     public int getNumberOfCoveredTargets() {
-        return this.getCoveredTargets().size();
+        return this.targetIndex.getNumberOfCovered();
     }
 
     /**
@@ -131,9 +140,7 @@ public class MIOArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getCoveredTargets() {
-        return this.archive.keySet().stream()
-                .filter(target -> this.archive.get(target).isCovered())
-                .collect(toSet());
+        return this.targetIndex.getTargets(true);
     }
 
     /**
@@ -141,7 +148,7 @@ public class MIOArchive extends Archive {
      */
     @Override
     public int getNumberOfUncoveredTargets() {
-        return this.getUncoveredTargets().size();
+        return this.targetIndex.getNumberOfUncovered();
     }
 
     /**
@@ -159,9 +166,7 @@ public class MIOArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getUncoveredTargets() {
-        return this.archive.keySet().stream()
-                .filter(target -> !this.archive.get(target).isCovered())
-                .collect(toSet());
+        return this.targetIndex.getTargets(false);
     }
 
     /**
@@ -170,7 +175,7 @@ public class MIOArchive extends Archive {
     @Override
     public boolean hasTarget(TestFitnessFunction target) {
         assert target != null;
-        return this.archive.containsKey(target);
+        return this.targetIndex.getId(target) >= 0;
     }
 
     /**
@@ -188,10 +193,20 @@ public class MIOArchive extends Archive {
      */
     @Override
     public Set<TestChromosome> getSolutions() {
-        return this.archive.values().stream()
-                .map(Population::getBestSolutionIfAny)
-                .filter(Objects::nonNull)
-                .collect(toCollection(LinkedHashSet::new));
+        Set<TestChromosome> solutions = new LinkedHashSet<>();
+        for (int id = 0; id < this.targetIndex.size(); id++) {
+            TestChromosome solution = this.getBestSolutionIfAny(id);
+            if (solution != null) {
+                solutions.add(solution);
+            }
+        }
+        return solutions;
+    }
+
+    private TestChromosome getBestSolutionIfAny(int id) {
+        synchronized (this.getLock(id)) {
+            return this.populations.get(id).getBestSolutionIfAny();
+        }
     }
 
     /**
@@ -206,22 +221,27 @@ public class MIOArchive extends Archive {
         // one of the covered targets at random. Thereafter, choose one solution randomly from the list
         // of solutions of the chosen target.
 
-        List<TestFitnessFunction> targetsWithSolutions = this.archive.keySet().stream()
-                .filter(target -> this.archive.get(target).numSolutions() > 0).collect(toList());
+        // ids of the non-covered and of the covered targets with solutions, and the counters of their
+        // populations at the time they were inspected
+        List<Integer> nonCoveredTargets = new ArrayList<>();
+        List<Integer> coveredTargets = new ArrayList<>();
+        Map<Integer, Integer> counters = new HashMap<>();
+        for (int id = 0; id < this.targetIndex.size(); id++) {
+            synchronized (this.getLock(id)) {
+                Population population = this.populations.get(id);
+                if (population.numSolutions() > 0) {
+                    (population.isCovered() ? coveredTargets : nonCoveredTargets).add(id);
+                    counters.put(id, population.counter());
+                }
+            }
+        }
 
-        if (targetsWithSolutions.isEmpty()) {
+        if (nonCoveredTargets.isEmpty() && coveredTargets.isEmpty()) {
             // there is not at least one target with at least one solution
             return null;
         }
 
-        List<TestFitnessFunction> potentialTargets = targetsWithSolutions.stream()
-                .filter(target -> !this.archive.get(target).isCovered()).collect(toList());
-
-        if (potentialTargets.isEmpty()) {
-            potentialTargets =
-                    targetsWithSolutions.stream().filter(target -> this.archive.get(target).isCovered())
-                            .collect(toList());
-        }
+        List<Integer> potentialTargets = nonCoveredTargets.isEmpty() ? coveredTargets : nonCoveredTargets;
         assert !potentialTargets.isEmpty();
 
         // Instead of choosing a target at random, we choose the one with the lowest counter value.
@@ -232,9 +252,13 @@ public class MIOArchive extends Archive {
 
         // ASC sort, i.e., from the population with the lowest counter to the population with the
         // highest counter
-        potentialTargets.sort(Comparator.comparingInt(f -> archive.get(f).counter()));
+        potentialTargets.sort(Comparator.comparingInt(counters::get));
 
-        TestChromosome randomSolution = this.archive.get(potentialTargets.get(0)).sampleSolution();
+        int id = potentialTargets.get(0);
+        TestChromosome randomSolution;
+        synchronized (this.getLock(id)) {
+            randomSolution = this.populations.get(id).sampleSolution();
+        }
         return randomSolution == null ? null : randomSolution.clone();
     }
 
@@ -244,8 +268,8 @@ public class MIOArchive extends Archive {
     @Override
     public TestChromosome getSolution(TestFitnessFunction target) {
         assert target != null;
-        assert this.archive.containsKey(target);
-        return this.archive.get(target).getBestSolutionIfAny();
+        assert this.hasTarget(target);
+        return this.getBestSolutionIfAny(this.targetIndex.getId(target));
     }
 
     /**
@@ -254,8 +278,9 @@ public class MIOArchive extends Archive {
     @Override
     public boolean hasSolution(TestFitnessFunction target) {
         assert target != null;
-        assert this.archive.containsKey(target);
-        return this.archive.get(target).isCovered();
+        int id = this.targetIndex.getId(target);
+        assert id >= 0;
+        return this.targetIndex.isCovered(id);
     }
 
     /**
@@ -280,13 +305,12 @@ public class MIOArchive extends Archive {
         // to avoid adding the same solution to 'mergedSolution' suite
         Set<TestChromosome> solutionsSampledFromArchive = new LinkedHashSet<>();
 
-        for (TestFitnessFunction target : this.archive.keySet()) {
+        for (int id = 0; id < this.targetIndex.size(); id++) {
+            TestFitnessFunction target = this.targetIndex.getTarget(id);
             // does solution cover target?
             if (!target.isCoveredBy(mergedSolution)) {
-                Population population = this.archive.get(target);
-
                 // is there any solution in the archive that covers it?
-                TestChromosome t = population.getBestSolutionIfAny();
+                TestChromosome t = this.getBestSolutionIfAny(id);
                 if (t != null) {
                     // has t been considered?
                     if (!solutionsSampledFromArchive.contains(t)) {
@@ -317,8 +341,10 @@ public class MIOArchive extends Archive {
     @Override
     public void shrinkSolutions(int newPopulationSize) {
         assert newPopulationSize > 0;
-        for (TestFitnessFunction target : this.archive.keySet()) {
-            this.archive.get(target).shrinkPopulation(newPopulationSize);
+        for (int id = 0; id < this.targetIndex.size(); id++) {
+            synchronized (this.getLock(id)) {
+                this.populations.get(id).shrinkPopulation(newPopulationSize);
+            }
         }
     }
 
@@ -336,8 +362,10 @@ public class MIOArchive extends Archive {
      */
     @Override
     public void reset() {
-        super.reset();
-        this.archive.clear();
+        synchronized (this.populations) {
+            super.reset();
+            this.populations.clear();
+        }
     }
 
     private class Population implements Serializable {
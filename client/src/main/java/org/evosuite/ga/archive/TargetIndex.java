@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index of the targets of an {@link Archive}. Targets get dense integer ids in
+ * order of registration, so that their coverage can be kept in a bitset, their
+ * solutions in an array, and the number of non-covered targets of each method
+ * in a counter per method.
+ * <p>
+ * The index is safe for concurrent updates: coverage and solutions are updated
+ * with atomic operations, while registering targets (which may grow the arrays)
+ * excludes all other accesses. Targets are registered before the search starts,
+ * so that lock is not contended.
+ */
+public final class TargetIndex implements Serializable {
+
+    private static final long serialVersionUID = 5254817361048294427L;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<TestFitnessFunction, Integer> ids = new HashMap<>();
+
+    private final List<TestFitnessFunction> targets = new ArrayList<>();
+
+    private final Map<String, Integer> methodIds = new HashMap<>();
+
+    private int[] methodOfTarget = new int[INITIAL_CAPACITY];
+
+    private AtomicLongArray coveredBits = new AtomicLongArray(INITIAL_CAPACITY / Long.SIZE);
+
+    private AtomicReferenceArray<TestChromosome> solutions = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * Number of non-covered targets of each method
+     */
+    private AtomicIntegerArray remainingOfMethod = new AtomicIntegerArray(INITIAL_CAPACITY);
+
+    private final AtomicInteger numberOfCovered = new AtomicInteger(0);
+
+    /**
+     * Registers a target of the given method, if it is not known yet.
+     *
+     * @param target
+     * @param methodFullName
+     * @return the id of the target
+     */
+    public int register(TestFitnessFunction target, String methodFullName) {
+        lock.writeLock().lock();
+        try {
+            Integer known = ids.get(target);
+            if (known != null) {
+                return known;
+            }
+
+            int id = targets.size();
+            Integer methodId = methodIds.get(methodFullName);
+            if (methodId == null) {
+                methodId = methodIds.size();
+                methodIds.put(methodFullName, methodId);
+            }
+            ensureCapacity(id, methodId);
+
+            ids.put(target, id);
+            targets.add(target);
+            methodOfTarget[id] = methodId;
+            remainingOfMethod.incrementAndGet(methodId);
+            return id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int id, int methodId) {
+        if (id >= solutions.length()) {
+            int capacity = Math.max(solutions.length() * 2, id + 1);
+            methodOfTarget = Arrays.copyOf(methodOfTarget, capacity);
+
+            AtomicReferenceArray<TestChromosome> newSolutions = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < solutions.length(); i++) {
+                newSolutions.set(i, solutions.get(i));
+            }
+            solutions = newSolutions;
+
+            AtomicLongArray newBits = new AtomicLongArray((capacity + Long.SIZE - 1) / Long.SIZE);
+            for (int i = 0; i < coveredBits.length(); i++) {
+                newBits.set(i, coveredBits.get(i));
+            }
+            coveredBits = newBits;
+        }
+        if (methodId >= remainingOfMethod.length()) {
+            AtomicIntegerArray newRemaining = new AtomicIntegerArray(Math.max(remainingOfMethod.length() * 2, methodId + 1));
+            for (int i = 0; i < remainingOfMethod.length(); i++) {
+                newRemaining.set(i, remainingOfMethod.get(i));
+            }
+            remainingOfMethod = newRemaining;
+        }
+    }
+
+    /**
+     * @param target
+     * @return the id of the target, or -1 if it is not registered
+     */
+    public int getId(TestFitnessFunction target) {
+        lock.readLock().lock();
+        try {
+            Integer id = ids.get(target);
+            return id == null ? -1 : id;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public TestFitnessFunction getTarget(int id) {
+        lock.readLock().lock();
+        try {
+            return targets.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return targets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isCovered(int id) {
+        lock.readLock().lock();
+        try {
+            return (coveredBits.get(id / Long.SIZE) & (1L << id)) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the target as covered.
+     *
+     * @param id
+     * @return -1 if the target was already covered, otherwise the number of
+     * targets of its method that remain to be covered
+     */
+    public int markCovered(int id) {
+        lock.readLock().lock();
+        try {
+            int word = id / Long.SIZE;
+            long mask = 1L << id;
+            long bits;
+            do {
+                bits = coveredBits.get(word);
+                if ((bits & mask) != 0) {
+                    return -1;
+                }
+            } while (!coveredBits.compareAndSet(word, bits, bits | mask));
+
+            numberOfCovered.incrementAndGet();
+            return remainingOfMethod.decrementAndGet(methodOfTarget[id]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getNumberOfCovered() {
+        return numberOfCovered.get();
+    }
+
+    public int getNumberOfUncovered() {
+        return size() - getNumberOfCovered();
+    }
+
+    public TestChromosome getSolution(int id) {
+        lock.readLock().lock();
+        try {
+            return solutions.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void setSolution(int id, TestChromosome solution) {
+        lock.readLock().lock();
+        try {
+            solutions.set(id, solution);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param covered whether to return the covered or the non-covered targets
+     * @return the targets, in order of registration
+     */
+    public Set<TestFitnessFunction> getTargets(boolean covered) {
+        lock.readLock().lock();
+        try {
+            Set<TestFitnessFunction> result = new LinkedHashSet<>();
+            for (int id = 0; id < targets.size(); id++) {
+                if (((coveredBits.get(id / Long.SIZE) & (1L << id)) != 0) == covered) {
+                    result.add(targets.get(id));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param methodFullName
+     * @return the number of targets of the method that remain to be covered
+     */
+    public int getNumberOfRemainingTargets(String methodFullName) {
+        lock.readLock().lock();
+        try {
+            Integer methodId = methodIds.get(methodFullName);
+            return methodId == null ? 0 : remainingOfMethod.get(methodId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ids.clear();
+            targets.clear();
+            methodIds.clear();
+            methodOfTarget = new int[INITIAL_CAPACITY];
+            coveredBits = new AtomicLongArray(INITIAL_CAPACITY / Long.SIZE);
+            solutions = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+            remainingOfMethod = new AtomicIntegerArray(INITIAL_CAPACITY);
+            numberOfCovered.set(0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
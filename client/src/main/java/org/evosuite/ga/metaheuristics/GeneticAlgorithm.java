@@ -41,6 +41,7 @@ import org.evosuite.ga.stoppingconditions.MaxGenerationStoppingCondition;
 import org.evosuite.ga.stoppingconditions.StoppingCondition;
 import org.evosuite.symbolic.dse.DSEStatistics;
 import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestExecutionWorkerPool;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.LoggingUtils;
@@ -565,6 +566,7 @@ public abstract class GeneticAlgorithm<T extends Chromosome<T>> implements Searc
      */
     protected void calculateFitness() {
         logger.debug("Calculating fitness for " + population.size() + " individuals");
+        TestExecutionWorkerPool.executeChanged(this.population);
 
         for (T c : this.population) {
             if (isFinished()) {
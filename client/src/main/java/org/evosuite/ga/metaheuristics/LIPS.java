@@ -368,7 +368,7 @@ public class LIPS extends GeneticAlgorithm<TestChromosome> {
     private void updateArchive(TestChromosome solution, TestFitnessFunction covered) {
         // the next two lines are needed since that coverage information are used
         // during EvoSuite post-processing
-        solution.getTestCase().getCoveredGoals().add(covered);
+        solution.addCoveredGoal(covered);
 
         if (!archive.containsKey(covered)) {
             archive.put(covered, solution);
@@ -308,7 +308,7 @@ public class MAPElites extends GeneticAlgorithm<TestChromosome> {
      */
     private boolean removeUnusedVariables(TestChromosome chromosome) {
         int sizeBefore = chromosome.size();
-        TestCase t = chromosome.getTestCase();
+        TestCase t = chromosome.getMutableTestCase();
         List<Integer> to_delete = new ArrayList<>(chromosome.size());
         boolean has_deleted = false;
 
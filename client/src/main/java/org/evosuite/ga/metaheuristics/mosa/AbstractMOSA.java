@@ -32,6 +32,7 @@ import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.TestExecutionWorkerPool;
 import org.evosuite.testcase.secondaryobjectives.TestCaseSecondaryObjective;
 import org.evosuite.testcase.statements.*;
 import org.evosuite.testcase.variable.VariableReference;
@@ -138,6 +139,9 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      */
     protected List<TestChromosome> breedNextGeneration() {
         List<TestChromosome> offspringPopulation = new ArrayList<>(Properties.POPULATION);
+        // with parallel test execution, offspring are evaluated in batches
+        final boolean parallelExecution = TestExecutionWorkerPool.isEnabled();
+        List<TestChromosome> toEvaluate = new ArrayList<>();
         // we apply only Properties.POPULATION/2 iterations since in each generation
         // we generate two offsprings
         for (int i = 0; i < Properties.POPULATION / 2 && !this.isFinished(); i++) {
@@ -171,7 +175,10 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             if (offspring1.isChanged()) {
                 this.clearCachedResults(offspring1);
                 offspring1.updateAge(this.currentIteration);
-                this.calculateFitness(offspring1);
+                if (parallelExecution)
+                    toEvaluate.add(offspring1);
+                else
+                    this.calculateFitness(offspring1);
                 offspringPopulation.add(offspring1);
             }
 
@@ -180,10 +187,14 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             if (offspring2.isChanged()) {
                 this.clearCachedResults(offspring2);
                 offspring2.updateAge(this.currentIteration);
-                this.calculateFitness(offspring2);
+                if (parallelExecution)
+                    toEvaluate.add(offspring2);
+                else
+                    this.calculateFitness(offspring2);
                 offspringPopulation.add(offspring2);
             }
         }
+        this.calculateFitness(toEvaluate);
         // Add new randomly generate tests
         for (int i = 0; i < Properties.POPULATION * Properties.P_TEST_INSERTION; i++) {
             final TestChromosome tch;
@@ -197,14 +208,33 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             }
             if (tch.isChanged()) {
                 tch.updateAge(this.currentIteration);
-                this.calculateFitness(tch);
+                if (parallelExecution)
+                    toEvaluate.add(tch);
+                else
+                    this.calculateFitness(tch);
                 offspringPopulation.add(tch);
             }
         }
+        this.calculateFitness(toEvaluate);
         logger.info("Number of offsprings = {}", offspringPopulation.size());
         return offspringPopulation;
     }
 
+    /**
+     * Executes the given offspring concurrently, then computes their fitness
+     * and clears the list.
+     *
+     * @param offspring offspring whose evaluation was deferred
+     */
+    private void calculateFitness(List<TestChromosome> offspring) {
+        if (offspring.isEmpty()) {
+            return;
+        }
+        TestExecutionWorkerPool.executeChanged(offspring);
+        offspring.forEach(this::calculateFitness);
+        offspring.clear();
+    }
+
     /**
      * Method used to mutate an offspring.
      *
@@ -283,7 +313,7 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      */
     private boolean removeUnusedVariables(TestChromosome chromosome) {
         final int sizeBefore = chromosome.size();
-        final TestCase t = chromosome.getTestCase();
+        final TestCase t = chromosome.getMutableTestCase();
         final List<Integer> toDelete = new ArrayList<>(chromosome.size());
         boolean hasDeleted = false;
 
@@ -22,6 +22,7 @@ package org.evosuite.ga.metaheuristics.mosa;
 import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
 import org.evosuite.ga.ChromosomeFactory;
+import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.comparators.OnlyCrowdingComparator;
 import org.evosuite.ga.operators.ranking.CrowdingDistance;
 import org.evosuite.ga.operators.selection.BestKSelection;
@@ -33,6 +34,7 @@ import org.evosuite.rmi.service.ClientNodeLocal;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.TestExecutionWorkerPool;
 import org.evosuite.utils.Listener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +62,11 @@ public class MOSA extends AbstractMOSA {
 
     private final SelectionFunction<TestChromosome> emigrantsSelection;
 
+    /**
+     * Archive solutions already sent to other clients
+     */
+    private final Set<TestChromosome> sharedArchiveSolutions = new HashSet<>();
+
     /**
      * Crowding distance measure to use
      */
@@ -99,7 +106,15 @@ public class MOSA extends AbstractMOSA {
 
         // for parallel runs: integrate possible immigrants
         if (Properties.NUM_PARALLEL_CLIENTS > 1 && !immigrants.isEmpty()) {
-            union.addAll(immigrants.poll());
+            List<TestChromosome> arrived = new ArrayList<>();
+            List<TestChromosome> group;
+            while ((group = immigrants.poll()) != null) {
+                arrived.addAll(group);
+            }
+            // evaluated here, so that the goals they cover are added to the local archive
+            TestExecutionWorkerPool.executeChanged(arrived);
+            arrived.forEach(this::calculateFitness);
+            union.addAll(arrived);
         }
 
         Set<TestFitnessFunction> uncoveredGoals = this.getUncoveredGoals();
@@ -149,6 +164,13 @@ public class MOSA extends AbstractMOSA {
             if ((currentIteration + 1) % Properties.MIGRANTS_ITERATION_FREQUENCY == 0 && !this.population.isEmpty()) {
                 HashSet<TestChromosome> emigrants = new HashSet<>(emigrantsSelection.select(this.population,
                         Properties.MIGRANTS_COMMUNICATION_RATE));
+                if (Properties.MIGRANTS_SHARE_ARCHIVE) {
+                    for (TestChromosome solution : Archive.getArchiveInstance().getSolutions()) {
+                        if (sharedArchiveSolutions.add(solution)) {
+                            emigrants.add(solution);
+                        }
+                    }
+                }
                 ClientServices.<TestChromosome>getInstance().getClientNode().emigrate(emigrants);
             }
         }
@@ -119,7 +119,7 @@ public abstract class StructuralGoalManager implements Serializable {
      * @return {@code true} if the archive contains a chromosome that covers the target
      */
     protected boolean isAlreadyCovered(TestFitnessFunction target) {
-        return this.archive.getCoveredTargets().contains(target);
+        return this.archive.hasTarget(target) && this.archive.hasSolution(target);
     }
 
     /**
@@ -131,7 +131,7 @@ public abstract class StructuralGoalManager implements Serializable {
     protected void updateCoveredGoals(TestFitnessFunction f, TestChromosome tc) {
         // the next two lines are needed since that coverage information are used
         // during EvoSuite post-processing
-        tc.getTestCase().getCoveredGoals().add(f);
+        tc.addCoveredGoal(f);
 
         // update covered targets
         this.archive.updateArchive(f, tc, tc.getFitness(f));
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ranks the test cases like {@link RankBasedPreferenceSorting}, i.e., the first front contains
+ * the best test case for each uncovered goal ("preference criterion"), and the remaining test
+ * cases are ranked by non-dominated sorting, but computes exactly the same fronts in less time.
+ * <p>
+ * The fitness values of all solutions are read once into a primitive matrix, instead of being
+ * looked up in the fitness map of the chromosomes for every comparison. The remaining solutions
+ * are ranked with the Efficient Non-dominated Sort with binary search strategy (ENS-BS, Zhang et
+ * al., 2015): solutions are sorted lexicographically by their fitness vectors, so that a solution
+ * can only be dominated by solutions preceding it, and each solution is then inserted in the first
+ * front that does not dominate it, found by binary search over the fronts. Dominance checks stop
+ * at the first objective on which the candidate is better.
+ * <p>
+ * The solutions of each front are kept in the order of the population, as in
+ * {@link RankBasedPreferenceSorting}.
+ */
+public class EfficientPreferenceSorting<T extends Chromosome<T>> implements RankingFunction<T> {
+
+    private static final long serialVersionUID = 2926467361925312004L;
+
+    private static final Logger logger = LoggerFactory.getLogger(EfficientPreferenceSorting.class);
+
+    /**
+     * A list containing all the fronts found during the search.
+     */
+    private List<List<T>> fronts = null;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void computeRankingAssignment(List<T> solutions,
+                                         Set<? extends FitnessFunction<T>> uncovered_goals) {
+        if (solutions.isEmpty()) {
+            logger.debug("solution is empty");
+            return;
+        }
+
+        double[][] fitness = getFitnessMatrix(solutions, uncovered_goals);
+        this.fronts = new ArrayList<>(solutions.size());
+
+        // first apply the "preference sorting" to the first front only
+        // then compute the ranks according to the non-dominate sorting algorithm
+        Set<T> zero_front = this.getZeroFront(solutions, uncovered_goals, fitness);
+        this.fronts.add(new ArrayList<>(zero_front));
+
+        // solutions equal to a member of the first front are not ranked, like in
+        // RankBasedPreferenceSorting
+        int[] remaining = new int[solutions.size()];
+        int numRemaining = 0;
+        for (int i = 0; i < solutions.size(); i++) {
+            if (!zero_front.contains(solutions.get(i))) {
+                remaining[numRemaining++] = i;
+            }
+        }
+        remaining = Arrays.copyOf(remaining, numRemaining);
+
+        if (zero_front.size() < Properties.POPULATION) {
+            int rankedSolutions = zero_front.size();
+            int frontIndex = 1;
+            for (int[] front : getNonDominatedFronts(remaining, fitness)) {
+                if (rankedSolutions >= Properties.POPULATION) {
+                    break;
+                }
+                this.fronts.add(toSolutions(front, solutions, frontIndex));
+                rankedSolutions += front.length;
+                frontIndex++;
+            }
+        } else {
+            this.fronts.add(toSolutions(remaining, solutions, 1));
+        }
+    }
+
+    private double[][] getFitnessMatrix(List<T> solutions, Set<? extends FitnessFunction<T>> goals) {
+        double[][] fitness = new double[solutions.size()][goals.size()];
+        for (int i = 0; i < solutions.size(); i++) {
+            T solution = solutions.get(i);
+            int j = 0;
+            for (FitnessFunction<T> goal : goals) {
+                fitness[i][j++] = solution.getFitness(goal);
+            }
+        }
+        return fitness;
+    }
+
+    /**
+     * Returns the first sub-front, i.e., the best solution for each goal. Ties are broken like in
+     * {@link org.evosuite.ga.comparators.PreferenceSortingComparator}: first by the secondary
+     * objectives, then at random.
+     */
+    private Set<T> getZeroFront(List<T> solutions, Set<? extends FitnessFunction<T>> uncovered_goals,
+                                double[][] fitness) {
+        Set<T> zero_front = new LinkedHashSet<>(solutions.size());
+        for (int goal = 0; goal < uncovered_goals.size(); goal++) {
+            int best = 0;
+            for (int i = 1; i < solutions.size(); i++) {
+                double value = fitness[i][goal];
+                double bestValue = fitness[best][goal];
+                int flag = value < bestValue ? -1 : value > bestValue ? 1
+                        : solutions.get(i).compareSecondaryObjective(solutions.get(best));
+                if (flag < 0 || (flag == 0 && Randomness.nextBoolean())) {
+                    best = i;
+                }
+            }
+
+            T test = solutions.get(best);
+            test.setRank(0);
+            zero_front.add(test);
+        }
+        return zero_front;
+    }
+
+    /**
+     * Sorts the given solutions into non-dominated fronts.
+     *
+     * @param solutions indices of the solutions to sort
+     * @param fitness   fitness vectors of all solutions
+     * @return the fronts, each one containing solution indices in ascending order
+     */
+    private static List<int[]> getNonDominatedFronts(int[] solutions, double[][] fitness) {
+        Integer[] sorted = new Integer[solutions.length];
+        for (int i = 0; i < solutions.length; i++) {
+            sorted[i] = solutions[i];
+        }
+        Arrays.sort(sorted, (a, b) -> compareLexicographically(fitness[a], fitness[b]));
+
+        // fronts[k][0..sizes[k]) contains the solutions of the k-th front, in sorting order
+        List<int[]> fronts = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        for (int solution : sorted) {
+            // being dominated by front k implies being dominated by all the fronts before it,
+            // hence the first front that does not dominate the solution can be found by bisection
+            int low = 0;
+            int high = fronts.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (isDominatedBy(fitness[solution], fronts.get(middle), sizes.get(middle), fitness)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            if (low == fronts.size()) {
+                fronts.add(new int[4]);
+                sizes.add(0);
+            }
+            int[] front = fronts.get(low);
+            int size = sizes.get(low);
+            if (size == front.length) {
+                front = Arrays.copyOf(front, size * 2);
+                fronts.set(low, front);
+            }
+            front[size] = solution;
+            sizes.set(low, size + 1);
+        }
+
+        List<int[]> result = new ArrayList<>(fronts.size());
+        for (int k = 0; k < fronts.size(); k++) {
+            int[] front = Arrays.copyOf(fronts.get(k), sizes.get(k));
+            Arrays.sort(front);
+            result.add(front);
+        }
+        return result;
+    }
+
+    private static int compareLexicographically(double[] a, double[] b) {
+        for (int j = 0; j < a.length; j++) {
+            int flag = Double.compare(a[j], b[j]);
+            if (flag != 0) {
+                return flag;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Checks whether any of the solutions in the front dominates the given fitness vector. The
+     * solutions of the front precede the vector in lexicographic order, so none of them can be
+     * dominated by it. The last solutions added to the front are the most similar ones, hence
+     * they are checked first.
+     */
+    private static boolean isDominatedBy(double[] candidate, int[] front, int size, double[][] fitness) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (dominates(fitness[front[i]], candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if {@code a} is not worse than {@code b} on every objective, and better on at
+     * least one
+     */
+    private static boolean dominates(double[] a, double[] b) {
+        boolean better = false;
+        for (int j = 0; j < a.length; j++) {
+            int flag = Double.compare(a[j], b[j]);
+            if (flag > 0) {
+                return false;
+            } else if (flag < 0) {
+                better = true;
+            }
+        }
+        return better;
+    }
+
+    private List<T> toSolutions(int[] indices, List<T> solutions, int rank) {
+        List<T> front = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            T solution = solutions.get(index);
+            solution.setRank(rank);
+            front.add(solution);
+        }
+        return front;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<T> getSubfront(int rank) {
+        if (this.fronts == null || rank >= this.fronts.size()) {
+            return new ArrayList<>();
+        }
+        return this.fronts.get(rank);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getNumberOfSubfronts() {
+        return this.fronts.size();
+    }
+}
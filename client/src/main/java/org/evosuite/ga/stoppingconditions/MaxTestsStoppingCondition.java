@@ -22,6 +22,8 @@ package org.evosuite.ga.stoppingconditions;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * <p>MaxTestsStoppingCondition class.</p>
  *
@@ -32,9 +34,9 @@ public class MaxTestsStoppingCondition<T extends Chromosome<T>> extends Stopping
     private static final long serialVersionUID = -3375236459377313641L;
 
     /**
-     * Current number of tests
+     * Current number of tests, updated concurrently by test execution workers
      */
-    protected static long numTests = 0;
+    protected static final AtomicLong numTests = new AtomicLong();
 
     /**
      * Maximum number of evaluations
@@ -60,14 +62,14 @@ public class MaxTestsStoppingCondition<T extends Chromosome<T>> extends Stopping
      * @return a long.
      */
     public static long getNumExecutedTests() {
-        return numTests;
+        return numTests.get();
     }
 
     /**
      * <p>testExecuted</p>
      */
     public static void testExecuted() {
-        numTests++;
+        numTests.incrementAndGet();
     }
 
     /**
@@ -75,7 +77,7 @@ public class MaxTestsStoppingCondition<T extends Chromosome<T>> extends Stopping
      */
     @Override
     public void reset() {
-        numTests = 0;
+        numTests.set(0);
     }
 
     /**
@@ -83,7 +85,7 @@ public class MaxTestsStoppingCondition<T extends Chromosome<T>> extends Stopping
      */
     @Override
     public boolean isFinished() {
-        return numTests >= maxTests;
+        return numTests.get() >= maxTests;
     }
 
     /* (non-Javadoc)
@@ -95,7 +97,7 @@ public class MaxTestsStoppingCondition<T extends Chromosome<T>> extends Stopping
      */
     @Override
     public long getCurrentValue() {
-        return numTests;
+        return numTests.get();
     }
 
     /* (non-Javadoc)
@@ -124,7 +126,7 @@ public class MaxTestsStoppingCondition<T extends Chromosome<T>> extends Stopping
     @Override
     public void forceCurrentValue(long value) {
         // TODO Auto-generated method stub
-        numTests = value;
+        numTests.set(value);
     }
 
 }
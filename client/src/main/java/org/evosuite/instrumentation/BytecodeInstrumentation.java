@@ -30,6 +30,7 @@ import org.evosuite.instrumentation.testability.ComparisonTransformation;
 import org.evosuite.instrumentation.testability.ContainerTransformation;
 import org.evosuite.instrumentation.testability.StringTransformation;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
+import org.evosuite.runtime.LoopCounter;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.instrumentation.*;
 import org.evosuite.runtime.util.ComputeClassWriter;
@@ -41,6 +42,8 @@ import org.evosuite.testcarver.instrument.TransformerUtil;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.commons.SerialVersionUIDAdder;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.util.TraceClassVisitor;
@@ -159,6 +162,56 @@ public class BytecodeInstrumentation {
 
         TransformationStatistics.reset();
 
+        if (InstrumentedClassCache.isEnabled() && isCacheable(classNameWithDots)) {
+            return transformBytesWithCache(classLoader, className, classNameWithDots, reader, readFlags);
+        }
+
+        return instrument(classLoader, className, classNameWithDots, reader, readFlags);
+    }
+
+    /**
+     * Classes under test, and classes transformed for testability, register
+     * data in the pools and cannot be cached
+     */
+    private boolean isCacheable(String classNameWithDots) {
+        return !Properties.TEST_CARVING
+                && !DependencyAnalysis.shouldAnalyze(classNameWithDots)
+                && !isTargetClassName(classNameWithDots)
+                && !shouldTransform(classNameWithDots)
+                && !(Properties.TT && classNameWithDots.startsWith(Properties.CLASS_PREFIX));
+    }
+
+    /**
+     * Takes the instrumented bytecode from the {@link InstrumentedClassCache}
+     * if possible. On a hit, the class still goes through the same adapters
+     * as on a miss, so they register the same data (purity, constants, loop
+     * indices, etc), but nothing is written: computing the frames is what
+     * the cache saves.
+     */
+    @SuppressWarnings("deprecation")
+    private byte[] transformBytesWithCache(ClassLoader classLoader, String className, String classNameWithDots,
+                                           ClassReader reader, int readFlags) {
+        InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+        String key = cache.getKey(className, reader.b);
+        int firstLoopIndex = LoopCounter.getInstance().peekNewIndex();
+
+        InstrumentedClassCache.Entry entry = cache.get(key);
+        if (entry != null && entry.isValid(firstLoopIndex)) {
+            logger.debug("Using cached instrumentation of class " + classNameWithDots);
+            ClassVisitor cv = addTransformations(classLoader, className, classNameWithDots,
+                    new DiscardingClassVisitor());
+            reader.accept(cv, readFlags);
+            return entry.getBytes();
+        }
+
+        byte[] bytes = instrument(classLoader, className, classNameWithDots, reader, readFlags);
+        int numberOfLoops = LoopCounter.getInstance().peekNewIndex() - firstLoopIndex;
+        cache.put(key, bytes, firstLoopIndex, numberOfLoops);
+        return bytes;
+    }
+
+    private byte[] instrument(ClassLoader classLoader, String className, String classNameWithDots,
+                              ClassReader reader, int readFlags) {
         /*
          * To use COMPUTE_FRAMES we need to remove JSR commands. Therefore, we
          * have a JSRInlinerAdapter in NonTargetClassAdapter as well as
@@ -172,6 +225,63 @@ public class BytecodeInstrumentation {
             cv = new TraceClassVisitor(cv, new PrintWriter(System.err));
         }
 
+        cv = addTransformations(classLoader, className, classNameWithDots, cv);
+
+        // Testability Transformations
+        if (classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
+                || (!Properties.TARGET_CLASS_PREFIX.isEmpty()
+                && classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX))
+                || shouldTransform(classNameWithDots)) {
+
+            ClassNode cn = new AnnotatedClassNode();
+            reader.accept(cn, readFlags);
+            logger.info("Starting transformation of " + className);
+
+            if (Properties.STRING_REPLACEMENT) {
+                StringTransformation st = new StringTransformation(cn);
+                if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots))
+                    cn = st.transform();
+            }
+
+            ComparisonTransformation cmp = new ComparisonTransformation(cn);
+            if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots)) {
+                cn = cmp.transform();
+                ContainerTransformation ct = new ContainerTransformation(cn);
+                cn = ct.transform();
+            }
+
+            if (shouldTransform(classNameWithDots)) {
+                logger.info("Testability Transforming " + className);
+
+                BooleanTestabilityTransformation tt = new BooleanTestabilityTransformation(cn, classLoader);
+                try {
+                    cn = tt.transform();
+                } catch (Throwable t) {
+                    throw new Error(t);
+                }
+                logger.info("Testability Transformation done: " + className);
+            }
+
+            // -----
+            cn.accept(cv);
+
+            if (Properties.TEST_CARVING && TransformerUtil.isClassConsideredForInstrumentation(className)) {
+                return handleCarving(className, writer);
+            }
+
+        } else {
+            reader.accept(cv, readFlags);
+        }
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Adds the class adapters, which are applied after the testability
+     * transformations
+     */
+    private ClassVisitor addTransformations(ClassLoader classLoader, String className, String classNameWithDots,
+                                            ClassVisitor cv) {
         if (Properties.RESET_STATIC_FIELDS) {
             cv = new StaticAccessClassAdapter(cv, className);
         }
@@ -243,53 +353,25 @@ public class BytecodeInstrumentation {
                 cv = new SerialVersionUIDAdder(cv);
         }
 
-        // Testability Transformations
-        if (classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
-                || (!Properties.TARGET_CLASS_PREFIX.isEmpty()
-                && classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX))
-                || shouldTransform(classNameWithDots)) {
-
-            ClassNode cn = new AnnotatedClassNode();
-            reader.accept(cn, readFlags);
-            logger.info("Starting transformation of " + className);
-
-            if (Properties.STRING_REPLACEMENT) {
-                StringTransformation st = new StringTransformation(cn);
-                if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots))
-                    cn = st.transform();
-            }
-
-            ComparisonTransformation cmp = new ComparisonTransformation(cn);
-            if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots)) {
-                cn = cmp.transform();
-                ContainerTransformation ct = new ContainerTransformation(cn);
-                cn = ct.transform();
-            }
-
-            if (shouldTransform(classNameWithDots)) {
-                logger.info("Testability Transforming " + className);
-
-                BooleanTestabilityTransformation tt = new BooleanTestabilityTransformation(cn, classLoader);
-                try {
-                    cn = tt.transform();
-                } catch (Throwable t) {
-                    throw new Error(t);
-                }
-                logger.info("Testability Transformation done: " + className);
-            }
-
-            // -----
-            cn.accept(cv);
+        return cv;
+    }
 
-            if (Properties.TEST_CARVING && TransformerUtil.isClassConsideredForInstrumentation(className)) {
-                return handleCarving(className, writer);
-            }
+    /**
+     * Visits a class without writing it. Unlike a visitor without delegate,
+     * it returns a method visitor, as some adapters add methods to the class
+     */
+    private static class DiscardingClassVisitor extends ClassVisitor {
 
-        } else {
-            reader.accept(cv, readFlags);
+        DiscardingClassVisitor() {
+            super(Opcodes.ASM9);
         }
 
-        return writer.toByteArray();
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                         String[] exceptions) {
+            return new MethodVisitor(Opcodes.ASM9) {
+            };
+        }
     }
 
     private byte[] handleCarving(String className, ClassWriter writer) {
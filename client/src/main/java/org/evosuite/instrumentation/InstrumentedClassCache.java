@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.Properties;
+import org.evosuite.runtime.RuntimeSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Instrumented bytecode that survives the client process. Entries are stored
+ * in the CTG directory, one file per class, named by the hash of the original
+ * bytecode, the class name and the settings that influence the
+ * instrumentation. A changed class or a changed setting thus simply results in
+ * a different file, and concurrent clients never write the same entry with a
+ * different content.
+ * <p>
+ * Only classes that are not analyzed for coverage can be cached: the
+ * instrumentation of the classes under test embeds branch, mutation and
+ * definition-use ids that depend on the order in which classes are loaded,
+ * and registers control flow graphs in the pools that cannot be stored.
+ * The loop indices embedded in the other classes depend on the load order as
+ * well, so an entry is only valid if the next loop index is the same as when
+ * it was stored.
+ * <p>
+ * Reading an entry refreshes its modification time, and the least recently
+ * used entries are deleted when the cache grows beyond
+ * {@link Properties#INSTRUMENTATION_CACHE_MAX_SIZE}.
+ */
+public final class InstrumentedClassCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedClassCache.class);
+
+    public static final String CACHE_DIR_NAME = "instrumentation-cache";
+
+    /**
+     * Increase when the file format changes
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Age after which a temporary file can no longer be an entry that is
+     * being written
+     */
+    private static final long STALE_TMP_FILE_AGE = 60 * 60 * 1000L;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static InstrumentedClassCache instance = null;
+
+    private final File dir;
+
+    private final String codeStamp;
+
+    private int hits = 0;
+
+    private int misses = 0;
+
+    InstrumentedClassCache(File dir) {
+        this.dir = dir;
+        this.codeStamp = getCodeStamp();
+    }
+
+    public static boolean isEnabled() {
+        return Properties.INSTRUMENTATION_CACHE;
+    }
+
+    public static synchronized InstrumentedClassCache getInstance() {
+        if (instance == null) {
+            instance = new InstrumentedClassCache(new File(Properties.CTG_DIR, CACHE_DIR_NAME));
+            instance.evict(Properties.INSTRUMENTATION_CACHE_MAX_SIZE * 1024L * 1024L);
+        }
+        return instance;
+    }
+
+    static synchronized void resetSingleton() {
+        instance = null;
+    }
+
+    /**
+     * Instrumented bytecode of a class, and the loop indices it uses
+     */
+    public static final class Entry {
+
+        private final byte[] bytes;
+
+        private final int firstLoopIndex;
+
+        private final int numberOfLoops;
+
+        Entry(byte[] bytes, int firstLoopIndex, int numberOfLoops) {
+            this.bytes = bytes;
+            this.firstLoopIndex = firstLoopIndex;
+            this.numberOfLoops = numberOfLoops;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public int getFirstLoopIndex() {
+            return firstLoopIndex;
+        }
+
+        public int getNumberOfLoops() {
+            return numberOfLoops;
+        }
+
+        /**
+         * Checks whether the loop indices embedded in the bytecode are the
+         * ones that instrumenting the class again would assign
+         *
+         * @param nextLoopIndex the next index of the {@link org.evosuite.runtime.LoopCounter}
+         * @return true if the bytecode can be used
+         */
+        public boolean isValid(int nextLoopIndex) {
+            return numberOfLoops == 0 || firstLoopIndex == nextLoopIndex;
+        }
+    }
+
+    /**
+     * Computes the key of a class under the current settings
+     *
+     * @param className the name of the class, with slashes
+     * @param bytecode  the original bytecode of the class
+     * @return a hexadecimal hash
+     */
+    public String getKey(String className, byte[] bytecode) {
+        MessageDigest digest = createDigest();
+        digest.update(codeStamp.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(describeConfiguration().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(className.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(bytecode);
+
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[2 * i] = HEX[(hash[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Returns the stored entry with the given key
+     *
+     * @param key
+     * @return null if there is no readable entry
+     */
+    public synchronized Entry get(String key) {
+        File file = getFile(key);
+        if (!file.exists()) {
+            misses++;
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                misses++;
+                return null;
+            }
+            int firstLoopIndex = in.readInt();
+            int numberOfLoops = in.readInt();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            hits++;
+            // the modification time orders the entries for the eviction
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(bytes, firstLoopIndex, numberOfLoops);
+        } catch (IOException | NegativeArraySizeException e) {
+            logger.warn("Cannot read instrumented class {}: {}", file, e.toString());
+            misses++;
+            return null;
+        }
+    }
+
+    /**
+     * Stores the instrumented bytecode of a class
+     *
+     * @param key
+     * @param bytes          the instrumented bytecode
+     * @param firstLoopIndex the first loop index assigned while instrumenting the class
+     * @param numberOfLoops  the number of loop indices assigned while instrumenting the class
+     */
+    public synchronized void put(String key, byte[] bytes, int firstLoopIndex, int numberOfLoops) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            logger.warn("Cannot create folder {} for the instrumentation cache", dir);
+            return;
+        }
+        File file = getFile(key);
+        File tmp;
+        try {
+            tmp = File.createTempFile(key, ".tmp", dir);
+        } catch (IOException e) {
+            logger.warn("Cannot write instrumented class {}: {}", file, e.toString());
+            return;
+        }
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(firstLoopIndex);
+                out.writeInt(numberOfLoops);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot write instrumented class {}: {}", file, e.toString());
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the cache is not larger
+     * than the given size, as well as the temporary files left behind by
+     * clients that were killed while writing an entry
+     *
+     * @param maxBytes the maximum size of the cache
+     */
+    public synchronized void evict(long maxBytes) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<File> entries = new ArrayList<>();
+        long size = 0;
+        for (File file : files) {
+            if (file.getName().endsWith(".tmp")) {
+                // other clients may still be writing recent ones
+                if (now - file.lastModified() > STALE_TMP_FILE_AGE) {
+                    file.delete();
+                }
+            } else if (file.getName().endsWith(".class")) {
+                entries.add(file);
+                size += file.length();
+            }
+        }
+        if (size <= maxBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(File::lastModified));
+        int deleted = 0;
+        for (File file : entries) {
+            if (size <= maxBytes) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+                deleted++;
+            }
+        }
+        logger.info("Deleted {} entries of the instrumentation cache in {}", deleted, dir);
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    private File getFile(String key) {
+        return new File(dir, key + ".class");
+    }
+
+    /**
+     * The settings read by {@link BytecodeInstrumentation} for the classes
+     * that are not analyzed
+     *
+     * @return a description of the current settings
+     */
+    static String describeConfiguration() {
+        return "skip_debug=" + Properties.INSTRUMENTATION_SKIP_DEBUG
+                + ",reset_static_fields=" + Properties.RESET_STATIC_FIELDS
+                + ",reset_static_final_fields=" + Properties.RESET_STATIC_FINAL_FIELDS
+                + ",pure_inspectors=" + Properties.PURE_INSPECTORS
+                + ",loop_counter=" + (Properties.MAX_LOOP_ITERATIONS >= 0)
+                + ",make_accessible=" + Properties.MAKE_ACCESSIBLE
+                + ",test_carving=" + Properties.TEST_CARVING
+                + ",tt=" + Properties.TT
+                + ",class_prefix=" + Properties.CLASS_PREFIX
+                + ",project_prefix=" + Properties.PROJECT_PREFIX
+                + ",target_class_prefix=" + Properties.TARGET_CLASS_PREFIX
+                + ",replace_calls=" + Properties.REPLACE_CALLS
+                + ",virtual_fs=" + Properties.VIRTUAL_FS
+                + ",virtual_net=" + Properties.VIRTUAL_NET
+                + ",mock_jvm=" + RuntimeSettings.mockJVMNonDeterminism
+                + ",mock_system_in=" + RuntimeSettings.mockSystemIn
+                + ",mock_gui=" + RuntimeSettings.mockGUI
+                + ",use_vfs=" + RuntimeSettings.useVFS
+                + ",use_vnet=" + RuntimeSettings.useVNET
+                + ",use_jee=" + RuntimeSettings.useJEE
+                + ",reset_static_state=" + RuntimeSettings.resetStaticState
+                + ",uid=" + RuntimeSettings.applyUIDTransformation;
+    }
+
+    /**
+     * Identifies the EvoSuite build, so that entries written by a different
+     * version of the instrumentation are not reused. A jar is identified by
+     * its size and modification time. The size and modification time of a
+     * directory do not change when the classes in it are recompiled, so for
+     * a directory each class file is stamped instead
+     */
+    private static String getCodeStamp() {
+        try {
+            CodeSource source = BytecodeInstrumentation.class.getProtectionDomain().getCodeSource();
+            if (source != null && source.getLocation() != null) {
+                File location = new File(source.getLocation().toURI());
+                if (location.isDirectory()) {
+                    return location.getAbsolutePath() + ":" + getClassFilesStamp(location.toPath());
+                }
+                return location.getAbsolutePath() + ":" + location.length() + ":" + location.lastModified();
+            }
+        } catch (URISyntaxException | SecurityException | IllegalArgumentException | IOException e) {
+            logger.debug("Cannot locate the EvoSuite code: {}", e.toString());
+        }
+        return "unknown";
+    }
+
+    /**
+     * Hashes the path, size and modification time of all class files in the
+     * given directory
+     *
+     * @param root
+     * @return a hexadecimal hash
+     * @throws IOException
+     */
+    static String getClassFilesStamp(Path root) throws IOException {
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(root)) {
+            classFiles = paths.filter(path -> path.toString().endsWith(".class"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        MessageDigest digest = createDigest();
+        for (Path classFile : classFiles) {
+            BasicFileAttributes attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+            String stamp = root.relativize(classFile) + ":" + attributes.size() + ":"
+                    + attributes.lastModifiedTime().toMillis();
+            digest.update(stamp.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+}
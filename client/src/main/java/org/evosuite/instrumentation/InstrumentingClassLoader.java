@@ -27,11 +27,13 @@ import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -50,6 +52,12 @@ public class InstrumentingClassLoader extends ClassLoader {
     private final ClassLoader classLoader;
     private final Map<String, Class<?>> classes = new HashMap<>();
 
+    /**
+     * Instrumented bytecode, only retained when parallel test execution
+     * workers need to define their own copies of the instrumented classes
+     */
+    private final Map<String, byte[]> instrumentedBytes = new ConcurrentHashMap<>();
+
     /**
      * <p>
      * Constructor for InstrumentingClassLoader.
@@ -83,18 +91,30 @@ public class InstrumentingClassLoader extends ClassLoader {
 
     public Class<?> loadClassFromFile(String fullyQualifiedTargetClass, String fileName) throws ClassNotFoundException {
 
-        String className = fullyQualifiedTargetClass.replace('.', '/');
-
         try (InputStream is = new FileInputStream(new File(fileName))) {
+            Class<?> result = defineTransformedClass(fullyQualifiedTargetClass, is);
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from " + fileName);
+            return result;
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+    }
 
-            byte[] byteBuffer = getTransformedBytes(className, is);
-
-            createPackageDefinition(fullyQualifiedTargetClass);
-            Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
-
-            classes.put(fullyQualifiedTargetClass, result);
+    /**
+     * Load a class from the given bytecode, e.g. of a class compiled in memory,
+     * transforming it like the classes on the classpath
+     *
+     * @param fullyQualifiedTargetClass
+     * @param bytecode
+     * @return
+     * @throws ClassNotFoundException
+     */
+    public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytecode) throws ClassNotFoundException {
 
-            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from " + fileName);
+        try (InputStream is = new ByteArrayInputStream(bytecode)) {
+            Class<?> result = defineTransformedClass(fullyQualifiedTargetClass, is);
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " from memory");
             return result;
         } catch (Throwable t) {
             logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
@@ -102,6 +122,18 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    private Class<?> defineTransformedClass(String fullyQualifiedTargetClass, InputStream is) throws IOException {
+        String className = fullyQualifiedTargetClass.replace('.', '/');
+        byte[] byteBuffer = getTransformedBytes(className, is);
+
+        createPackageDefinition(fullyQualifiedTargetClass);
+        Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+        classes.put(fullyQualifiedTargetClass, result);
+        retainInstrumentedBytes(fullyQualifiedTargetClass, byteBuffer);
+        return result;
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
         synchronized (getClassLoadingLock(name)) {
@@ -150,6 +182,7 @@ public class InstrumentingClassLoader extends ClassLoader {
             createPackageDefinition(fullyQualifiedTargetClass);
             Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
             classes.put(fullyQualifiedTargetClass, result);
+            retainInstrumentedBytes(fullyQualifiedTargetClass, byteBuffer);
 
             logger.info("Loaded class: " + fullyQualifiedTargetClass);
             return result;
@@ -166,6 +199,29 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    private void retainInstrumentedBytes(String className, byte[] bytes) {
+        if (Properties.TEST_EXECUTION_WORKERS > 1) {
+            instrumentedBytes.put(className, bytes);
+        }
+    }
+
+    /**
+     * Returns the instrumented bytecode of the given class, instrumenting it
+     * first if this loader has not seen it yet. The bytes are only retained if
+     * parallel test execution workers are enabled.
+     *
+     * @param name the fully qualified name of the class
+     * @return the instrumented bytecode, or null if the class is not
+     * instrumented or was loaded before workers were enabled
+     * @throws ClassNotFoundException
+     */
+    public synchronized byte[] getInstrumentedBytes(String name) throws ClassNotFoundException {
+        if (!classes.containsKey(name)) {
+            loadClass(name);
+        }
+        return instrumentedBytes.get(name);
+    }
+
     /**
      * Before a new class is defined, we need to create a package definition for it
      *
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class loader of a parallel test execution worker.
+ * <p>
+ * Each worker needs its own copies of the classes under test, so that their
+ * static state is not shared with tests running concurrently on other workers.
+ * The classes are not instrumented again: they are defined from the bytecode
+ * already instrumented by the {@link InstrumentingClassLoader} of the search.
+ * Like this, branch, mutation and loop ids embedded in the bytecode are the same
+ * for all workers, and the pools they were registered in stay valid.
+ */
+public class WorkerClassLoader extends ClassLoader {
+
+    private final InstrumentingClassLoader instrumentingClassLoader;
+
+    private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+    public WorkerClassLoader(InstrumentingClassLoader instrumentingClassLoader) {
+        super(InstrumentingClassLoader.class.getClassLoader());
+        this.instrumentingClassLoader = instrumentingClassLoader;
+    }
+
+    public InstrumentingClassLoader getInstrumentingClassLoader() {
+        return instrumentingClassLoader;
+    }
+
+    @Override
+    public Class<?> loadClass(String name) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            if (!RuntimeInstrumentation.checkIfCanInstrument(name)) {
+                return instrumentingClassLoader.loadClass(name);
+            }
+
+            Class<?> result = classes.get(name);
+            if (result != null) {
+                return result;
+            }
+
+            byte[] bytes = instrumentingClassLoader.getInstrumentedBytes(name);
+            if (bytes == null) {
+                /*
+                 * Loaded before the bytecode was retained. Sharing the class of the search would
+                 * share its static state with other workers, and instrumenting it again would
+                 * assign new branch ids
+                 */
+                throw new ClassNotFoundException("No instrumented bytecode retained for " + name
+                        + ", cannot isolate it in a test execution worker");
+            }
+
+            createPackageDefinition(name);
+            result = defineClass(name, bytes, 0, bytes.length);
+            classes.put(name, result);
+            return result;
+        }
+    }
+
+    private void createPackageDefinition(String className) {
+        int i = className.lastIndexOf('.');
+        if (i != -1) {
+            String pkgname = className.substring(0, i);
+            if (getPackage(pkgname) == null) {
+                definePackage(pkgname, null, null, null, null, null, null, null);
+            }
+        }
+    }
+}
@@ -486,7 +486,7 @@ public class CoverageAnalysis {
 
             ExecutionTrace trace = tR.getExecutionTrace();
             executionResult.setTrace(trace);
-            dummy.getTestCase().clearCoveredGoals();
+            dummy.getMutableTestCase().clearCoveredGoals();
             dummy.setLastExecutionResult(executionResult);
 
             if (criterion == Criterion.MUTATION
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * File manager keeping the sources to compile and the compiled classes in
+ * memory, so that generated tests can be checked without writing them to disk.
+ * <p>
+ * All other files, e.g. the classpath, are handled by the wrapped standard file
+ * manager. As that one caches the content of the archives it has opened, the
+ * same instance should be reused for several compilations.
+ */
+public class InMemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+    private final Map<String, ClassFile> compiledClasses = new LinkedHashMap<>();
+
+    public InMemoryJavaFileManager(StandardJavaFileManager fileManager) {
+        super(fileManager);
+    }
+
+    /**
+     * Create an in-memory compilation unit
+     *
+     * @param className fully qualified name of the class declared in the source
+     * @param code      the source code
+     * @return
+     */
+    public static JavaFileObject createSource(String className, String code) {
+        return new SourceFile(className, code);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                               JavaFileObject.Kind kind, FileObject sibling) {
+        ClassFile file = new ClassFile(className, kind);
+        compiledClasses.put(className, file);
+        return file;
+    }
+
+    /**
+     * @return the bytecode of the classes compiled since the last call to
+     * {@link #clearCompiledClasses()}, by fully qualified class name, in
+     * the order in which they were written by the compiler
+     */
+    public Map<String, byte[]> getCompiledClasses() {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (Map.Entry<String, ClassFile> entry : compiledClasses.entrySet()) {
+            classes.put(entry.getKey(), entry.getValue().getBytes());
+        }
+        return classes;
+    }
+
+    public void clearCompiledClasses() {
+        compiledClasses.clear();
+    }
+
+    private static URI uriOf(String className, JavaFileObject.Kind kind) {
+        return URI.create("string:///" + className.replace('.', '/') + kind.extension);
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String code;
+
+        SourceFile(String className, String code) {
+            super(uriOf(className, Kind.SOURCE), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassFile(String className, Kind kind) {
+            super(uriOf(className, kind), kind);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            bytes.reset();
+            return bytes;
+        }
+
+        byte[] getBytes() {
+            return bytes.toByteArray();
+        }
+    }
+}
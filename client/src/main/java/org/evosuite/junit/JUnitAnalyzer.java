@@ -46,7 +46,6 @@ import javax.tools.*;
 import javax.tools.JavaCompiler.CompilationTask;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -66,11 +65,17 @@ public abstract class JUnitAnalyzer {
 
     private static int dirCounter = 0;
 
-    private static final String JAVA = ".java";
-    private static final String CLASS = ".class";
-
     private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 
+    private static JavaCompiler compiler = null;
+
+    /**
+     * Reused among compilations, together with the classpath it was set up for
+     */
+    private static InMemoryJavaFileManager fileManager = null;
+
+    private static String fileManagerClasspath = null;
+
     private static final VersionDependentAnalyzing versionDependentAnalyzer;
 
     static {
@@ -101,32 +106,13 @@ public abstract class JUnitAnalyzer {
 
             TestCase test = iter.next();
 
-            File dir = createNewTmpDir();
-            if (dir == null) {
-                logger.warn("Failed to create tmp dir");
-                return;
-            }
-            logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
-            try {
-                List<TestCase> singleList = new ArrayList<>();
-                singleList.add(test);
-                List<File> generated = compileTests(singleList, dir);
-                if (generated == null) {
-                    iter.remove();
-                    String code = test.toCode();
-                    logger.error("Failed to compile test case:\n" + code);
-                }
-            } finally {
-                //let's be sure we clean up all what we wrote on disk
-                if (dir != null) {
-                    try {
-                        FileUtils.deleteDirectory(dir);
-                        logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-                    } catch (Exception e) {
-                        logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
-                    }
-                }
+            List<TestCase> singleList = new ArrayList<>();
+            singleList.add(test);
+            Map<String, byte[]> compiled = compileTests(singleList);
+            if (compiled == null) {
+                iter.remove();
+                String code = test.toCode();
+                logger.error("Failed to compile test case:\n" + code);
             }
 
         } // end of while
@@ -152,16 +138,9 @@ public abstract class JUnitAnalyzer {
             return numUnstable;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.error("Failed to create tmp dir");
-            return numUnstable;
-        }
-        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            Map<String, byte[]> compiled = compileTests(tests);
+            if (compiled == null) {
                 /*
                  * Note: in theory this shouldn't really happen, as check for compilation
                  * is done before calling this method
@@ -177,14 +156,14 @@ public abstract class JUnitAnalyzer {
 
             // Create a new classloader so that each test gets freshly loaded classes
             loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(compiled);
 
             if (testClasses == null) {
                 logger.error("Found no classes for compiled tests");
                 return numUnstable;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (result.wasSuccessful()) {
                 return numUnstable; //everything is OK
@@ -264,24 +243,13 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return numUnstable;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (Exception e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
-
         }
 
         //if we arrive here, then it means at least one test was unstable
         return numUnstable;
     }
 
-    private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+    private static JUnitResult runTests(Class<?>[] testClasses)
             throws JUnitExecutionException {
         return runJUnitOnCurrentProcess(testClasses);
     }
@@ -305,7 +273,14 @@ public abstract class JUnitAnalyzer {
     // EvoSuite classloader, and thus cannot easily be re-loaded
     private static int NUM = 0;
 
-    private static List<File> compileTests(List<TestCase> tests, File dir) {
+    /**
+     * Compile the given tests in memory
+     *
+     * @param tests
+     * @return the bytecode of the compiled classes by class name, or null if
+     * compilation failed
+     */
+    private static synchronized Map<String, byte[]> compileTests(List<TestCase> tests) {
 
         TestSuiteWriter suite = new TestSuiteWriter();
         suite.insertAllTests(tests);
@@ -315,33 +290,29 @@ public abstract class JUnitAnalyzer {
         String name = Properties.TARGET_CLASS.substring(beginIndex);
         name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
 
+        String packagePrefix = Properties.CLASS_PREFIX;
+        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+            packagePrefix += ".";
+        }
+
         try {
             //now generate the JUnit test case
-            List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-            for (File file : generated) {
-                if (!file.exists()) {
-                    logger.error("Supposed to generate " + file
-                            + " but it does not exist");
-                    return null;
-                }
+            Map<String, String> sources = suite.generateTestSuite(name, Collections.emptyList());
+            List<JavaFileObject> compilationUnits = new ArrayList<>();
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                compilationUnits.add(InMemoryJavaFileManager.createSource(packagePrefix + source.getKey(),
+                        source.getValue()));
             }
 
             //try to compile the test cases
-            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                compiler = ToolProvider.getSystemJavaCompiler();
+            }
             if (compiler == null) {
                 logger.error("No Java compiler is available");
                 return null;
             }
 
-            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-            Locale locale = Locale.getDefault();
-            Charset charset = StandardCharsets.UTF_8;
-            StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-                    locale,
-                    charset);
-
-            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
-
             String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
             if (JarPathing.containsAPathingJar(evosuiteCP)) {
                 evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
@@ -354,44 +325,43 @@ public abstract class JUnitAnalyzer {
 
             String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
 
-            List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
+            InMemoryJavaFileManager fileManager = getFileManager(classpath);
+            fileManager.clearCompiledClasses();
 
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
             CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-                    optionList, null, compilationUnits);
+                    null, null, compilationUnits);
             boolean compiled = task.call();
-            fileManager.close();
 
             if (!compiled) {
-                logger.error("Compilation failed on compilation units: " + compilationUnits);
+                logger.error("Compilation failed on compilation units: " + sources.keySet());
                 logger.error("Classpath: " + classpath);
                 //TODO remove
                 logger.error("evosuiteCP: " + evosuiteCP);
 
 
                 for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-                    if (diagnostic.getMessage(null).startsWith("error while writing")) {
-                        logger.error("Error is due to file permissions, ignoring...");
-                        return generated;
-                    }
                     logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
                             + diagnostic.getLineNumber());
                 }
 
                 StringBuffer buffer = new StringBuffer();
-                for (JavaFileObject sourceFile : compilationUnits) {
-                    List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
+                for (Map.Entry<String, String> source : sources.entrySet()) {
+                    String[] lines = source.getValue().split("\\R", -1);
 
-                    buffer.append(compilationUnits.iterator().next().toString() + "\n");
+                    buffer.append(source.getKey() + "\n");
 
-                    for (int i = 0; i < lines.size(); i++) {
-                        buffer.append((i + 1) + ": " + lines.get(i) + "\n");
+                    for (int i = 0; i < lines.length; i++) {
+                        buffer.append((i + 1) + ": " + lines[i] + "\n");
                     }
                 }
                 logger.error(buffer.toString());
                 return null;
             }
 
-            return generated;
+            Map<String, byte[]> classes = fileManager.getCompiledClasses();
+            fileManager.clearCompiledClasses();
+            return classes;
 
         } catch (IOException e) {
             logger.error("" + e, e);
@@ -399,6 +369,37 @@ public abstract class JUnitAnalyzer {
         }
     }
 
+    /**
+     * The file manager is reused as long as the classpath does not change, so
+     * that the archives on the classpath are only indexed once
+     *
+     * @param classpath
+     * @return
+     * @throws IOException
+     */
+    private static InMemoryJavaFileManager getFileManager(String classpath) throws IOException {
+        if (fileManager != null && classpath.equals(fileManagerClasspath)) {
+            return fileManager;
+        }
+        if (fileManager != null) {
+            fileManager.close();
+        }
+
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(null,
+                Locale.getDefault(), StandardCharsets.UTF_8);
+        List<File> entries = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(new File(entry));
+            }
+        }
+        standardFileManager.setLocation(StandardLocation.CLASS_PATH, entries);
+
+        fileManager = new InMemoryJavaFileManager(standardFileManager);
+        fileManagerClasspath = classpath;
+        return fileManager;
+    }
+
     protected static File createNewTmpDir() {
         File dir = null;
         String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
@@ -420,7 +421,7 @@ public abstract class JUnitAnalyzer {
         return dir;
     }
 
-    private static Class<?>[] loadTests(List<File> tests) {
+    private static Class<?>[] loadTests(Map<String, byte[]> compiled) {
 
         /*
          * Ideally, when we run a generated test case, it
@@ -434,67 +435,24 @@ public abstract class JUnitAnalyzer {
          * non-instrumenting classloader to re-load the CUT, and so see
          * if the JavaAgent works properly.
          */
-        Class<?>[] testClasses = getClassesFromFiles(tests);
-        List<File> otherClasses = listOnlyFiles(tests);
-        /*
-         * this is important to force the loading of all files generated
-         * in the target folder.
-         * If we do not do that, then we will miss all the anonymous classes
-         */
-        getClassesFromFiles(otherClasses);
-
-        return testClasses;
-    }
-
-    private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException {
-        if (tests == null || tests.isEmpty()) {
-            return null;
-        }
-
-        Set<String> classNames = new LinkedHashSet<>();
-
-        File parentFolder = tests.get(0).getParentFile();
-        for (File file : tests) {
-            if (!file.getParentFile().equals(parentFolder)) {
-                throw new IllegalArgumentException("Tests file are not in the same folder");
+        Map<String, byte[]> topLevelClasses = new LinkedHashMap<>();
+        Map<String, byte[]> otherClasses = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+            if (entry.getKey().contains("$")) {
+                otherClasses.put(entry.getKey(), entry.getValue());
+            } else {
+                topLevelClasses.put(entry.getKey(), entry.getValue());
             }
-            classNames.add(removeFileExtension(file.getName()));
         }
 
+        Class<?>[] testClasses = getClassesFromBytes(topLevelClasses);
         /*
-         * if we already loaded a CUT due to its .java, do not want
-         * to re-loaded it for a .class file that is in the same folder
+         * this is important to force the loading of all the compiled classes.
+         * If we do not do that, then we will miss all the anonymous classes
          */
+        getClassesFromBytes(otherClasses);
 
-        List<File> otherClasses = new LinkedList<>();
-
-        for (File file : parentFolder.listFiles()) {
-            String name = removeFileExtension(file.getName());
-
-            if (classNames.contains(name)) {
-                continue;
-            }
-
-            classNames.add(name);
-            otherClasses.add(file);
-        }
-
-        return otherClasses;
-    }
-
-
-    private static String removeFileExtension(String str) {
-        if (str == null) {
-            return null;
-        }
-
-        int pos = str.lastIndexOf(".");
-
-        if (pos == -1) {
-            return str;
-        }
-
-        return str.substring(0, pos);
+        return testClasses;
     }
 
     /**
@@ -507,8 +465,7 @@ public abstract class JUnitAnalyzer {
      * </p>
      *
      * <p>
-     * Here we compile to a tmp folder, load and execute the test cases, and
-     * then clean up (ie delete all generated files).
+     * Here we compile in memory, load and execute the test cases.
      * </p>
      *
      * @param tests
@@ -522,29 +479,23 @@ public abstract class JUnitAnalyzer {
             return true;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.warn("Failed to create tmp dir");
-            return false;
-        }
-
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            Map<String, byte[]> compiled = compileTests(tests);
+            if (compiled == null) {
                 logger.warn("Failed to compile the test cases ");
                 return false;
             }
 
             //as last step, execute the generated/compiled test cases
 
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(compiled);
 
             if (testClasses == null) {
                 logger.error("Found no classes for compiled tests");
                 return false;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (!result.wasSuccessful()) {
                 logger.error("" + result.getFailureCount() + " test cases failed");
@@ -568,15 +519,6 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return false;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (IOException e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
         }
 
         logger.debug("Successfully compiled and run test cases generated for "
@@ -585,21 +527,21 @@ public abstract class JUnitAnalyzer {
     }
 
     /**
-     * Given a list of files representing .java/.class classes, load them (it
-     * assumes the classpath to be correctly set)
+     * Given the bytecode of compiled classes, load them (it assumes the
+     * classpath to be correctly set)
      *
-     * @param files
+     * @param compiled
      * @return
      */
-    private static Class<?>[] getClassesFromFiles(Collection<File> files) {
+    private static Class<?>[] getClassesFromBytes(Map<String, byte[]> compiled) {
         /*
          * first load only the scaffolding files
          */
-        for (File file : files) {
-            if (!isScaffolding(file)) {
+        for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+            if (!isScaffolding(entry.getKey())) {
                 continue;
             }
-            loadClass(file);
+            loadClass(entry.getKey(), entry.getValue());
         }
 
         List<Class<?>> classes = new ArrayList<>();
@@ -608,11 +550,11 @@ public abstract class JUnitAnalyzer {
          * once the scaffoldings are loaded, we can load the tests that
          * depend on them
          */
-        for (File file : files) {
-            if (isScaffolding(file)) {
+        for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+            if (isScaffolding(entry.getKey())) {
                 continue;
             }
-            Class<?> clazz = loadClass(file);
+            Class<?> clazz = loadClass(entry.getKey(), entry.getValue());
             if (clazz != null) {
                 classes.add(clazz);
             }
@@ -621,52 +563,17 @@ public abstract class JUnitAnalyzer {
         return classes.toArray(new Class<?>[classes.size()]);
     }
 
-    private static boolean isScaffolding(File file) {
-        String name = file.getName();
-        return name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + JAVA) ||
-                name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + CLASS);
+    private static boolean isScaffolding(String className) {
+        return className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX);
     }
 
-    private static Class<?> loadClass(File file) {
-        if (!file.isFile()) {
-            return null;
-        }
-
-        String packagePrefix = Properties.CLASS_PREFIX;
-        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-            packagePrefix += ".";
-        }
-
-        String name = file.getName();
-
-        if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-            /*
-             * this could happen when we scan a folder for all src/compiled
-             * files
-             */
-            return null;
-        }
-
-        String fileName = file.getAbsolutePath();
-
-        if (name.endsWith(JAVA)) {
-            name = name.substring(0, name.length() - JAVA.length());
-            fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-        } else {
-            assert name.endsWith(CLASS);
-            name = name.substring(0, name.length() - CLASS.length());
-        }
-
-        String className = packagePrefix + name;
-
+    private static Class<?> loadClass(String className, byte[] bytecode) {
         Class<?> testClass = null;
         try {
             logger.info("Loading class " + className);
-            //testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-            testClass = loader.loadClassFromFile(className, fileName);
+            testClass = loader.loadClassFromBytes(className, bytecode);
         } catch (ClassNotFoundException e) {
-            logger.error("Failed to load test case " + className + " from file "
-                    + file.getAbsolutePath() + " , error " + e, e);
+            logger.error("Failed to load test case " + className + " , error " + e, e);
         }
         return testClass;
     }
@@ -186,6 +186,31 @@ public class TestSuiteWriter implements Opcodes {
      */
     public List<File> writeTestSuite(String name, String directory, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
 
+        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        Map<String, String> sources = generateTestSuite(name, cachedResults);
+
+        List<File> generated = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            File file = new File(dir + "/" + source.getKey() + ".java"); // e.g., dir/Foo_ESTest_0.java
+            FileIOUtils.writeFile(source.getValue(), file);
+            generated.add(file);
+        }
+
+        writeCoveredGoalsFile();
+
+        return generated;
+    }
+
+    /**
+     * Create the source code of the JUnit test suite for class, without
+     * writing it to disk
+     *
+     * @param name Name of the class
+     * @return the source code of each generated class, by simple class name,
+     * with the scaffolding (if any) last
+     */
+    public Map<String, String> generateTestSuite(String name, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
+
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
         }
@@ -196,8 +221,7 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        Map<String, String> generated = new LinkedHashMap<>();
         String content = "";
 
         // Execute all tests
@@ -241,34 +265,26 @@ public class TestSuiteWriter implements Opcodes {
 
 
         if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
-            File file = new File(dir + "/" + name + ".java");
             //executor.newObservers();
             content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
-            generated.add(file);
+            generated.put(name, content);
         } else {
             for (int i = 0; i < testCases.size(); i++) {
-                File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
                 //executor.newObservers();
                 String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
                 content += testCode;
-                generated.add(file);
+                generated.put(name + "_" + i, testCode);
             }
         }
 
         if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
             String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
-            generated.add(file);
+            generated.put(scaffoldingName, scaffoldingContent);
             content += scaffoldingContent;
         }
 
-        writeCoveredGoalsFile();
-
         TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
         return generated;
     }
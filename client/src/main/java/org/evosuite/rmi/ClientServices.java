@@ -23,7 +23,11 @@ import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.rmi.service.ClientNodeImpl;
 import org.evosuite.rmi.service.ClientNodeLocal;
+import org.evosuite.rmi.service.ClientNodeRemote;
 import org.evosuite.rmi.service.DummyClientNodeImpl;
+import org.evosuite.rmi.service.MasterNodeRemote;
+import org.evosuite.rmi.socket.SocketConnection;
+import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.statistics.RuntimeVariable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +52,11 @@ public class ClientServices<T extends Chromosome<T>> {
 
     private volatile ClientNodeImpl<T> clientNode = new DummyClientNodeImpl<>();
 
+    /**
+     * Connection to the master, if not communicating through RMI
+     */
+    private SocketConnection connection;
+
     protected ClientServices() {
     }
 
@@ -58,6 +67,10 @@ public class ClientServices<T extends Chromosome<T>> {
 
     public boolean registerServices(String identifier) {
 
+        if (Properties.PROCESS_COMMUNICATION == Properties.ProcessCommunication.SOCKET) {
+            return connectToMaster(identifier);
+        }
+
         UtilsRMI.ensureRegistryOnLoopbackAddress();
 
         try {
@@ -73,11 +86,36 @@ public class ClientServices<T extends Chromosome<T>> {
         }
     }
 
+    private boolean connectToMaster(String identifier) {
+        try {
+            connection = SocketConnection.connect(Properties.PROCESS_COMMUNICATION_PORT, identifier, r -> {
+                Thread thread = new Thread(r, "Socket transport in client process");
+                thread.setDaemon(true);
+                // calls from the master must not be checked as SUT code
+                Sandbox.addPrivilegedThread(thread);
+                return thread;
+            });
+            clientNode = new ClientNodeImpl<>(connection.createProxy(MasterNodeRemote.class), identifier);
+            connection.start(clientNode, ClientNodeRemote.class);
+            return clientNode.init();
+        } catch (Exception e) {
+            logger.error("Failed to connect client services to master", e);
+            return false;
+        }
+    }
+
     public ClientNodeLocal<T> getClientNode() {
         return clientNode;
     }
 
     public void stopServices() {
+        if (connection != null) {
+            clientNode.stop();
+            connection.close();
+            connection = null;
+            clientNode = new DummyClientNodeImpl<>();
+            return;
+        }
         if (clientNode != null) {
             clientNode.stop();
             int i = 0;
@@ -58,7 +58,8 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     private volatile ClientState state;
 
     /**
-     * RMI reference used to communicate with the master node
+     * Reference used to communicate with the master node, either an RMI stub
+     * or a proxy on a socket connection
      */
     private MasterNodeRemote masterNode;
 
@@ -89,6 +90,18 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
     private Collection<Set<T>> bestSolutions;
 
+    /**
+     * Emigrants not sent yet. Emigrants of several iterations are sent in a
+     * single batch if the master is slower than the search
+     */
+    private final Set<T> pendingEmigrants = new LinkedHashSet<>();
+
+    private final ExecutorService migrationExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Emigration");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Thread statisticsThread;
 
     //only for testing
@@ -104,6 +117,14 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         this.bestSolutions = Collections.synchronizedList(new ArrayList<>(Properties.NUM_PARALLEL_CLIENTS));
     }
 
+    /**
+     * Client connected to the master without registry, eg on a socket
+     */
+    public ClientNodeImpl(MasterNodeRemote masterNode, String identifier) {
+        this((Registry) null, identifier);
+        this.masterNode = masterNode;
+    }
+
     private static class OutputVariable {
         public RuntimeVariable variable;
         public Object value;
@@ -195,9 +216,40 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
     @Override
     public void emigrate(Set<T> immigrants) {
+        // the individuals are serialized on another thread, while the
+        // search goes on changing them
+        Set<T> copies = new LinkedHashSet<>();
+        for (T individual : immigrants) {
+            copies.add(individual.clone());
+        }
+        synchronized (pendingEmigrants) {
+            boolean sending = !pendingEmigrants.isEmpty();
+            pendingEmigrants.addAll(copies);
+            if (sending) {
+                // joins the batch that is waiting to be sent
+                return;
+            }
+        }
+        // the search does not wait for the master
+        try {
+            migrationExecutor.execute(this::sendPendingEmigrants);
+        } catch (RejectedExecutionException e) {
+            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Dropping emigrants, the client is stopped");
+        }
+    }
+
+    private void sendPendingEmigrants() {
+        Set<T> batch;
+        synchronized (pendingEmigrants) {
+            batch = new LinkedHashSet<>(pendingEmigrants);
+            pendingEmigrants.clear();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
         try {
-            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + immigrants.size() + " immigrants");
-            masterNode.evosuite_migrate(clientRmiIdentifier, immigrants);
+            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + batch.size() + " immigrants");
+            masterNode.evosuite_migrate(clientRmiIdentifier, batch);
         } catch (RemoteException e) {
             logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send immigrating individuals to master", e);
         }
@@ -335,12 +387,11 @@ public class ClientNodeImpl<T extends Chromosome<T>>
             statisticsThread.interrupt();
             List<OutputVariable> vars = new ArrayList<>();
             outputVariableQueue.drainTo(vars);
-            for (OutputVariable ov : vars) {
+            if (!vars.isEmpty()) {
                 try {
-                    masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+                    sendOutputVariables(vars);
                 } catch (RemoteException e) {
-                    logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
-                    break;
+                    logger.error("Error when exporting statistics: " + vars.size() + " output variables", e);
                 }
             }
 
@@ -352,13 +403,27 @@ public class ClientNodeImpl<T extends Chromosome<T>>
             statisticsThread = null;
         }
 
+        // emigrants of the last iterations are still sent
+        migrationExecutor.shutdown();
+        try {
+            if (!migrationExecutor.awaitTermination(3000, TimeUnit.MILLISECONDS)) {
+                logger.error("Failed to send the emigrants in time");
+                migrationExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            migrationExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
         changeState(ClientState.FINISHED);
     }
 
     @Override
     public boolean init() {
         try {
-            masterNode = (MasterNodeRemote) registry.lookup(MasterNodeRemote.RMI_SERVICE_NAME);
+            if (masterNode == null) {
+                masterNode = (MasterNodeRemote) registry.lookup(MasterNodeRemote.RMI_SERVICE_NAME);
+            }
             masterNode.evosuite_registerClientNode(clientRmiIdentifier);
             masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state,
                     new ClientStateInformation(state));
@@ -367,14 +432,16 @@ public class ClientNodeImpl<T extends Chromosome<T>>
                 @Override
                 public void run() {
                     while (!this.isInterrupted()) {
-                        OutputVariable ov = null;
+                        List<OutputVariable> vars = new ArrayList<>();
                         try {
-                            ov = outputVariableQueue.take(); //this is blocking
-                            masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+                            vars.add(outputVariableQueue.take()); //this is blocking
+                            // the variables tracked in the meantime are sent in the same call
+                            outputVariableQueue.drainTo(vars);
+                            sendOutputVariables(vars);
                         } catch (InterruptedException e) {
                             break;
                         } catch (RemoteException e) {
-                            logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
+                            logger.error("Error when exporting statistics: " + vars.size() + " output variables", e);
                             break;
                         }
                     }
@@ -391,6 +458,16 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         return true;
     }
 
+    private void sendOutputVariables(List<OutputVariable> vars) throws RemoteException {
+        RuntimeVariable[] variables = new RuntimeVariable[vars.size()];
+        Object[] values = new Object[vars.size()];
+        for (int i = 0; i < vars.size(); i++) {
+            variables[i] = vars.get(i).variable;
+            values[i] = vars.get(i).value;
+        }
+        masterNode.evosuite_collectStatistics(clientRmiIdentifier, variables, values);
+    }
+
     public String getClientRmiIdentifier() {
         return clientRmiIdentifier;
     }
@@ -529,7 +606,10 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     @Override
     public void collectBestSolutions(Set<T> solutions) throws RemoteException {
         logger.debug(ClientProcess.getPrettyPrintIdentifier() + "added solution to set");
-        bestSolutions.add(solutions);
+        synchronized (bestSolutions) {
+            bestSolutions.add(solutions);
+            bestSolutions.notifyAll();
+        }
     }
 
     @Override
@@ -560,12 +640,22 @@ public class ClientNodeImpl<T extends Chromosome<T>>
      * @return the list of collected best solutions or null if there is a timeout
      */
     public Set<Set<T>> getBestSolutions() {
-        do {
-            if (bestSolutions.size() == (Properties.NUM_PARALLEL_CLIENTS - 1)) {
-                return new HashSet<>(bestSolutions);
+        synchronized (bestSolutions) {
+            while (true) {
+                if (bestSolutions.size() == (Properties.NUM_PARALLEL_CLIENTS - 1)) {
+                    return new HashSet<>(bestSolutions);
+                }
+                if (finishedLatch.getCount() == 0) {
+                    return null;
+                }
+                try {
+                    // the latch is not notified, check it regularly
+                    bestSolutions.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
             }
-        } while (finishedLatch.getCount() != 0);
-
-        return null;
+        }
     }
 }
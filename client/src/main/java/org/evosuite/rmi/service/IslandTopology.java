@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.Properties.MigrationTopology;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Neighbourhood of the clients (islands) of a parallel search, i.e. which
+ * clients receive the migrants of a client
+ */
+public class IslandTopology {
+
+    private final MigrationTopology topology;
+
+    private final int numberOfClients;
+
+    public IslandTopology(MigrationTopology topology, int numberOfClients) {
+        this.topology = topology;
+        this.numberOfClients = numberOfClients;
+    }
+
+    /**
+     * Returns the clients that should receive the migrants of a client
+     *
+     * @param sender      the id of the client sending migrants
+     * @param isSearching tells whether a client is still searching, and can
+     *                    thus make use of migrants
+     * @return the ids of the receiving clients, never including the sender
+     */
+    public List<Integer> getNeighbours(int sender, IntPredicate isSearching) {
+        switch (topology) {
+            case RING:
+                // skip the clients that are done
+                for (int i = 1; i < numberOfClients; i++) {
+                    int neighbour = (sender + i) % numberOfClients;
+                    if (isSearching.test(neighbour)) {
+                        return Collections.singletonList(neighbour);
+                    }
+                }
+                return Collections.emptyList();
+            case STAR:
+                if (sender != 0) {
+                    return isSearching.test(0) ? Collections.singletonList(0) : Collections.emptyList();
+                }
+                // fall through, the hub sends to all
+            case FULLY_CONNECTED:
+                List<Integer> neighbours = new ArrayList<>();
+                for (int i = 0; i < numberOfClients; i++) {
+                    if (i != sender && isSearching.test(i)) {
+                        neighbours.add(i);
+                    }
+                }
+                return neighbours;
+            default:
+                throw new IllegalStateException("Unknown topology: " + topology);
+        }
+    }
+}
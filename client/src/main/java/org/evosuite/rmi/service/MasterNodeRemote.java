@@ -51,6 +51,11 @@ public interface MasterNodeRemote extends Remote {
 
     void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
+    /**
+     * Collect several output variables in one call, in the order they were tracked
+     */
+    void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable[] variables, Object[] values) throws RemoteException;
+
     void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) throws RemoteException;
 
     void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier) throws RemoteException;
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.socket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encoding of the arguments and return values of remote calls.
+ * <p>
+ * The values exchanged most often (identifiers, states and output variables)
+ * are written in a compact binary form. Any other value, eg chromosomes and
+ * test generation results, falls back to Java serialization.
+ */
+class BinaryCodec {
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte ENUM = 7;
+    private static final byte ARRAY = 8;
+    private static final byte SERIALIZED = 9;
+
+    private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+    public void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Enum) {
+            Enum<?> e = (Enum<?>) value;
+            out.writeByte(ENUM);
+            writeString(out, e.getDeclaringClass().getName());
+            out.writeShort(e.ordinal());
+        } else if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            out.writeByte(ARRAY);
+            writeString(out, array.getClass().getComponentType().getName());
+            out.writeInt(array.length);
+            for (Object element : array) {
+                write(out, element);
+            }
+        } else {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (ObjectOutputStream objects = new ObjectOutputStream(buffer)) {
+                objects.writeObject(value);
+            }
+            out.writeByte(SERIALIZED);
+            out.writeInt(buffer.size());
+            buffer.writeTo(out);
+        }
+    }
+
+    public Object read(DataInputStream in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return readString(in);
+            case ENUM: {
+                Class<?> type = loadClass(readString(in));
+                int ordinal = in.readShort();
+                return type.getEnumConstants()[ordinal];
+            }
+            case ARRAY: {
+                Class<?> componentType = loadClass(readString(in));
+                int length = in.readInt();
+                Object[] array = (Object[]) Array.newInstance(componentType, length);
+                for (int i = 0; i < length; i++) {
+                    array[i] = read(in);
+                }
+                return array;
+            }
+            case SERIALIZED: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream objects = new ResolvingObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return objects.readObject();
+                }
+            }
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Class<?> loadClass(String name) throws ClassNotFoundException {
+        Class<?> type = classes.get(name);
+        if (type == null) {
+            type = resolve(name);
+            classes.put(name, type);
+        }
+        return type;
+    }
+
+    /**
+     * Classes are resolved as RMI does, with the context class loader of the
+     * receiving thread first
+     */
+    private static Class<?> resolve(String name) throws ClassNotFoundException {
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        if (context != null) {
+            try {
+                return Class.forName(name, false, context);
+            } catch (ClassNotFoundException e) {
+                // try with the loader of EvoSuite
+            }
+        }
+        return Class.forName(name, false, BinaryCodec.class.getClassLoader());
+    }
+
+    private static class ResolvingObjectInputStream extends ObjectInputStream {
+
+        ResolvingObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return resolve(desc.getName());
+            } catch (ClassNotFoundException e) {
+                // primitive types and arrays of them
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.socket;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Methods of a remote interface, indexed in the same order in the master and
+ * in the clients, so that calls only need to send the index of the method
+ */
+class MethodTable {
+
+    private final Method[] methods;
+
+    private final Map<Method, Integer> indexes = new HashMap<>();
+
+    MethodTable(Class<?> remoteInterface) {
+        if (!remoteInterface.isInterface()) {
+            throw new IllegalArgumentException(remoteInterface + " is not an interface");
+        }
+        methods = remoteInterface.getMethods();
+        Arrays.sort(methods, Comparator.comparing(MethodTable::signature));
+        for (int i = 0; i < methods.length; i++) {
+            indexes.put(methods[i], i);
+        }
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    int indexOf(Method method) {
+        Integer index = indexes.get(method);
+        if (index == null) {
+            throw new IllegalArgumentException("Not a remote method: " + method);
+        }
+        return index;
+    }
+
+    Method get(int index) {
+        if (index < 0 || index >= methods.length) {
+            throw new IllegalArgumentException("Unknown remote method index: " + index);
+        }
+        return methods[index];
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.socket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A connection between the master and a client process on a loopback socket.
+ * <p>
+ * The connection is symmetric: each side exports one object, and calls the
+ * object of the other side through a proxy of its remote interface. Calls are
+ * multiplexed on the single socket and are synchronous, as with RMI. Incoming
+ * calls are executed on threads of their own, so that a blocking call (eg
+ * waiting for a client to finish) does not hold up the others.
+ * <p>
+ * A frame is a type byte and a call id, followed for a call by the method
+ * index and the arguments, and for a reply by the return value or the thrown
+ * exception.
+ */
+public class SocketConnection implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SocketConnection.class);
+
+    private static final int MAGIC = 0x45564f43;
+
+    private static final byte VERSION = 1;
+
+    private static final int GREETING_TIMEOUT_MS = 10_000;
+
+    private static final byte CALL = 1;
+    private static final byte RETURN = 2;
+    private static final byte FAILURE = 3;
+
+    private final Socket socket;
+
+    private final String identifier;
+
+    private final DataInputStream in;
+
+    private final DataOutputStream out;
+
+    private final BinaryCodec codec = new BinaryCodec();
+
+    private final ThreadFactory threadFactory;
+
+    private final AtomicInteger nextCallId = new AtomicInteger();
+
+    private final Map<Integer, CompletableFuture<Object>> pendingCalls = new ConcurrentHashMap<>();
+
+    private volatile ExecutorService dispatcher;
+
+    private volatile boolean closed = false;
+
+    SocketConnection(Socket socket, String identifier, ThreadFactory threadFactory) throws IOException {
+        this.socket = socket;
+        this.identifier = identifier;
+        this.threadFactory = threadFactory;
+        socket.setTcpNoDelay(true);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Connect to the master listening on the given port of the loopback address
+     *
+     * @param port          port of the {@link SocketServer} of the master
+     * @param identifier    identifier of the client, eg ClientNode0
+     * @param threadFactory used for the threads receiving and executing calls
+     */
+    public static SocketConnection connect(int port, String identifier, ThreadFactory threadFactory)
+            throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        SocketConnection connection = new SocketConnection(socket, identifier, threadFactory);
+        synchronized (connection.out) {
+            connection.out.writeInt(MAGIC);
+            connection.out.writeByte(VERSION);
+            connection.out.writeUTF(identifier);
+            connection.out.flush();
+        }
+        return connection;
+    }
+
+    /**
+     * Accept the connection of a client, which first sends its identifier
+     *
+     * @param socket        socket returned by the server socket of the master
+     * @param threadFactory used for the threads receiving and executing calls
+     */
+    static SocketConnection accept(Socket socket, ThreadFactory threadFactory) throws IOException {
+        // unbuffered, to not consume the first calls of the client
+        DataInputStream greeting = new DataInputStream(socket.getInputStream());
+        socket.setSoTimeout(GREETING_TIMEOUT_MS);
+        if (greeting.readInt() != MAGIC) {
+            throw new IOException("Not an EvoSuite client");
+        }
+        byte version = greeting.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported protocol version " + version);
+        }
+        String identifier = greeting.readUTF();
+        socket.setSoTimeout(0);
+        return new SocketConnection(socket, identifier, threadFactory);
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Start serving calls from the other side of the connection
+     *
+     * @param localTarget    object the calls are executed on
+     * @param localInterface remote interface implemented by the object
+     */
+    public void start(Object localTarget, Class<?> localInterface) {
+        MethodTable methods = new MethodTable(localInterface);
+        dispatcher = Executors.newCachedThreadPool(threadFactory);
+        Thread reader = threadFactory.newThread(() -> receive(localTarget, methods));
+        reader.start();
+    }
+
+    /**
+     * Create a proxy forwarding all calls to the object exported by the other
+     * side of the connection
+     */
+    public <R> R createProxy(Class<R> remoteInterface) {
+        MethodTable methods = new MethodTable(remoteInterface);
+        Object proxy = Proxy.newProxyInstance(remoteInterface.getClassLoader(), new Class<?>[]{remoteInterface},
+                (p, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return invokeObjectMethod(p, method, args);
+                    }
+                    return invoke(method, methods.indexOf(method), args);
+                });
+        return remoteInterface.cast(proxy);
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "Proxy of " + identifier;
+        }
+    }
+
+    private Object invoke(Method method, int index, Object[] args) throws Throwable {
+        if (closed) {
+            throw new RemoteException("Connection to " + identifier + " is closed");
+        }
+        int callId = nextCallId.incrementAndGet();
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        pendingCalls.put(callId, result);
+        try {
+            if (closed) {
+                throw new RemoteException("Connection to " + identifier + " is closed");
+            }
+            synchronized (out) {
+                out.writeByte(CALL);
+                out.writeInt(callId);
+                out.writeShort(index);
+                int length = args == null ? 0 : args.length;
+                out.writeByte(length);
+                for (int i = 0; i < length; i++) {
+                    codec.write(out, args[i]);
+                }
+                out.flush();
+            }
+            return result.get();
+        } catch (IOException e) {
+            throw new RemoteException("Failed to call " + method.getName() + " on " + identifier, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (isDeclared(method, e)) {
+                throw e;
+            }
+            throw new RemoteException("Interrupted while calling " + method.getName() + " on " + identifier, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException || cause instanceof Error || isDeclared(method, cause)) {
+                throw cause;
+            }
+            throw new RemoteException("Call of " + method.getName() + " on " + identifier + " failed", cause);
+        } finally {
+            pendingCalls.remove(callId);
+        }
+    }
+
+    private static boolean isDeclared(Method method, Throwable t) {
+        return Arrays.stream(method.getExceptionTypes()).anyMatch(type -> type.isInstance(t));
+    }
+
+    private void receive(Object localTarget, MethodTable methods) {
+        try {
+            while (!closed) {
+                byte type = in.readByte();
+                int callId = in.readInt();
+                switch (type) {
+                    case CALL:
+                        Method method = methods.get(in.readShort());
+                        Object[] args = new Object[in.readByte()];
+                        for (int i = 0; i < args.length; i++) {
+                            args[i] = codec.read(in);
+                        }
+                        dispatcher.execute(() -> execute(localTarget, method, callId, args));
+                        break;
+                    case RETURN:
+                        complete(callId, codec.read(in), null);
+                        break;
+                    case FAILURE:
+                        complete(callId, null, (Throwable) codec.read(in));
+                        break;
+                    default:
+                        throw new IOException("Unknown frame type: " + type);
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            logger.debug("Connection to {} closed", identifier);
+        } catch (IOException | ClassNotFoundException e) {
+            logger.error("Error when receiving from " + identifier, e);
+        } finally {
+            close();
+        }
+    }
+
+    private void complete(int callId, Object value, Throwable failure) {
+        CompletableFuture<Object> result = pendingCalls.get(callId);
+        if (result == null) {
+            logger.warn("Reply from {} to unknown call {}", identifier, callId);
+        } else if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(value);
+        }
+    }
+
+    private void execute(Object localTarget, Method method, int callId, Object[] args) {
+        Object value = null;
+        Throwable failure = null;
+        try {
+            value = method.invoke(localTarget, args);
+        } catch (InvocationTargetException e) {
+            failure = e.getCause();
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            failure = e;
+        }
+
+        try {
+            synchronized (out) {
+                out.writeByte(failure == null ? RETURN : FAILURE);
+                out.writeInt(callId);
+                if (failure == null) {
+                    codec.write(out, value);
+                } else {
+                    writeFailure(failure);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                logger.error("Failed to reply to " + identifier + " for " + method.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Not all exceptions can be serialized, eg because of their fields. Those
+     * are replaced by a RemoteException with the same message.
+     * Must be called while holding the lock on the output
+     */
+    private void writeFailure(Throwable failure) throws IOException {
+        try {
+            new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(failure);
+        } catch (IOException e) {
+            failure = new RemoteException(failure.toString());
+        }
+        codec.write(out, failure);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close connection to " + identifier, e);
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        RemoteException failure = new RemoteException("Connection to " + identifier + " closed");
+        for (CompletableFuture<Object> result : pendingCalls.values()) {
+            result.completeExceptionally(failure);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.socket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Accepts the connections of the clients in the master process.
+ * <p>
+ * Unlike an RMI registry, the server listens on an ephemeral port of the
+ * loopback address, and clients do not need any lookup: the proxy of a client
+ * is available as soon as it has connected.
+ *
+ * @param <R> remote interface of the clients
+ */
+public class SocketServer<R> implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SocketServer.class);
+
+    private final Class<R> remoteInterface;
+
+    private final ThreadFactory threadFactory;
+
+    private final Map<String, SocketConnection> connections = new ConcurrentHashMap<>();
+
+    private final Map<String, R> remotes = new ConcurrentHashMap<>();
+
+    private ServerSocket serverSocket;
+
+    public SocketServer(Class<R> remoteInterface, ThreadFactory threadFactory) {
+        this.remoteInterface = remoteInterface;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * @return the port the server is listening on
+     */
+    public int bind() throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Server is already bound");
+        }
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Start accepting clients
+     *
+     * @param localTarget    object the calls of the clients are executed on
+     * @param localInterface remote interface implemented by the object
+     */
+    public void start(Object localTarget, Class<?> localInterface) {
+        if (serverSocket == null) {
+            throw new IllegalStateException("Server is not bound");
+        }
+        Thread acceptor = threadFactory.newThread(() -> accept(localTarget, localInterface));
+        acceptor.start();
+    }
+
+    private void accept(Object localTarget, Class<?> localInterface) {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.error("Failed to accept client connection", e);
+                }
+                return;
+            }
+            try {
+                SocketConnection connection = SocketConnection.accept(socket, threadFactory);
+                String identifier = connection.getIdentifier();
+                SocketConnection previous = connections.put(identifier, connection);
+                if (previous != null) {
+                    previous.close();
+                }
+                remotes.put(identifier, connection.createProxy(remoteInterface));
+                connection.start(localTarget, localInterface);
+            } catch (IOException e) {
+                logger.error("Failed to connect with client", e);
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the proxy of the given client, or null if it has not connected
+     */
+    public R getRemote(String identifier) {
+        return remotes.get(identifier);
+    }
+
+    @Override
+    public void close() {
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close server socket", e);
+            }
+        }
+        for (SocketConnection connection : connections.values()) {
+            connection.close();
+        }
+        connections.clear();
+        remotes.clear();
+    }
+}
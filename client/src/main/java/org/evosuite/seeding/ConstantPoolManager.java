@@ -39,6 +39,12 @@ public class ConstantPoolManager {
      */
     private static final int DYNAMIC_POOL_INDEX = 2;
 
+    /**
+     * Set while parallel test execution workers may add dynamic constants
+     * concurrently
+     */
+    private volatile boolean concurrentUpdates = false;
+
     private ConstantPoolManager() {
         init();
     }
@@ -96,7 +102,17 @@ public class ConstantPoolManager {
     }
 
     public void addDynamicConstant(Object value) {
-        pools[DYNAMIC_POOL_INDEX].add(value);
+        if (concurrentUpdates) {
+            synchronized (this) {
+                pools[DYNAMIC_POOL_INDEX].add(value);
+            }
+        } else {
+            pools[DYNAMIC_POOL_INDEX].add(value);
+        }
+    }
+
+    public void setConcurrentUpdates(boolean concurrentUpdates) {
+        this.concurrentUpdates = concurrentUpdates;
     }
 
     public ConstantPool getConstantPool() {
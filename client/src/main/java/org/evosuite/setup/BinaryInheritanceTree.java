@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary representation of an {@link InheritanceTree}, which can be
+ * read without the reflective XML decoding of XStream.
+ * <p>
+ * Classes are interned into integer ids, in the order of the inheritance
+ * graph, and the graph is stored as an adjacency array of the direct
+ * supertypes of each class. The analyzed methods, which make up most of the
+ * data, are stored in a separate section with an offset per class, and are
+ * only decoded when their class is looked up. Files are memory mapped.
+ * <p>
+ * Layout, all integers big endian:
+ * <pre>
+ * magic, version, number of classes N
+ * N times: name, flags (byte)
+ * N times: number of direct supertypes, supertype ids
+ * N times: offset of the methods of the class in the methods section, or -1
+ * length of the methods section
+ * methods section: for each class with an offset, number of methods, names
+ * </pre>
+ * Strings are stored as their length followed by their UTF-8 bytes.
+ */
+public final class BinaryInheritanceTree {
+
+    private static final int MAGIC = 0x45564954;
+
+    /**
+     * Increase when the layout changes
+     */
+    private static final int VERSION = 1;
+
+    private static final int IN_GRAPH = 1;
+    private static final int INTERFACE = 2;
+    private static final int ABSTRACT = 4;
+
+    private BinaryInheritanceTree() {
+    }
+
+    /**
+     * Checks whether the file starts like a binary inheritance tree
+     *
+     * @param file
+     * @return false if the file is e.g. a compressed XML tree
+     */
+    public static boolean isBinary(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static void write(InheritanceTree tree, File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            write(tree, out);
+        }
+    }
+
+    static void write(InheritanceTree tree, DataOutputStream out) throws IOException {
+        // Ids: classes of the graph in the order of the graph, then the others
+        Set<String> graphClasses = tree.getAllClasses();
+        Set<String> names = new LinkedHashSet<>(graphClasses);
+        names.addAll(tree.getInterfaces());
+        names.addAll(tree.getAbstractClasses());
+        names.addAll(tree.getAnalyzedClasses());
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (String name : names) {
+            ids.put(name, ids.size());
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(names.size());
+        for (String name : names) {
+            writeString(out, name);
+            int flags = 0;
+            if (graphClasses.contains(name))
+                flags |= IN_GRAPH;
+            if (tree.isInterface(name))
+                flags |= INTERFACE;
+            if (tree.isAbstractClass(name))
+                flags |= ABSTRACT;
+            out.writeByte(flags);
+        }
+
+        for (String name : names) {
+            if (!graphClasses.contains(name)) {
+                out.writeInt(0);
+                continue;
+            }
+            List<String> supertypes = tree.getDirectSupertypes(name);
+            out.writeInt(supertypes.size());
+            for (String supertype : supertypes) {
+                out.writeInt(ids.get(supertype));
+            }
+        }
+
+        ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+        DataOutputStream methodsOut = new DataOutputStream(methodBytes);
+        for (String name : names) {
+            Set<String> methods = tree.getAnalyzedMethods(name);
+            if (methods == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            out.writeInt(methodsOut.size());
+            methodsOut.writeInt(methods.size());
+            for (String method : methods) {
+                writeString(methodsOut, method);
+            }
+        }
+        methodsOut.flush();
+        out.writeInt(methodBytes.size());
+        methodBytes.writeTo(out);
+    }
+
+    /**
+     * Reads a tree from a memory mapped file
+     *
+     * @param file
+     * @return the tree
+     * @throws IOException if the file is not a valid binary inheritance tree
+     */
+    public static InheritanceTree read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a tree from a stream, e.g. a resource in a jar file, which cannot
+     * be memory mapped
+     *
+     * @param input
+     * @return the tree
+     * @throws IOException if the stream is not a valid binary inheritance tree
+     */
+    public static InheritanceTree read(InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[65536];
+        int read;
+        while ((read = input.read(chunk)) != -1) {
+            bytes.write(chunk, 0, read);
+        }
+        return read(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    static InheritanceTree read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary inheritance tree");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version of binary inheritance tree: " + version);
+            }
+
+            InheritanceTree tree = new InheritanceTree();
+            int size = buffer.getInt();
+            String[] names = new String[size];
+            for (int id = 0; id < size; id++) {
+                names[id] = readString(buffer).intern();
+                int flags = buffer.get();
+                if ((flags & IN_GRAPH) != 0)
+                    tree.addClass(names[id]);
+                if ((flags & INTERFACE) != 0)
+                    tree.getInterfaces().add(names[id]);
+                if ((flags & ABSTRACT) != 0)
+                    tree.getAbstractClasses().add(names[id]);
+            }
+
+            for (int id = 0; id < size; id++) {
+                int supertypes = buffer.getInt();
+                for (int i = 0; i < supertypes; i++) {
+                    tree.addSupertype(names[id], names[buffer.getInt()]);
+                }
+            }
+
+            int[] offsets = new int[size];
+            for (int id = 0; id < size; id++) {
+                offsets[id] = buffer.getInt();
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Truncated binary inheritance tree");
+            }
+            ByteBuffer methods = buffer.slice();
+            methods.limit(length);
+            for (int id = 0; id < size; id++) {
+                if (offsets[id] >= 0) {
+                    final int offset = offsets[id];
+                    tree.addPendingMethods(names[id], () -> readMethods(methods, offset));
+                }
+            }
+            return tree;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | IllegalArgumentException e) {
+            throw new IOException("Corrupted binary inheritance tree", e);
+        }
+    }
+
+    private static Set<String> readMethods(ByteBuffer methods, int offset) {
+        ByteBuffer buffer = methods.duplicate();
+        buffer.position(offset);
+        int size = buffer.getInt();
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            result.add(readString(buffer));
+        }
+        return result;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
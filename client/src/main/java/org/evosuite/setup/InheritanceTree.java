@@ -31,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * @author Gordon Fraser
@@ -49,6 +50,12 @@ public class InheritanceTree {
     private DirectedMultigraph<String, DefaultEdge> inheritanceGraph = new DirectedMultigraph<>(
             DefaultEdge.class);
 
+    /**
+     * Methods of the classes of a tree read from the binary format, decoded
+     * only when the class is looked up for the first time
+     */
+    private transient Map<String, Supplier<Set<String>>> pendingMethods;
+
     private void initialiseMap() {
         if (analyzedMethods == null)
             analyzedMethods = new LinkedHashMap<>();
@@ -58,9 +65,21 @@ public class InheritanceTree {
             abstractClassesSet = new LinkedHashSet<>();
     }
 
-    public boolean isClassDefined(String className) {
+    private Set<String> getMethods(String className) {
         initialiseMap();
-        return analyzedMethods.containsKey(className);
+        Set<String> methods = analyzedMethods.get(className);
+        if (methods == null && pendingMethods != null) {
+            Supplier<Set<String>> pending = pendingMethods.remove(className);
+            if (pending != null) {
+                methods = pending.get();
+                analyzedMethods.put(className, methods);
+            }
+        }
+        return methods;
+    }
+
+    public boolean isClassDefined(String className) {
+        return getMethods(className) != null;
     }
 
     public boolean isInterface(String classname) {
@@ -82,24 +101,21 @@ public class InheritanceTree {
     }
 
     public boolean isMethodDefined(String className, String methodNameWdescriptor) {
-        initialiseMap();
+        Set<String> methods = getMethods(className);
 
-        if (analyzedMethods.get(className) == null) return false;
-        return analyzedMethods.get(className).contains(methodNameWdescriptor);
+        if (methods == null) return false;
+        return methods.contains(methodNameWdescriptor);
     }
 
     public boolean isMethodDefined(String className, String methodName, String descriptor) {
-        initialiseMap();
-
-        if (analyzedMethods.get(className) == null) return false;
-        return analyzedMethods.get(className).contains(methodName + descriptor);
+        return isMethodDefined(className, methodName + descriptor);
     }
 
     //TODO the initialization in the clinit dosen't work, no idea why - mattia
     public void addAnalyzedMethod(String classname, String methodname, String descriptor) {
         initialiseMap();
         classname = classname.replace(File.separator, ".");
-        Set<String> tmp = analyzedMethods.get(classname);
+        Set<String> tmp = getMethods(classname);
         if (tmp == null)
             analyzedMethods.put(classname, tmp = new LinkedHashSet<>());
         tmp.add(methodname + descriptor);
@@ -205,4 +221,69 @@ public class InheritanceTree {
         return inheritanceGraph.vertexSet().size();
     }
 
+    // -------------------------------------------------------------------
+    // Access for the binary format, see BinaryInheritanceTree
+
+    /**
+     * Decodes the methods of all classes that are still pending, e.g. before
+     * the tree is written to disk
+     */
+    void loadAllMethods() {
+        initialiseMap();
+        if (pendingMethods == null) {
+            return;
+        }
+        for (Map.Entry<String, Supplier<Set<String>>> entry : pendingMethods.entrySet()) {
+            analyzedMethods.put(entry.getKey(), entry.getValue().get());
+        }
+        pendingMethods = null;
+    }
+
+    void addPendingMethods(String className, Supplier<Set<String>> methods) {
+        if (pendingMethods == null) {
+            pendingMethods = new HashMap<>();
+        }
+        pendingMethods.put(className, methods);
+    }
+
+    /**
+     * @return the classes with analyzed methods
+     */
+    Set<String> getAnalyzedClasses() {
+        loadAllMethods();
+        return analyzedMethods.keySet();
+    }
+
+    Set<String> getAnalyzedMethods(String className) {
+        return getMethods(className);
+    }
+
+    Set<String> getInterfaces() {
+        return interfacesSet;
+    }
+
+    Set<String> getAbstractClasses() {
+        return abstractClassesSet;
+    }
+
+    /**
+     * Returns the direct superclass and interfaces of a class in the graph,
+     * in the order in which they were added
+     */
+    List<String> getDirectSupertypes(String className) {
+        List<String> supertypes = new ArrayList<>();
+        for (DefaultEdge edge : inheritanceGraph.incomingEdgesOf(className)) {
+            supertypes.add(inheritanceGraph.getEdgeSource(edge));
+        }
+        return supertypes;
+    }
+
+    void addClass(String className) {
+        inheritanceGraph.addVertex(className);
+    }
+
+    void addSupertype(String className, String supertype) {
+        inheritanceGraph.addEdge(supertype, className);
+    }
+
 }
@@ -54,6 +54,10 @@ public class InheritanceTreeGenerator {
     private static final String resourceFolder = "client/src/main/resources/";
     private static final String jdkFile = "JDK_inheritance.xml";
     private static final String shadedJdkFile = "JDK_inheritance_shaded.xml";
+    /**
+     * Does not refer to EvoSuite classes, and thus also works when shaded
+     */
+    private static final String binaryJdkFile = "JDK_inheritance.bin";
 
     /**
      * Iterate over items in classpath and analyze them
@@ -432,9 +436,22 @@ public class InheritanceTreeGenerator {
         } catch (FileNotFoundException e) {
             logger.error("", e);
         }
+        try {
+            BinaryInheritanceTree.write(inheritanceTree, new File(resourceFolder + binaryJdkFile));
+        } catch (IOException e) {
+            logger.error("", e);
+        }
     }
 
     public static InheritanceTree readJDKData() {
+        try (InputStream binary = InheritanceTreeGenerator.class.getResourceAsStream("/" + binaryJdkFile)) {
+            if (binary != null) {
+                return BinaryInheritanceTree.read(binary);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read binary JDK inheritance tree, falling back to XML: " + e);
+        }
+
         XStream xstream = new XStream();
         XStream.setupDefaultSecurity(xstream);
         xstream.allowTypesByWildcard(new String[]{"org.evosuite.**", "org.jgrapht.**"});
@@ -457,10 +474,15 @@ public class InheritanceTreeGenerator {
     }
 
     public static InheritanceTree readInheritanceTree(String fileName) throws IOException {
+        File file = new File(fileName);
+        if (BinaryInheritanceTree.isBinary(file)) {
+            return BinaryInheritanceTree.read(file);
+        }
+
         XStream xstream = new XStream();
         XStream.setupDefaultSecurity(xstream);
         xstream.allowTypesByWildcard(new String[]{"org.evosuite.**", "org.jgrapht.**"});
-        GZIPInputStream inheritance = new GZIPInputStream(new FileInputStream(new File(fileName)));
+        GZIPInputStream inheritance = new GZIPInputStream(new FileInputStream(file));
         return (InheritanceTree) xstream.fromXML(inheritance);
     }
 
@@ -475,6 +497,7 @@ public class InheritanceTreeGenerator {
     }
 
     public static void writeInheritanceTree(InheritanceTree tree, File file) throws IOException {
+        tree.loadAllMethods();
         XStream xstream = new XStream();
         XStream.setupDefaultSecurity(xstream);
         xstream.allowTypesByWildcard(new String[]{"org.evosuite.**", "org.jgrapht.**"});
@@ -483,6 +506,18 @@ public class InheritanceTreeGenerator {
         }
     }
 
+    /**
+     * Writes the tree in the compact {@link BinaryInheritanceTree} format,
+     * which {@link #readInheritanceTree(String)} reads as well
+     *
+     * @param tree
+     * @param file
+     * @throws IOException
+     */
+    public static void writeBinaryInheritanceTree(InheritanceTree tree, File file) throws IOException {
+        BinaryInheritanceTree.write(tree, file);
+    }
+
 
     public static Collection<String> getAllResources() {
         Collection<String> retval = getResources(System.getProperty("java.class.path", "."));
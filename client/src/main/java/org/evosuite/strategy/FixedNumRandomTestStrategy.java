@@ -87,7 +87,7 @@ public class FixedNumRandomTestStrategy extends TestGenerationStrategy {
                     continue;
                 } else {
                     // Remove anything that follows an exception
-                    test.getTestCase().chop(pos + 1);
+                    test.getMutableTestCase().chop(pos + 1);
                 }
                 test.setChanged(true);
             } else {
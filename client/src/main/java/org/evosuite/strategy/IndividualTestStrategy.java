@@ -191,7 +191,7 @@ public class IndividualTestStrategy extends TestGenerationStrategy {
                     logger.info("Found solution, adding to test suite at "
                             + MaxStatementsStoppingCondition.getNumExecutedStatements());
                     TestChromosome best = ga.getBestIndividual();
-                    best.getTestCase().addCoveredGoal(fitnessFunction);
+                    best.addCoveredGoal(fitnessFunction);
                     suite.addTest(best);
                     // Calculate and keep track of overall fitness
                     for (TestSuiteFitnessFunction fitness_function : fitnessFunctions)
@@ -35,6 +35,7 @@ import org.evosuite.ga.metaheuristics.mulambda.MuPlusLambdaEA;
 import org.evosuite.ga.metaheuristics.mulambda.OnePlusLambdaLambdaGA;
 import org.evosuite.ga.metaheuristics.mulambda.OnePlusOneEA;
 import org.evosuite.ga.operators.crossover.*;
+import org.evosuite.ga.operators.ranking.EfficientPreferenceSorting;
 import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
 import org.evosuite.ga.operators.ranking.RankBasedPreferenceSorting;
 import org.evosuite.ga.operators.ranking.RankingFunction;
@@ -198,6 +199,8 @@ public class PropertiesTestGAFactory
         switch (Properties.RANKING_TYPE) {
             case FAST_NON_DOMINATED_SORTING:
                 return new FastNonDominatedSorting<>();
+            case EFFICIENT_PREFERENCE_SORTING:
+                return new EfficientPreferenceSorting<>();
             case PREFERENCE_SORTING:
             default:
                 return new RankBasedPreferenceSorting<>();
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import org.evosuite.symbolic.expr.Constraint;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Set of constraint sets supporting fast subset and superset queries.
+ * <p>
+ * Constraints are interned to integer ids, and each stored set is a path of
+ * ascending ids in a set-trie (UBTree, Hoffmann and Koehler 1999). Looking up
+ * the stored sets contained in, or containing, a query only visits the
+ * branches of the trie compatible with the query, rather than comparing the
+ * query with every stored set as {@link PathConditionUtils} does.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ConstraintSetIndex {
+
+    private static final class Node {
+
+        private final TreeMap<Integer, Node> children = new TreeMap<>();
+
+        /**
+         * The stored set whose path ends at this node, null if none
+         */
+        private Set<Constraint<?>> set;
+    }
+
+    private final Map<Constraint<?>, Integer> ids = new HashMap<>();
+
+    private Node root = new Node();
+
+    private int size = 0;
+
+    /**
+     * Adds a constraint set to the index
+     *
+     * @param constraintSet
+     * @return true if the set was not already in the index
+     */
+    public boolean add(Set<Constraint<?>> constraintSet) {
+        if (constraintSet == null) throw new IllegalArgumentException(PathConditionUtils.QUERY_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
+
+        int[] path = new int[constraintSet.size()];
+        int i = 0;
+        for (Constraint<?> constraint : constraintSet) {
+            Integer id = ids.get(constraint);
+            if (id == null) {
+                id = ids.size();
+                ids.put(constraint, id);
+            }
+            path[i++] = id;
+        }
+        Arrays.sort(path);
+
+        Node node = root;
+        for (int id : path) {
+            node = node.children.computeIfAbsent(id, key -> new Node());
+        }
+        if (node.set != null) {
+            return false;
+        }
+        node.set = constraintSet;
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns true if exactly the given constraint set is in the index
+     *
+     * @param constraintSet
+     * @return
+     */
+    public boolean contains(Set<Constraint<?>> constraintSet) {
+        if (constraintSet == null) throw new IllegalArgumentException(PathConditionUtils.QUERY_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
+
+        int[] path = toKnownIds(constraintSet);
+        if (path.length < constraintSet.size()) {
+            return false;
+        }
+        Node node = root;
+        for (int id : path) {
+            node = node.children.get(id);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.set != null;
+    }
+
+    /**
+     * Returns a stored set that contains all the constraints of the query.
+     *
+     * @param query
+     * @return the stored set, or null if there is none
+     */
+    public Set<Constraint<?>> getSupersetOf(Set<Constraint<?>> query) {
+        return getSupersetOf(query, set -> true);
+    }
+
+    /**
+     * Returns a stored set accepted by the filter that contains all the
+     * constraints of the query.
+     *
+     * @param query
+     * @param filter
+     * @return the stored set, or null if there is none
+     */
+    public Set<Constraint<?>> getSupersetOf(Set<Constraint<?>> query, Predicate<Set<Constraint<?>>> filter) {
+        if (query == null) throw new IllegalArgumentException(PathConditionUtils.QUERY_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
+
+        int[] path = toKnownIds(query);
+        if (path.length < query.size()) {
+            // a constraint that is in no stored set
+            return null;
+        }
+        return findSuperset(root, path, 0, filter);
+    }
+
+    /**
+     * Returns a stored set whose constraints are all in the query.
+     *
+     * @param query
+     * @return the stored set, or null if there is none
+     */
+    public Set<Constraint<?>> getSubsetOf(Set<Constraint<?>> query) {
+        return getSubsetOf(query, set -> true);
+    }
+
+    /**
+     * Returns a stored set accepted by the filter whose constraints are all
+     * in the query.
+     *
+     * @param query
+     * @param filter
+     * @return the stored set, or null if there is none
+     */
+    public Set<Constraint<?>> getSubsetOf(Set<Constraint<?>> query, Predicate<Set<Constraint<?>>> filter) {
+        if (query == null) throw new IllegalArgumentException(PathConditionUtils.QUERY_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
+
+        // constraints that are in no stored set cannot restrict the result
+        return findSubset(root, toKnownIds(query), 0, filter);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        ids.clear();
+        root = new Node();
+        size = 0;
+    }
+
+    /**
+     * Sorted ids of the constraints of the set that have been interned
+     */
+    private int[] toKnownIds(Set<Constraint<?>> constraintSet) {
+        int[] path = new int[constraintSet.size()];
+        int length = 0;
+        for (Constraint<?> constraint : constraintSet) {
+            Integer id = ids.get(constraint);
+            if (id != null) {
+                path[length++] = id;
+            }
+        }
+        path = length == path.length ? path : Arrays.copyOf(path, length);
+        Arrays.sort(path);
+        return path;
+    }
+
+    private static Set<Constraint<?>> findSuperset(Node node, int[] query, int from, Predicate<Set<Constraint<?>>> filter) {
+        if (from == query.length && node.set != null && filter.test(node.set)) {
+            return node.set;
+        }
+        // ids grow along the paths, so children beyond the next id of the query cannot contain it
+        Map<Integer, Node> candidates = from == query.length ? node.children : node.children.headMap(query[from], true);
+        for (Map.Entry<Integer, Node> child : candidates.entrySet()) {
+            int next = from < query.length && child.getKey() == query[from] ? from + 1 : from;
+            Set<Constraint<?>> result = findSuperset(child.getValue(), query, next, filter);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static Set<Constraint<?>> findSubset(Node node, int[] query, int from, Predicate<Set<Constraint<?>>> filter) {
+        if (node.set != null && filter.test(node.set)) {
+            return node.set;
+        }
+        for (int i = from; i < query.length; i++) {
+            Node child = node.children.get(query[i]);
+            if (child != null) {
+                Set<Constraint<?>> result = findSubset(child, query, i + 1, filter);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import org.evosuite.symbolic.expr.Constraint;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Map from constraint sets to values, eg the results of the solver, whose
+ * keys are kept in a {@link ConstraintSetIndex} to find the entries of the
+ * subsets and supersets of a query.
+ * <p>
+ * Entries cannot be removed. This class is not thread-safe.
+ *
+ * @param <V> the type of the values
+ */
+public class ConstraintSetMap<V> {
+
+    private final Map<Set<Constraint<?>>, V> values = new HashMap<>();
+
+    private final ConstraintSetIndex index = new ConstraintSetIndex();
+
+    public V get(Set<Constraint<?>> constraintSet) {
+        return values.get(constraintSet);
+    }
+
+    public boolean containsKey(Set<Constraint<?>> constraintSet) {
+        return values.containsKey(constraintSet);
+    }
+
+    public V put(Set<Constraint<?>> constraintSet, V value) {
+        V old = values.put(constraintSet, value);
+        if (old == null) {
+            index.add(constraintSet);
+        }
+        return old;
+    }
+
+    /**
+     * Returns a key that contains all the constraints of the query and whose
+     * value is accepted by the filter.
+     *
+     * @param query
+     * @param filter
+     * @return the key, or null if there is none
+     */
+    public Set<Constraint<?>> getSupersetOf(Set<Constraint<?>> query, Predicate<V> filter) {
+        return index.getSupersetOf(query, set -> filter.test(values.get(set)));
+    }
+
+    /**
+     * Returns a key whose constraints are all in the query and whose value
+     * is accepted by the filter.
+     *
+     * @param query
+     * @param filter
+     * @return the key, or null if there is none
+     */
+    public Set<Constraint<?>> getSubsetOf(Set<Constraint<?>> query, Predicate<V> filter) {
+        return index.getSubsetOf(query, set -> filter.test(values.get(set)));
+    }
+
+    public Set<Set<Constraint<?>>> keySet() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+}
@@ -71,7 +71,7 @@ public class ConcolicExecutorImpl implements ConcolicExecutor {
 
     public List<BranchCondition> getSymbolicPath(TestChromosome test) {
         TestChromosome dscCopy = test.clone();
-        DefaultTestCase defaultTestCase = (DefaultTestCase) dscCopy.getTestCase();
+        DefaultTestCase defaultTestCase = (DefaultTestCase) dscCopy.getMutableTestCase();
 
         PathCondition pathCondition = execute(defaultTestCase);
         return pathCondition.getBranchConditions();
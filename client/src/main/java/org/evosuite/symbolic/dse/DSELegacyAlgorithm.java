@@ -22,10 +22,13 @@ package org.evosuite.symbolic.dse;
 import org.evosuite.Properties;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.runtime.classhandling.ClassResetter;
+import org.evosuite.symbolic.ConstraintSetIndex;
+import org.evosuite.symbolic.ConstraintSetMap;
 import org.evosuite.symbolic.MethodComparator;
 import org.evosuite.symbolic.PathCondition;
 import org.evosuite.symbolic.TestCaseBuilder;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.ConstraintInterner;
 import org.evosuite.symbolic.expr.Variable;
 import org.evosuite.symbolic.expr.bv.IntegerConstant;
 import org.evosuite.symbolic.expr.bv.IntegerVariable;
@@ -70,8 +73,13 @@ public class DSELegacyAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
     /**
      * A cache of previous results from the constraint solver
      */
-    private final Map<Set<Constraint<?>>, SolverResult> queryCache =
-            new HashMap<>();
+    private final ConstraintSetMap<SolverResult> queryCache =
+            new ConstraintSetMap<>();
+
+    /**
+     * Shares the constraints of the query cache keys, lives as long as the query cache
+     */
+    private final ConstraintInterner constraintInterner = new ConstraintInterner();
 
     /**
      * Applies DSE test generation on a static non-private method until a stopping condition is met or
@@ -102,7 +110,7 @@ public class DSELegacyAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
             return;
         }
 
-        HashSet<Set<Constraint<?>>> pathConditions = new HashSet<>();
+        ConstraintSetIndex pathConditions = new ConstraintSetIndex();
 
         for (int currentTestIndex = 0; currentTestIndex < generatedTests
                 .size(); currentTestIndex++) {
@@ -167,7 +175,7 @@ public class DSELegacyAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
 
                     // Saving the result when is not null just to be sure not to save spurious
                     // solver failures / unknowns as already satisfiable in the cache.
-                    queryCache.put(constraintSet, result);
+                    queryCache.put(constraintInterner.internAsSet(constraintSet), result);
                     statisticsLogger.reportNewQueryCachedValue();
                     logger.debug("Number of stored entries in query cache : " + queryCache.keySet().size());
 
@@ -220,7 +228,7 @@ public class DSELegacyAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
      * @param queryCache
      * @return
      */
-    private boolean shouldSkipCurrentConstraintSet(HashSet<Set<Constraint<?>>> pathConditions, Set<Constraint<?>> constraintSet, Map<Set<Constraint<?>>, SolverResult> queryCache) {
+    private boolean shouldSkipCurrentConstraintSet(ConstraintSetIndex pathConditions, Set<Constraint<?>> constraintSet, ConstraintSetMap<SolverResult> queryCache) {
         statisticsLogger.reportNewQueryCacheCall();
 
         if (queryCache.containsKey(constraintSet)) {
@@ -229,7 +237,7 @@ public class DSELegacyAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
             return true;
         }
 
-        if (isSubSetOf(constraintSet, queryCache.keySet())) {
+        if (queryCache.getSupersetOf(constraintSet, result -> true) != null) {
             statisticsLogger.reportNewQueryCacheHit();
             logger.debug(
                     "skipping solving of current query because it is satisfiable and solved by previous path condition");
@@ -241,7 +249,7 @@ public class DSELegacyAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
             return true;
         }
 
-        if (isSubSetOf(constraintSet, pathConditions)) {
+        if (pathConditions.getSupersetOf(constraintSet) != null) {
             logger.debug(
                     "skipping solving of current query because it is satisfiable and solved by previous path condition");
             return true;
@@ -293,24 +301,6 @@ public class DSELegacyAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
         return boundsForVariables;
     }
 
-    /**
-     * Returns true if the constraints in the query are a subset of any of the constraints in the set
-     * of queries
-     *
-     * @param query
-     * @param queries
-     * @return
-     */
-    private static boolean isSubSetOf(Set<Constraint<?>> query,
-                                      Collection<Set<Constraint<?>>> queries) {
-        for (Set<Constraint<?>> pathCondition : queries) {
-            if (pathCondition.containsAll(query)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Builds a default test case for a static target method
      *
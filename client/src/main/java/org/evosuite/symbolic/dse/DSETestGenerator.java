@@ -171,7 +171,7 @@ public class DSETestGenerator {
                 logger.info("Found SAT result");
                 DSEStatistics.getInstance().reportNewSAT();
                 Map<String, Object> model = solverResult.getModel();
-                TestCase oldTest = test.getTestCase();
+                TestCase oldTest = test.getMutableTestCase();
                 ExecutionResult oldResult = test.getLastExecutionResult().clone();
                 TestCase newTest = TestCaseUpdater.updateTest(oldTest, model);
                 logger.info("New test: " + newTest.toCode());
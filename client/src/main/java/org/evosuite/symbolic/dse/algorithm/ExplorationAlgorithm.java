@@ -20,17 +20,21 @@
 package org.evosuite.symbolic.dse.algorithm;
 
 import org.evosuite.Properties;
+import org.evosuite.symbolic.ConstraintSetIndex;
+import org.evosuite.symbolic.ConstraintSetMap;
 import org.evosuite.symbolic.MethodComparator;
 import org.evosuite.symbolic.PathCondition;
-import org.evosuite.symbolic.PathConditionUtils;
 import org.evosuite.symbolic.dse.ConcolicExecutor;
 import org.evosuite.symbolic.dse.ConcolicExecutorImpl;
 import org.evosuite.symbolic.dse.DSEStatistics;
 import org.evosuite.symbolic.dse.DSETestCase;
 import org.evosuite.symbolic.dse.algorithm.strategies.*;
+import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies.CacheQueryResult;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.ConstraintInterner;
 import org.evosuite.symbolic.solver.*;
+import org.evosuite.symbolic.solver.avm.EvoSuiteSolver;
 import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestCaseUpdater;
@@ -44,6 +48,13 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Structure of a DSE Exploration algorithm,
@@ -75,6 +86,9 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     public static final String SOLVER_OUTCOME_IS_SAT_DEBUG_MESSAGE = "query is SAT (solution found)";
     public static final String SOLVER_OUTCOME_IS_UNSAT_DEBUG_MESSAGE = "query is UNSAT (no solution found)";
     public static final String SOLVING_CURRENT_SMT_QUERY_DEBUG_MESSAGE = "* Solving current SMT query";
+    public static final String SOLVING_QUERIES_IN_ADVANCE_DEBUG_MESSAGE = "Solving {} queries in advance";
+    public static final String EXECUTING_CONCOLICALLY_IN_ADVANCE_DEBUG_MESSAGE = "Executing concolically in advance the next test case of the work list";
+    public static final String CONCOLIC_EXECUTION_IN_ADVANCE_FAILED_DEBUG_MESSAGE = "Concolic execution in advance failed: {}";
 
     // Concolic Engine
     public static final String PATH_CONDITION_COLLECTED_SIZE = "Path condition collected with: {} branches";
@@ -104,7 +118,12 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     /**
      * A cache of previous results from the constraint solver
      **/
-    protected final transient Map<Set<Constraint<?>>, SolverResult> queryCache = new HashMap<>();
+    protected final transient ConstraintSetMap<SolverResult> queryCache = new ConstraintSetMap<>();
+
+    /**
+     * Shares the constraints of the query cache keys, lives as long as the query cache
+     **/
+    private final transient ConstraintInterner constraintInterner = new ConstraintInterner();
 
     /**
      * Exploration strategies
@@ -121,6 +140,33 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     private final transient ConcolicExecutor engine;
     private final transient Solver solver;
 
+    /**
+     * Solves the queries of the children of a path condition in advance, null if they are solved sequentially
+     **/
+    private transient ExecutorService solverPool;
+
+    private static final String SOLVER_THREAD = "DSE_SOLVER_THREAD";
+
+    /**
+     * Executes concolically in advance the test case at the head of the work list, while the exploration
+     * thread waits for the solver threads. Null if the queries are solved sequentially.
+     **/
+    private transient ExecutorService concolicPool;
+
+    /**
+     * Concolic executions done in advance by the concolic pool, by test case
+     **/
+    private final transient Map<DSETestCase, Future<GenerationalSearchPathCondition>> concolicExecutionsInAdvance = new IdentityHashMap<>();
+
+    /**
+     * Held by the thread executing the SUT when the concolic pool is enabled. Concolic and concrete
+     * executions share global state (the symbolic VM, the execution observers, the static state of the SUT),
+     * so the exploration thread only releases it while waiting for the solver or concolic threads.
+     **/
+    private final transient ReentrantLock executionLock = new ReentrantLock();
+
+    private static final String CONCOLIC_THREAD = "DSE_CONCOLIC_THREAD";
+
     public ExplorationAlgorithm() {
         this(
                 SHOW_PROGRESS_DEFAULT_VALUE,
@@ -230,8 +276,33 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
      */
     @Override
     protected void explore(Method method) {
+        solverPool = createSolverPool();
+        if (solverPool != null) {
+            concolicPool = createConcolicPool();
+            executionLock.lock();
+        }
+        try {
+            exploreFrom(method);
+        } finally {
+            if (solverPool != null) {
+                solverPool.shutdownNow();
+                solverPool = null;
+                shutdownConcolicPool();
+            }
+        }
+    }
+
+    /**
+     * The building, executing and scoring of new tests happen on the current thread. When solver threads
+     * are enabled, the queries of the children are solved on the solver pool, and while the current thread
+     * waits for them, the concolic pool executes the next test case of the work list. Both pools are thus
+     * fed by the prioritized work list, and the current thread still consumes it in the same order.
+     *
+     * @param method
+     */
+    private void exploreFrom(Method method) {
         // Children cache
-        HashSet<Set<Constraint<?>>> seenChildren = new HashSet();
+        ConstraintSetIndex seenChildren = new ConstraintSetIndex();
 
         // WorkList
         Queue<DSETestCase> testCasesWorkList = createWorkList();
@@ -252,7 +323,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
             if (isFinished()) return;
 
             // Runs the current test case
-            GenerationalSearchPathCondition currentExecutedPathCondition = executeTestCaseConcolically(currentTestCase);
+            GenerationalSearchPathCondition currentExecutedPathCondition = getConcolicExecution(currentTestCase);
             statisticsLogger.reportNewPathExplored();
             logger.debug(PATH_CONDITION_COLLECTED_SIZE, currentExecutedPathCondition.getPathCondition().size());
 
@@ -288,13 +359,25 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
      */
     protected abstract Queue<DSETestCase> createWorkList();
 
-    private boolean shouldSkipCurrentPathcondition(boolean hasPathConditionDiverged, Set<Constraint<?>> seenPathCondition, HashSet<Set<Constraint<?>>> seenChildren) {
+    private boolean shouldSkipCurrentPathcondition(boolean hasPathConditionDiverged, Set<Constraint<?>> seenPathCondition, ConstraintSetIndex seenChildren) {
         return hasPathConditionDiverged && (
                 seenChildren.contains(seenPathCondition)
-                        || PathConditionUtils.isConstraintSetSubSetOf(seenPathCondition, seenChildren));
+                        || seenChildren.getSupersetOf(seenPathCondition) != null);
     }
 
-    private void processChildren(Queue<DSETestCase> testCasesWorkList, HashSet<Set<Constraint<?>>> seenChildren, DSETestCase currentTestCase, List<GenerationalSearchPathCondition> children, boolean hasPathConditionDiverged) {
+    private void processChildren(Queue<DSETestCase> testCasesWorkList, ConstraintSetIndex seenChildren, DSETestCase currentTestCase, List<GenerationalSearchPathCondition> children, boolean hasPathConditionDiverged) {
+        Map<GenerationalSearchPathCondition, Future<SolvedQuery>> queriesSolvedInAdvance = solveQueriesInAdvance(seenChildren, children);
+        try {
+            processChildren(testCasesWorkList, seenChildren, currentTestCase, children, hasPathConditionDiverged, queriesSolvedInAdvance);
+        } finally {
+            // Queries of children not reached anymore, or pruned in the meantime
+            for (Future<SolvedQuery> solvedQuery : queriesSolvedInAdvance.values()) {
+                solvedQuery.cancel(true);
+            }
+        }
+    }
+
+    private void processChildren(Queue<DSETestCase> testCasesWorkList, ConstraintSetIndex seenChildren, DSETestCase currentTestCase, List<GenerationalSearchPathCondition> children, boolean hasPathConditionDiverged, Map<GenerationalSearchPathCondition, Future<SolvedQuery>> queriesSolvedInAdvance) {
         // We look at all the children
         for (GenerationalSearchPathCondition child : children) {
             List<Constraint<?>> childQuery = SolverUtils.buildQuery(child.getPathCondition());
@@ -327,7 +410,10 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
 
                     // Solves the SMT query
                     logger.debug(SOLVER_QUERY_STARTED_MESSAGE, childQuery.size());
-                    SolverResult smtQueryResult = solveQuery(childQuery);
+                    Future<SolvedQuery> solvedQuery = queriesSolvedInAdvance.remove(child);
+                    SolverResult smtQueryResult = solvedQuery == null
+                            ? solveQuery(childQuery)
+                            : getSolvedQuery(solvedQuery, testCasesWorkList);
                     smtSolution = getQuerySolution(
                             normalizedChildQuery,
                             smtQueryResult
@@ -352,6 +438,180 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         }
     }
 
+    /**
+     * Submits the queries of the children that are not pruned yet to the solver threads. The children are still
+     * processed in order afterwards, and use these results instead of solving their query. Thus, the generated
+     * tests are the same as when solving sequentially.
+     *
+     * @param seenChildren
+     * @param children
+     * @return the queries being solved, by child
+     */
+    private Map<GenerationalSearchPathCondition, Future<SolvedQuery>> solveQueriesInAdvance(ConstraintSetIndex seenChildren, List<GenerationalSearchPathCondition> children) {
+        if (solverPool == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<GenerationalSearchPathCondition, Future<SolvedQuery>> solvedQueries = new IdentityHashMap<>();
+        for (GenerationalSearchPathCondition child : children) {
+            List<Constraint<?>> childQuery = SolverUtils.buildQuery(child.getPathCondition());
+            Set<Constraint<?>> normalizedChildQuery = normalize(childQuery);
+            if (queryCache.containsKey(normalizedChildQuery) || seenChildren.contains(normalizedChildQuery)) {
+                continue;
+            }
+
+            childQuery.addAll(
+                    SolverUtils.createBoundsForQueryVariables(childQuery)
+            );
+            solvedQueries.put(child, solverPool.submit(() -> {
+                long startSolvingTime = System.currentTimeMillis();
+                SolverResult smtQueryResult = doSolveQuery(childQuery);
+                return new SolvedQuery(smtQueryResult, System.currentTimeMillis() - startSolvingTime);
+            }));
+        }
+        logger.debug(SOLVING_QUERIES_IN_ADVANCE_DEBUG_MESSAGE, solvedQueries.size());
+
+        return solvedQueries;
+    }
+
+    /**
+     * Waits for a query solved in advance
+     *
+     * @param solvedQuery
+     * @param testCasesWorkList
+     * @return
+     */
+    private SolverResult getSolvedQuery(Future<SolvedQuery> solvedQuery, Queue<DSETestCase> testCasesWorkList) {
+        executeConcolicallyInAdvance(testCasesWorkList);
+        executionLock.unlock();
+        try {
+            SolvedQuery result = solvedQuery.get();
+            DSEStatistics.getInstance().reportNewSolvingTime(result.solvingTime);
+            return result.smtQueryResult;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            logger.debug(SOLVER_ERROR_DEBUG_MESSAGE, e.getCause().getMessage());
+            return null;
+        } finally {
+            executionLock.lock();
+        }
+    }
+
+    /**
+     * Submits the concolic execution of the test case at the head of the work list to the concolic pool,
+     * unless it is already executed. The test cases added later may have a higher priority, the result is
+     * then kept until this test case is selected.
+     *
+     * @param testCasesWorkList
+     */
+    private void executeConcolicallyInAdvance(Queue<DSETestCase> testCasesWorkList) {
+        if (concolicExecutionsInAdvance.size() >= Properties.DSE_SOLVER_THREADS) {
+            return;
+        }
+
+        DSETestCase nextTestCase = testCasesWorkList.peek();
+        if (nextTestCase == null || concolicExecutionsInAdvance.containsKey(nextTestCase)) {
+            return;
+        }
+
+        logger.debug(EXECUTING_CONCOLICALLY_IN_ADVANCE_DEBUG_MESSAGE);
+        concolicExecutionsInAdvance.put(nextTestCase, concolicPool.submit(() -> {
+            executionLock.lockInterruptibly();
+            try {
+                return executeTestCaseConcolically(nextTestCase);
+            } finally {
+                executionLock.unlock();
+            }
+        }));
+    }
+
+    /**
+     * Returns the path condition of the test case, executed in advance if it was submitted to the concolic
+     * pool, otherwise on the current thread.
+     *
+     * @param currentTestCase
+     * @return
+     */
+    private GenerationalSearchPathCondition getConcolicExecution(DSETestCase currentTestCase) {
+        Future<GenerationalSearchPathCondition> concolicExecution = concolicExecutionsInAdvance.remove(currentTestCase);
+        if (concolicExecution == null) {
+            return executeTestCaseConcolically(currentTestCase);
+        }
+
+        GenerationalSearchPathCondition pathCondition = null;
+        executionLock.unlock();
+        try {
+            pathCondition = concolicExecution.get();
+        } catch (InterruptedException e) {
+            concolicExecution.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug(CONCOLIC_EXECUTION_IN_ADVANCE_FAILED_DEBUG_MESSAGE, e.getCause().getMessage());
+        } finally {
+            executionLock.lock();
+        }
+
+        return pathCondition == null ? executeTestCaseConcolically(currentTestCase) : pathCondition;
+    }
+
+    /**
+     * Creates the solver threads, if enabled. The internal solver is not supported, as it searches
+     * a solution by changing the concrete values of the variables.
+     *
+     * @return
+     */
+    private ExecutorService createSolverPool() {
+        if (Properties.DSE_SOLVER_THREADS <= 1 || solver instanceof EvoSuiteSolver) {
+            return null;
+        }
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Properties.DSE_SOLVER_THREADS, r -> {
+            Thread thread = new Thread(r, SOLVER_THREAD + "_" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            // external solvers are run as separate processes
+            Sandbox.addPrivilegedThread(thread);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates the concolic thread. There is a single one, as concolic executions rely on global state.
+     *
+     * @return
+     */
+    private ExecutorService createConcolicPool() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, CONCOLIC_THREAD);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Drops the concolic executions done in advance, and waits for the one running, if any, before the SUT
+     * is executed again by the current thread.
+     */
+    private void shutdownConcolicPool() {
+        for (Future<GenerationalSearchPathCondition> concolicExecution : concolicExecutionsInAdvance.values()) {
+            concolicExecution.cancel(true);
+        }
+        concolicExecutionsInAdvance.clear();
+        concolicPool.shutdownNow();
+        executionLock.unlock();
+        try {
+            concolicPool.awaitTermination(Properties.CONCOLIC_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        concolicPool = null;
+    }
+
     /**
      * Child PC is not processed if it was already explored, this is:
      * - Their constraints were already solved by a previous SMT query
@@ -361,7 +621,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
      * @param constraintSet
      * @return
      */
-    private boolean shouldSkipChild(HashSet<Set<Constraint<?>>> pathConditions, Set<Constraint<?>> constraintSet) {
+    private boolean shouldSkipChild(ConstraintSetIndex pathConditions, Set<Constraint<?>> constraintSet) {
         statisticsLogger.reportNewQueryCacheCall();
         if (queryCache.containsKey(constraintSet)) {
             statisticsLogger.reportNewQueryCacheHit();
@@ -430,8 +690,11 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
             // This doesn't necessarily is a timeout, but we model it this way
             statisticsLogger.reportSolverError();
         } else {
-            queryCache.put(query, smtQueryResult);
+            queryCache.put(constraintInterner.internAsSet(query), smtQueryResult);
             statisticsLogger.reportNewQueryCachedValue();
+            if (PersistentSolverCache.isEnabled()) {
+                PersistentSolverCache.getInstance().saveResult(query, smtQueryResult);
+            }
 
             if (smtQueryResult.isSAT()) {
                 logger.debug(SOLVER_OUTCOME_IS_SAT_DEBUG_MESSAGE);
@@ -537,4 +800,17 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     private void checkStrategy(Object strategy) {
         if (strategy == null) throw new IllegalArgumentException(STRATEGY_CANNOT_BE_NULL);
     }
-}
\ No newline at end of file
+
+    /**
+     * Result of a query solved on a solver thread, and the time it took
+     */
+    private static final class SolvedQuery {
+        private final SolverResult smtQueryResult;
+        private final long solvingTime;
+
+        SolvedQuery(SolverResult smtQueryResult, long solvingTime) {
+            this.smtQueryResult = smtQueryResult;
+            this.solvingTime = solvingTime;
+        }
+    }
+}
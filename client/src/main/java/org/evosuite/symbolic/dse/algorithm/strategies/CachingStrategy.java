@@ -19,11 +19,11 @@
  */
 package org.evosuite.symbolic.dse.algorithm.strategies;
 
+import org.evosuite.symbolic.ConstraintSetMap;
 import org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies.CacheQueryResult;
 import org.evosuite.symbolic.expr.Constraint;
 import org.evosuite.symbolic.solver.SolverResult;
 
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -32,5 +32,5 @@ import java.util.Set;
  * @author ignacio lebrero
  */
 public interface CachingStrategy {
-    CacheQueryResult checkCache(Set<Constraint<?>> constraintSet, Map<Set<Constraint<?>>, SolverResult> queryCache);
+    CacheQueryResult checkCache(Set<Constraint<?>> constraintSet, ConstraintSetMap<SolverResult> queryCache);
 }
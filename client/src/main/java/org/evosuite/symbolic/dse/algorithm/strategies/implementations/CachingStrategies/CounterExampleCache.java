@@ -19,15 +19,15 @@
  */
 package org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies;
 
-import org.evosuite.symbolic.PathConditionUtils;
+import org.evosuite.symbolic.ConstraintSetMap;
 import org.evosuite.symbolic.dse.DSEStatistics;
 import org.evosuite.symbolic.dse.algorithm.strategies.CachingStrategy;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.PersistentSolverCache;
 import org.evosuite.symbolic.solver.SolverResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -48,13 +48,21 @@ public class CounterExampleCache implements CachingStrategy {
     private static final DSEStatistics statisticsLogger = DSEStatistics.getInstance();
 
     @Override
-    public CacheQueryResult checkCache(Set<Constraint<?>> query, Map<Set<Constraint<?>>, SolverResult> queryCache) {
+    public CacheQueryResult checkCache(Set<Constraint<?>> query, ConstraintSetMap<SolverResult> queryCache) {
         statisticsLogger.reportNewQueryCacheCall();
 
-        // Cache hit of an exact set solution
-        if (queryCache.containsKey(query)) {
-            SolverResult cachedResult = queryCache.get(query);
+        SolverResult cachedResult = queryCache.get(query);
+
+        // Exact set solved by a previous run
+        if (cachedResult == null && PersistentSolverCache.isEnabled()) {
+            cachedResult = PersistentSolverCache.getInstance().getResult(query);
+            if (cachedResult != null) {
+                queryCache.put(query, cachedResult);
+            }
+        }
 
+        // Cache hit of an exact set solution
+        if (cachedResult != null) {
             if (cachedResult.isSAT()) {
                 statisticsLogger.reportNewQueryCacheHit();
                 logger.debug("skipping solving of current query since it is in the query cache");
@@ -67,10 +75,13 @@ public class CounterExampleCache implements CachingStrategy {
             }
         }
 
-        // Cache hit of a sub set solution
-        if (PathConditionUtils.isConstraintSetSupraSetOf(query, queryCache.keySet())) {
-            Set<Constraint<?>> subSetSolution = PathConditionUtils.getConstraintSetSupraSetOf(query, queryCache.keySet());
-            SolverResult cachedResult = queryCache.get(subSetSolution);
+        // Cache hit of a sub set solution, unsat ones first as only those are used for now
+        Set<Constraint<?>> subSetSolution = queryCache.getSubsetOf(query, SolverResult::isUNSAT);
+        if (subSetSolution == null) {
+            subSetSolution = queryCache.getSubsetOf(query, result -> true);
+        }
+        if (subSetSolution != null) {
+            cachedResult = queryCache.get(subSetSolution);
 
             // Case (a) for sub sets: the query is a supra set of a sat solution. Heuristics can be implemented here
             if (cachedResult.isSAT()) {
@@ -87,9 +98,9 @@ public class CounterExampleCache implements CachingStrategy {
         }
 
         // Cache hit of a supra set solution
-        if (PathConditionUtils.isConstraintSetSubSetOf(query, queryCache.keySet())) {
-            Set<Constraint<?>> supraSetSolution = PathConditionUtils.getConstraintSetSubSetOf(query, queryCache.keySet());
-            SolverResult cachedResult = queryCache.get(supraSetSolution);
+        Set<Constraint<?>> supraSetSolution = queryCache.getSupersetOf(query, result -> true);
+        if (supraSetSolution != null) {
+            cachedResult = queryCache.get(supraSetSolution);
 
             // Case (c) of Counter-example cache: Heuristics can be implemented here
             if (cachedResult.isUNSAT()) {
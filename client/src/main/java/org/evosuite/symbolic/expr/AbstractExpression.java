@@ -32,6 +32,11 @@ public abstract class AbstractExpression<T> implements Expression<T> {
 
     private final int size;
 
+    /**
+     * Cached structural hash code, 0 if not computed yet
+     */
+    private transient int structuralHash = 0;
+
     public AbstractExpression(T concreteValue, int size, boolean containsSymbolicVariable) {
         this.concreteValue = concreteValue;
         this.size = size;
@@ -78,6 +83,34 @@ public abstract class AbstractExpression<T> implements Expression<T> {
         return concreteValue;
     }
 
+    /**
+     * Hash codes of expressions are computed once, as the structure of an
+     * expression does not change after its creation. Like this, hashing a
+     * constraint does not traverse all its subexpressions again each time it
+     * is looked up in a query cache.
+     */
+    @Override
+    public final int hashCode() {
+        int h = structuralHash;
+        if (h == 0) {
+            h = computeHashCode();
+            structuralHash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Computes the hash code of this expression. It must not depend on the
+     * concrete value, unless the concrete value is part of the structure of
+     * the expression (eg of constants). By default, an expression is only
+     * equal to itself.
+     *
+     * @return the hash code
+     */
+    protected int computeHashCode() {
+        return super.hashCode();
+    }
+
     @Override
     public Set<Object> getConstants() {
         Set<Object> result = new HashSet<>();
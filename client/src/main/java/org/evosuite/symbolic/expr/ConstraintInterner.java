@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.expr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hash-consing of constraints: returns the same instance for structurally
+ * equal constraints.
+ * <p>
+ * Path conditions collected from different executions contain fresh but
+ * equal copies of the constraints of the branches they have in common.
+ * Interning the constraints used as keys of query caches stores each of them
+ * only once, and comparing interned keys stops at the identity check rather
+ * than traversing both expression trees.
+ * <p>
+ * Interned constraints keep the concrete values of the execution they were
+ * first collected from. They are meant to be used as cache keys, not to be
+ * sent to a solver that uses concrete values as a starting point.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ConstraintInterner {
+
+    private final Map<Constraint<?>, Constraint<?>> constraints = new HashMap<>();
+
+    /**
+     * Returns the interned instance equal to the given constraint, the
+     * constraint itself if it is the first one with its structure.
+     *
+     * @param constraint
+     * @param <T>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Constraint<T> intern(Constraint<T> constraint) {
+        Constraint<?> interned = constraints.putIfAbsent(constraint, constraint);
+        return interned == null ? constraint : (Constraint<T>) interned;
+    }
+
+    /**
+     * @param query
+     * @return a new set with the interned instances of the constraints
+     */
+    public Set<Constraint<?>> internAsSet(Collection<Constraint<?>> query) {
+        Set<Constraint<?>> result = new HashSet<>();
+        for (Constraint<?> constraint : query) {
+            result.add(intern(constraint));
+        }
+        return result;
+    }
+
+    /**
+     * @param query
+     * @return a new list with the interned instances of the constraints
+     */
+    public List<Constraint<?>> internAsList(Collection<Constraint<?>> query) {
+        List<Constraint<?>> result = new ArrayList<>(query.size());
+        for (Constraint<?> constraint : query) {
+            result.add(intern(constraint));
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of distinct constraints interned
+     */
+    public int size() {
+        return constraints.size();
+    }
+
+    public void clear() {
+        constraints.clear();
+    }
+}
@@ -115,7 +115,7 @@ public final class IntegerBinaryExpression extends AbstractExpression<Long>
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.left.hashCode() + this.op.hashCode()
                 + this.right.hashCode();
     }
@@ -80,7 +80,7 @@ public final class IntegerComparison extends AbstractExpression<Long> implements
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.left.hashCode() + this.right.hashCode();
     }
 
@@ -168,7 +168,7 @@ public final class StringMultipleComparison extends AbstractExpression<Long> imp
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.op.hashCode() + this.left.hashCode() + this.right.hashCode()
                 + this.other_v.hashCode();
     }
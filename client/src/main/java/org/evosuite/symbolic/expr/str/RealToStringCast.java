@@ -74,7 +74,7 @@ public final class RealToStringCast extends AbstractExpression<String> implement
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.expr.hashCode();
     }
 
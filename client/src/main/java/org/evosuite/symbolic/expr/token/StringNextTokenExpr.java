@@ -92,7 +92,7 @@ public final class StringNextTokenExpr extends AbstractExpression<String> implem
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.tokenizerExpr.hashCode();
     }
 
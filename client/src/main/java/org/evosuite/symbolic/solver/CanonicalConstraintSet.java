@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
+import org.evosuite.symbolic.solver.smt.ExprToSmtVisitor;
+import org.evosuite.symbolic.solver.smt.SmtArrayConstant;
+import org.evosuite.symbolic.solver.smt.SmtArrayVariable;
+import org.evosuite.symbolic.solver.smt.SmtBooleanConstant;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtExprVisitor;
+import org.evosuite.symbolic.solver.smt.SmtIntConstant;
+import org.evosuite.symbolic.solver.smt.SmtIntVariable;
+import org.evosuite.symbolic.solver.smt.SmtOperation;
+import org.evosuite.symbolic.solver.smt.SmtRealConstant;
+import org.evosuite.symbolic.solver.smt.SmtRealVariable;
+import org.evosuite.symbolic.solver.smt.SmtStringConstant;
+import org.evosuite.symbolic.solver.smt.SmtStringVariable;
+import org.evosuite.symbolic.solver.smt.SmtVariable;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical form of a set of constraints, used as key of the
+ * {@link PersistentSolverCache}.
+ * <p>
+ * The constraints are translated to SMT expressions and sorted by their shape,
+ * this is, printed with anonymous variables. Variables are then renamed in order
+ * of first occurrence. Like this, two queries that only differ in the order of
+ * their constraints or in the names of their variables usually share the same
+ * canonical form. The canonicalization is sound but not complete: constraints
+ * with the same shape are ordered by their original text, so some equivalent
+ * renamings end up with different forms.
+ * <p>
+ * The solver is given the bounds of the variables in addition to the
+ * constraints (see {@link SolverUtils#createBoundsForQueryVariables}), so the
+ * type and the range of each variable are part of the canonical form too: the
+ * same constraint on a byte and on an int variable may be UNSAT and SAT.
+ * <p>
+ * Solutions are stored with the canonical variable names, and translated back to
+ * the names of the query they are used for.
+ */
+public final class CanonicalConstraintSet {
+
+    private static final String CANONICAL_VARIABLE_PREFIX = "c";
+
+    private final String canonicalForm;
+
+    /**
+     * Variable names of the query to canonical names
+     */
+    private final Map<String, String> toCanonical;
+
+    /**
+     * Canonical variable names to names of the query
+     */
+    private final Map<String, String> toQuery;
+
+    private CanonicalConstraintSet(String canonicalForm, Map<String, String> toCanonical) {
+        this.canonicalForm = canonicalForm;
+        this.toCanonical = toCanonical;
+        this.toQuery = new HashMap<>();
+        for (Map.Entry<String, String> entry : toCanonical.entrySet()) {
+            toQuery.put(entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Builds the canonical form of the given constraints.
+     *
+     * @param constraints
+     * @return the canonical form, or null if a constraint cannot be translated
+     * to SMT
+     */
+    public static CanonicalConstraintSet of(Collection<Constraint<?>> constraints) {
+        List<CanonicalConstraint> translated = new ArrayList<>(constraints.size());
+        Map<String, Variable<?>> variables = new HashMap<>();
+        try {
+            for (Constraint<?> constraint : constraints) {
+                for (Variable<?> variable : constraint.getVariables()) {
+                    variables.put(variable.getName(), variable);
+                }
+                ExprToSmtVisitor visitor = new ExprToSmtVisitor();
+                SmtExpr left = constraint.getLeftOperand().accept(visitor, null);
+                SmtExpr right = constraint.getRightOperand().accept(visitor, null);
+                if (left == null || right == null) {
+                    return null;
+                }
+                translated.add(new CanonicalConstraint(constraint.getComparator().name(), left, right));
+            }
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            return null;
+        }
+
+        translated.sort(null);
+
+        Map<String, String> renaming = new HashMap<>();
+        KeyPrinter printer = new KeyPrinter(VariableNames.CANONICAL, renaming);
+        StringBuilder form = new StringBuilder();
+        String previous = null;
+        for (CanonicalConstraint constraint : translated) {
+            String text = constraint.print(printer);
+            // identical constraints are adjacent after sorting
+            if (text.equals(previous)) {
+                continue;
+            }
+            form.append(text).append('\n');
+            previous = text;
+        }
+
+        // the bounds of the variables, in canonical order
+        String[] queryNames = new String[renaming.size()];
+        for (Map.Entry<String, String> entry : renaming.entrySet()) {
+            queryNames[Integer.parseInt(entry.getValue().substring(CANONICAL_VARIABLE_PREFIX.length()))] = entry.getKey();
+        }
+        for (int index = 0; index < queryNames.length; index++) {
+            Variable<?> variable = variables.get(queryNames[index]);
+            if (variable == null) {
+                return null;
+            }
+            form.append("(bounds ").append(CANONICAL_VARIABLE_PREFIX).append(index)
+                    .append(" ").append(variable.getClass().getSimpleName())
+                    .append(" ").append(variable.getMinValue())
+                    .append(" ").append(variable.getMaxValue()).append(")\n");
+        }
+        return new CanonicalConstraintSet(form.toString(), renaming);
+    }
+
+    public String getCanonicalForm() {
+        return canonicalForm;
+    }
+
+    /**
+     * Renames the variables of a solution of the query to their canonical names.
+     * Values of variables that do not occur in the query are dropped.
+     *
+     * @param result
+     * @return
+     */
+    public SolverResult toCanonical(SolverResult result) {
+        return rename(result, toCanonical);
+    }
+
+    /**
+     * Renames the variables of a canonical solution to the names of the query
+     *
+     * @param result
+     * @return
+     */
+    public SolverResult toQuery(SolverResult result) {
+        return rename(result, toQuery);
+    }
+
+    private static SolverResult rename(SolverResult result, Map<String, String> names) {
+        if (!result.isSAT()) {
+            return result;
+        }
+        Map<String, Object> model = new HashMap<>();
+        for (Map.Entry<String, Object> entry : result.getModel().entrySet()) {
+            String name = names.get(entry.getKey());
+            if (name != null) {
+                model.put(name, entry.getValue());
+            }
+        }
+        return SolverResult.newSAT(model);
+    }
+
+    @Override
+    public int hashCode() {
+        return canonicalForm.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        return canonicalForm.equals(((CanonicalConstraintSet) obj).canonicalForm);
+    }
+
+    @Override
+    public String toString() {
+        return canonicalForm;
+    }
+
+    private static final class CanonicalConstraint implements Comparable<CanonicalConstraint> {
+
+        private final String comparator;
+        private final SmtExpr left;
+        private final SmtExpr right;
+        private final String shape;
+        private final String text;
+
+        CanonicalConstraint(String comparator, SmtExpr left, SmtExpr right) {
+            this.comparator = comparator;
+            this.left = left;
+            this.right = right;
+            this.shape = print(new KeyPrinter(VariableNames.ANONYMOUS, null));
+            this.text = print(new KeyPrinter(VariableNames.ORIGINAL, null));
+        }
+
+        String print(KeyPrinter printer) {
+            return "(" + comparator + " " + left.accept(printer, null) + " " + right.accept(printer, null) + ")";
+        }
+
+        @Override
+        public int compareTo(CanonicalConstraint other) {
+            int cmp = shape.compareTo(other.shape);
+            return cmp != 0 ? cmp : text.compareTo(other.text);
+        }
+    }
+
+    private enum VariableNames {
+        ANONYMOUS, ORIGINAL, CANONICAL
+    }
+
+    /**
+     * Prints SMT expressions unambiguously, including the sorts of the variables
+     */
+    private static final class KeyPrinter implements SmtExprVisitor<String, Void> {
+
+        private final VariableNames variableNames;
+
+        /**
+         * Filled with the canonical names in order of first occurrence
+         */
+        private final Map<String, String> renaming;
+
+        KeyPrinter(VariableNames variableNames, Map<String, String> renaming) {
+            this.variableNames = variableNames;
+            this.renaming = renaming;
+        }
+
+        private String variable(SmtVariable n, String sort) {
+            switch (variableNames) {
+                case ANONYMOUS:
+                    return "?" + sort;
+                case ORIGINAL:
+                    return n.getName() + ":" + sort;
+                default:
+                    String name = renaming.get(n.getName());
+                    if (name == null) {
+                        name = CANONICAL_VARIABLE_PREFIX + renaming.size();
+                        renaming.put(n.getName(), name);
+                    }
+                    return name + ":" + sort;
+            }
+        }
+
+        private static String string(String str) {
+            // length prefixed, so that quotes in the value are not ambiguous
+            return "\"" + str.length() + ":" + str + "\"";
+        }
+
+        private static String array(String sort, Object array) {
+            StringBuilder result = new StringBuilder("(array ").append(sort);
+            int length = Array.getLength(array);
+            for (int index = 0; index < length; index++) {
+                Object element = Array.get(array, index);
+                result.append(" ");
+                if (element instanceof String) {
+                    result.append(string((String) element));
+                } else {
+                    result.append(element);
+                }
+            }
+            return result.append(")").toString();
+        }
+
+        @Override
+        public String visit(SmtBooleanConstant n, Void arg) {
+            return Boolean.toString(n.booleanValue());
+        }
+
+        @Override
+        public String visit(SmtIntConstant n, Void arg) {
+            return Long.toString(n.getConstantValue());
+        }
+
+        @Override
+        public String visit(SmtRealConstant n, Void arg) {
+            // exact, the decimal format of the SMT printer is rounded
+            return Double.toString(n.getConstantValue());
+        }
+
+        @Override
+        public String visit(SmtStringConstant n, Void arg) {
+            return string(n.getConstantValue());
+        }
+
+        @Override
+        public String visit(SmtIntVariable n, Void arg) {
+            return variable(n, "Int");
+        }
+
+        @Override
+        public String visit(SmtRealVariable n, Void arg) {
+            return variable(n, "Real");
+        }
+
+        @Override
+        public String visit(SmtStringVariable n, Void arg) {
+            return variable(n, "String");
+        }
+
+        @Override
+        public String visit(SmtOperation n, Void arg) {
+            StringBuilder result = new StringBuilder("(");
+            result.append(n.getOperator().toString());
+            for (SmtExpr argument : n.getArguments()) {
+                result.append(" ").append(argument.accept(this, null));
+            }
+            return result.append(")").toString();
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtIntegerArrayVariable n, Void arg) {
+            return variable(n, "IntArray");
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtRealArrayVariable n, Void arg) {
+            return variable(n, "RealArray");
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtStringArrayVariable n, Void arg) {
+            return variable(n, "StringArray");
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtReferenceArrayVariable n, Void arg) {
+            return variable(n, "ReferenceArray");
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtIntegerArrayConstant n, Void arg) {
+            return array("Int", n.getConstantValue());
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtRealArrayConstant n, Void arg) {
+            return array("Real", n.getConstantValue());
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtStringArrayConstant n, Void arg) {
+            return array("String", n.getConstantValue());
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtReferenceArrayConstant n, Void arg) {
+            throw new UnsupportedOperationException("Reference array constants are not supported");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Constraint independence optimization: partitions a query into groups of
+ * constraints that are connected through shared variables.
+ * <p>
+ * Constraints in different groups cannot influence each other, so only the
+ * group of the negated constraint needs to be sent to the solver. The
+ * variables of the other groups keep the values of the test the path
+ * condition was collected from, which already satisfy those constraints.
+ * Since the sliced query only contains the constraints relevant to the
+ * negated branch, path conditions that only differ in unrelated branches
+ * also share the same entry of the query cache.
+ */
+public final class ConstraintIndependence {
+
+    private ConstraintIndependence() {
+    }
+
+    /**
+     * Splits the constraints into groups of constraints transitively sharing
+     * variables. The groups are ordered by their first constraint, and keep
+     * the order of the constraints in the query. Each constraint without
+     * variables is a group on its own.
+     *
+     * @param constraints
+     * @return
+     */
+    public static List<List<Constraint<?>>> partition(List<Constraint<?>> constraints) {
+        int[] components = findComponents(constraints);
+
+        Map<Integer, List<Constraint<?>>> groups = new LinkedHashMap<>();
+        int i = 0;
+        for (Constraint<?> constraint : constraints) {
+            groups.computeIfAbsent(components[i++], key -> new ArrayList<>()).add(constraint);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Returns the constraints connected through shared variables to the
+     * constraint at the given index, in their order in the query.
+     *
+     * @param constraints
+     * @param targetIndex
+     * @return
+     */
+    public static List<Constraint<?>> slice(List<Constraint<?>> constraints, int targetIndex) {
+        int[] components = findComponents(constraints);
+
+        List<Constraint<?>> slice = new ArrayList<>();
+        int i = 0;
+        for (Constraint<?> constraint : constraints) {
+            if (components[i++] == components[targetIndex]) {
+                slice.add(constraint);
+            }
+        }
+        return slice;
+    }
+
+    /**
+     * Union-find over the constraints, joining the ones that share a variable
+     *
+     * @param constraints
+     * @return the representative constraint index of each constraint
+     */
+    private static int[] findComponents(List<Constraint<?>> constraints) {
+        int[] parent = new int[constraints.size()];
+        Map<Variable<?>, Integer> firstUse = new HashMap<>();
+
+        int i = 0;
+        for (Constraint<?> constraint : constraints) {
+            parent[i] = i;
+            for (Variable<?> variable : constraint.getVariables()) {
+                Integer other = firstUse.putIfAbsent(variable, i);
+                if (other != null) {
+                    union(parent, i, other);
+                }
+            }
+            i++;
+        }
+
+        for (i = 0; i < parent.length; i++) {
+            parent[i] = find(parent, i);
+        }
+        return parent;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int i, int j) {
+        int rootI = find(parent, i);
+        int rootJ = find(parent, j);
+        // the smaller index as root, so that groups are named after their first constraint
+        if (rootI < rootJ) {
+            parent[rootJ] = rootI;
+        } else {
+            parent[rootI] = rootJ;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Constraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Solver results that survive the client process. Results are keyed by the
+ * {@link CanonicalConstraintSet} of the query, kept in memory with least
+ * recently used eviction, and stored in the CTG directory, so that later runs
+ * on the same project do not solve the same queries again.
+ * <p>
+ * The store is shared by the {@link SolverCache} and the caching strategies of
+ * the DSE exploration algorithms. It is loaded on first use, and written back
+ * with {@link #flush()}. A flush merges the results stored by other clients
+ * since the file was loaded, and replaces the file atomically, so concurrent
+ * clients never see a partially written file. Results stored by another
+ * client between the merge and the replacement of the file are lost.
+ */
+public final class PersistentSolverCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistentSolverCache.class);
+
+    public static final String CACHE_FILE_NAME = "solver-cache.ser";
+
+    /**
+     * Increase when the canonical form or the file format change
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static PersistentSolverCache instance = null;
+
+    private final File file;
+
+    private final Map<String, SolverResult> results;
+
+    private boolean changed = false;
+
+    PersistentSolverCache(File file, int maxSize) {
+        this.file = file;
+        this.results = new LinkedHashMap<String, SolverResult>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SolverResult> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public static boolean isEnabled() {
+        return Properties.DSE_PERSISTENT_SOLVER_CACHE;
+    }
+
+    public static synchronized PersistentSolverCache getInstance() {
+        if (instance == null) {
+            instance = new PersistentSolverCache(new File(Properties.CTG_DIR, CACHE_FILE_NAME),
+                    Properties.DSE_PERSISTENT_SOLVER_CACHE_SIZE);
+            instance.load();
+        }
+        return instance;
+    }
+
+    /**
+     * Write the results of the current instance to disk, if it was ever used
+     */
+    public static synchronized void flushInstance() {
+        if (instance != null) {
+            instance.flush();
+        }
+    }
+
+    /**
+     * Returns a stored result for the query, with the variable names of the query
+     *
+     * @param constraints
+     * @return null if there is no result for the query
+     */
+    public synchronized SolverResult getResult(Collection<Constraint<?>> constraints) {
+        CanonicalConstraintSet key = CanonicalConstraintSet.of(constraints);
+        if (key == null) {
+            return null;
+        }
+        SolverResult result = results.get(key.getCanonicalForm());
+        if (result == null) {
+            return null;
+        }
+        return key.toQuery(result);
+    }
+
+    /**
+     * Stores the result of the query. Unknown results, and solutions with
+     * values that cannot be written to disk, are not stored.
+     *
+     * @param constraints
+     * @param result
+     */
+    public synchronized void saveResult(Collection<Constraint<?>> constraints, SolverResult result) {
+        if (result == null || result.isUnknown()) {
+            return;
+        }
+        if (result.isSAT()) {
+            for (Object value : result.getModel().values()) {
+                if (value != null && !(value instanceof Serializable)) {
+                    return;
+                }
+            }
+        }
+        CanonicalConstraintSet key = CanonicalConstraintSet.of(constraints);
+        if (key == null) {
+            return;
+        }
+        results.put(key.getCanonicalForm(), key.toCanonical(result));
+        changed = true;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * Loads the stored results, replacing the ones in memory. A missing or
+     * unreadable file results in an empty cache.
+     */
+    synchronized void load() {
+        results.clear();
+        changed = false;
+        results.putAll(read());
+        logger.debug("Loaded {} solver results from {}", results.size(), file);
+    }
+
+    /**
+     * @return the results stored on disk, from least to most recently used.
+     * Empty if the file is missing or unreadable
+     */
+    private Map<String, SolverResult> read() {
+        Map<String, SolverResult> stored = new LinkedHashMap<>();
+        if (!file.exists()) {
+            return stored;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                logger.info("Ignoring solver cache {} with a different format", file);
+                return stored;
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String key = (String) in.readObject();
+                SolverResult result = (SolverResult) in.readObject();
+                stored.put(key, result);
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Cannot read solver cache {}: {}", file, e.toString());
+            stored.clear();
+        }
+        return stored;
+    }
+
+    /**
+     * Writes the results to disk, if they changed since they were loaded,
+     * together with the results stored by other clients in the meantime
+     */
+    public synchronized void flush() {
+        if (!changed) {
+            return;
+        }
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            logger.warn("Cannot create folder {} for the solver cache", dir);
+            return;
+        }
+        merge(read());
+
+        File tmp;
+        try {
+            tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        } catch (IOException e) {
+            logger.warn("Cannot write solver cache {}: {}", file, e.toString());
+            return;
+        }
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(results.size());
+                for (Map.Entry<String, SolverResult> entry : results.entrySet()) {
+                    out.writeObject(entry.getKey());
+                    out.writeObject(entry.getValue());
+                }
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            changed = false;
+            logger.debug("Stored {} solver results in {}", results.size(), file);
+        } catch (IOException e) {
+            logger.warn("Cannot write solver cache {}: {}", file, e.toString());
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Adds the stored results that are not in memory as the least recently
+     * used ones, so that the results of this client are evicted last
+     *
+     * @param stored
+     */
+    private void merge(Map<String, SolverResult> stored) {
+        Map<String, SolverResult> own = new LinkedHashMap<>(results);
+        stored.keySet().removeAll(own.keySet());
+        results.clear();
+        results.putAll(stored);
+        results.putAll(own);
+    }
+}
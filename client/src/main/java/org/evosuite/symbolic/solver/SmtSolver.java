@@ -26,6 +26,7 @@ import org.evosuite.utils.ProcessTimeoutException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 public abstract class SmtSolver extends Solver {
 
@@ -81,4 +82,33 @@ public abstract class SmtSolver extends Solver {
 
     }
 
+    /**
+     * Solves the query on a long-lived solver process of the
+     * {@link SmtSolverSessionPool}. Unlike
+     * {@link #launchNewSolvingProcess(String, String, int, OutputStream)},
+     * errors reported by the solver are not detected here, as there is no exit
+     * code: they have to be recognized in the output.
+     *
+     * @param solverCmd   command to start the solver in incremental mode
+     * @param preamble    logic and options, sent once per process
+     * @param smtQueryStr query printed for incremental mode
+     * @param hardTimeout
+     * @param stdout
+     * @throws IOException
+     * @throws SolverTimeoutException
+     * @throws SolverErrorException
+     */
+    protected static void solveInSession(String solverCmd, String preamble, String smtQueryStr, int hardTimeout, OutputStream stdout)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+
+        long solver_start_time_millis = System.currentTimeMillis();
+        try {
+            String output = SmtSolverSessionPool.solve(solverCmd, preamble, smtQueryStr, hardTimeout);
+            stdout.write(output.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            long solver_end_time_millis = System.currentTimeMillis();
+            logger.debug("Solver session execution time was {}ms", solver_end_time_millis - solver_start_time_millis);
+        }
+    }
+
 }
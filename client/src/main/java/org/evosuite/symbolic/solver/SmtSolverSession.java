@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.apache.commons.exec.CommandLine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A solver process in incremental mode that answers one query after the other.
+ * <p>
+ * The preamble (logic and options) is sent once when the process is started.
+ * Each query is sent within its own assertion scope (see
+ * {@link org.evosuite.symbolic.solver.smt.SmtQueryPrinter#printIncremental}),
+ * followed by an echo of a marker, so that the end of its output can be
+ * recognized. The output of the solver is consumed by a daemon thread.
+ * <p>
+ * A session is not thread safe, it is meant to be borrowed from the
+ * {@link SmtSolverSessionPool}.
+ */
+final class SmtSolverSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+    private static final String END_OF_QUERY = "evosuite-end-of-query";
+
+    /**
+     * Put in the output queue when the solver closes its output
+     */
+    private static final String END_OF_STREAM = new String("end-of-stream");
+
+    private static int readerCounter = 0;
+
+    private final Process process;
+
+    private final Writer input;
+
+    private final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+
+    private int numberOfQueries = 0;
+
+    private boolean broken = false;
+
+    SmtSolverSession(String solverCmd, String preamble) throws IOException {
+        String[] command = CommandLine.parse(solverCmd).toStrings();
+        logger.debug("Starting solver session {}", solverCmd);
+        process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        input = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+
+        Thread reader = new Thread(this::readOutput, "SMT_SOLVER_SESSION_READER_" + nextReaderId());
+        reader.setDaemon(true);
+        reader.start();
+
+        send(preamble);
+    }
+
+    private static synchronized int nextReaderId() {
+        return readerCounter++;
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+            }
+        } catch (IOException e) {
+            logger.debug("Solver session output closed: {}", e.getMessage());
+        } finally {
+            output.add(END_OF_STREAM);
+        }
+    }
+
+    private void send(String str) throws IOException {
+        input.write(str);
+        input.flush();
+    }
+
+    /**
+     * Sends the query and waits for the complete output of the solver.
+     *
+     * @param smtQueryStr query printed for incremental mode
+     * @param timeout     milliseconds to wait for the output
+     * @return the output of the solver for this query
+     * @throws SolverTimeoutException if the output was not complete in time.
+     *                                The session is broken afterwards
+     * @throws SolverErrorException   if the solver terminated
+     * @throws IOException            if the query could not be sent
+     */
+    String solve(String smtQueryStr, long timeout) throws IOException, SolverTimeoutException, SolverErrorException {
+        numberOfQueries++;
+        try {
+            send(smtQueryStr);
+            send("(echo \"" + END_OF_QUERY + "\")\n");
+        } catch (IOException e) {
+            broken = true;
+            throw e;
+        }
+
+        StringBuilder result = new StringBuilder();
+        long deadline = System.currentTimeMillis() + timeout;
+        try {
+            while (true) {
+                long remaining = deadline - System.currentTimeMillis();
+                String line = remaining > 0 ? output.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                if (line == null) {
+                    logger.debug("Solver session stopped due to solver timeout");
+                    broken = true;
+                    throw new SolverTimeoutException();
+                }
+                if (line == END_OF_STREAM) {
+                    logger.debug("Solver session terminated unexpectedly");
+                    broken = true;
+                    throw new SolverErrorException("Solver session terminated unexpectedly");
+                }
+                if (isEndOfQuery(line)) {
+                    return result.toString();
+                }
+                result.append(line).append('\n');
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            broken = true;
+            throw new SolverTimeoutException();
+        }
+    }
+
+    private static boolean isEndOfQuery(String line) {
+        // some solvers print the quotes of the echoed string
+        String str = line.trim();
+        return str.equals(END_OF_QUERY) || str.equals("\"" + END_OF_QUERY + "\"");
+    }
+
+    int getNumberOfQueries() {
+        return numberOfQueries;
+    }
+
+    /**
+     * @return true if the session can answer further queries
+     */
+    boolean isUsable() {
+        return !broken && process.isAlive();
+    }
+
+    void close() {
+        try {
+            input.close();
+        } catch (IOException e) {
+            // nothing to do, the process is destroyed anyway
+        }
+        process.destroyForcibly();
+    }
+}
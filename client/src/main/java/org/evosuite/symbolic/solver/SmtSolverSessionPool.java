@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps solver processes alive between queries, instead of launching a new
+ * process per query. Sessions are kept per solver command and preamble.
+ * <p>
+ * Sessions that time out or crash are discarded, and sessions are recycled
+ * after {@link Properties#DSE_SOLVER_SESSION_MAX_QUERIES} queries, so that the
+ * memory retained by a solver process does not grow unbounded.
+ */
+public final class SmtSolverSessionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSessionPool.class);
+
+    /**
+     * Time the session waits for the solver after the query timeout, so that
+     * solvers get the chance to answer unknown on their own and their process
+     * can be reused
+     */
+    private static final long TIMEOUT_GRACE_MILLIS = 500;
+
+    private static final Map<String, Deque<SmtSolverSession>> idleSessions = new HashMap<>();
+
+    private SmtSolverSessionPool() {
+    }
+
+    public static boolean isEnabled() {
+        return Properties.DSE_SOLVER_INCREMENTAL;
+    }
+
+    /**
+     * Solves the query on an idle session for the given command and preamble,
+     * or on a new one if there is none.
+     *
+     * @param solverCmd   command to start the solver in incremental mode
+     * @param preamble    logic and options of the session
+     * @param smtQueryStr query printed for incremental mode
+     * @param timeout     milliseconds the solver is given to answer
+     * @return the output of the solver
+     * @throws IOException
+     * @throws SolverTimeoutException
+     * @throws SolverErrorException
+     */
+    public static String solve(String solverCmd, String preamble, String smtQueryStr, long timeout)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+        String key = solverCmd + "\n" + preamble;
+        SmtSolverSession session = borrow(key);
+        if (session == null) {
+            session = new SmtSolverSession(solverCmd, preamble);
+        }
+
+        boolean reusable = false;
+        try {
+            String output = session.solve(smtQueryStr, timeout + TIMEOUT_GRACE_MILLIS);
+            reusable = session.isUsable()
+                    && session.getNumberOfQueries() < Properties.DSE_SOLVER_SESSION_MAX_QUERIES;
+            return output;
+        } finally {
+            if (reusable) {
+                giveBack(key, session);
+            } else {
+                logger.debug("Recycling solver session after {} queries", session.getNumberOfQueries());
+                session.close();
+            }
+        }
+    }
+
+    private static synchronized SmtSolverSession borrow(String key) {
+        Deque<SmtSolverSession> sessions = idleSessions.get(key);
+        while (sessions != null && !sessions.isEmpty()) {
+            SmtSolverSession session = sessions.pop();
+            if (session.isUsable()) {
+                return session;
+            }
+            session.close();
+        }
+        return null;
+    }
+
+    private static synchronized void giveBack(String key, SmtSolverSession session) {
+        idleSessions.computeIfAbsent(key, k -> new ArrayDeque<>()).push(session);
+    }
+
+    /**
+     * Terminates all idle solver processes
+     */
+    public static synchronized void closeAll() {
+        for (Deque<SmtSolverSession> sessions : idleSessions.values()) {
+            for (SmtSolverSession session : sessions) {
+                session.close();
+            }
+        }
+        idleSessions.clear();
+    }
+}
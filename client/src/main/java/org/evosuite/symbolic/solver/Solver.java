@@ -41,6 +41,15 @@ import java.util.*;
  */
 public abstract class Solver {
 
+    /**
+     * Guards the concrete values of the variables, which {@link #checkSAT}
+     * temporarily replaces by those of a solution. Queries may be solved
+     * concurrently on the solver threads of the DSE exploration, so the
+     * translation of the constraints, which reads concrete values, must hold
+     * it as well.
+     */
+    protected static final Object CONCRETE_VALUES_LOCK = new Object();
+
     private final boolean addMissingVariables;
     private final SolverCache solverCache;
 
@@ -70,8 +79,10 @@ public abstract class Solver {
      * @throws SolverErrorException      the solver reported an error after its execution
      */
     public SolverResult solve(Collection<Constraint<?>> constraints) throws SolverTimeoutException, SolverParseException, SolverEmptyQueryException, SolverErrorException, IOException {
-        if (solverCache.hasCachedResult(constraints)) {
-            return solverCache.getCachedResult();
+        synchronized (solverCache) {
+            if (solverCache.hasCachedResult(constraints)) {
+                return solverCache.getCachedResult();
+            }
         }
 
         SolverResult solverResult;
@@ -79,7 +90,9 @@ public abstract class Solver {
             solverResult = executeSolver(constraints);
 
             if (solverResult != null && !solverResult.isUnknown()) {
-                solverCache.saveSolverResult(constraints, solverResult);
+                synchronized (solverCache) {
+                    solverCache.saveSolverResult(constraints, solverResult);
+                }
             }
         } catch (IllegalArgumentException | IOException e) {
             solverResult = null;
@@ -113,10 +126,12 @@ public abstract class Solver {
     protected static Map<String, Object> getConcreteValues(Set<Variable<?>> variables) {
 
         Map<String, Object> concrete_values = new HashMap<>();
-        for (Variable<?> v : variables) {
-            String var_name = v.getName();
-            Object concrete_value = v.getConcreteValue();
-            concrete_values.put(var_name, concrete_value);
+        synchronized (CONCRETE_VALUES_LOCK) {
+            for (Variable<?> v : variables) {
+                String var_name = v.getName();
+                Object concrete_value = v.getConcreteValue();
+                concrete_values.put(var_name, concrete_value);
+            }
         }
         return concrete_values;
     }
@@ -193,29 +208,31 @@ public abstract class Solver {
             throw new IllegalArgumentException("satResult should be SAT");
         }
 
-        // back-up values
         Set<Variable<?>> variables = getVariables(constraints);
-        Map<String, Object> initialValues = getConcreteValues(variables);
-        // set new values
-        Map<String, Object> newValues = satResult.getModel();
-        setConcreteValues(variables, newValues);
-
-        try {
-            // check SAT with new values
-            ConstraintEvaluator evaluator = new ConstraintEvaluator();
-            for (Constraint<?> constraint : constraints) {
-                Boolean evaluation = (Boolean) constraint.accept(evaluator, null);
-                if (evaluation == null) {
-                    throw new NullPointerException();
-                }
-                if (evaluation == false) {
-                    return false;
+        synchronized (CONCRETE_VALUES_LOCK) {
+            // back-up values
+            Map<String, Object> initialValues = getConcreteValues(variables);
+            // set new values
+            Map<String, Object> newValues = satResult.getModel();
+            setConcreteValues(variables, newValues);
+
+            try {
+                // check SAT with new values
+                ConstraintEvaluator evaluator = new ConstraintEvaluator();
+                for (Constraint<?> constraint : constraints) {
+                    Boolean evaluation = (Boolean) constraint.accept(evaluator, null);
+                    if (evaluation == null) {
+                        throw new NullPointerException();
+                    }
+                    if (evaluation == false) {
+                        return false;
+                    }
                 }
+                return true;
+            } finally {
+                // restore values
+                setConcreteValues(variables, initialValues);
             }
-            return true;
-        } finally {
-            // restore values
-            setConcreteValues(variables, initialValues);
         }
     }
 
@@ -20,9 +20,11 @@
 package org.evosuite.symbolic.solver;
 
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.ConstraintInterner;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Set;
 
 public final class SolverCache {
 
@@ -37,6 +39,12 @@ public final class SolverCache {
     private boolean valid_cached_solution = false;
 
     private final HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<>();
+
+    /**
+     * Shares the constraints of the cached queries, which mostly come from overlapping path conditions.
+     * Only the inserted queries are interned, and the interner is cleared together with the cache.
+     */
+    private final ConstraintInterner constraintInterner = new ConstraintInterner();
     private SolverResult cached_solution = null;
 
     public int getNumberOfUNSATs() {
@@ -56,15 +64,25 @@ public final class SolverCache {
     }
 
     private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
-        cached_solver_results.put(unsat_constraints, unsatResult);
+        cached_solver_results.put(intern(unsat_constraints), unsatResult);
         cached_unsat_result_count++;
     }
 
     private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
-        cached_solver_results.put(sat_constraints, satResult);
+        cached_solver_results.put(intern(sat_constraints), satResult);
         cached_sat_result_count++;
     }
 
+    /**
+     * Copy of the query with interned constraints, equal to the queries it is looked up with
+     */
+    private Collection<Constraint<?>> intern(Collection<Constraint<?>> constraints) {
+        if (constraints instanceof Set) {
+            return constraintInterner.internAsSet(constraints);
+        }
+        return constraintInterner.internAsList(constraints);
+    }
+
     public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
         number_of_accesses++;
 
@@ -73,10 +91,43 @@ public final class SolverCache {
             cached_solution = this.cached_solver_results.get(constraints);
             number_of_hits++;
             return true;
-        } else {
-            valid_cached_solution = false;
-            return false;
         }
+
+        if (PersistentSolverCache.isEnabled()) {
+            // solved by a previous run
+            SolverResult storedResult = PersistentSolverCache.getInstance().getResult(constraints);
+            if (storedResult != null) {
+                this.cached_solver_results.put(intern(constraints), storedResult);
+                valid_cached_solution = true;
+                cached_solution = storedResult;
+                number_of_hits++;
+                return true;
+            }
+        }
+
+        valid_cached_solution = false;
+        return false;
+    }
+
+    /**
+     * Removes all the cached results, and the constraints interned for them
+     */
+    public void clear() {
+        cached_solver_results.clear();
+        constraintInterner.clear();
+        number_of_hits = 0;
+        number_of_accesses = 0;
+        cached_sat_result_count = 0;
+        cached_unsat_result_count = 0;
+        valid_cached_solution = false;
+        cached_solution = null;
+    }
+
+    /**
+     * @return the number of distinct constraints of the cached queries
+     */
+    int getNumberOfInternedConstraints() {
+        return constraintInterner.size();
     }
 
     public double getHitRate() {
@@ -114,6 +165,10 @@ public final class SolverCache {
         } else {
             addSAT(constraints, solverResult);
         }
+
+        if (PersistentSolverCache.isEnabled()) {
+            PersistentSolverCache.getInstance().saveResult(constraints, solverResult);
+        }
     }
 
 }
@@ -157,34 +157,18 @@ public abstract class SolverUtils {
 
     /**
      * Apply cone of influence reduction to constraints with respect to the last
-     * constraint in the list
+     * constraint in the list, this is, keep the constraints transitively
+     * sharing variables with it (see {@link ConstraintIndependence}).
      *
      * @param constraints
      * @return
      */
     private static List<Constraint<?>> reduce(List<Constraint<?>> constraints) {
+        int targetIndex = constraints.size() - 1;
+        if (getVariables(constraints.get(targetIndex)).isEmpty())
+            return new LinkedList<>();
 
-        Constraint<?> target = constraints.get(constraints.size() - 1);
-        Set<Variable<?>> dependencies = getVariables(target);
-
-        LinkedList<Constraint<?>> coi = new LinkedList<>();
-        if (dependencies.size() <= 0)
-            return coi;
-
-        coi.add(target);
-
-        for (int i = constraints.size() - 2; i >= 0; i--) {
-            Constraint<?> constraint = constraints.get(i);
-            Set<Variable<?>> variables = getVariables(constraint);
-            for (Variable<?> var : dependencies) {
-                if (variables.contains(var)) {
-                    dependencies.addAll(variables);
-                    coi.addFirst(constraint);
-                    break;
-                }
-            }
-        }
-        return coi;
+        return ConstraintIndependence.slice(constraints, targetIndex);
     }
 
     /**
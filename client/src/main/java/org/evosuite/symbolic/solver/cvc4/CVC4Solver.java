@@ -81,7 +81,10 @@ public final class CVC4Solver extends SmtSolver {
             variables.addAll(c_variables);
         }
 
-        SmtQuery query = buildSmtQuery(constraints);
+        SmtQuery query;
+        synchronized (CONCRETE_VALUES_LOCK) {
+            query = buildSmtQuery(constraints);
+        }
 
         if (query.getFunctionDeclarations().isEmpty()) {
             logger.debug("No variables found during the creation of the SMT query.");
@@ -95,7 +98,8 @@ public final class CVC4Solver extends SmtSolver {
         }
 
         SmtQueryPrinter printer = new SmtQueryPrinter();
-        String smtQueryStr = printer.print(query);
+        boolean incremental = SmtSolverSessionPool.isEnabled();
+        String smtQueryStr = incremental ? printer.printIncremental(query) : printer.print(query);
 
         if (smtQueryStr == null) {
             logger.debug("No variables found during constraint solving.");
@@ -105,11 +109,15 @@ public final class CVC4Solver extends SmtSolver {
         logger.debug("CVC4 Query:");
         logger.debug(smtQueryStr);
 
-        String cmd = buildCVC4cmd(cvcTimeout);
+        String cmd = buildCVC4cmd(cvcTimeout, incremental);
 
         ByteArrayOutputStream stdout = new ByteArrayOutputStream();
         try {
-            launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+            if (incremental) {
+                solveInSession(cmd, printer.printPreamble(query), smtQueryStr, (int) cvcTimeout, stdout);
+            } else {
+                launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+            }
             String output = stdout.toString("UTF-8");
 
             if (output.startsWith("unknown")) {
@@ -240,7 +248,7 @@ public final class CVC4Solver extends SmtSolver {
 
     }
 
-    private static String buildCVC4cmd(long cvcTimeout) {
+    private static String buildCVC4cmd(long cvcTimeout, boolean incremental) {
         String cmd = Properties.CVC4_PATH;
         cmd += "  --rewrite-divk"; // rewrite-divk rewrites division (or
         // modulus) by a constant value
@@ -263,7 +271,12 @@ public final class CVC4Solver extends SmtSolver {
          * More details on both of these points can be found in Sections 5.2 - 5.4 of
          * http://homepage.cs.uiowa.edu/~ajreynol/thesis.pdf.
          */
-        cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+        if (incremental) {
+            cmd += " --incremental"; // process is reused, queries use push/pop
+            cmd += " --tlimit-per=" + cvcTimeout; // set timeout of each query to cvcTimeout
+        } else {
+            cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+        }
         return cmd;
     }
 
@@ -38,6 +38,12 @@ public final class SmtQuery {
 
     private final Map<String, String> options = new HashMap<>();
 
+    /**
+     * Options that are set again before each query of a solver session, eg
+     * the timeout of each check
+     */
+    private final Map<String, String> queryOptions = new LinkedHashMap<>();
+
     private String smtLogic;
 
     public SmtQuery() {
@@ -84,6 +90,18 @@ public final class SmtQuery {
         this.options.put(optionName, optionValue);
     }
 
+    public void addQueryOption(String optionName, String optionValue) {
+        this.queryOptions.put(optionName, optionValue);
+    }
+
+    public Set<String> getQueryOptions() {
+        return this.queryOptions.keySet();
+    }
+
+    public String getQueryOptionValue(String optionName) {
+        return this.queryOptions.get(optionName);
+    }
+
     public boolean hasLogic() {
         return smtLogic != null;
     }
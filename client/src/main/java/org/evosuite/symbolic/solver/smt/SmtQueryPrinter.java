@@ -29,6 +29,27 @@ import java.util.stream.Collectors;
 public class SmtQueryPrinter {
 
     public String print(SmtQuery query) {
+        StringBuffer buff = new StringBuffer();
+        buff.append(printPreamble(query));
+        buff.append("\n");
+
+        appendScript(query, buff);
+
+        buff.append("(exit)");
+        buff.append("\n");
+
+        return buff.toString();
+
+    }
+
+    /**
+     * Prints the logic and the options of the query. These can only be set once
+     * per solver process.
+     *
+     * @param query
+     * @return
+     */
+    public String printPreamble(SmtQuery query) {
         StringBuffer buff = new StringBuffer();
         buff.append("\n");
 
@@ -42,8 +63,42 @@ public class SmtQueryPrinter {
             buff.append(String.format("(set-option %s %s)%n", optionName, optionValue));
             buff.append("\n");
         }
+        appendQueryOptions(query, buff);
+        return buff.toString();
+    }
+
+    private void appendQueryOptions(SmtQuery query, StringBuffer buff) {
+        for (String optionName : query.getQueryOptions()) {
+            String optionValue = query.getQueryOptionValue(optionName);
+            buff.append(String.format("(set-option %s %s)%n", optionName, optionValue));
+        }
+    }
+
+    /**
+     * Prints the query without its preamble, within its own assertion scope, so
+     * that a solver process in incremental mode can be reused for the next
+     * query. The query options are repeated, so that eg each query gets its
+     * own timeout.
+     *
+     * @param query
+     * @return
+     */
+    public String printIncremental(SmtQuery query) {
+        StringBuffer buff = new StringBuffer();
+        buff.append("(push 1)");
+        buff.append("\n");
+        // options of the preamble are only sent when the session starts
+        appendQueryOptions(query, buff);
+
+        appendScript(query, buff);
+
+        buff.append("(pop 1)");
         buff.append("\n");
 
+        return buff.toString();
+    }
+
+    private void appendScript(SmtQuery query, StringBuffer buff) {
         for (SmtConstantDeclaration constantDeclaration : query.getConstantDeclarations()) {
             String str = print(constantDeclaration);
             buff.append(str);
@@ -73,12 +128,6 @@ public class SmtQueryPrinter {
 
         buff.append("(get-model)");
         buff.append("\n");
-
-        buff.append("(exit)");
-        buff.append("\n");
-
-        return buff.toString();
-
     }
 
     public String print(SmtAssertion smtAssertion) {
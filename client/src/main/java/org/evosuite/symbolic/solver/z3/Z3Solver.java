@@ -56,7 +56,10 @@ public class Z3Solver extends SmtSolver {
             variables.addAll(c_variables);
         }
 
-        SmtQuery query = buildSmtQuery(constraints, hard_timeout);
+        SmtQuery query;
+        synchronized (CONCRETE_VALUES_LOCK) {
+            query = buildSmtQuery(constraints, hard_timeout);
+        }
 
         if (query.getConstantDeclarations().isEmpty()) {
             logger.debug("Z3 SMT query has no variables");
@@ -70,7 +73,8 @@ public class Z3Solver extends SmtSolver {
         }
 
         SmtQueryPrinter printer = new SmtQueryPrinter();
-        String queryStr = printer.print(query);
+        boolean incremental = SmtSolverSessionPool.isEnabled();
+        String queryStr = incremental ? printer.printIncremental(query) : printer.print(query);
 
         logger.debug("Z3 Query:");
         logger.debug(queryStr);
@@ -86,7 +90,11 @@ public class Z3Solver extends SmtSolver {
         ByteArrayOutputStream stdout = new ByteArrayOutputStream();
         String output;
         try {
-            launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
+            if (incremental) {
+                solveInSession(z3Cmd, printer.printPreamble(query), queryStr, (int) hard_timeout, stdout);
+            } else {
+                launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
+            }
             output = stdout.toString("UTF-8");
         } catch (SolverErrorException ex) {
             output = stdout.toString("UTF-8");
@@ -188,7 +196,9 @@ public class Z3Solver extends SmtSolver {
 
         SmtQuery query = new SmtQuery();
 
-        query.addOption(":timeout", String.valueOf(timeout));
+        // per query, so that a slow query of a solver session does not
+        // exhaust the waiting time of the session and break it
+        query.addQueryOption(":timeout", String.valueOf(timeout));
 
         ConstraintToZ3Visitor v = new ConstraintToZ3Visitor();
 
@@ -23,15 +23,143 @@ import org.evosuite.ga.ConstructionFailedException;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 
+import java.io.Serializable;
+
 public abstract class AbstractTestChromosome<E extends AbstractTestChromosome<E>> extends ExecutableChromosome<E> {
 
 
     private static final long serialVersionUID = 8274081309132365034L;
     /**
-     * The test case encoded in this chromosome
+     * The test case encoded in this chromosome. A clone shares the test case
+     * with the chromosome it was cloned from, until one of them accesses it
+     * through {@link #getMutableTestCase()}. Tests that are not changed after
+     * cloning, eg most tests of a cloned test suite, are thus never copied.
+     * Direct accesses to the field must not modify the test case.
      */
     protected TestCase test = new DefaultTestCase();
 
+    /**
+     * The chromosomes sharing the test case, or null if this chromosome is
+     * its only owner
+     */
+    private SharedTestCase shared;
+
+    private static final class SharedTestCase implements Serializable {
+
+        private static final long serialVersionUID = -4195323457215638463L;
+
+        private int owners = 1;
+
+        synchronized void join() {
+            owners++;
+        }
+
+        /**
+         * @return true if the caller was the last owner of the test case
+         */
+        synchronized boolean leave() {
+            return --owners == 0;
+        }
+
+        synchronized boolean isShared() {
+            return owners > 1;
+        }
+    }
+
+    /**
+     * Make the given clone share the test case of this chromosome
+     *
+     * @param clone a chromosome just created by {@link #clone()}
+     */
+    protected void shareTestCase(AbstractTestChromosome<E> clone) {
+        if (shared == null) {
+            shared = new SharedTestCase();
+        }
+        shared.join();
+        clone.test = test;
+        clone.shared = shared;
+    }
+
+    /**
+     * Get a test case of its own before it is modified. It is copied
+     * only if other chromosomes still share it.
+     */
+    protected void unshareTestCase() {
+        if (shared == null) {
+            return;
+        }
+        boolean last = shared.leave();
+        shared = null;
+        if (!last) {
+            test = test.clone();
+            if (lastExecutionResult != null) {
+                lastExecutionResult.setTest(test);
+            }
+        }
+    }
+
+    /**
+     * Stop sharing the test case without copying it, as it is about to be
+     * replaced
+     */
+    protected void leaveSharedTestCase() {
+        if (shared != null) {
+            shared.leave();
+            shared = null;
+        }
+    }
+
+    /**
+     * Replace the test case of this chromosome by the one of the given
+     * chromosome, which is then shared by both
+     *
+     * @param other the chromosome whose test case is shared
+     */
+    protected void shareTestCaseOf(AbstractTestChromosome<E> other) {
+        leaveSharedTestCase();
+        other.shareTestCase(this);
+    }
+
+    /**
+     * @return true if other chromosomes still share the test case of this
+     * chromosome
+     */
+    public boolean isTestCaseShared() {
+        return shared != null && shared.isShared();
+    }
+
+    /**
+     * @return true if the given chromosome is one of the chromosomes sharing
+     * the test case of this chromosome
+     */
+    protected boolean sharesTestCaseWith(AbstractTestChromosome<?> other) {
+        return shared != null && shared == other.shared;
+    }
+
+    /**
+     * Mark the given goal as covered by the test case. The test case is only
+     * copied if it is shared and does not already record the goal.
+     *
+     * @param goal a covered goal
+     */
+    public void addCoveredGoal(TestFitnessFunction goal) {
+        if (!test.isGoalCovered(goal)) {
+            getMutableTestCase().addCoveredGoal(goal);
+        }
+    }
+
+    /**
+     * Remove the given goal from the goals covered by the test case. The test
+     * case is only copied if it is shared and records the goal.
+     *
+     * @param goal a goal no longer covered
+     */
+    public void removeCoveredGoal(TestFitnessFunction goal) {
+        if (test.isGoalCovered(goal)) {
+            getMutableTestCase().removeCoveredGoal(goal);
+        }
+    }
+
     @Override
     public abstract void crossOver(E other, int position1, int position2) throws ConstructionFailedException;
 
@@ -43,6 +171,7 @@ public abstract class AbstractTestChromosome<E extends AbstractTestChromosome<E>
      * @param testCase a {@link org.evosuite.testcase.TestCase} object.
      */
     public void setTestCase(TestCase testCase) {
+        leaveSharedTestCase();
         test = testCase;
         clearCachedResults();
         clearCachedMutationResults();
@@ -53,6 +182,8 @@ public abstract class AbstractTestChromosome<E extends AbstractTestChromosome<E>
      * <p>
      * getTestCase
      * </p>
+     * The returned test case may be shared with clones of this chromosome
+     * and must not be modified, use {@link #getMutableTestCase()} instead.
      *
      * @return a {@link org.evosuite.testcase.TestCase} object.
      */
@@ -60,6 +191,18 @@ public abstract class AbstractTestChromosome<E extends AbstractTestChromosome<E>
         return test;
     }
 
+    /**
+     * Get the test case in order to modify it. It is copied first if clones
+     * of this chromosome still share it.
+     *
+     * @return a {@link org.evosuite.testcase.TestCase} object owned by this
+     * chromosome only
+     */
+    public TestCase getMutableTestCase() {
+        unshareTestCase();
+        return test;
+    }
+
     public abstract ExecutionResult executeForFitnessFunction(
             TestSuiteFitnessFunction testSuiteFitnessFunction);
 }
@@ -143,14 +143,14 @@ public class TestCaseMinimizer {
                 TestChromosome copy = c.clone();
                 boolean modified;
                 try {
-                    modified = TestFactory.getInstance().deleteStatementGracefully(c.test, i);
+                    modified = TestFactory.getInstance().deleteStatementGracefully(c.getMutableTestCase(), i);
                 } catch (ConstructionFailedException e) {
                     modified = false;
                 }
 
                 if (!modified) {
                     c.setChanged(false);
-                    c.test = copy.test;
+                    c.shareTestCaseOf(copy);
                     logger.debug("Deleting failed");
                     continue;
                 }
@@ -197,7 +197,7 @@ public class TestCaseMinimizer {
     }
 
     private static void restoreTestCase(TestChromosome c, TestChromosome copy) {
-        c.test = copy.test;
+        c.shareTestCaseOf(copy);
         c.copyCachedResults(copy);
         //c.setFitness(copy.getFitness());
         c.setFitnessValues(copy.getFitnessValues());
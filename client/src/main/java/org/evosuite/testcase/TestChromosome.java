@@ -115,7 +115,12 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
     @Override
     public TestChromosome clone() {
         TestChromosome c = new TestChromosome();
-        c.test = test.clone();
+        if (Properties.LOCAL_SEARCH_SELECTIVE) {
+            // the mutation history refers to the statements of the copy
+            c.test = test.clone();
+        } else {
+            shareTestCase(c);
+        }
         c.setFitnessValues(getFitnessValues());
         c.setPreviousFitnessValues(getPreviousFitnessValues());
         c.copyCachedResults(this);
@@ -186,6 +191,7 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
         }
         if (!Properties.CHECK_MAX_LENGTH
                 || offspring.test.size() <= Properties.CHROMOSOME_LENGTH) {
+            leaveSharedTestCase();
             test = offspring.test;
             setChanged(true);
         }
@@ -206,6 +212,11 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
         if (getClass() != obj.getClass())
             return false;
         TestChromosome other = (TestChromosome) obj;
+        if (isTestCaseShared() && sharesTestCaseWith(other)) {
+            // a clone stands for a copy of the test case, as if it was not
+            // shared: the statements of two copies are never equal
+            return false;
+        }
         if (test == null) {
             return other.test == null;
         } else return test.equals(other.test);
@@ -298,6 +309,7 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
      */
     @Override
     public void mutate() {
+        unshareTestCase();
         boolean changed = false;
         mutationHistory.clear();
 
@@ -593,6 +605,7 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
             // logger.info(newTest.toCode());
             // logger.info("Old test");
             // logger.info(test.toCode());
+            leaveSharedTestCase();
             this.test = newTest;
             this.setChanged(true);
             this.lastExecutionResult = null;
@@ -174,7 +174,7 @@ public abstract class TestFitnessFunction
     public boolean isCovered(TestChromosome individual, ExecutionResult result) {
         boolean covered = getFitness(individual, result) == 0.0;
         if (covered) {
-            individual.test.addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
         return covered;
     }
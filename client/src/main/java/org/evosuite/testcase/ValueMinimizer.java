@@ -67,7 +67,7 @@ public class ValueMinimizer extends TestVisitor {
         public boolean isNotWorse() {
             ExecutionResult lastResult = individual.getLastExecutionResult();
             individual.setChanged(true);
-            individual.getTestCase().clearCoveredGoals();
+            individual.getMutableTestCase().clearCoveredGoals();
             double newFitness = fitness.getFitness(individual);
             boolean worse = false;
             if (fitness.isMaximizationFunction()) {
@@ -159,7 +159,7 @@ public class ValueMinimizer extends TestVisitor {
      */
     public void minimize(TestChromosome test, TestFitnessFunction objective) {
         this.objective = new TestMinimization(objective, test);
-        test.test.accept(this);
+        test.getMutableTestCase().accept(this);
     }
 
     /**
@@ -176,7 +176,7 @@ public class ValueMinimizer extends TestVisitor {
         objective.getFitness(suite); // Ensure all tests have an execution result cached
         for (TestChromosome test : suite.getTestChromosomes()) {
             this.objective = new SuiteMinimization(objective, suite, i);
-            test.test.accept(this);
+            test.getMutableTestCase().accept(this);
             i++;
         }
 
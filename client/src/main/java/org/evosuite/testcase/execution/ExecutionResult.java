@@ -112,6 +112,13 @@ public class ExecutionResult implements Cloneable {
 
     private Map<Integer, Set<OutputCoverageGoal>> outputGoals = new LinkedHashMap<>();
 
+    /**
+     * Contributions of this result to suite fitness functions, cached by the
+     * fitness functions so that unchanged tests need not be analyzed again.
+     * The contributions are immutable and shared with clones of this result
+     */
+    private Map<Object, Object> fitnessContributions = null;
+
     // experiment .. tried to remember intermediately calculated ControlFlowDistances .. no real speed up
     //	public Map<Branch, ControlFlowDistance> intermediateDistances;
 
@@ -281,6 +288,7 @@ public class ExecutionResult implements Cloneable {
             throw new IllegalArgumentException("Trace cannot be null");
         }
         this.trace = trace;
+        fitnessContributions = null;
     }
 
     /**
@@ -423,6 +431,9 @@ public class ExecutionResult implements Cloneable {
         }
         copy.wasAnyPropertyWritten = wasAnyPropertyWritten;
         copy.featureVectors = new ArrayList<>(this.featureVectors);
+        if (fitnessContributions != null) {
+            copy.fitnessContributions = new IdentityHashMap<>(fitnessContributions);
+        }
 
         return copy;
     }
@@ -435,6 +446,35 @@ public class ExecutionResult implements Cloneable {
         return "Trace:" + trace;
     }
 
+    /**
+     * Retrieve the contribution of this result previously cached by the
+     * given fitness function
+     *
+     * @param fitnessFunction the fitness function that cached the contribution
+     * @return the cached contribution, or null if there is none
+     */
+    public Object getFitnessContribution(Object fitnessFunction) {
+        if (fitnessContributions == null) {
+            return null;
+        }
+        return fitnessContributions.get(fitnessFunction);
+    }
+
+    /**
+     * Cache the contribution of this result to the given fitness function.
+     * The contribution must not be modified afterwards, as it is shared with
+     * clones of this result
+     *
+     * @param fitnessFunction the fitness function owning the contribution
+     * @param contribution    an immutable summary of this result
+     */
+    public void setFitnessContribution(Object fitnessFunction, Object contribution) {
+        if (fitnessContributions == null) {
+            fitnessContributions = new IdentityHashMap<>(2);
+        }
+        fitnessContributions.put(fitnessFunction, contribution);
+    }
+
     public Set<String> getReadProperties() {
         return readProperties;
     }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.environment.AccessedEnvironment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of execution results, shared by all tests of the search.
+ * <p>
+ * Crossover and mutation often produce tests with the same statements as
+ * tests executed before. Such a test gets a copy of the earlier result
+ * instead of being executed again. Tests are identified by a key built by
+ * the {@link TestKeyVisitor} from the fully qualified types, the called
+ * methods, the values and the references between the statements.
+ * <p>
+ * A result is only reused if executing the test again would give the same
+ * result: tests accessing files or the network, writing system properties,
+ * timing out or configuring functional mocks are always executed, as are
+ * tests executed on a mutant. Without
+ * replace_calls time and randomness are not mocked, so nothing is cached.
+ * The results depend on the execution observers and on the instrumentation
+ * as well, so the cache is cleared whenever the observers, the tracing or the
+ * instrumented classes change.
+ */
+public class ExecutionResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionResultCache.class);
+
+    private static final ExecutionResultCache instance = new ExecutionResultCache();
+
+    private final Map<String, ExecutionResult> results = new LinkedHashMap<String, ExecutionResult>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ExecutionResult> eldest) {
+            return size() > Properties.EXECUTION_RESULT_CACHE_SIZE;
+        }
+    };
+
+    private int hits = 0;
+
+    private int misses = 0;
+
+    private ExecutionResultCache() {
+    }
+
+    public static ExecutionResultCache getInstance() {
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return Properties.EXECUTION_RESULT_CACHE_SIZE > 0 && Properties.REPLACE_CALLS;
+    }
+
+    /**
+     * Return a copy of the cached result of a test with the same key, or
+     * execute the test and cache its result
+     *
+     * @param test      the test to execute
+     * @param execution executes the test if there is no cached result
+     * @return the result for the test
+     */
+    public ExecutionResult getOrExecute(TestCase test, Function<TestCase, ExecutionResult> execution) {
+        String key = getKey(test);
+        ExecutionResult result = get(key, test);
+        if (result == null) {
+            result = execution.apply(test);
+            put(key, test, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the key of the test, or null if its result cannot be cached
+     */
+    String getKey(TestCase test) {
+        if (!isEnabled() || MutationObserver.getActiveMutation() != -1) {
+            // the key does not account for the mutant being executed
+            return null;
+        }
+        try {
+            return TestKeyVisitor.getKey(test);
+        } catch (Throwable t) {
+            logger.debug("Cannot compute key of test: " + t);
+            return null;
+        }
+    }
+
+    /**
+     * @return a copy of the cached result for the test, or null if there is none
+     */
+    synchronized ExecutionResult get(String key, TestCase test) {
+        if (key == null) {
+            return null;
+        }
+        ExecutionResult cached = results.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        // the test has not accessed the environment, but could have before being changed
+        test.getAccessedEnvironment().clear();
+        return copy(cached, test);
+    }
+
+    /**
+     * @param key    key of the test
+     * @param test   the test that was executed, possibly a copy of the test
+     *               the key was computed for
+     * @param result the result of its execution
+     */
+    synchronized void put(String key, TestCase test, ExecutionResult result) {
+        if (key == null || result == null || !isCacheable(test, result)) {
+            return;
+        }
+        results.put(key, copy(result, test));
+    }
+
+    private static boolean isCacheable(TestCase test, ExecutionResult result) {
+        AccessedEnvironment environment = test.getAccessedEnvironment();
+        ExecutionTrace trace = result.getTrace();
+        return (trace instanceof ExecutionTraceProxy || trace instanceof ExecutionTraceImpl)
+                && !result.hasTimeout()
+                && !result.wasAnyPropertyWritten()
+                && !environment.isFileSystemAccessed()
+                && !environment.isNetworkAccessed();
+    }
+
+    private static ExecutionResult copy(ExecutionResult result, TestCase test) {
+        ExecutionResult copy = result.clone();
+        if (!(result.getTrace() instanceof ExecutionTraceProxy)) {
+            // only proxies support lazy cloning, ExecutionTraceImpl.lazyClone returns null
+            copy.setTrace(((ExecutionTraceImpl) result.getTrace()).clone());
+        }
+        copy.setTest(test);
+        copy.setExecutedStatements(result.getExecutedStatements());
+        copy.setSecurityException(result.hasSecurityException());
+        return copy;
+    }
+
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+}
@@ -284,6 +284,29 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
     }
 
+    /**
+     * Create a new, empty trace of the kind selected by
+     * {@link Properties#PRIMITIVE_BRANCH_TRACE}
+     *
+     * @return a new execution trace
+     */
+    public static ExecutionTraceImpl newInstance() {
+        if (Properties.PRIMITIVE_BRANCH_TRACE)
+            return new PrimitiveExecutionTraceImpl();
+        else
+            return new ExecutionTraceImpl();
+    }
+
+    /**
+     * Create an empty trace of the same type as this one, used as target of
+     * {@link #clone()}
+     *
+     * @return a new, empty execution trace
+     */
+    protected ExecutionTraceImpl newEmptyTrace() {
+        return new ExecutionTraceImpl();
+    }
+
     /**
      * <p>
      * addProxy
@@ -321,25 +344,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         }
 
         if (traceCoverage) {
-            if (!coveredPredicates.containsKey(branch))
-                coveredPredicates.put(branch, 1);
-            else
-                coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
-
-            if (true_distance == 0.0) {
-                if (!coveredTrue.containsKey(branch))
-                    coveredTrue.put(branch, 1);
-                else
-                    coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
-            }
-
-            if (false_distance == 0.0) {
-                if (!coveredFalse.containsKey(branch))
-                    coveredFalse.put(branch, 1);
-                else
-                    coveredFalse.put(branch, coveredFalse.get(branch) + 1);
-            }
+            updateBranchCoverage(branch, true_distance, false_distance);
         }
 
         if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
@@ -447,6 +452,59 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             }
         }
 
+        updateBranchDistances(branch, true_distance, false_distance);
+
+        if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
+                || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
+                || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
+            updateBranchContextMaps(branch, true_distance, false_distance);
+        }
+
+        // This requires a lot of memory and should not really be used
+        if (Properties.BRANCH_EVAL) {
+            branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
+        }
+    }
+
+    /**
+     * Count the execution of the given predicate, and of its true/false
+     * outcome if the respective distance is 0
+     *
+     * @param branch         the id of the passed branch
+     * @param true_distance  distance to the true outcome
+     * @param false_distance distance to the false outcome
+     */
+    protected void updateBranchCoverage(int branch, double true_distance, double false_distance) {
+        if (!coveredPredicates.containsKey(branch))
+            coveredPredicates.put(branch, 1);
+        else
+            coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
+
+        if (true_distance == 0.0) {
+            if (!coveredTrue.containsKey(branch))
+                coveredTrue.put(branch, 1);
+            else
+                coveredTrue.put(branch, coveredTrue.get(branch) + 1);
+
+        }
+
+        if (false_distance == 0.0) {
+            if (!coveredFalse.containsKey(branch))
+                coveredFalse.put(branch, 1);
+            else
+                coveredFalse.put(branch, coveredFalse.get(branch) + 1);
+        }
+    }
+
+    /**
+     * Keep track of the minimum and of the sum of the true/false distances
+     * observed for the given branch
+     *
+     * @param branch         the id of the passed branch
+     * @param true_distance  distance to the true outcome
+     * @param false_distance distance to the false outcome
+     */
+    protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
         if (!trueDistances.containsKey(branch))
             trueDistances.put(branch, true_distance);
         else
@@ -466,17 +524,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             falseDistancesSum.put(branch, false_distance);
         else
             falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
-
-        if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
-            updateBranchContextMaps(branch, true_distance, false_distance);
-        }
-
-        // This requires a lot of memory and should not really be used
-        if (Properties.BRANCH_EVAL) {
-            branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
-        }
     }
 
     /**
@@ -575,7 +622,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     @Override
     public ExecutionTraceImpl clone() {
 
-        ExecutionTraceImpl copy = new ExecutionTraceImpl();
+        ExecutionTraceImpl copy = newEmptyTrace();
         for (MethodCall call : finishedCalls) {
             copy.finishedCalls.add(call.clone());
         }
@@ -42,6 +42,18 @@ public class ExecutionTracer {
 
     private static ExecutionTracer instance = null;
 
+    /**
+     * Tracers of parallel test execution workers. The binding is inherited by
+     * the test execution threads the workers spawn
+     */
+    private static final ThreadLocal<ExecutionTracer> workerInstance = new InheritableThreadLocal<>();
+
+    /**
+     * Avoid the thread local lookup on every callback from the instrumented
+     * code as long as no worker has ever been bound
+     */
+    private static volatile boolean workersBound = false;
+
     /**
      * We need to disable the execution tracer sometimes, e.g. when calling
      * equals in the branch distance function
@@ -64,7 +76,7 @@ public class ExecutionTracer {
      * If a thread of a test case survives for some reason (e.g. long call to
      * external library), then we don't want its data in the current trace
      */
-    private static volatile Thread currentThread = null;
+    private volatile Thread currentThread = null;
 
     /**
      * <p>
@@ -74,7 +86,7 @@ public class ExecutionTracer {
      * @param thread a {@link java.lang.Thread} object.
      */
     public static void setThread(Thread thread) {
-        currentThread = thread;
+        getExecutionTracer().currentThread = thread;
     }
 
     /**
@@ -140,6 +152,8 @@ public class ExecutionTracer {
     public static void enableContext() {
         logger.info("enable context and trace instrumentation");
         ExecutionTraceImpl.enableContext();
+        // cached results were traced differently
+        ExecutionResultCache.getInstance().clear();
     }
 
     /**
@@ -150,6 +164,8 @@ public class ExecutionTracer {
     public static void disableContext() {
         logger.info("disable context and trace instrumentation");
         ExecutionTraceImpl.disableContext();
+        // cached results were traced differently
+        ExecutionResultCache.getInstance().clear();
     }
 
     /**
@@ -159,6 +175,7 @@ public class ExecutionTracer {
      */
     public static void disableTraceCalls() {
         ExecutionTraceImpl.disableTraceCalls();
+        ExecutionResultCache.getInstance().clear();
     }
 
     /**
@@ -168,6 +185,7 @@ public class ExecutionTracer {
      */
     public static void enableTraceCalls() {
         ExecutionTraceImpl.enableTraceCalls();
+        ExecutionResultCache.getInstance().clear();
     }
 
     public static boolean isTraceCallsEnabled() {
@@ -182,12 +200,48 @@ public class ExecutionTracer {
      * @return a {@link org.evosuite.testcase.execution.ExecutionTracer} object.
      */
     public static ExecutionTracer getExecutionTracer() {
+        if (workersBound) {
+            ExecutionTracer tracer = workerInstance.get();
+            if (tracer != null) {
+                return tracer;
+            }
+        }
         if (instance == null) {
             instance = new ExecutionTracer();
         }
         return instance;
     }
 
+    /**
+     * Create a new tracer, independent from the singleton, to be used by a
+     * parallel test execution worker. It starts with the same enabled state as
+     * the singleton
+     *
+     * @return a new execution tracer
+     */
+    public static ExecutionTracer newWorkerInstance() {
+        ExecutionTracer tracer = new ExecutionTracer();
+        if (instance != null) {
+            tracer.disabled = instance.disabled;
+        }
+        return tracer;
+    }
+
+    /**
+     * Make {@link #getExecutionTracer()} return the given tracer on the
+     * current thread and on all the threads it spawns
+     *
+     * @param tracer the tracer of a parallel test execution worker
+     */
+    public static void bindToCurrentThread(ExecutionTracer tracer) {
+        workersBound = true;
+        workerInstance.set(tracer);
+    }
+
+    public static void unbindFromCurrentThread() {
+        workerInstance.remove();
+    }
+
     /**
      * Reset for new execution
      */
@@ -208,6 +262,8 @@ public class ExecutionTracer {
         if (!checkCallerThread) {
             return false;
         }
+        ExecutionTracer tracer = getExecutionTracer();
+        Thread currentThread = tracer.currentThread;
         if (currentThread == null) {
             logger.error("CurrentThread has not been set!");
             Map<Thread, StackTraceElement[]> map = Thread.getAllStackTraces();
@@ -219,6 +275,7 @@ public class ExecutionTracer {
                 logger.error(msg);
             }
             currentThread = Thread.currentThread();
+            tracer.currentThread = currentThread;
         }
         return Thread.currentThread() != currentThread;
     }
@@ -0,0 +1,483 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Execution trace that keeps branch coverage and branch distances in dense
+ * primitive arrays indexed by the branch ids assigned by the
+ * {@link org.evosuite.coverage.branch.BranchPool}, rather than in
+ * synchronized maps of boxed values. Passing a branch thus neither allocates
+ * nor acquires a monitor.
+ * <p>
+ * The public coverage maps of {@link ExecutionTraceImpl} are replaced by views
+ * on the arrays, so fitness functions keep working unchanged. The arrays are
+ * not synchronized: this trace must only be updated by the thread executing
+ * the test.
+ */
+public class PrimitiveExecutionTraceImpl extends ExecutionTraceImpl {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private static final int PREDICATE = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+
+    private static final int TRUE_MIN = 0;
+    private static final int FALSE_MIN = 1;
+    private static final int TRUE_SUM = 2;
+    private static final int FALSE_SUM = 3;
+
+    /**
+     * Capacity of newly created traces, grows with the highest branch id seen
+     * so far so that later executions do not need to resize
+     */
+    private static volatile int defaultCapacity = MIN_CAPACITY;
+
+    /**
+     * Execution counts of predicates, true and false outcomes. 0 means not
+     * executed
+     */
+    private int[][] counts = new int[3][];
+
+    /**
+     * Minimum and sum of true and false distances. NaN means not executed
+     */
+    private double[][] distances = new double[4][];
+
+    private final int[] countSizes = new int[3];
+
+    private final int[] distanceSizes = new int[4];
+
+    private Map<Integer, Double> trueDistancesSumView;
+
+    private Map<Integer, Double> falseDistancesSumView;
+
+    /**
+     * <p>
+     * Constructor for PrimitiveExecutionTraceImpl.
+     * </p>
+     */
+    public PrimitiveExecutionTraceImpl() {
+        super();
+        allocate(defaultCapacity);
+        installViews();
+    }
+
+    private void allocate(int capacity) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new int[capacity];
+            countSizes[i] = 0;
+        }
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = new double[capacity];
+            Arrays.fill(distances[i], Double.NaN);
+            distanceSizes[i] = 0;
+        }
+    }
+
+    private void installViews() {
+        coveredPredicates = new CountView(PREDICATE);
+        coveredTrue = new CountView(TRUE);
+        coveredFalse = new CountView(FALSE);
+        trueDistances = new DistanceView(TRUE_MIN);
+        falseDistances = new DistanceView(FALSE_MIN);
+        trueDistancesSumView = new DistanceView(TRUE_SUM);
+        falseDistancesSumView = new DistanceView(FALSE_SUM);
+    }
+
+    private int capacity() {
+        return counts[PREDICATE].length;
+    }
+
+    private void ensureCapacity(int branch) {
+        int capacity = capacity();
+        if (branch < capacity)
+            return;
+
+        int newCapacity = Math.max(capacity * 2, branch + 1);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = Arrays.copyOf(counts[i], newCapacity);
+        }
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = Arrays.copyOf(distances[i], newCapacity);
+            Arrays.fill(distances[i], capacity, newCapacity, Double.NaN);
+        }
+        if (newCapacity > defaultCapacity)
+            defaultCapacity = newCapacity;
+    }
+
+    private void increment(int which, int branch) {
+        if (counts[which][branch]++ == 0)
+            countSizes[which]++;
+    }
+
+    private void updateMin(int which, int branch, double distance) {
+        double old = distances[which][branch];
+        if (Double.isNaN(old)) {
+            distances[which][branch] = distance;
+            distanceSizes[which]++;
+        } else if (distance < old) {
+            distances[which][branch] = distance;
+        }
+    }
+
+    private void updateSum(int which, int branch, double distance) {
+        double old = distances[which][branch];
+        if (Double.isNaN(old)) {
+            distances[which][branch] = distance;
+            distanceSizes[which]++;
+        } else {
+            distances[which][branch] = old + distance;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void updateBranchCoverage(int branch, double true_distance, double false_distance) {
+        ensureCapacity(branch);
+        increment(PREDICATE, branch);
+        if (true_distance == 0.0)
+            increment(TRUE, branch);
+        if (false_distance == 0.0)
+            increment(FALSE, branch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
+        ensureCapacity(branch);
+        updateMin(TRUE_MIN, branch, true_distance);
+        updateMin(FALSE_MIN, branch, false_distance);
+        updateSum(TRUE_SUM, branch, true_distance);
+        updateSum(FALSE_SUM, branch, false_distance);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        allocate(defaultCapacity);
+        installViews();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ExecutionTraceImpl newEmptyTrace() {
+        return new PrimitiveExecutionTraceImpl();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Create a deep copy
+     */
+    @Override
+    public PrimitiveExecutionTraceImpl clone() {
+        PrimitiveExecutionTraceImpl copy = (PrimitiveExecutionTraceImpl) super.clone();
+        for (int i = 0; i < counts.length; i++) {
+            copy.counts[i] = counts[i].clone();
+            copy.countSizes[i] = countSizes[i];
+        }
+        for (int i = 0; i < distances.length; i++) {
+            copy.distances[i] = distances[i].clone();
+            copy.distanceSizes[i] = distanceSizes[i];
+        }
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getCoveredTrueBranches() {
+        return getZeroDistanceBranches(TRUE_MIN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getCoveredFalseBranches() {
+        return getZeroDistanceBranches(FALSE_MIN);
+    }
+
+    private Set<Integer> getZeroDistanceBranches(int which) {
+        Set<Integer> covered = new HashSet<>();
+        double[] values = distances[which];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == 0.0)
+                covered.add(i);
+        }
+        return covered;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasTrueDistance(int predicateId) {
+        return predicateId >= 0 && predicateId < capacity()
+                && !Double.isNaN(distances[TRUE_MIN][predicateId]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasFalseDistance(int predicateId) {
+        return predicateId >= 0 && predicateId < capacity()
+                && !Double.isNaN(distances[FALSE_MIN][predicateId]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Double> getTrueDistancesSum() {
+        return trueDistancesSumView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Double> getFalseDistancesSum() {
+        return falseDistancesSumView;
+    }
+
+    /**
+     * Map view on one of the primitive arrays, containing the branch ids
+     * for which a value has been recorded
+     */
+    private abstract class ArrayView<V> extends AbstractMap<Integer, V> {
+
+        protected abstract boolean isPresent(int id);
+
+        protected abstract V valueAt(int id);
+
+        protected abstract void store(int id, V value);
+
+        protected abstract void erase(int id);
+
+        private boolean inRange(Object key) {
+            if (!(key instanceof Integer))
+                return false;
+            int id = (Integer) key;
+            return id >= 0 && id < capacity();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return inRange(key) && isPresent((Integer) key);
+        }
+
+        @Override
+        public V get(Object key) {
+            if (!containsKey(key))
+                return null;
+            return valueAt((Integer) key);
+        }
+
+        @Override
+        public V put(Integer key, V value) {
+            if (key < 0 || value == null)
+                throw new IllegalArgumentException("Invalid entry for branch " + key + ": " + value);
+            ensureCapacity(key);
+            V old = isPresent(key) ? valueAt(key) : null;
+            store(key, value);
+            return old;
+        }
+
+        @Override
+        public V remove(Object key) {
+            if (!containsKey(key))
+                return null;
+            int id = (Integer) key;
+            V old = valueAt(id);
+            erase(id);
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            for (int id = 0; id < capacity(); id++) {
+                if (isPresent(id))
+                    erase(id);
+            }
+        }
+
+        @Override
+        public Set<Entry<Integer, V>> entrySet() {
+            return new AbstractSet<Entry<Integer, V>>() {
+                @Override
+                public Iterator<Entry<Integer, V>> iterator() {
+                    return new ArrayViewIterator();
+                }
+
+                @Override
+                public int size() {
+                    return ArrayView.this.size();
+                }
+            };
+        }
+
+        private class ArrayViewIterator implements Iterator<Entry<Integer, V>> {
+
+            private int next = advance(0);
+
+            private int last = -1;
+
+            private int advance(int from) {
+                int id = from;
+                while (id < capacity() && !isPresent(id))
+                    id++;
+                return id;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < capacity();
+            }
+
+            @Override
+            public Entry<Integer, V> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                last = next;
+                next = advance(next + 1);
+                final int id = last;
+                return new SimpleEntry<Integer, V>(id, valueAt(id)) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public V setValue(V value) {
+                        store(id, value);
+                        return super.setValue(value);
+                    }
+                };
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0)
+                    throw new IllegalStateException();
+                erase(last);
+                last = -1;
+            }
+        }
+    }
+
+    private class CountView extends ArrayView<Integer> {
+
+        private final int which;
+
+        CountView(int which) {
+            this.which = which;
+        }
+
+        @Override
+        protected boolean isPresent(int id) {
+            return counts[which][id] != 0;
+        }
+
+        @Override
+        protected Integer valueAt(int id) {
+            return counts[which][id];
+        }
+
+        @Override
+        protected void store(int id, Integer value) {
+            if (counts[which][id] == 0)
+                countSizes[which]++;
+            counts[which][id] = value;
+            if (value == 0)
+                countSizes[which]--;
+        }
+
+        @Override
+        protected void erase(int id) {
+            if (counts[which][id] != 0)
+                countSizes[which]--;
+            counts[which][id] = 0;
+        }
+
+        @Override
+        public int size() {
+            return countSizes[which];
+        }
+    }
+
+    private class DistanceView extends ArrayView<Double> {
+
+        private final int which;
+
+        DistanceView(int which) {
+            this.which = which;
+        }
+
+        @Override
+        protected boolean isPresent(int id) {
+            return !Double.isNaN(distances[which][id]);
+        }
+
+        @Override
+        protected Double valueAt(int id) {
+            return distances[which][id];
+        }
+
+        @Override
+        protected void store(int id, Double value) {
+            if (Double.isNaN(distances[which][id]))
+                distanceSizes[which]++;
+            distances[which][id] = value;
+            if (Double.isNaN(value))
+                distanceSizes[which]--;
+        }
+
+        @Override
+        protected void erase(int id) {
+            if (!Double.isNaN(distances[which][id]))
+                distanceSizes[which]--;
+            distances[which][id] = Double.NaN;
+        }
+
+        @Override
+        public int size() {
+            return distanceSizes[which];
+        }
+    }
+}
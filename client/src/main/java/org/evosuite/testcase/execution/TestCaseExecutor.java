@@ -73,6 +73,25 @@ public class TestCaseExecutor implements ThreadFactory {
 
     private static TestCaseExecutor instance = null;
 
+    /**
+     * Executors of parallel test execution workers, see
+     * {@link TestExecutionWorkerPool}
+     */
+    private static final ThreadLocal<TestCaseExecutor> workerInstance = new InheritableThreadLocal<>();
+
+    private static volatile boolean workersBound = false;
+
+    /**
+     * Lock for the global state updated by workers after each execution
+     */
+    private static final Object workerLock = new Object();
+
+    /**
+     * The class loader of the worker owning this executor, null for the
+     * singleton
+     */
+    private final ClassLoader workerClassLoader;
+
     private ExecutorService executor;
 
     private Thread currentThread = null;
@@ -113,13 +132,54 @@ public class TestCaseExecutor implements ThreadFactory {
      * @return a {@link org.evosuite.testcase.execution.TestCaseExecutor}
      * object.
      */
-    public static synchronized TestCaseExecutor getInstance() {
+    public static TestCaseExecutor getInstance() {
+        if (workersBound) {
+            TestCaseExecutor executor = workerInstance.get();
+            if (executor != null)
+                return executor;
+        }
+        return getSingleton();
+    }
+
+    private static synchronized TestCaseExecutor getSingleton() {
         if (instance == null)
             instance = new TestCaseExecutor();
 
         return instance;
     }
 
+    /**
+     * Create an executor for a parallel test execution worker. It has its own
+     * execution thread and no observers, and it does not set up the sandbox
+     * and the runtime environment for each test: this is done once per batch
+     * by the {@link TestExecutionWorkerPool}
+     *
+     * @param loader the class loader of the worker
+     * @return a new executor
+     */
+    public static TestCaseExecutor newWorkerInstance(ClassLoader loader) {
+        return new TestCaseExecutor(loader);
+    }
+
+    /**
+     * Make {@link #getInstance()} return the given executor on the current
+     * thread
+     *
+     * @param executor an executor created by {@link #newWorkerInstance(ClassLoader)}
+     */
+    public static void bindToCurrentThread(TestCaseExecutor executor) {
+        workersBound = true;
+        workerInstance.set(executor);
+    }
+
+    public static void unbindFromCurrentThread() {
+        workerInstance.remove();
+    }
+
+    public boolean isWorker() {
+        return workerClassLoader != null;
+    }
+
     /**
      * Execute a test case
      *
@@ -133,9 +193,11 @@ public class TestCaseExecutor implements ThreadFactory {
         try {
             TestCaseExecutor executor = getInstance();
             logger.debug("Executing test");
-            result = executor.execute(test);
-
-            MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+            result = ExecutionResultCache.getInstance().getOrExecute(test, t -> {
+                ExecutionResult executed = executor.execute(t);
+                MaxStatementsStoppingCondition.statementsExecuted(executed.getExecutedStatements());
+                return executed;
+            });
 
         } catch (Exception e) {
             logger.error("TG: Exception caught: ", e);
@@ -146,10 +208,25 @@ public class TestCaseExecutor implements ThreadFactory {
     }
 
     private TestCaseExecutor() {
+        this(null);
+    }
+
+    private TestCaseExecutor(ClassLoader workerClassLoader) {
+        this.workerClassLoader = workerClassLoader;
         executor = Executors.newSingleThreadExecutor(this);
         newObservers();
     }
 
+    /**
+     * Stop the execution thread of a worker executor
+     */
+    void shutdownWorker() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
     public static class TimeoutExceeded extends RuntimeException {
         private static final long serialVersionUID = -5314228165430676893L;
     }
@@ -205,6 +282,7 @@ public class TestCaseExecutor implements ThreadFactory {
         if (!observers.contains(observer)) {
             logger.debug("Adding observer");
             observers.add(observer);
+            ExecutionResultCache.getInstance().clear();
         }
         // FIXXME: Find proper solution for this
         // for (ExecutionObserver o : observers)
@@ -225,6 +303,7 @@ public class TestCaseExecutor implements ThreadFactory {
         if (observers.contains(observer)) {
             logger.debug("Removing observer");
             observers.remove(observer);
+            ExecutionResultCache.getInstance().clear();
         }
     }
 
@@ -235,6 +314,9 @@ public class TestCaseExecutor implements ThreadFactory {
      */
     public void newObservers() {
         observers = new LinkedHashSet<>();
+        if (!isWorker()) {
+            ExecutionResultCache.getInstance().clear();
+        }
     }
 
     public Set<ExecutionObserver> getExecutionObservers() {
@@ -290,7 +372,11 @@ public class TestCaseExecutor implements ThreadFactory {
         resetObservers();
         ExecutionObserver.setCurrentTest(tc);
         MaxTestsStoppingCondition.testExecuted();
-        Runtime.getInstance().resetRuntime();
+        if (isWorker())
+            // the runtime is reset once per batch, but each worker has its own loop counter
+            LoopCounter.getInstance().reset();
+        else
+            Runtime.getInstance().resetRuntime();
 
         long startTime = System.currentTimeMillis();
 
@@ -314,17 +400,22 @@ public class TestCaseExecutor implements ThreadFactory {
 
             ExecutionResult result = null;
 
-            // important to call it before setting up the sandbox
-            SystemInUtil.getInstance().initForTestCase();
-            JOptionPaneInputs.getInstance().initForTestCase();
-
-            Sandbox.goingToExecuteSUTCode();
-            TestGenerationContext.getInstance().goingToExecuteSUTCode();
-            try {
+            if (isWorker()) {
+                // sandbox and environment are set up once per batch by the worker pool
                 result = handler.execute(callable, executor, timeout, Properties.CPU_TIMEOUT);
-            } finally {
-                Sandbox.doneWithExecutingSUTCode();
-                TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+            } else {
+                // important to call it before setting up the sandbox
+                SystemInUtil.getInstance().initForTestCase();
+                JOptionPaneInputs.getInstance().initForTestCase();
+
+                Sandbox.goingToExecuteSUTCode();
+                TestGenerationContext.getInstance().goingToExecuteSUTCode();
+                try {
+                    result = handler.execute(callable, executor, timeout, Properties.CPU_TIMEOUT);
+                } finally {
+                    Sandbox.doneWithExecutingSUTCode();
+                    TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+                }
             }
 
             PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
@@ -464,7 +555,7 @@ public class TestCaseExecutor implements ThreadFactory {
             ExecutionTracer.disable();
 
             // TODO: If this is true, is this problematic?
-            if (Sandbox.isOnAndExecutingSUTCode()) {
+            if (!isWorker() && Sandbox.isOnAndExecutingSUTCode()) {
                 Sandbox.doneWithExecutingSUTCode();
                 TestGenerationContext.getInstance().doneWithExecutingSUTCode();
             }
@@ -483,7 +574,13 @@ public class TestCaseExecutor implements ThreadFactory {
         } finally {
             if (threadGroup != null)
                 PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
-            TestCluster.getInstance().handleRuntimeAccesses(tc);
+            if (isWorker()) {
+                synchronized (workerLock) {
+                    TestCluster.getInstance().handleRuntimeAccesses(tc);
+                }
+            } else {
+                TestCluster.getInstance().handleRuntimeAccesses(tc);
+            }
         }
     }
 
@@ -494,6 +591,9 @@ public class TestCaseExecutor implements ThreadFactory {
             if (elem.getMethodName().equals("loadClass") && elem.getClassName()
                     .equals(org.evosuite.instrumentation.InstrumentingClassLoader.class.getCanonicalName()))
                 return true;
+            if (elem.getMethodName().equals("loadClass") && elem.getClassName()
+                    .equals(org.evosuite.instrumentation.WorkerClassLoader.class.getCanonicalName()))
+                return true;
             // CFontManager is responsible for loading fonts
             // which can take seconds
             if (elem.getClassName().equals("sun.font.CFontManager"))
@@ -534,7 +634,10 @@ public class TestCaseExecutor implements ThreadFactory {
         currentThread = new Thread(threadGroup, r);
         currentThread.setName(TEST_EXECUTION_THREAD + "_" + threadCounter);
         threadCounter++;
-        currentThread.setContextClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+        if (isWorker())
+            currentThread.setContextClassLoader(workerClassLoader);
+        else
+            currentThread.setContextClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
         ExecutionTracer.setThread(currentThread);
         return currentThread;
     }
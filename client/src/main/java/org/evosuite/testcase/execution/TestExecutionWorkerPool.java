@@ -0,0 +1,507 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.instrumentation.WorkerClassLoader;
+import org.evosuite.runtime.LoopCounter;
+import org.evosuite.runtime.Runtime;
+import org.evosuite.runtime.classhandling.ClassResetter;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.runtime.util.AtMostOnceLogger;
+import org.evosuite.runtime.util.JOptionPaneInputs;
+import org.evosuite.runtime.util.SystemInUtil;
+import org.evosuite.seeding.ConstantPoolManager;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.generic.GenericAccessibleObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Executes the changed tests of a population concurrently on
+ * {@link Properties#TEST_EXECUTION_WORKERS} workers, before the (sequential)
+ * fitness evaluation picks up the cached execution results.
+ * <p>
+ * Each worker owns a {@link WorkerClassLoader} with its own copies of the
+ * instrumented classes, and its own {@link ExecutionTracer},
+ * {@link LoopCounter}, {@link ClassResetter}, {@link MutationObserver} and
+ * {@link TestCaseExecutor}. These are bound to the worker thread, so that the
+ * static callbacks of the instrumented code end up in the state of the worker
+ * that runs the test.
+ * <p>
+ * Besides the tests of a population, arbitrary {@link WorkerTask}s on a single
+ * test can be distributed over the workers, e.g. the execution of a test on
+ * many mutants during assertion generation.
+ * <p>
+ * The sandbox and the runtime are global, so they are set up once for the
+ * whole batch. The state that is reset before each test by a sequential
+ * execution, i.e. the mocked environment (VFS, network, time, randomness)
+ * and the static fields of the classes under test, would thus leak between
+ * the tests of a batch and between workers. Workers are therefore only used
+ * if none of this state is mocked or reset, see {@link #isEnabled()}.
+ * A worker can only isolate a test if the bytecode of its classes was
+ * retained when the search loaded them, see {@link #canIsolate(TestCase)}.
+ * The other tests are left to the sequential execution on the calling thread.
+ * Results are stored on the chromosomes in the order of the population, but
+ * the execution order of the tests is not deterministic. With a single
+ * worker this class is not used at all.
+ */
+public class TestExecutionWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestExecutionWorkerPool.class);
+
+    private static final String WORKER_THREAD = "TEST_EXECUTION_WORKER";
+
+    private static TestExecutionWorkerPool instance = null;
+
+    private final InstrumentingClassLoader classLoader;
+
+    private final List<Worker> workers = new ArrayList<>();
+
+    private final BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+
+    private final ExecutorService dispatcher;
+
+    private int threadCounter = 0;
+
+    /**
+     * Whether the classes of the search, with their supertypes, can be defined
+     * again by the workers. This cannot change once a class is loaded
+     */
+    private final Map<Class<?>, Boolean> isolatedClasses = new ConcurrentHashMap<>();
+
+    private TestExecutionWorkerPool(int numWorkers, InstrumentingClassLoader classLoader) {
+        this.classLoader = classLoader;
+        for (int i = 0; i < numWorkers; i++) {
+            Worker worker = new Worker(classLoader);
+            workers.add(worker);
+            idleWorkers.add(worker);
+        }
+        dispatcher = Executors.newFixedThreadPool(numWorkers, r -> {
+            Thread thread = new Thread(r, WORKER_THREAD + "_" + threadCounter++);
+            thread.setDaemon(true);
+            // workers run EvoSuite code around the test execution threads they spawn
+            Sandbox.addPrivilegedThread(thread);
+            return thread;
+        });
+    }
+
+    /**
+     * A unit of work on a test, executed on a worker thread
+     *
+     * @param <T> the type of the result
+     */
+    public interface WorkerTask<T> {
+
+        /**
+         * Called on a worker thread, {@link TestCaseExecutor#getInstance()}
+         * returns the executor of the worker
+         *
+         * @param test   a copy of the test, using the classes of the worker
+         * @param loader the class loader of the worker
+         * @return the result of the task
+         */
+        T execute(TestCase test, ClassLoader loader) throws Exception;
+    }
+
+    /**
+     * @return true if there is more than one worker, and no state that is
+     * reset before each test is mocked or reset by the configuration
+     */
+    public static boolean isEnabled() {
+        return Properties.TEST_EXECUTION_WORKERS > 1
+                && !Properties.VIRTUAL_FS
+                && !Properties.VIRTUAL_NET
+                && !Properties.REPLACE_CALLS
+                && !Properties.RESET_STATIC_FIELDS;
+    }
+
+    public static synchronized TestExecutionWorkerPool getInstance() {
+        InstrumentingClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+        if (instance != null && instance.classLoader != loader) {
+            // the context was reset, the classes of the workers are stale
+            pullDown();
+        }
+        if (instance == null) {
+            instance = new TestExecutionWorkerPool(Properties.TEST_EXECUTION_WORKERS, loader);
+        }
+        return instance;
+    }
+
+    public static synchronized void pullDown() {
+        if (instance != null) {
+            instance.dispatcher.shutdownNow();
+            for (Worker worker : instance.workers) {
+                worker.executor.shutdownWorker();
+            }
+            instance = null;
+        }
+    }
+
+    /**
+     * Execute the changed tests of the given chromosomes concurrently, if
+     * parallel test execution is enabled and possible. Afterwards, the
+     * tests have an up to date execution result and are no longer marked as
+     * changed, so fitness functions do not execute them again.
+     *
+     * @param population test or test suite chromosomes
+     */
+    public static void executeChanged(Collection<? extends Chromosome<?>> population) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TestCaseExecutor.getInstance().getExecutionObservers().isEmpty()) {
+            // observers are stateful and not meant to be shared among threads
+            logger.debug("Not executing tests in parallel, as there are execution observers");
+            return;
+        }
+
+        List<TestChromosome> tests = new ArrayList<>();
+        for (Chromosome<?> chromosome : population) {
+            if (chromosome instanceof TestChromosome) {
+                addIfChanged(tests, (TestChromosome) chromosome);
+            } else if (chromosome instanceof TestSuiteChromosome) {
+                for (TestChromosome test : ((TestSuiteChromosome) chromosome).getTestChromosomes()) {
+                    addIfChanged(tests, test);
+                }
+            }
+        }
+        if (tests.size() > 1) {
+            getInstance().execute(tests);
+        }
+    }
+
+    private static void addIfChanged(List<TestChromosome> tests, TestChromosome test) {
+        if (test.isChanged() || test.getLastExecutionResult() == null) {
+            tests.add(test);
+        }
+    }
+
+    /**
+     * Execute all the given tests concurrently, and store the results on the
+     * chromosomes
+     *
+     * @param tests
+     */
+    public void execute(List<TestChromosome> tests) {
+        logger.debug("Executing {} tests on {} workers", tests.size(), workers.size());
+        List<Future<ExecutionResult>> futures = new ArrayList<>(tests.size());
+        List<Boolean> executed = new ArrayList<>(tests.size());
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+
+        goingToExecuteSUTCode();
+        try {
+            for (TestChromosome test : tests) {
+                TestCase tc = test.getTestCase();
+                if (!canIsolate(tc)) {
+                    // stays changed, and is executed by the fitness functions
+                    futures.add(null);
+                    executed.add(false);
+                    continue;
+                }
+                String key = cache.getKey(tc);
+                ExecutionResult cached = cache.get(key, tc);
+                executed.add(cached == null);
+                if (cached != null) {
+                    futures.add(CompletableFuture.completedFuture(cached));
+                    continue;
+                }
+                futures.add(dispatcher.submit(() -> executeOnWorker(tc, (copy, loader) -> {
+                    ExecutionResult result = TestCaseExecutor.getInstance().execute(copy);
+                    cache.put(key, copy, result);
+                    result.setTest(tc);
+                    return result;
+                })));
+            }
+
+            for (int i = 0; i < tests.size(); i++) {
+                if (futures.get(i) == null) {
+                    continue;
+                }
+                ExecutionResult result = futures.get(i).get();
+                if (executed.get(i)) {
+                    MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+                }
+                tests.get(i).setLastExecutionResult(result);
+                tests.get(i).setChanged(false);
+            }
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // the tests without result are simply executed again by the fitness functions
+            logger.error("Error during parallel test execution", e.getCause());
+            cancel(futures);
+        } finally {
+            doneWithExecutingSUTCode();
+        }
+    }
+
+    /**
+     * Execute the given tasks on the test concurrently. The results are
+     * returned in the order of the tasks, independently of the number of
+     * workers and of the order in which the tasks complete. If a task fails,
+     * only the results of the tasks before it are returned.
+     *
+     * @param test  the test the tasks work on
+     * @param tasks the tasks
+     * @param <T>   the type of the results
+     * @return the results of the tasks
+     */
+    public <T> List<T> execute(TestCase test, List<? extends WorkerTask<T>> tasks) {
+        logger.debug("Executing {} tasks on {} workers", tasks.size(), workers.size());
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        List<T> results = new ArrayList<>(tasks.size());
+
+        goingToExecuteSUTCode();
+        try {
+            for (WorkerTask<T> task : tasks) {
+                futures.add(dispatcher.submit(() -> executeOnWorker(test, task)));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Error during parallel task execution", e.getCause());
+            cancel(futures);
+        } finally {
+            doneWithExecutingSUTCode();
+        }
+        return results;
+    }
+
+    /**
+     * Cancel the given futures, and wait for the workers still running SUT
+     * code to be done with it: the sandbox must not be turned off before
+     *
+     * @param futures
+     */
+    private void cancel(List<? extends Future<?>> futures) {
+        futures.stream().filter(Objects::nonNull).forEach(f -> f.cancel(true));
+        synchronized (idleWorkers) {
+            while (idleWorkers.size() < workers.size()) {
+                try {
+                    idleWorkers.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the workers can execute the test on their own copies of
+     * its classes. Classes the search loaded before workers were enabled have
+     * no retained bytecode. Rebinding the test to a worker would silently keep
+     * them, and concurrent workers would share their static state and trace
+     * counters.
+     *
+     * @param test a test using the classes of the search
+     * @return false if the test has to be executed sequentially
+     */
+    public boolean canIsolate(TestCase test) {
+        for (Class<?> clazz : getClasses(test)) {
+            if (!canIsolate(clazz)) {
+                AtMostOnceLogger.warn(logger, "Executing tests using " + clazz.getName()
+                        + " sequentially, as it was loaded before test execution workers were enabled");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean canIsolate(Class<?> clazz) {
+        if (clazz == null || clazz.getClassLoader() != classLoader) {
+            return true;
+        }
+        Boolean known = isolatedClasses.get(clazz);
+        if (known != null) {
+            return known;
+        }
+        boolean result;
+        try {
+            result = classLoader.getInstrumentedBytes(clazz.getName()) != null
+                    && canIsolate(clazz.getSuperclass())
+                    && canIsolate(clazz.getEnclosingClass())
+                    && Arrays.stream(clazz.getInterfaces()).allMatch(this::canIsolate);
+        } catch (ClassNotFoundException e) {
+            result = false;
+        }
+        isolatedClasses.put(clazz, result);
+        return result;
+    }
+
+    /**
+     * @return the classes of the variables and of the called methods,
+     * constructors and fields of the test
+     */
+    private static Set<Class<?>> getClasses(TestCase test) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (Statement statement : test) {
+            for (VariableReference variable : statement.getVariableReferences()) {
+                addClass(classes, variable.getVariableClass());
+            }
+            GenericAccessibleObject<?> accessibleObject = statement.getAccessibleObject();
+            if (accessibleObject != null) {
+                addClass(classes, accessibleObject.getDeclaringClass());
+            }
+        }
+        return classes;
+    }
+
+    private static void addClass(Set<Class<?>> classes, Class<?> clazz) {
+        if (clazz == null) {
+            return;
+        }
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        classes.add(clazz);
+    }
+
+    /**
+     * @return true if no worker is executing a test
+     */
+    public boolean isIdle() {
+        return idleWorkers.size() == workers.size();
+    }
+
+    private void goingToExecuteSUTCode() {
+        // important to call it before setting up the sandbox
+        SystemInUtil.getInstance().initForTestCase();
+        JOptionPaneInputs.getInstance().initForTestCase();
+        Runtime.getInstance().resetRuntime();
+        ConstantPoolManager.getInstance().setConcurrentUpdates(true);
+
+        Sandbox.goingToExecuteSUTCode();
+        TestGenerationContext.getInstance().goingToExecuteSUTCode();
+    }
+
+    private void doneWithExecutingSUTCode() {
+        Sandbox.doneWithExecutingSUTCode();
+        TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+        ConstantPoolManager.getInstance().setConcurrentUpdates(false);
+    }
+
+    private <T> T executeOnWorker(TestCase test, WorkerTask<T> task) throws Exception {
+        Worker worker = idleWorkers.take();
+        worker.bind();
+        try {
+            TestCase copy = test;
+            if (test instanceof DefaultTestCase) {
+                copy = test.clone();
+                // assertions share their inspectors with the original test, which
+                // would be moved to the classes of the worker. They are not needed
+                // to execute the test
+                copy.removeAssertions();
+                ((DefaultTestCase) copy).changeClassLoader(worker.classLoader);
+                for (Class<?> clazz : getClasses(copy)) {
+                    if (clazz.getClassLoader() == classLoader) {
+                        // the test would run on the classes of the search
+                        throw new IllegalStateException("Cannot isolate " + clazz.getName()
+                                + " in a test execution worker");
+                    }
+                }
+            }
+            return task.execute(copy, worker.classLoader);
+        } finally {
+            worker.unbind();
+            synchronized (idleWorkers) {
+                idleWorkers.add(worker);
+                idleWorkers.notifyAll();
+            }
+        }
+    }
+
+    private static class Worker {
+
+        private final WorkerClassLoader classLoader;
+
+        private final ExecutionTracer tracer;
+
+        private final LoopCounter loopCounter;
+
+        private final ClassResetter classResetter;
+
+        private final MutationObserver mutationObserver;
+
+        private final TestCaseExecutor executor;
+
+        private Worker(InstrumentingClassLoader instrumentingClassLoader) {
+            classLoader = new WorkerClassLoader(instrumentingClassLoader);
+            tracer = ExecutionTracer.newWorkerInstance();
+            loopCounter = LoopCounter.newWorkerInstance();
+            classResetter = ClassResetter.newWorkerInstance(classLoader);
+            mutationObserver = MutationObserver.newWorkerInstance();
+            executor = TestCaseExecutor.newWorkerInstance(classLoader);
+        }
+
+        /*
+         * The test execution thread of the executor is created by the first
+         * thread that submits a test to it, and inherits the bindings
+         */
+        private void bind() {
+            ExecutionTracer.bindToCurrentThread(tracer);
+            LoopCounter.bindToCurrentThread(loopCounter);
+            ClassResetter.bindToCurrentThread(classResetter);
+            MutationObserver.bindToCurrentThread(mutationObserver);
+            TestCaseExecutor.bindToCurrentThread(executor);
+        }
+
+        private void unbind() {
+            ExecutionTracer.unbindFromCurrentThread();
+            LoopCounter.unbindFromCurrentThread();
+            ClassResetter.unbindFromCurrentThread();
+            MutationObserver.unbindFromCurrentThread();
+            TestCaseExecutor.unbindFromCurrentThread();
+        }
+    }
+}
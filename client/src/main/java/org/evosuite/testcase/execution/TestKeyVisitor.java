@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestVisitor;
+import org.evosuite.testcase.statements.*;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ConstantValue;
+import org.evosuite.testcase.variable.FieldReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericField;
+
+/**
+ * Builds the key of a test in the {@link ExecutionResultCache}: the fully
+ * qualified types, the descriptors of the called methods and constructors,
+ * the values and the positions of the referenced variables of all
+ * statements. Unlike the code of a test, where classes are printed with
+ * their simple names, two different tests never have the same key.
+ * <p>
+ * Values are written with their class and their length, so that no value
+ * can be mistaken for a separator. Tests with values of other types, such as
+ * the files and addresses of the environment statements, have no key.
+ */
+class TestKeyVisitor extends TestVisitor {
+
+    private final StringBuilder key = new StringBuilder();
+
+    private boolean hasKey = true;
+
+    /**
+     * @param test
+     * @return the key of the test, or null if it cannot be cached
+     */
+    static String getKey(TestCase test) {
+        TestKeyVisitor visitor = new TestKeyVisitor();
+        // TestCase.accept would print every statement for its trace logging
+        for (Statement statement : test) {
+            visitor.visitStatement(statement);
+        }
+        return visitor.hasKey ? visitor.key.toString() : null;
+    }
+
+    @Override
+    public void visitTestCase(TestCase test) {
+        // the test itself adds nothing to the key
+    }
+
+    @Override
+    public void visitStatement(Statement statement) {
+        appendType(statement.getReturnValue());
+        super.visitStatement(statement);
+        key.append(';');
+    }
+
+    private void appendType(VariableReference variable) {
+        key.append(variable.getType().getTypeName()).append(' ');
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            key.append("null");
+            return;
+        }
+        String text;
+        if (value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character) {
+            text = value.toString();
+        } else if (value instanceof Enum) {
+            text = ((Enum<?>) value).getDeclaringClass().getName() + "." + ((Enum<?>) value).name();
+        } else if (value instanceof Class) {
+            text = ((Class<?>) value).getName();
+        } else {
+            hasKey = false;
+            return;
+        }
+        key.append(value.getClass().getName()).append(':').append(text.length()).append(':').append(text);
+    }
+
+    private void appendField(GenericField field) {
+        key.append(field.getField().getDeclaringClass().getName()).append('.').append(field.getName());
+    }
+
+    private void appendReference(VariableReference variable) {
+        if (variable == null) {
+            key.append('-');
+        } else if (variable instanceof ConstantValue) {
+            key.append('=');
+            appendValue(((ConstantValue) variable).getValue());
+        } else if (variable instanceof ArrayIndex) {
+            ArrayIndex index = (ArrayIndex) variable;
+            appendReference(index.getArray());
+            key.append(index.getArrayIndices());
+        } else if (variable instanceof FieldReference) {
+            FieldReference field = (FieldReference) variable;
+            appendReference(field.getSource());
+            key.append('.');
+            appendField(field.getField());
+        } else {
+            key.append('v').append(variable.getStPosition());
+        }
+        key.append(' ');
+    }
+
+    private void appendParameters(EntityWithParametersStatement statement) {
+        key.append('(');
+        for (VariableReference parameter : statement.getParameterReferences()) {
+            appendReference(parameter);
+        }
+        key.append(')');
+    }
+
+    @Override
+    public void visitPrimitiveStatement(PrimitiveStatement<?> statement) {
+        key.append(statement.getClass().getSimpleName()).append(' ');
+        appendValue(statement.getValue());
+    }
+
+    @Override
+    public void visitFieldStatement(FieldStatement statement) {
+        key.append("get ");
+        appendReference(statement.getSource());
+        appendField(statement.getField());
+    }
+
+    @Override
+    public void visitMethodStatement(MethodStatement statement) {
+        key.append("call ");
+        appendReference(statement.getCallee());
+        key.append(statement.getMethod().getDeclaringClass().getName()).append('.')
+                .append(statement.getMethodName()).append(statement.getDescriptor());
+        appendParameters(statement);
+    }
+
+    @Override
+    public void visitConstructorStatement(ConstructorStatement statement) {
+        key.append("new ").append(statement.getConstructor().getDeclaringClass().getName())
+                .append(statement.getDescriptor());
+        appendParameters(statement);
+    }
+
+    @Override
+    public void visitArrayStatement(ArrayStatement statement) {
+        key.append("array ").append(statement.getLengths());
+    }
+
+    @Override
+    public void visitAssignmentStatement(AssignmentStatement statement) {
+        key.append("set ");
+        appendReference(statement.getReturnValue());
+        appendReference(statement.getValue());
+    }
+
+    @Override
+    public void visitNullStatement(NullStatement statement) {
+        key.append("null");
+    }
+
+    @Override
+    public void visitPrimitiveExpression(PrimitiveExpression expression) {
+        key.append("expr ");
+        appendReference(expression.getLeftOperand());
+        key.append(expression.getOperator().name()).append(' ');
+        appendReference(expression.getRightOperand());
+    }
+
+    @Override
+    public void visitFunctionalMockStatement(FunctionalMockStatement statement) {
+        // the mocked methods are updated by the execution
+        hasKey = false;
+    }
+}
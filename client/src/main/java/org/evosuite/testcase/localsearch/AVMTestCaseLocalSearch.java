@@ -38,7 +38,7 @@ public class AVMTestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
     @Override
     public boolean doSearch(TestChromosome individual, LocalSearchObjective<TestChromosome> objective) {
 
-        logger.info("Test before local search: " + individual.getTestCase().toCode());
+        logger.info("Test before local search: " + individual.getMutableTestCase().toCode());
 
         boolean improved = false;
 
@@ -50,7 +50,7 @@ public class AVMTestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
             if (lastPos != null)
                 lastPosition = lastPos;
         }
-        TestCase test = individual.getTestCase();
+        TestCase test = individual.getMutableTestCase();
 
         // We count down to make the code work when lines are
         // added during the search (see NullReferenceSearch).
@@ -65,7 +65,7 @@ public class AVMTestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
 
             if (i >= individual.size()) {
                 logger.warn("Test size decreased unexpectedly during local search, aborting local search");
-                logger.warn(individual.getTestCase().toCode());
+                logger.warn(individual.getMutableTestCase().toCode());
                 break;
             }
             final Class<?> targetClass = Properties.getTargetClassAndDontInitialise();
@@ -81,14 +81,14 @@ public class AVMTestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
             StatementLocalSearch search = StatementLocalSearch.getLocalSearchFor(statement);
             if (search != null) {
                 logger.info("Applying local search of type " + search.getClass() + " to statement " + statement + " / "
-                        + individual.getTestCase().getStatement(i));
+                        + individual.getMutableTestCase().getStatement(i));
                 if (search.doSearch(individual, i, objective)) {
                     improved = true;
                 }
                 // i = s.getPosition();
                 logger.debug("Old position was: " + i + ", adjusting to: " + (i + search.getPositionDelta()));
                 i += search.getPositionDelta();
-                test = individual.getTestCase();
+                test = individual.getMutableTestCase();
             } else {
                 /*
                  * No statement local search has been produced for this
@@ -64,26 +64,26 @@ public class ArrayLocalSearch extends StatementLocalSearch {
                             LocalSearchObjective<TestChromosome> objective) {
 
         boolean hasImproved = false;
-        ArrayStatement p = (ArrayStatement) test.getTestCase().getStatement(statement);
+        ArrayStatement p = (ArrayStatement) test.getMutableTestCase().getStatement(statement);
         logger.debug("Doing array local search on statement " + statement + ": "
-                + test.getTestCase().toCode());
+                + test.getMutableTestCase().toCode());
 
         int difference = stripAssignments(p, test, objective);
         logger.debug("Adjusting position from " + statement + " to "
-                + (statement - difference) + ": " + test.getTestCase().toCode());
+                + (statement - difference) + ": " + test.getMutableTestCase().toCode());
         positionDelta = difference;
         statement = statement - difference;
-        p = (ArrayStatement) test.getTestCase().getStatement(statement);
+        p = (ArrayStatement) test.getMutableTestCase().getStatement(statement);
 
         hasImproved = searchLength(test, statement, objective);
         TestCaseExpander expander = new TestCaseExpander();
         int lengthWithoutAssignments = test.size();
-        p = (ArrayStatement) test.getTestCase().getStatement(statement);
-        expander.visitArrayStatement(test.getTestCase(), p);
+        p = (ArrayStatement) test.getMutableTestCase().getStatement(statement);
+        expander.visitArrayStatement(test.getMutableTestCase(), p);
         int assignmentLength = test.size() - lengthWithoutAssignments;
         for (int position = statement + 1; position < statement + assignmentLength; position++) {
             logger.debug("Local search on statement " + position);
-            StatementLocalSearch search = StatementLocalSearch.getLocalSearchFor(test.getTestCase().getStatement(position));
+            StatementLocalSearch search = StatementLocalSearch.getLocalSearchFor(test.getMutableTestCase().getStatement(position));
             if (search != null) {
                 if (search.doSearch(test, position, objective)) {
                     hasImproved = true;
@@ -102,10 +102,10 @@ public class ArrayLocalSearch extends StatementLocalSearch {
         TestFactory factory = TestFactory.getInstance();
         for (int position = test.size() - 1; position > statement.getPosition(); position--) {
             logger.debug("Current delete position: " + position);
-            if (test.getTestCase().getStatement(position) instanceof AssignmentStatement) {
+            if (test.getMutableTestCase().getStatement(position) instanceof AssignmentStatement) {
                 logger.debug("Is assignment statement");
-                AssignmentStatement assignment = (AssignmentStatement) test.getTestCase().getStatement(position);
-                Statement valueStatement = test.getTestCase().getStatement(assignment.getValue().getStPosition());
+                AssignmentStatement assignment = (AssignmentStatement) test.getMutableTestCase().getStatement(position);
+                Statement valueStatement = test.getMutableTestCase().getStatement(assignment.getValue().getStPosition());
                 if (assignment.getReturnValue().getAdditionalVariableReference() == arrRef) {
 
                     int currentDelta = 0;
@@ -113,17 +113,17 @@ public class ArrayLocalSearch extends StatementLocalSearch {
 
                     logger.debug("Assigns to target array. Checking if we can remove it without worsening fitness");
                     backup(test);
-                    factory.deleteStatement(test.getTestCase(), position);
+                    factory.deleteStatement(test.getMutableTestCase(), position);
 
                     if (valueStatement instanceof PrimitiveStatement
                             || valueStatement instanceof NullStatement) {
-                        if (!test.getTestCase().hasReferences(valueStatement.getReturnValue())) {
+                        if (!test.getMutableTestCase().hasReferences(valueStatement.getReturnValue())) {
                             if (valueStatement.getPosition() < statement.getPosition())
                                 differenceDelta = 1;
                             currentDelta = 1;
                             logger.debug("Deleting primitive statement assigned to this array at "
                                     + valueStatement.getPosition());
-                            factory.deleteStatement(test.getTestCase(),
+                            factory.deleteStatement(test.getMutableTestCase(),
                                     valueStatement.getPosition());
                         }
                     }
@@ -147,7 +147,7 @@ public class ArrayLocalSearch extends StatementLocalSearch {
 
         boolean hasImproved = false;
 
-        ArrayStatement p = (ArrayStatement) test.getTestCase().getStatement(statement);
+        ArrayStatement p = (ArrayStatement) test.getMutableTestCase().getStatement(statement);
         logger.debug("Performing local search on array length, starting with length {}",
                 p.size());
         ExecutionResult oldResult = test.getLastExecutionResult();
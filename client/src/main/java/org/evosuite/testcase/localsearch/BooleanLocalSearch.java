@@ -48,7 +48,7 @@ public class BooleanLocalSearch extends StatementLocalSearch {
     public boolean doSearch(TestChromosome test, int statement,
                             LocalSearchObjective<TestChromosome> objective) {
 
-        PrimitiveStatement<Boolean> p = (PrimitiveStatement<Boolean>) test.getTestCase().getStatement(statement);
+        PrimitiveStatement<Boolean> p = (PrimitiveStatement<Boolean>) test.getMutableTestCase().getStatement(statement);
         ExecutionResult oldResult = test.getLastExecutionResult();
         oldValue = p.getValue();
 
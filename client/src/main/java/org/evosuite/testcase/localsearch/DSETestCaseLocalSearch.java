@@ -163,7 +163,7 @@ public class DSETestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
      */
     @Override
     public boolean doSearch(TestChromosome test, LocalSearchObjective<TestChromosome> objective) {
-        logger.info("Test before local search: " + test.getTestCase().toCode());
+        logger.info("Test before local search: " + test.getMutableTestCase().toCode());
 
         // gather covered branches true/false branch indexes
 
@@ -241,7 +241,7 @@ public class DSETestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
             if (lastPos != null)
                 lastPosition = lastPos;
         }
-        TestCase test = testChromosome.getTestCase();
+        TestCase test = testChromosome.getMutableTestCase();
         Set<Integer> targetStatementIndexes = new HashSet<>();
 
         // We count down to make the code work when lines are
@@ -257,7 +257,7 @@ public class DSETestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
 
             if (i >= testChromosome.size()) {
                 logger.warn("Test size decreased unexpectedly during local search, aborting local search");
-                logger.warn(testChromosome.getTestCase().toCode());
+                logger.warn(testChromosome.getMutableTestCase().toCode());
                 break;
             }
             final Class<?> targetClass = Properties.getTargetClassAndDontInitialise();
@@ -50,7 +50,7 @@ public class EnumLocalSearch extends StatementLocalSearch {
     @Override
     public boolean doSearch(TestChromosome test, int statement,
                             LocalSearchObjective<TestChromosome> objective) {
-        EnumPrimitiveStatement p = (EnumPrimitiveStatement) test.getTestCase().getStatement(statement);
+        EnumPrimitiveStatement p = (EnumPrimitiveStatement) test.getMutableTestCase().getStatement(statement);
         ExecutionResult oldResult = test.getLastExecutionResult();
         oldValue = p.getValue();
 
@@ -57,9 +57,9 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
     public boolean doSearch(TestChromosome test, int statement,
                             LocalSearchObjective<TestChromosome> objective) {
 
-        TestCase slice = test.getTestCase().clone();
+        TestCase slice = test.getMutableTestCase().clone();
         int newPos = slice.sliceFor(slice.getStatement(statement).getReturnValue());
-        TestCase oldTest = test.getTestCase();
+        TestCase oldTest = test.getMutableTestCase();
         test.setTestCase(slice);
         test.setChanged(true);
         /**
@@ -72,7 +72,7 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
 
         boolean improved = false;
 
-        NumericalPrimitiveStatement<T> p = (NumericalPrimitiveStatement<T>) test.getTestCase().getStatement(statement);
+        NumericalPrimitiveStatement<T> p = (NumericalPrimitiveStatement<T>) test.getMutableTestCase().getStatement(statement);
         double value = p.getValue().doubleValue();
         if (Double.isInfinite(value) || Double.isNaN(value)) {
             return false;
@@ -55,9 +55,9 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
 
         boolean improved = false;
 
-        TestCase slice = test.getTestCase().clone();
+        TestCase slice = test.getMutableTestCase().clone();
         int newPos = slice.sliceFor(slice.getStatement(statement).getReturnValue());
-        TestCase oldTest = test.getTestCase();
+        TestCase oldTest = test.getMutableTestCase();
         test.setTestCase(slice);
         test.setChanged(true);
         /**
@@ -68,7 +68,7 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
         int oldStatement = statement;
         statement = newPos;
 
-        NumericalPrimitiveStatement<T> p = (NumericalPrimitiveStatement<T>) test.getTestCase().getStatement(statement);
+        NumericalPrimitiveStatement<T> p = (NumericalPrimitiveStatement<T>) test.getMutableTestCase().getStatement(statement);
         ExecutionResult oldResult = test.getLastExecutionResult();
         oldValue = p.getValue();
         logger.info("Applying search to: " + p.getCode());
@@ -43,8 +43,8 @@ public class NullReferenceSearch extends StatementLocalSearch {
     @Override
     public boolean doSearch(TestChromosome test, int statement,
                             LocalSearchObjective<TestChromosome> objective) {
-        NullStatement nullStatement = (NullStatement) test.getTestCase().getStatement(statement);
-        TestCase newTest = test.getTestCase();
+        NullStatement nullStatement = (NullStatement) test.getMutableTestCase().getStatement(statement);
+        TestCase newTest = test.getMutableTestCase();
         TestCase oldTest = newTest.clone();
         ExecutionResult oldResult = test.getLastExecutionResult();
         //double oldFitness = test.getFitness();
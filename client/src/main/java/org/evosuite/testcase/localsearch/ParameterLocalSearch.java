@@ -70,7 +70,7 @@ public class ParameterLocalSearch extends StatementLocalSearch {
     @Override
     public boolean doSearch(TestChromosome test, int statement,
                             LocalSearchObjective<TestChromosome> objective) {
-        Statement stmt = test.getTestCase().getStatement(statement);
+        Statement stmt = test.getMutableTestCase().getStatement(statement);
         backup(test, stmt);
         if (stmt instanceof MethodStatement) {
             return doSearch(test, (MethodStatement) stmt, objective);
@@ -92,14 +92,14 @@ public class ParameterLocalSearch extends StatementLocalSearch {
      */
     private boolean doSearch(TestChromosome test, MethodStatement statement,
                              LocalSearchObjective<TestChromosome> objective) {
-        logger.info("Original test: " + test.getTestCase().toCode());
+        logger.info("Original test: " + test.getMutableTestCase().toCode());
 
         boolean hasImproved = false;
 
         if (!statement.isStatic()) {
             logger.info("Replacing callee");
             VariableReference callee = statement.getCallee();
-            List<VariableReference> objects = test.getTestCase().getObjects(callee.getType(),
+            List<VariableReference> objects = test.getMutableTestCase().getObjects(callee.getType(),
                     statement.getPosition());
             objects.remove(callee);
             boolean done = false;
@@ -125,9 +125,9 @@ public class ParameterLocalSearch extends StatementLocalSearch {
             logger.info("Replacing parameter " + numParameter);
 
             // First try null
-            statement.replaceParameterReference(new NullReference(test.getTestCase(),
+            statement.replaceParameterReference(new NullReference(test.getMutableTestCase(),
                     parameter.getType()), numParameter);
-            logger.info("Resulting test: " + test.getTestCase().toCode());
+            logger.info("Resulting test: " + test.getMutableTestCase().toCode());
 
             // Else try all other values available in the test
             if (!objective.hasImproved(test)) {
@@ -137,12 +137,12 @@ public class ParameterLocalSearch extends StatementLocalSearch {
                 statement.replaceParameterReference(parameter, numParameter);
                 boolean done = false;
 
-                List<VariableReference> objects = test.getTestCase().getObjects(parameter.getType(),
+                List<VariableReference> objects = test.getMutableTestCase().getObjects(parameter.getType(),
                         statement.getPosition());
                 objects.remove(parameter);
                 for (VariableReference replacement : objects) {
                     statement.replaceParameterReference(replacement, numParameter);
-                    logger.info("Resulting test: " + test.getTestCase().toCode());
+                    logger.info("Resulting test: " + test.getMutableTestCase().toCode());
                     if (objective.hasImproved(test)) {
                         backup(test, statement);
                         hasImproved = true;
@@ -181,7 +181,7 @@ public class ParameterLocalSearch extends StatementLocalSearch {
         for (VariableReference parameter : statement.getParameterReferences()) {
 
             // First try null
-            statement.replaceParameterReference(new NullReference(test.getTestCase(),
+            statement.replaceParameterReference(new NullReference(test.getMutableTestCase(),
                     parameter.getType()), numParameter);
 
             // Else try all other values available in the test
@@ -189,7 +189,7 @@ public class ParameterLocalSearch extends StatementLocalSearch {
                 statement.replaceParameterReference(parameter, numParameter);
                 boolean done = false;
 
-                List<VariableReference> objects = test.getTestCase().getObjects(parameter.getType(),
+                List<VariableReference> objects = test.getMutableTestCase().getObjects(parameter.getType(),
                         statement.getPosition());
                 objects.remove(parameter);
                 for (VariableReference replacement : objects) {
@@ -223,7 +223,7 @@ public class ParameterLocalSearch extends StatementLocalSearch {
                              LocalSearchObjective<TestChromosome> objective) {
         if (!statement.isStatic()) {
             VariableReference source = statement.getSource();
-            List<VariableReference> objects = test.getTestCase().getObjects(source.getType(),
+            List<VariableReference> objects = test.getMutableTestCase().getObjects(source.getType(),
                     statement.getPosition());
             objects.remove(source);
 
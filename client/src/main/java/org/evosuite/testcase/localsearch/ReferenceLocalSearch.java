@@ -76,7 +76,7 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
 
             List<Mutations> mutations = new ArrayList<>();
             mutations.add(Mutations.REPLACE);
-            Statement st = test.getTestCase().getStatement(statement);
+            Statement st = test.getMutableTestCase().getStatement(statement);
             if (!st.getReturnValue().isPrimitive() && !(st instanceof NullStatement)) {
                 mutations.add(Mutations.CALL);
             }
@@ -144,11 +144,11 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
         logger.debug("Adding call");
 
         TestFactory factory = TestFactory.getInstance();
-        Statement theStatement = test.getTestCase().getStatement(statement);
+        Statement theStatement = test.getMutableTestCase().getStatement(statement);
         VariableReference var = theStatement.getReturnValue();
 
         int oldLength = test.size();
-        factory.insertRandomCallOnObjectAt(test.getTestCase(), var, statement + 1);
+        factory.insertRandomCallOnObjectAt(test.getMutableTestCase(), var, statement + 1);
         test.setChanged(test.size() != oldLength);
 
         return false;
@@ -166,26 +166,26 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
         logger.debug("Replacing call");
 
         TestFactory factory = TestFactory.getInstance();
-        Statement theStatement = test.getTestCase().getStatement(statement);
+        Statement theStatement = test.getMutableTestCase().getStatement(statement);
         VariableReference var = theStatement.getReturnValue();
         int oldLength = test.size();
         try {
             VariableReference replacement = null;
             if (Randomness.nextDouble() < Properties.NULL_PROBABILITY) {
-                NullStatement nullStatement = new NullStatement(test.getTestCase(),
+                NullStatement nullStatement = new NullStatement(test.getMutableTestCase(),
                         var.getType());
-                replacement = test.getTestCase().addStatement(nullStatement, statement);
+                replacement = test.getMutableTestCase().addStatement(nullStatement, statement);
             } else if (!var.isPrimitive()) {
                 // Test cluster does not keep track of generators for primitives
-                replacement = factory.createObject(test.getTestCase(), var.getType(),
+                replacement = factory.createObject(test.getMutableTestCase(), var.getType(),
                         statement, 0, null);
             }
             if (replacement != null) {
                 int oldStatement = statement + (test.size() - oldLength);
                 for (int i = oldStatement + 1; i < test.size(); i++) {
-                    test.getTestCase().getStatement(i).replace(var, replacement);
+                    test.getMutableTestCase().getStatement(i).replace(var, replacement);
                 }
-                factory.deleteStatement(test.getTestCase(), oldStatement);
+                factory.deleteStatement(test.getMutableTestCase(), oldStatement);
                 test.setChanged(true);
             }
 
@@ -208,7 +208,7 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
      */
     private boolean changeParameters(TestChromosome test, int statement) {
         logger.debug("Changing parameters");
-        Statement stmt = test.getTestCase().getStatement(statement);
+        Statement stmt = test.getMutableTestCase().getStatement(statement);
         if (stmt instanceof MethodStatement) {
             return replaceMethodParameter(test, (MethodStatement) stmt);
         } else if (stmt instanceof ConstructorStatement) {
@@ -241,7 +241,7 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
         if (numParameter == parameters.size()) {
             // replace callee
             VariableReference callee = statement.getCallee();
-            List<VariableReference> objects = test.getTestCase().getObjects(callee.getType(),
+            List<VariableReference> objects = test.getMutableTestCase().getObjects(callee.getType(),
                     statement.getPosition());
             objects.remove(callee);
             if (objects.isEmpty())
@@ -253,11 +253,11 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
 
         } else {
             VariableReference parameter = parameters.get(numParameter);
-            List<VariableReference> objects = test.getTestCase().getObjects(parameter.getType(),
+            List<VariableReference> objects = test.getMutableTestCase().getObjects(parameter.getType(),
                     statement.getPosition());
             objects.remove(parameter);
             objects.remove(statement.getReturnValue());
-            NullStatement nullStatement = new NullStatement(test.getTestCase(),
+            NullStatement nullStatement = new NullStatement(test.getMutableTestCase(),
                     parameter.getType());
             if (!parameter.isPrimitive())
                 objects.add(nullStatement.getReturnValue());
@@ -267,7 +267,7 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
 
             VariableReference replacement = Randomness.choice(objects);
             if (replacement == nullStatement.getReturnValue()) {
-                test.getTestCase().addStatement(nullStatement, statement.getPosition());
+                test.getMutableTestCase().addStatement(nullStatement, statement.getPosition());
             }
             statement.replaceParameterReference(replacement, numParameter);
             test.setChanged(true);
@@ -293,12 +293,12 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
         int numParameter = Randomness.nextInt(parameters.size());
         VariableReference parameter = parameters.get(numParameter);
 
-        List<VariableReference> objects = test.getTestCase().getObjects(parameter.getType(),
+        List<VariableReference> objects = test.getMutableTestCase().getObjects(parameter.getType(),
                 statement.getPosition());
         objects.remove(parameter);
         objects.remove(statement.getReturnValue());
 
-        NullStatement nullStatement = new NullStatement(test.getTestCase(),
+        NullStatement nullStatement = new NullStatement(test.getMutableTestCase(),
                 parameter.getType());
         if (!parameter.isPrimitive())
             objects.add(nullStatement.getReturnValue());
@@ -308,7 +308,7 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
 
         VariableReference replacement = Randomness.choice(objects);
         if (replacement == nullStatement.getReturnValue()) {
-            test.getTestCase().addStatement(nullStatement, statement.getPosition());
+            test.getMutableTestCase().addStatement(nullStatement, statement.getPosition());
         }
 
         statement.replaceParameterReference(replacement, numParameter);
@@ -326,7 +326,7 @@ public class ReferenceLocalSearch extends StatementLocalSearch {
     private boolean replaceFieldSource(TestChromosome test, FieldStatement statement) {
         if (!statement.isStatic()) {
             VariableReference source = statement.getSource();
-            List<VariableReference> objects = test.getTestCase().getObjects(source.getType(),
+            List<VariableReference> objects = test.getMutableTestCase().getObjects(source.getType(),
                     statement.getPosition());
             objects.remove(source);
 
@@ -66,7 +66,7 @@ public class StringAVMLocalSearch extends StatementLocalSearch {
     @Override
     public boolean doSearch(TestChromosome test, int statement,
                             LocalSearchObjective<TestChromosome> objective) {
-        StringPrimitiveStatement p = (StringPrimitiveStatement) test.getTestCase().getStatement(statement);
+        StringPrimitiveStatement p = (StringPrimitiveStatement) test.getMutableTestCase().getStatement(statement);
         backup(test, p);
 
         // TODO: First apply 10 random mutations to determine if string influences _uncovered_ branch
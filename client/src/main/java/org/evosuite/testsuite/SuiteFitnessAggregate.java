@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+/**
+ * State a {@link TestSuiteFitnessFunction} keeps on a
+ * {@link TestSuiteChromosome} to evaluate it incrementally: the aggregated
+ * contributions of the tests seen at the last evaluation. When the suite is
+ * cloned, the aggregate is copied along, so that the evaluation of the clone
+ * only needs to account for the tests that differ.
+ */
+public interface SuiteFitnessAggregate {
+
+    /**
+     * @return an independent copy of this aggregate
+     */
+    SuiteFitnessAggregate copy();
+}
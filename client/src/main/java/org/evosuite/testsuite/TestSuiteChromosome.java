@@ -52,6 +52,11 @@ public final class TestSuiteChromosome
     private static int secondaryObjIndex = 0;
     private static final long serialVersionUID = 88380759969800800L;
 
+    /**
+     * Incremental evaluation state of the suite fitness functions
+     */
+    private transient Map<TestSuiteFitnessFunction, SuiteFitnessAggregate> fitnessAggregates = null;
+
     /**
      * Add an additional secondary objective to the end of the list of
      * objectives
@@ -132,6 +137,35 @@ public final class TestSuiteChromosome
      */
     protected TestSuiteChromosome(TestSuiteChromosome source) {
         super(source);
+        if (source.fitnessAggregates != null) {
+            source.fitnessAggregates.forEach((ff, aggregate) -> setFitnessAggregate(ff, aggregate.copy()));
+        }
+    }
+
+    /**
+     * Retrieve the state the given fitness function keeps to evaluate this
+     * suite incrementally
+     *
+     * @param ff a suite fitness function
+     * @return the aggregate of the last evaluation, or null
+     */
+    public SuiteFitnessAggregate getFitnessAggregate(TestSuiteFitnessFunction ff) {
+        if (fitnessAggregates == null)
+            return null;
+        return fitnessAggregates.get(ff);
+    }
+
+    /**
+     * Store the state the given fitness function keeps to evaluate this suite
+     * incrementally
+     *
+     * @param ff        a suite fitness function
+     * @param aggregate the aggregate of the last evaluation
+     */
+    public void setFitnessAggregate(TestSuiteFitnessFunction ff, SuiteFitnessAggregate aggregate) {
+        if (fitnessAggregates == null)
+            fitnessAggregates = new IdentityHashMap<>(2);
+        fitnessAggregates.put(ff, aggregate);
     }
 
     /**
@@ -219,13 +253,15 @@ public final class TestSuiteChromosome
     }
 
     public void removeCoveredGoal(TestFitnessFunction f) {
-        tests.forEach(t -> t.getTestCase().removeCoveredGoal(f));
+        tests.forEach(t -> t.removeCoveredGoal(f));
     }
 
     /**
      * <p>
      * getTests
      * </p>
+     * The returned test cases may be shared with clones of the chromosomes
+     * and must not be modified, use {@link #getMutableTests()} instead.
      *
      * @return a {@link java.util.List} object.
      */
@@ -235,6 +271,18 @@ public final class TestSuiteChromosome
                 .collect(toCollection(ArrayList::new));
     }
 
+    /**
+     * Get the test cases in order to modify them. Test cases still shared
+     * with clones of their chromosomes are copied first.
+     *
+     * @return the test cases, each owned by its chromosome only
+     */
+    public List<TestCase> getMutableTests() {
+        return tests.stream()
+                .map(TestChromosome::getMutableTestCase)
+                .collect(toCollection(ArrayList::new));
+    }
+
 
     @Override
     public boolean localSearch(LocalSearchObjective<TestSuiteChromosome> objective) {
@@ -24,6 +24,7 @@ import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.slf4j.Logger;
@@ -60,8 +61,11 @@ public abstract class TestSuiteFitnessFunction extends FitnessFunction<TestSuite
         ExecutionResult result = new ExecutionResult(test, null);
 
         try {
-            result = TestCaseExecutor.getInstance().execute(test);
-            MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+            result = ExecutionResultCache.getInstance().getOrExecute(test, t -> {
+                ExecutionResult executed = TestCaseExecutor.getInstance().execute(t);
+                MaxStatementsStoppingCondition.statementsExecuted(executed.getExecutedStatements());
+                return executed;
+            });
         } catch (Exception e) {
             logger.warn("TG: Exception caught: " + e.getMessage(), e);
             try {
@@ -223,7 +223,7 @@ public class TestSuiteMinimizer {
                 }
 
                 // TODO: Need proper list of covered goals
-                copy.getTestCase().clearCoveredGoals();
+                copy.getMutableTestCase().clearCoveredGoals();
 
                 // Add ALL goals covered by the minimized test
                 for (TestFitnessFunction g : goals) {
@@ -234,7 +234,7 @@ public class TestSuiteMinimizer {
                 }
 
                 minimizedTests.add(copy);
-                minimizedSuite.insertTest(copy.getTestCase());
+                minimizedSuite.insertTest(copy.getMutableTestCase());
 
                 logger.info("After new test the suite covers " + covered.size() + "/"
                         + goals.size() + " goals");
@@ -333,20 +333,20 @@ public class TestSuiteMinimizer {
                     boolean modified = false;
                     try {
                         TestFactory testFactory = TestFactory.getInstance();
-                        modified = testFactory.deleteStatementGracefully(testChromosome.getTestCase(), i);
+                        modified = testFactory.deleteStatementGracefully(testChromosome.getMutableTestCase(), i);
                     } catch (ConstructionFailedException e) {
                         modified = false;
                     }
 
                     if (!modified) {
                         testChromosome.setChanged(false);
-                        testChromosome.setTestCase(originalTestChromosome.getTestCase());
+                        testChromosome.setTestCase(originalTestChromosome.getMutableTestCase());
                         logger.debug("Deleting failed");
                         continue;
                     }
 
                     testChromosome.setChanged(true);
-                    testChromosome.getTestCase().clearCoveredGoals();
+                    testChromosome.getMutableTestCase().clearCoveredGoals();
 
                     List<Double> modifiedVerFitness = new ArrayList<>();
                     for (TestFitnessFactory<?> ff : testFitnessFactories)
@@ -386,7 +386,7 @@ public class TestSuiteMinimizer {
                                 + originalTestChromosome.getTestCase().getStatement(i).getCode());
                         logger.debug("Restoring fitness from " + modifiedVerFitness
                                 + " to " + fitness);
-                        testChromosome.setTestCase(originalTestChromosome.getTestCase());
+                        testChromosome.setTestCase(originalTestChromosome.getMutableTestCase());
                         testChromosome.setLastExecutionResult(originalTestChromosome.getLastExecutionResult());
                         testChromosome.setChanged(false);
                     }
@@ -73,7 +73,7 @@ public class SerializationSuiteChromosomeFactory
 
             for (TestChromosome tc : this.previousSuite) {
                 TestChromosome clone = tc.clone();
-                clone.getTestCase().removeAssertions(); // no assertions are used during search
+                clone.getMutableTestCase().removeAssertions(); // no assertions are used during search
                 tsc.addTest(clone);
             }
         } else {
@@ -451,7 +451,7 @@ public class TestSuiteLocalSearch implements LocalSearch<TestSuiteChromosome> {
             // without success, we reset all primitive values before trying
             // again
             if (test.hasLocalSearchBeenApplied()) {
-                TestCaseLocalSearch.randomizePrimitives(test.getTestCase());
+                TestCaseLocalSearch.randomizePrimitives(test.getMutableTestCase());
                 updateFitness(suite, objective.getFitnessFunctions());
             }
 
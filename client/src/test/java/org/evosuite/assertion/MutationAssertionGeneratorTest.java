@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import com.examples.with.different.packagename.SimpleInteger;
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.instrumentation.WorkerClassLoader;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.execution.TestExecutionWorkerPool;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MutationAssertionGeneratorTest {
+
+    private Class<?> sut;
+
+    @Before
+    public void setUp() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        // the search loader only retains the bytecode the workers need if they are enabled
+        Properties.TEST_EXECUTION_WORKERS = 4;
+        TestGenerationContext.getInstance().resetContext();
+        ClassReInitializer.resetSingleton();
+        Properties.TARGET_CLASS = SimpleInteger.class.getCanonicalName();
+        Properties.CRITERION = new Criterion[]{Criterion.MUTATION};
+        // workers are only used if the runtime is not reset before each test
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.RESET_STATIC_FIELDS = false;
+        sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+    }
+
+    @After
+    public void tearDown() {
+        TestExecutionWorkerPool.pullDown();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private DefaultTestCase createTest() throws NoSuchMethodException {
+        TestCaseBuilder builder = new TestCaseBuilder();
+        VariableReference callee = builder.appendConstructor(sut.getConstructor());
+        VariableReference x = builder.appendIntPrimitive(3);
+        VariableReference y = builder.appendIntPrimitive(4);
+        builder.appendMethod(callee, sut.getMethod("testInt", int.class, int.class), x, y);
+        builder.appendMethod(callee, sut.getMethod("testIntArray", int.class, int.class), x, y);
+        return builder.getDefaultTestCase();
+    }
+
+    /**
+     * Generate the assertions of the test with the given number of workers
+     *
+     * @return the killed mutants
+     */
+    private Set<Integer> generateAssertions(DefaultTestCase test, int workers) {
+        Properties.TEST_EXECUTION_WORKERS = workers;
+        // the mutants are shuffled before they are executed
+        Randomness.setSeed(42);
+        Set<Integer> killed = new LinkedHashSet<>();
+        new SimpleMutationAssertionGenerator().addAssertions(test, killed);
+        return killed;
+    }
+
+    private static List<String> getAssertions(DefaultTestCase test) {
+        List<String> assertions = new ArrayList<>();
+        for (Assertion assertion : test.getAssertions()) {
+            Object value = assertion.getValue();
+            assertions.add(assertion.getStatement().getPosition() + ": " + assertion.getClass().getSimpleName()
+                    + " " + (value instanceof Object[] ? Arrays.deepToString((Object[]) value) : value));
+        }
+        return assertions;
+    }
+
+    @Test
+    public void testSameAssertionsWithAndWithoutWorkers() throws NoSuchMethodException {
+        DefaultTestCase sequential = createTest();
+        Set<Integer> killedSequentially = generateAssertions(sequential, 1);
+
+        DefaultTestCase parallel = createTest();
+        Set<Integer> killedInParallel = generateAssertions(parallel, 4);
+        assertTrue(TestExecutionWorkerPool.isEnabled());
+        assertTrue(TestExecutionWorkerPool.getInstance().canIsolate(parallel));
+        List<Class<?>> executedClasses = TestExecutionWorkerPool.getInstance().execute(parallel,
+                Collections.singletonList((copy, loader) -> copy.getStatement(0).getReturnValue().getVariableClass()));
+        assertEquals(Properties.TARGET_CLASS, executedClasses.get(0).getName());
+        assertTrue(executedClasses.get(0).getClassLoader() instanceof WorkerClassLoader);
+
+        assertFalse(killedSequentially.isEmpty());
+        assertEquals(killedSequentially, killedInParallel);
+        assertFalse(sequential.getAssertions().isEmpty());
+        assertEquals(getAssertions(sequential), getAssertions(parallel));
+        assertEquals(sequential.toCode(), parallel.toCode());
+    }
+
+    @Test
+    public void testAssertionsReferToTheClassesOfTheTest() throws NoSuchMethodException {
+        DefaultTestCase test = createTest();
+        generateAssertions(test, 4);
+
+        ClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+        assertFalse(test.getAssertions().isEmpty());
+        for (Assertion assertion : test.getAssertions()) {
+            assertSame(assertion.getStatement(), test.getStatement(assertion.getStatement().getPosition()));
+            Class<?> clazz = assertion.getSource().getVariableClass();
+            if (clazz.getName().equals(Properties.TARGET_CLASS)) {
+                assertSame(loader, clazz.getClassLoader());
+            }
+        }
+    }
+}
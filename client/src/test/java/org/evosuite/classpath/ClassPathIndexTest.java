@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClassPathIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File newJar(String name) throws Exception {
+        File jar = folder.newFile(name);
+        Files.write(jar.toPath(), new byte[]{1, 2, 3});
+        return jar;
+    }
+
+    @Test
+    public void testClassesSurviveTheIndex() throws Exception {
+        File file = new File(folder.getRoot(), ClassPathIndex.INDEX_FILE_NAME);
+        File jar = newJar("a.jar");
+        List<String> classes = Arrays.asList("foo.Bar", "foo.Bar$1", "foo.baz.Qux");
+
+        ClassPathIndex index = new ClassPathIndex(file);
+        index.load();
+        assertNull(index.getClasses(jar));
+        index.putClasses(jar, classes);
+        index.flush();
+
+        ClassPathIndex loaded = new ClassPathIndex(file);
+        loaded.load();
+        assertEquals(1, loaded.size());
+        assertEquals(classes, loaded.getClasses(jar));
+    }
+
+    @Test
+    public void testChangedJarIsNotReturned() throws Exception {
+        File jar = newJar("a.jar");
+        File other = newJar("b.jar");
+
+        ClassPathIndex index = new ClassPathIndex(new File(folder.getRoot(), ClassPathIndex.INDEX_FILE_NAME));
+        index.putClasses(jar, Arrays.asList("foo.Bar"));
+        index.putClasses(other, Arrays.asList("foo.Other"));
+
+        try (RandomAccessFile content = new RandomAccessFile(jar, "rw")) {
+            content.setLength(10);
+        }
+        assertNull(index.getClasses(jar));
+        assertEquals(Arrays.asList("foo.Other"), index.getClasses(other));
+
+        index.putClasses(jar, Arrays.asList("foo.Bar", "foo.New"));
+        assertEquals(Arrays.asList("foo.Bar", "foo.New"), index.getClasses(jar));
+    }
+
+    @Test
+    public void testCorruptedIndexIsIgnored() throws Exception {
+        File file = new File(folder.getRoot(), ClassPathIndex.INDEX_FILE_NAME);
+        File jar = newJar("a.jar");
+
+        ClassPathIndex index = new ClassPathIndex(file);
+        index.putClasses(jar, Arrays.asList("foo.Bar"));
+        index.flush();
+
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length - 3));
+
+        ClassPathIndex loaded = new ClassPathIndex(file);
+        loaded.load();
+        assertEquals(0, loaded.size());
+        assertNull(loaded.getClasses(jar));
+    }
+}
@@ -21,6 +21,7 @@ package org.evosuite.classpath;
 
 import com.examples.with.different.packagename.classpath.Foo;
 import com.examples.with.different.packagename.classpath.subp.SubPackageFoo;
+import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.junit.Assert;
 import org.junit.Before;
@@ -30,8 +31,13 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ResourceListTest {
 
@@ -82,6 +88,42 @@ public class ResourceListTest {
         stream.close();
     }
 
+    @Test
+    public void testConcurrentStreamsFromJarsWithEviction() throws Exception {
+        File localJar = new File("local_test_data" + File.separator + "water-simulator.jar");
+        Assert.assertTrue("ERROR: file " + localJar + " should be avaialable on local file system", localJar.exists());
+        ClassPathHandler.getInstance().addElementToTargetProjectClassPath(localJar.getAbsolutePath());
+
+        int maxOpenJars = Properties.MAX_OPEN_JARS;
+        Properties.MAX_OPEN_JARS = 1;
+        try {
+            ResourceList resources = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+            // each class is in a different jar, so every read closes the jar of the other class
+            String[] classNames = {"simulator.DAWN", Test.class.getName()};
+            ExecutorService executor = Executors.newFixedThreadPool(classNames.length);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (String className : classNames) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            InputStream stream = resources.getClassAsStream(className);
+                            Assert.assertNotNull(stream);
+                            stream.close();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        } finally {
+            Properties.MAX_OPEN_JARS = maxOpenJars;
+        }
+    }
+
     @Test
     public void testHandleUnKnownJarFile() {
 
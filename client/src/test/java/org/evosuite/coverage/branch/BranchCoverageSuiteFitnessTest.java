@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import com.examples.with.different.packagename.FlagExample1;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BranchCoverageSuiteFitnessTest {
+
+    private Class<?> sut;
+
+    @Before
+    public void setUp() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Randomness.setSeed(42);
+        TestGenerationContext.getInstance().resetContext();
+        ClassReInitializer.resetSingleton();
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        Properties.TEST_ARCHIVE = false;
+        sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+    }
+
+    @After
+    public void tearDown() {
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private DefaultTestCase createTest(int x) throws NoSuchMethodException {
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+        GenericConstructor gc = new GenericConstructor(sut.getConstructors()[0], clazz);
+        GenericMethod method = new GenericMethod(sut.getMethod("testMe", int.class), sut);
+
+        DefaultTestCase test = new DefaultTestCase();
+        VariableReference callee = test.addStatement(new ConstructorStatement(test, gc,
+                Collections.emptyList()));
+        VariableReference value = test.addStatement(new IntPrimitiveStatement(test, x));
+        test.addStatement(new MethodStatement(test, method, callee, Collections.singletonList(value)));
+        return test;
+    }
+
+    private TestSuiteChromosome createSuite(int... values) throws NoSuchMethodException {
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        for (int x : values) {
+            suite.addTest(createTest(x));
+        }
+        return suite;
+    }
+
+    /**
+     * Evaluate copies of the tests of the suite, without any cached results
+     * or aggregate, with a fresh fitness function
+     */
+    private double getFullFitness(TestSuiteChromosome suite) {
+        TestSuiteChromosome copy = new TestSuiteChromosome();
+        for (TestChromosome test : suite.getTestChromosomes()) {
+            copy.addTest(test.getTestCase().clone());
+        }
+        return new BranchCoverageSuiteFitness().getFitness(copy);
+    }
+
+    @Test
+    public void testIncrementalFitnessAfterMutation() throws NoSuchMethodException {
+        BranchCoverageSuiteFitness ff = new BranchCoverageSuiteFitness();
+        TestSuiteChromosome suite = createSuite(0, 28241, 5);
+        double before = ff.getFitness(suite);
+        assertEquals(getFullFitness(suite), before, 0.0);
+
+        // Same change as a mutation of the value of the covering test
+        TestChromosome mutated = suite.getTestChromosome(1);
+        ((IntPrimitiveStatement) mutated.getMutableTestCase().getStatement(1)).setValue(1);
+        mutated.setChanged(true);
+        suite.setChanged(true);
+
+        double after = ff.getFitness(suite);
+        assertNotEquals(before, after, 0.0);
+        assertEquals(getFullFitness(suite), after, 0.0);
+
+        // Re-evaluating an unchanged suite uses the cached contributions only
+        assertEquals(after, ff.getFitness(suite), 0.0);
+    }
+
+    @Test
+    public void testIncrementalFitnessAfterCrossover() throws NoSuchMethodException, ConstructionFailedException {
+        BranchCoverageSuiteFitness ff = new BranchCoverageSuiteFitness();
+        TestSuiteChromosome parent1 = createSuite(0, 1, 2);
+        TestSuiteChromosome parent2 = createSuite(3, 28241, 4);
+        ff.getFitness(parent1);
+        ff.getFitness(parent2);
+
+        TestSuiteChromosome offspring1 = parent1.clone();
+        TestSuiteChromosome offspring2 = parent2.clone();
+        offspring1.crossOver(parent2, 1, 1);
+        offspring2.crossOver(parent1, 1, 1);
+
+        assertEquals(getFullFitness(offspring1), ff.getFitness(offspring1), 0.0);
+        assertEquals(getFullFitness(offspring2), ff.getFitness(offspring2), 0.0);
+        assertEquals(getFullFitness(parent1), ff.getFitness(parent1), 0.0);
+        assertEquals(getFullFitness(parent2), ff.getFitness(parent2), 0.0);
+    }
+
+    @Test
+    public void testIncrementalFitnessAfterTimeout() throws NoSuchMethodException {
+        BranchCoverageSuiteFitness ff = new BranchCoverageSuiteFitness();
+        TestSuiteChromosome suite = createSuite(0, 28241, 5);
+        double before = ff.getFitness(suite);
+
+        TestChromosome timedOut = suite.getTestChromosome(1);
+        ExecutionResult result = timedOut.getLastExecutionResult();
+        result.reportNewThrownException(timedOut.size(), new TestCaseExecutor.TimeoutExceeded());
+        assertTrue(result.hasTimeout());
+        assertEquals(ff.getMaxValue(), ff.getFitness(suite), 0.0);
+
+        // The test is executed again without a timeout
+        timedOut.setChanged(true);
+        suite.setChanged(true);
+        double after = ff.getFitness(suite);
+        assertEquals(before, after, 0.0);
+        assertEquals(getFullFitness(suite), after, 0.0);
+    }
+
+    @Test
+    public void testCoveredGoalsRecordedForCachedResults() throws NoSuchMethodException {
+        BranchCoverageSuiteFitness ff = new BranchCoverageSuiteFitness();
+        TestSuiteChromosome suite = createSuite(28241);
+        ff.getFitness(suite);
+        TestChromosome test = suite.getTestChromosome(0);
+        assertFalse(test.getTestCase().getCoveredGoals().isEmpty());
+
+        // The clone has a copy of the result with the cached contribution
+        TestSuiteChromosome clone = suite.clone();
+        TestChromosome copy = clone.getTestChromosome(0);
+        copy.getMutableTestCase().clearCoveredGoals();
+        assertTrue(copy.getTestCase().getCoveredGoals().isEmpty());
+
+        ff.getFitness(clone);
+        assertEquals(test.getTestCase().getCoveredGoals(), copy.getTestCase().getCoveredGoals());
+    }
+
+    @Test
+    public void testCoveredGoalsOfCachedResultsAreRecordedOnce() throws NoSuchMethodException {
+        BranchCoverageSuiteFitness ff = new BranchCoverageSuiteFitness();
+        TestSuiteChromosome suite = createSuite(28241);
+        ff.getFitness(suite);
+        TestChromosome test = suite.getTestChromosome(0);
+        assertFalse(test.getTestCase().getCoveredGoals().isEmpty());
+
+        // Evaluating the same result for the same test does not record its goals again
+        test.getMutableTestCase().clearCoveredGoals();
+        ff.getFitness(suite);
+        assertTrue(test.getTestCase().getCoveredGoals().isEmpty());
+    }
+}
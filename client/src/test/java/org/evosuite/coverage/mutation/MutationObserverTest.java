@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class MutationObserverTest {
+
+    @After
+    public void reset() {
+        MutationObserver.unbindFromCurrentThread();
+        MutationObserver.deactivateMutation();
+    }
+
+    @Test
+    public void testGlobalActivation() {
+        MutationObserver.activateMutation(3);
+        assertEquals(3, MutationObserver.getActiveMutation());
+        assertEquals(3, MutationObserver.activeMutation);
+        MutationObserver.deactivateMutation();
+        assertEquals(-1, MutationObserver.getActiveMutation());
+    }
+
+    @Test
+    public void testWorkerActivationIsIsolated() throws InterruptedException {
+        MutationObserver.activateMutation(1);
+
+        MutationObserver worker = MutationObserver.newWorkerInstance();
+        AtomicInteger onWorker = new AtomicInteger();
+        AtomicInteger onSpawnedThread = new AtomicInteger();
+        Thread thread = new Thread(() -> {
+            MutationObserver.bindToCurrentThread(worker);
+            MutationObserver.activateMutation(2);
+            onWorker.set(MutationObserver.getActiveMutation());
+
+            // test execution threads spawned by the worker share its mutation
+            Thread spawned = new Thread(() -> onSpawnedThread.set(MutationObserver.getActiveMutation()));
+            spawned.start();
+            try {
+                spawned.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            MutationObserver.unbindFromCurrentThread();
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(2, onWorker.get());
+        assertEquals(2, onSpawnedThread.get());
+        assertEquals(1, MutationObserver.getActiveMutation());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MIOArchiveTest {
+
+    private MIOArchive archive;
+
+    @Before
+    public void setUp() {
+        Properties.CRITERION = new Criterion[]{Criterion.METHOD};
+        archive = new MIOArchive();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static TestFitnessFunction goal(String methodName) {
+        return new MethodCoverageTestFitness("com.example.Foo", methodName);
+    }
+
+    private static TestChromosome solution() {
+        TestChromosome test = new TestChromosome();
+        test.setTestCase(new DefaultTestCase());
+        ExecutionResult result = new ExecutionResult(test.getTestCase());
+        result.setTrace(new ExecutionTraceImpl());
+        test.setLastExecutionResult(result);
+        return test;
+    }
+
+    @Test
+    public void testPartialSolutionsDoNotCover() {
+        TestFitnessFunction a = goal("a()V");
+        TestFitnessFunction b = goal("b()V");
+        archive.addTargets(Arrays.asList(a, b));
+        archive.addTarget(a);
+        assertEquals(2, archive.getNumberOfTargets());
+
+        TestChromosome partial = solution();
+        archive.updateArchive(a, partial, 0.5);
+        assertFalse(archive.hasSolution(a));
+        assertNull(archive.getSolution(a));
+        assertEquals(0, archive.getNumberOfCoveredTargets());
+        assertTrue(archive.isArchiveEmpty());
+        // the only target with a solution is sampled
+        assertEquals(partial.getTestCase(), archive.getSolution().getTestCase());
+
+        TestChromosome covering = solution();
+        archive.updateArchive(a, covering, 0.0);
+        assertTrue(archive.hasSolution(a));
+        assertSame(covering, archive.getSolution(a));
+        assertEquals(Arrays.asList(a), new ArrayList<>(archive.getCoveredTargets()));
+        assertEquals(Arrays.asList(b), new ArrayList<>(archive.getUncoveredTargets()));
+        assertEquals(1, archive.getNumberOfUncoveredTargets());
+        assertEquals(1, archive.getNumberOfSolutions());
+
+        archive.reset();
+        assertEquals(0, archive.getNumberOfTargets());
+        assertTrue(archive.isArchiveEmpty());
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        List<TestFitnessFunction> goals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            goals.add(goal("m" + i + "()V"));
+        }
+        archive.addTargets(goals.subList(0, 100));
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                // targets may be registered while others are updated
+                archive.addTargets(goals.subList(100, 200));
+                for (TestFitnessFunction goal : goals) {
+                    archive.updateArchive(goal, solution(), 0.5);
+                    archive.updateArchive(goal, solution(), 0.0);
+                    archive.getSolution();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(200, archive.getNumberOfTargets());
+        assertEquals(200, archive.getNumberOfCoveredTargets());
+        assertEquals(0, archive.getNumberOfUncoveredTargets());
+        for (TestFitnessFunction goal : goals) {
+            assertNotNull(archive.getSolution(goal));
+        }
+    }
+}
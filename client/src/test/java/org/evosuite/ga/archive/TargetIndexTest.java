@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TargetIndexTest {
+
+    private static TestFitnessFunction goal(String methodName) {
+        return new MethodCoverageTestFitness("com.example.Foo", methodName);
+    }
+
+    @Test
+    public void testRegisterAssignsDenseIds() {
+        TargetIndex index = new TargetIndex();
+        assertEquals(0, index.register(goal("a()V"), "com.example.Foo.a()V"));
+        assertEquals(1, index.register(goal("b()V"), "com.example.Foo.b()V"));
+        // already known
+        assertEquals(0, index.register(goal("a()V"), "com.example.Foo.a()V"));
+
+        assertEquals(2, index.size());
+        assertEquals(1, index.getId(goal("b()V")));
+        assertEquals(-1, index.getId(goal("c()V")));
+        assertEquals(goal("b()V"), index.getTarget(1));
+    }
+
+    @Test
+    public void testMarkCovered() {
+        TargetIndex index = new TargetIndex();
+        int first = index.register(goal("a()V"), "m");
+        int second = index.register(goal("b()V"), "m");
+        assertEquals(2, index.getNumberOfRemainingTargets("m"));
+        assertEquals(0, index.getNumberOfRemainingTargets("unknown"));
+
+        assertEquals(1, index.markCovered(second));
+        assertEquals(-1, index.markCovered(second));
+        assertTrue(index.isCovered(second));
+        assertFalse(index.isCovered(first));
+        assertEquals(Arrays.asList(goal("b()V")), new ArrayList<>(index.getTargets(true)));
+        assertEquals(Arrays.asList(goal("a()V")), new ArrayList<>(index.getTargets(false)));
+
+        assertEquals(0, index.markCovered(first));
+        assertEquals(2, index.getNumberOfCovered());
+        assertEquals(0, index.getNumberOfUncovered());
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        TargetIndex index = new TargetIndex();
+        TestChromosome solution = new TestChromosome();
+        for (int i = 0; i < 1000; i++) {
+            index.register(goal("m" + i + "()V"), "m" + (i % 300));
+        }
+        index.markCovered(999);
+        index.setSolution(999, solution);
+        index.markCovered(70);
+
+        assertEquals(1000, index.size());
+        assertTrue(index.isCovered(999));
+        assertSame(solution, index.getSolution(999));
+        assertNull(index.getSolution(70));
+        assertEquals(3, index.getNumberOfRemainingTargets("m70"));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.getNumberOfCovered());
+        assertEquals(0, index.getNumberOfRemainingTargets("m70"));
+    }
+
+    @Test
+    public void testConcurrentCoverageIsCountedOnce() throws InterruptedException {
+        TargetIndex index = new TargetIndex();
+        for (int i = 0; i < 500; i++) {
+            index.register(goal("m" + i + "()V"), "m" + (i % 10));
+        }
+
+        AtomicInteger fullyCoveredMethods = new AtomicInteger(0);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int id = 0; id < 500; id++) {
+                    if (index.markCovered(id) == 0) {
+                        fullyCoveredMethods.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(500, index.getNumberOfCovered());
+        assertEquals(10, fullyCoveredMethods.get());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EfficientPreferenceSortingTest {
+
+    private static class Goal extends FitnessFunction<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(DummyChromosome individual) {
+            throw new IllegalStateException("fitness values are set by the test");
+        }
+
+        @Override
+        public boolean isMaximizationFunction() {
+            return false;
+        }
+    }
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static List<DummyChromosome> createPopulation(int size, Set<Goal> goals, int maxFitness) {
+        List<DummyChromosome> population = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            DummyChromosome chromosome = new DummyChromosome(i);
+            for (Goal goal : goals) {
+                chromosome.setFitness(goal, Randomness.nextInt(maxFitness));
+            }
+            population.add(chromosome);
+        }
+        return population;
+    }
+
+    private static Set<Goal> createGoals(int size) {
+        Set<Goal> goals = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            goals.add(new Goal());
+        }
+        return goals;
+    }
+
+    private static void assertSameRanking(List<DummyChromosome> population, Set<Goal> goals) {
+        long seed = Randomness.getSeed();
+        RankBasedPreferenceSorting<DummyChromosome> expected = new RankBasedPreferenceSorting<>();
+        Randomness.setSeed(seed);
+        expected.computeRankingAssignment(population, goals);
+
+        EfficientPreferenceSorting<DummyChromosome> actual = new EfficientPreferenceSorting<>();
+        Randomness.setSeed(seed);
+        actual.computeRankingAssignment(population, goals);
+
+        assertEquals(expected.getNumberOfSubfronts(), actual.getNumberOfSubfronts());
+        for (int rank = 0; rank < expected.getNumberOfSubfronts(); rank++) {
+            assertEquals(expected.getSubfront(rank), actual.getSubfront(rank));
+        }
+    }
+
+    @Test
+    public void testSameFrontsAsPreferenceSorting() {
+        Properties.POPULATION = 1000;
+        Randomness.setSeed(42);
+        for (int run = 0; run < 20; run++) {
+            Set<Goal> goals = createGoals(1 + Randomness.nextInt(10));
+            assertSameRanking(createPopulation(50, goals, 4), goals);
+        }
+    }
+
+    @Test
+    public void testStopsRankingOncePopulationIsFilled() {
+        Properties.POPULATION = 10;
+        Randomness.setSeed(42);
+        Set<Goal> goals = createGoals(3);
+        List<DummyChromosome> population = createPopulation(100, goals, 20);
+        assertSameRanking(population, goals);
+
+        EfficientPreferenceSorting<DummyChromosome> sorting = new EfficientPreferenceSorting<>();
+        sorting.computeRankingAssignment(population, goals);
+        int ranked = 0;
+        for (int rank = 0; rank < sorting.getNumberOfSubfronts() - 1; rank++) {
+            ranked += sorting.getSubfront(rank).size();
+        }
+        assertTrue(ranked < Properties.POPULATION);
+    }
+
+    @Test
+    public void testAllSolutionsAreRanked() {
+        Properties.POPULATION = 1000;
+        Randomness.setSeed(7);
+        Set<Goal> goals = createGoals(5);
+        List<DummyChromosome> population = createPopulation(200, goals, 10);
+
+        EfficientPreferenceSorting<DummyChromosome> sorting = new EfficientPreferenceSorting<>();
+        sorting.computeRankingAssignment(population, goals);
+
+        int total = 0;
+        for (int rank = 0; rank < sorting.getNumberOfSubfronts(); rank++) {
+            for (DummyChromosome c : sorting.getSubfront(rank)) {
+                assertEquals(rank, c.getRank());
+            }
+            total += sorting.getSubfront(rank).size();
+        }
+        assertEquals(population.size(), total);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import com.examples.with.different.packagename.ArrayStack;
+import com.examples.with.different.packagename.mock.java.lang.WithoutHashCode;
+import org.apache.commons.io.IOUtils;
+import org.evosuite.Properties;
+import org.evosuite.assertion.CheapPurityAnalyzer;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.LoopCounter;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.instrumentation.MethodCallReplacementCache;
+import org.evosuite.setup.DependencyAnalysis;
+import org.objectweb.asm.ClassReader;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class InstrumentedClassCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final byte[] original = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 1, 2};
+
+    private final byte[] instrumented = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 3, 4, 5, 6};
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+        InstrumentedClassCache.resetSingleton();
+        LoopCounter.getInstance().reset();
+        RuntimeSettings.mockJVMNonDeterminism = false;
+        MethodCallReplacementCache.resetSingleton();
+    }
+
+    @Test
+    public void testKeyDependsOnClassAndConfiguration() {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot());
+        String key = cache.getKey("com/example/Foo", original);
+        assertEquals(key, cache.getKey("com/example/Foo", original.clone()));
+        assertNotEquals(key, cache.getKey("com/example/Bar", original));
+        assertNotEquals(key, cache.getKey("com/example/Foo", instrumented));
+
+        Properties.RESET_STATIC_FIELDS = !Properties.RESET_STATIC_FIELDS;
+        assertNotEquals(key, cache.getKey("com/example/Foo", original));
+    }
+
+    @Test
+    public void testStampOfClassDirectoryChangesWithAnyClass() throws Exception {
+        File dir = folder.newFolder("classes");
+        File classFile = new File(dir, "org/evosuite/Foo.class");
+        assertTrue(classFile.getParentFile().mkdirs());
+        Files.write(classFile.toPath(), original);
+        Files.write(new File(dir, "org/evosuite/Bar.class").toPath(), original);
+
+        String stamp = InstrumentedClassCache.getClassFilesStamp(dir.toPath());
+        assertEquals(stamp, InstrumentedClassCache.getClassFilesStamp(dir.toPath()));
+
+        Files.write(new File(dir, "readme.txt").toPath(), original);
+        assertEquals(stamp, InstrumentedClassCache.getClassFilesStamp(dir.toPath()));
+
+        // recompiling a class changes neither the size nor the time of the directory
+        Files.write(classFile.toPath(), instrumented);
+        assertNotEquals(stamp, InstrumentedClassCache.getClassFilesStamp(dir.toPath()));
+    }
+
+    @Test
+    public void testEntriesSurviveTheCache() {
+        File dir = new File(folder.getRoot(), "cache");
+        InstrumentedClassCache cache = new InstrumentedClassCache(dir);
+        String key = cache.getKey("com/example/Foo", original);
+        assertNull(cache.get(key));
+
+        cache.put(key, instrumented, 5, 2);
+
+        InstrumentedClassCache.Entry entry = new InstrumentedClassCache(dir).get(key);
+        assertNotNull(entry);
+        assertArrayEquals(instrumented, entry.getBytes());
+        assertEquals(5, entry.getFirstLoopIndex());
+        assertEquals(2, entry.getNumberOfLoops());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLoopIndicesMustMatch() {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot());
+        cache.put("withLoops", instrumented, 5, 2);
+        cache.put("withoutLoops", instrumented, 5, 0);
+
+        assertTrue(cache.get("withLoops").isValid(5));
+        assertFalse(cache.get("withLoops").isValid(7));
+        assertTrue(cache.get("withoutLoops").isValid(7));
+    }
+
+    @Test
+    public void testCorruptedEntryIsIgnored() throws Exception {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot());
+        cache.put("key", instrumented, 0, 0);
+        Files.write(new File(folder.getRoot(), "key.class").toPath(), new byte[]{0, 0, 0, 1, 0});
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testEvictionDeletesLeastRecentlyUsedEntries() throws Exception {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot());
+        long now = System.currentTimeMillis();
+        String[] keys = {"old", "used", "new"};
+        for (int i = 0; i < keys.length; i++) {
+            cache.put(keys[i], new byte[1000], 0, 0);
+            assertTrue(new File(folder.getRoot(), keys[i] + ".class").setLastModified(now - (3 - i) * 60_000L));
+        }
+        // reading an entry makes it the most recently used
+        assertNotNull(cache.get("old"));
+        File stale = folder.newFile("stale.tmp");
+        assertTrue(stale.setLastModified(now - 2 * 60 * 60 * 1000L));
+        File recent = folder.newFile("recent.tmp");
+
+        cache.evict(2500);
+
+        assertNotNull(cache.get("old"));
+        assertNull(cache.get("used"));
+        assertNotNull(cache.get("new"));
+        assertFalse(stale.exists());
+        assertTrue(recent.exists());
+    }
+
+    private byte[] instrument(BytecodeInstrumentation instrumentation, String className) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(className + ".class")) {
+            assertNotNull(in);
+            return instrumentation.transformBytes(getClass().getClassLoader(), className, new ClassReader(in));
+        }
+    }
+
+    @Test
+    public void testHitAssignsTheLoopIndices() throws Exception {
+        Properties.INSTRUMENTATION_CACHE = true;
+        Properties.CTG_DIR = folder.getRoot().getAbsolutePath();
+        Properties.TARGET_CLASS = "";
+        String className = ArrayStack.class.getName().replace('.', '/');
+        BytecodeInstrumentation instrumentation = new BytecodeInstrumentation();
+
+        LoopCounter.getInstance().reset();
+        byte[] instrumented = instrument(instrumentation, className);
+        int numberOfLoops = LoopCounter.getInstance().peekNewIndex();
+        assertTrue(numberOfLoops > 0);
+
+        LoopCounter.getInstance().reset();
+        byte[] cached = instrument(instrumentation, className);
+        assertEquals(1, InstrumentedClassCache.getInstance().getHits());
+        assertArrayEquals(instrumented, cached);
+        assertEquals(numberOfLoops, LoopCounter.getInstance().peekNewIndex());
+    }
+
+    @Test
+    public void testHitCollectsTheDataOfTheInstrumentedClass() throws Exception {
+        Properties.INSTRUMENTATION_CACHE = true;
+        Properties.CTG_DIR = folder.getRoot().getAbsolutePath();
+        Properties.TARGET_CLASS = "";
+        Properties.PURE_INSPECTORS = true;
+        Properties.REPLACE_CALLS = true;
+        RuntimeSettings.mockJVMNonDeterminism = true;
+        MethodCallReplacementCache.resetSingleton();
+        String className = WithoutHashCode.class.getName().replace('.', '/');
+
+        byte[] original;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(className + ".class")) {
+            assertNotNull(in);
+            original = IOUtils.toByteArray(in);
+        }
+        // the purity analysis looks for overriding methods in the inheritance tree
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        File classPath = folder.newFolder("classpath");
+        File classFile = new File(classPath, className + ".class");
+        assertTrue(classFile.getParentFile().mkdirs());
+        Files.write(classFile.toPath(), original);
+        DependencyAnalysis.initInheritanceTree(Collections.singletonList(classPath.getAbsolutePath()));
+
+        // only the data collected on the hit is checked, so any bytes can be cached
+        InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+        cache.put(cache.getKey(className, original), original, 0, 0);
+
+        instrument(new BytecodeInstrumentation(), className);
+        assertEquals(1, cache.getHits());
+
+        // as on a miss, the purity analysis has to see the hashCode() method added by the mock instrumentation
+        assertTrue(CheapPurityAnalyzer.getInstance().getPureMethods(WithoutHashCode.class.getName())
+                .contains("hashCode()I"));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import com.examples.with.different.packagename.staticusage.SUTwithPublicStaticField;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WorkerClassLoaderTest {
+
+    private static final String CLASS_NAME = SUTwithPublicStaticField.class.getName();
+
+    @BeforeClass
+    public static void initClass() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Test
+    public void testStaticStateIsNotShared() throws Exception {
+        Properties.TEST_EXECUTION_WORKERS = 2;
+        InstrumentingClassLoader instrumenting = new InstrumentingClassLoader();
+        WorkerClassLoader first = new WorkerClassLoader(instrumenting);
+        WorkerClassLoader second = new WorkerClassLoader(instrumenting);
+
+        Class<?> searchClass = instrumenting.loadClass(CLASS_NAME);
+        Class<?> firstClass = first.loadClass(CLASS_NAME);
+        Class<?> secondClass = second.loadClass(CLASS_NAME);
+
+        assertSame(first, firstClass.getClassLoader());
+        assertNotSame(searchClass, firstClass);
+        assertNotSame(firstClass, secondClass);
+        assertSame(firstClass, first.loadClass(CLASS_NAME));
+
+        firstClass.getField("aPublicStaticField").setInt(null, 42);
+        assertEquals(0, secondClass.getField("aPublicStaticField").getInt(null));
+        assertEquals(0, searchClass.getField("aPublicStaticField").getInt(null));
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testClassLoadedBeforeBytecodeWasRetained() throws Exception {
+        Properties.TEST_EXECUTION_WORKERS = 1;
+        InstrumentingClassLoader instrumenting = new InstrumentingClassLoader();
+        instrumenting.loadClass(CLASS_NAME);
+
+        // the class of the search must not be shared with the worker
+        Properties.TEST_EXECUTION_WORKERS = 2;
+        new WorkerClassLoader(instrumenting).loadClass(CLASS_NAME);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.util.Arrays;
+import java.util.Map;
+
+public class InMemoryJavaFileManagerTest {
+
+    @Test
+    public void testCompileInMemory() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+
+        InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+                compiler.getStandardFileManager(null, null, null));
+
+        for (int i = 0; i < 2; i++) {
+            fileManager.clearCompiledClasses();
+            boolean compiled = compiler.getTask(null, fileManager, null, null, null, Arrays.asList(
+                    InMemoryJavaFileManager.createSource("foo.Bar_ESTest",
+                            "package foo; public class Bar_ESTest extends Bar_ESTest_scaffolding {"
+                                    + " Runnable r = new Runnable() { public void run() {} }; }"),
+                    InMemoryJavaFileManager.createSource("foo.Bar_ESTest_scaffolding",
+                            "package foo; public class Bar_ESTest_scaffolding { }")
+            )).call();
+            Assert.assertTrue(compiled);
+
+            Map<String, byte[]> classes = fileManager.getCompiledClasses();
+            Assert.assertEquals(3, classes.size());
+            Assert.assertTrue(classes.containsKey("foo.Bar_ESTest"));
+            Assert.assertTrue(classes.containsKey("foo.Bar_ESTest$1"));
+            Assert.assertTrue(classes.containsKey("foo.Bar_ESTest_scaffolding"));
+            Assert.assertTrue(classes.get("foo.Bar_ESTest").length > 0);
+        }
+    }
+
+    @Test
+    public void testCompilationError() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+
+        InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+                compiler.getStandardFileManager(null, null, null));
+        boolean compiled = compiler.getTask(null, fileManager, e -> { }, null, null, Arrays.asList(
+                InMemoryJavaFileManager.createSource("foo.Broken", "package foo; public class Broken { int x = ; }")
+        )).call();
+        Assert.assertFalse(compiled);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.Properties.MigrationTopology;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class IslandTopologyTest {
+
+    @Test
+    public void testRingSkipsClientsNotSearching() {
+        IslandTopology topology = new IslandTopology(MigrationTopology.RING, 4);
+        assertEquals(Collections.singletonList(2), topology.getNeighbours(1, id -> true));
+        assertEquals(Collections.singletonList(0), topology.getNeighbours(3, id -> true));
+        assertEquals(Collections.singletonList(3), topology.getNeighbours(1, id -> id != 2));
+        assertEquals(Collections.emptyList(), topology.getNeighbours(1, id -> id == 1));
+    }
+
+    @Test
+    public void testStar() {
+        IslandTopology topology = new IslandTopology(MigrationTopology.STAR, 4);
+        assertEquals(Arrays.asList(1, 2, 3), topology.getNeighbours(0, id -> true));
+        assertEquals(Collections.singletonList(0), topology.getNeighbours(2, id -> true));
+        assertEquals(Collections.emptyList(), topology.getNeighbours(2, id -> id != 0));
+    }
+
+    @Test
+    public void testFullyConnected() {
+        IslandTopology topology = new IslandTopology(MigrationTopology.FULLY_CONNECTED, 4);
+        assertEquals(Arrays.asList(0, 1, 3), topology.getNeighbours(2, id -> true));
+        assertEquals(Arrays.asList(0, 3), topology.getNeighbours(2, id -> id != 1));
+    }
+}
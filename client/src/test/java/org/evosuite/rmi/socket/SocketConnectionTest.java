@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.socket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SocketConnectionTest {
+
+    public enum Color {RED, GREEN}
+
+    public interface Master {
+        String register(String identifier) throws RemoteException;
+
+        Object[] echo(Object[] values) throws RemoteException;
+
+        List<Integer> reverse(List<Integer> values) throws RemoteException;
+
+        void fail(String message) throws RemoteException;
+
+        boolean await(long timeoutInMs) throws RemoteException, InterruptedException;
+    }
+
+    public interface Client {
+        String getName() throws RemoteException;
+    }
+
+    private static final ThreadFactory DAEMONS = r -> {
+        Thread thread = new Thread(r);
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    private SocketServer<Client> server;
+
+    private SocketConnection connection;
+
+    private Master master;
+
+    private class MasterImpl implements Master {
+        @Override
+        public String register(String identifier) throws RemoteException {
+            // call back the client while its call is in progress
+            return identifier + ":" + server.getRemote(identifier).getName();
+        }
+
+        @Override
+        public Object[] echo(Object[] values) {
+            return values;
+        }
+
+        @Override
+        public List<Integer> reverse(List<Integer> values) {
+            List<Integer> reversed = new ArrayList<>(values);
+            Collections.reverse(reversed);
+            return reversed;
+        }
+
+        @Override
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        @Override
+        public boolean await(long timeoutInMs) throws InterruptedException {
+            return released.await(timeoutInMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Before
+    public void connect() throws Exception {
+        server = new SocketServer<>(Client.class, DAEMONS);
+        int port = server.bind();
+        server.start(new MasterImpl(), Master.class);
+
+        connection = SocketConnection.connect(port, "ClientNode0", DAEMONS);
+        master = connection.createProxy(Master.class);
+        connection.start((Client) () -> "client", Client.class);
+    }
+
+    @After
+    public void close() {
+        connection.close();
+        server.close();
+    }
+
+    @Test
+    public void testCallsInBothDirections() throws Exception {
+        assertEquals("ClientNode0:client", master.register("ClientNode0"));
+    }
+
+    @Test
+    public void testValuesAreTransferred() throws Exception {
+        Object[] values = new Object[]{null, true, 42, 7L, 0.5, "text", Color.GREEN, new Color[]{Color.RED}};
+        Object[] received = master.echo(values);
+        assertEquals(values.length, received.length);
+        for (int i = 0; i < values.length - 1; i++) {
+            assertEquals(values[i], received[i]);
+        }
+        assertArrayEquals((Color[]) values[7], (Color[]) received[7]);
+
+        // not encoded by the codec, falls back to serialization
+        assertEquals(Arrays.asList(3, 2, 1), master.reverse(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test
+    public void testExceptionIsRethrown() throws Exception {
+        try {
+            master.fail("expected");
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("expected", e.getMessage());
+        }
+        // the connection is still usable
+        assertEquals("ClientNode0:client", master.register("ClientNode0"));
+    }
+
+    @Test
+    public void testBlockingCallDoesNotBlockOthers() throws Exception {
+        Thread waiting = DAEMONS.newThread(() -> {
+            try {
+                master.await(10_000);
+            } catch (Exception ignored) {
+            }
+        });
+        waiting.start();
+        assertArrayEquals(new Object[]{"a"}, master.echo(new Object[]{"a"}));
+        released.countDown();
+        waiting.join(10_000);
+        assertFalse(waiting.isAlive());
+    }
+
+    @Test(expected = RemoteException.class)
+    public void testClosedConnection() throws Exception {
+        server.close();
+        connection.close();
+        master.echo(new Object[0]);
+    }
+}
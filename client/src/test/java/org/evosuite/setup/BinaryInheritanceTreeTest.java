@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class BinaryInheritanceTreeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static InheritanceTree createTree() {
+        InheritanceTree tree = new InheritanceTree();
+        tree.registerInterface("foo/Shape");
+        tree.registerAbstractClass("foo/AbstractShape");
+        tree.addSuperclass("foo/AbstractShape", "java/lang/Object", 0);
+        tree.addInterface("foo/AbstractShape", "foo/Shape");
+        tree.addSuperclass("foo/Square", "foo/AbstractShape", 0);
+        tree.addInterface("foo/Square", "java/lang/Comparable");
+        tree.addAnalyzedMethod("foo.AbstractShape", "<init>", "()V");
+        tree.addAnalyzedMethod("foo.Square", "<init>", "()V");
+        tree.addAnalyzedMethod("foo.Square", "area", "()D");
+        // only registered, e.g. a non-public class of the JDK
+        tree.registerInterface("foo/Hidden");
+        return tree;
+    }
+
+    private static void assertSameTree(InheritanceTree expected, InheritanceTree actual) {
+        assertEquals(Arrays.asList(expected.getAllClasses().toArray()), Arrays.asList(actual.getAllClasses().toArray()));
+        for (String className : expected.getAllClasses()) {
+            assertEquals(expected.getSubclasses(className), actual.getSubclasses(className));
+            assertEquals(expected.getOrderedSuperclasses(className), actual.getOrderedSuperclasses(className));
+            assertEquals(expected.isInterface(className), actual.isInterface(className));
+            assertEquals(expected.isAbstractClass(className), actual.isAbstractClass(className));
+            assertEquals(expected.isClassDefined(className), actual.isClassDefined(className));
+        }
+    }
+
+    @Test
+    public void testTreeSurvivesBinaryFormat() throws IOException {
+        InheritanceTree tree = createTree();
+        File file = folder.newFile("tree.bin");
+        InheritanceTreeGenerator.writeBinaryInheritanceTree(tree, file);
+
+        assertTrue(BinaryInheritanceTree.isBinary(file));
+        InheritanceTree loaded = InheritanceTreeGenerator.readInheritanceTree(file.getAbsolutePath());
+
+        assertSameTree(tree, loaded);
+        assertTrue(loaded.isInterface("foo.Hidden"));
+        assertFalse(loaded.hasClass("foo.Hidden"));
+        assertTrue(loaded.isMethodDefined("foo.Square", "area", "()D"));
+        assertFalse(loaded.isMethodDefined("foo.Square", "perimeter", "()D"));
+        assertFalse(loaded.isClassDefined("foo.Shape"));
+    }
+
+    @Test
+    public void testMethodsCanBeAddedToLazyClasses() throws IOException {
+        File file = folder.newFile("tree.bin");
+        BinaryInheritanceTree.write(createTree(), file);
+        InheritanceTree loaded = BinaryInheritanceTree.read(file);
+
+        loaded.addAnalyzedMethod("foo.Square", "perimeter", "()D");
+        assertTrue(loaded.isMethodDefined("foo.Square", "area()D"));
+        assertTrue(loaded.isMethodDefined("foo.Square", "perimeter()D"));
+
+        // written again after being read
+        File copy = folder.newFile("copy.bin");
+        BinaryInheritanceTree.write(loaded, copy);
+        InheritanceTree reloaded = BinaryInheritanceTree.read(copy);
+        assertSameTree(loaded, reloaded);
+        assertTrue(reloaded.isMethodDefined("foo.AbstractShape", "<init>()V"));
+        assertTrue(reloaded.isMethodDefined("foo.Square", "perimeter()D"));
+    }
+
+    @Test
+    public void testTruncatedFileIsRejected() throws IOException {
+        File file = folder.newFile("tree.bin");
+        BinaryInheritanceTree.write(createTree(), file);
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length / 2));
+
+        try {
+            BinaryInheritanceTree.read(file);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOtherFilesAreNotBinary() throws IOException {
+        File file = folder.newFile("tree.xml.gz");
+        Files.write(file.toPath(), new byte[]{0x1f, (byte) 0x8b, 8, 0});
+        assertFalse(BinaryInheritanceTree.isBinary(file));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ConstraintSetIndexTest {
+
+    private static Constraint<?> constraint(int value) {
+        return new IntegerConstraint(new IntegerConstant(value), Comparator.EQ, new IntegerConstant(0));
+    }
+
+    private static Set<Constraint<?>> constraintSet(int... values) {
+        Set<Constraint<?>> set = new HashSet<>();
+        for (int value : values) {
+            set.add(constraint(value));
+        }
+        return set;
+    }
+
+    @Test
+    public void testAddAndContains() {
+        ConstraintSetIndex index = new ConstraintSetIndex();
+        assertTrue(index.add(constraintSet(1, 2, 3)));
+        assertFalse(index.add(constraintSet(3, 2, 1)));
+        assertTrue(index.add(constraintSet(1, 2)));
+        assertEquals(2, index.size());
+
+        assertTrue(index.contains(constraintSet(2, 1)));
+        assertFalse(index.contains(constraintSet(1)));
+        assertFalse(index.contains(constraintSet(1, 4)));
+    }
+
+    @Test
+    public void testGetSupersetOf() {
+        ConstraintSetIndex index = new ConstraintSetIndex();
+        index.add(constraintSet(1, 2, 3));
+        index.add(constraintSet(2, 4));
+
+        assertEquals(constraintSet(1, 2, 3), index.getSupersetOf(constraintSet(1, 3)));
+        assertEquals(constraintSet(2, 4), index.getSupersetOf(constraintSet(4)));
+        assertNotNull(index.getSupersetOf(constraintSet()));
+        assertNull(index.getSupersetOf(constraintSet(3, 4)));
+        assertNull(index.getSupersetOf(constraintSet(5)));
+    }
+
+    @Test
+    public void testGetSubsetOf() {
+        ConstraintSetIndex index = new ConstraintSetIndex();
+        index.add(constraintSet(1, 2, 3));
+        index.add(constraintSet(2, 4));
+
+        assertEquals(constraintSet(2, 4), index.getSubsetOf(constraintSet(2, 4, 5)));
+        assertEquals(constraintSet(1, 2, 3), index.getSubsetOf(constraintSet(1, 2, 3, 6)));
+        assertNull(index.getSubsetOf(constraintSet(1, 2)));
+        assertNull(index.getSubsetOf(constraintSet(5, 6)));
+    }
+
+    @Test
+    public void testFilter() {
+        ConstraintSetIndex index = new ConstraintSetIndex();
+        index.add(constraintSet(1));
+        index.add(constraintSet(1, 2));
+
+        assertEquals(constraintSet(1, 2), index.getSubsetOf(constraintSet(1, 2, 3), set -> set.size() == 2));
+        assertEquals(constraintSet(1, 2), index.getSupersetOf(constraintSet(1), set -> set.size() == 2));
+        assertNull(index.getSupersetOf(constraintSet(1), set -> false));
+    }
+
+    @Test
+    public void testSameResultsAsLinearScan() {
+        Random random = new Random(42);
+        ConstraintSetIndex index = new ConstraintSetIndex();
+        List<Set<Constraint<?>>> queries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Set<Constraint<?>> set = randomSet(random);
+            index.add(set);
+            if (!queries.contains(set)) {
+                queries.add(set);
+            }
+        }
+
+        for (int i = 0; i < 500; i++) {
+            Set<Constraint<?>> query = randomSet(random);
+            assertEquals(PathConditionUtils.isConstraintSetSubSetOf(query, queries),
+                    index.getSupersetOf(query) != null);
+            assertEquals(PathConditionUtils.isConstraintSetSupraSetOf(query, new HashSet<>(queries)),
+                    index.getSubsetOf(query) != null);
+
+            Set<Constraint<?>> superset = index.getSupersetOf(query);
+            if (superset != null) {
+                assertTrue(superset.containsAll(query));
+            }
+            Set<Constraint<?>> subset = index.getSubsetOf(query);
+            if (subset != null) {
+                assertTrue(query.containsAll(subset));
+            }
+        }
+    }
+
+    private static Set<Constraint<?>> randomSet(Random random) {
+        int[] values = new int[1 + random.nextInt(6)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(15);
+        }
+        return constraintSet(values);
+    }
+
+    @Test
+    public void testConstraintSetMap() {
+        ConstraintSetMap<String> map = new ConstraintSetMap<>();
+        map.put(constraintSet(1), "unsat");
+        map.put(constraintSet(1, 2), "sat");
+
+        assertEquals("sat", map.get(constraintSet(2, 1)));
+        assertTrue(map.containsKey(constraintSet(1)));
+        assertEquals(constraintSet(1), map.getSubsetOf(constraintSet(1, 2, 3), "unsat"::equals));
+        assertEquals(constraintSet(1, 2), map.getSupersetOf(constraintSet(2), value -> true));
+        assertNull(map.getSupersetOf(constraintSet(1), "other"::equals));
+        assertEquals(2, map.size());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.expr;
+
+import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ConstraintInternerTest {
+
+    private static Constraint<?> buildConstraint(long concreteValue, long bound) {
+        IntegerVariable x = new IntegerVariable("x", concreteValue, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntegerBinaryExpression sum = new IntegerBinaryExpression(x, Operator.PLUS, new IntegerConstant(1), concreteValue + 1);
+        return new IntegerConstraint(sum, Comparator.LT, new IntegerConstant(bound));
+    }
+
+    @Test
+    public void testStructurallyEqualConstraintsAreShared() {
+        ConstraintInterner interner = new ConstraintInterner();
+        Constraint<?> first = buildConstraint(3, 10);
+        Constraint<?> second = buildConstraint(5, 10);
+        assertNotSame(first, second);
+        assertEquals(first, second);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.intern(buildConstraint(5, 10)));
+        assertNotSame(first, interner.intern(buildConstraint(5, 11)));
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void testInternedQueries() {
+        ConstraintInterner interner = new ConstraintInterner();
+        List<Constraint<?>> query = Arrays.asList(buildConstraint(0, 10), buildConstraint(0, 20));
+        Set<Constraint<?>> set = interner.internAsSet(query);
+        List<Constraint<?>> list = interner.internAsList(Arrays.asList(buildConstraint(1, 20), buildConstraint(1, 10)));
+
+        assertEquals(2, set.size());
+        assertEquals(2, interner.size());
+        assertSame(query.get(1), list.get(0));
+        assertSame(query.get(0), list.get(1));
+        assertTrue(set.containsAll(list));
+    }
+
+    @Test
+    public void testHashCodeIgnoresConcreteValues() {
+        Constraint<?> first = buildConstraint(3, 10);
+        Constraint<?> second = buildConstraint(5, 10);
+        assertEquals(first.getLeftOperand().hashCode(), second.getLeftOperand().hashCode());
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, buildConstraint(3, 11));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.BranchCondition;
+import org.evosuite.symbolic.PathCondition;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConstraintIndependenceTest {
+
+    private static final IntegerVariable X = new IntegerVariable("x", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    private static final IntegerVariable Y = new IntegerVariable("y", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    private static final IntegerVariable Z = new IntegerVariable("z", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    private static final IntegerVariable W = new IntegerVariable("w", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    private static Constraint<?> lessThan(IntegerVariable left, IntegerVariable right) {
+        return new IntegerConstraint(left, Comparator.LT, right);
+    }
+
+    private static Constraint<?> notZero(IntegerVariable variable) {
+        return new IntegerConstraint(variable, Comparator.NE, new IntegerConstant(0));
+    }
+
+    @Test
+    public void testPartition() {
+        Constraint<?> c1 = notZero(X);
+        Constraint<?> c2 = notZero(W);
+        Constraint<?> c3 = lessThan(Y, Z);
+        Constraint<?> c4 = lessThan(X, Y);
+        Constraint<?> c5 = new IntegerConstraint(new IntegerConstant(1), Comparator.EQ, new IntegerConstant(1));
+
+        List<List<Constraint<?>>> groups = ConstraintIndependence.partition(Arrays.asList(c1, c2, c3, c4, c5));
+        assertEquals(3, groups.size());
+        assertEquals(Arrays.asList(c1, c3, c4), groups.get(0));
+        assertEquals(Arrays.asList(c2), groups.get(1));
+        assertEquals(Arrays.asList(c5), groups.get(2));
+    }
+
+    @Test
+    public void testSlice() {
+        Constraint<?> c1 = notZero(W);
+        Constraint<?> c2 = notZero(Z);
+        Constraint<?> c3 = lessThan(X, Y);
+
+        List<Constraint<?>> slice = ConstraintIndependence.slice(Arrays.asList(c1, c2, c3), 2);
+        assertEquals(Arrays.asList(c3), slice);
+    }
+
+    @Test
+    public void testQueryKeepsTransitiveDependencies() {
+        // z only relates to the negated branch through a constraint preceding the one on z
+        Constraint<?> c1 = lessThan(X, Z);
+        Constraint<?> c2 = notZero(Z);
+        Constraint<?> c3 = notZero(W);
+        Constraint<?> c4 = lessThan(X, Y);
+
+        List<BranchCondition> branches = new ArrayList<>();
+        branches.add(new BranchCondition("Foo", "bar", 1, c1, new ArrayList<>()));
+        branches.add(new BranchCondition("Foo", "bar", 2, c2, new ArrayList<>()));
+        branches.add(new BranchCondition("Foo", "bar", 3, c3, new ArrayList<>()));
+        branches.add(new BranchCondition("Foo", "bar", 4, c4, new ArrayList<>()));
+
+        List<Constraint<?>> query = SolverUtils.buildQuery(new PathCondition(branches));
+        assertEquals(Arrays.asList(c1, c2, c4), query);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PersistentSolverCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static IntegerVariable var(String name) {
+        return new IntegerVariable(name, 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static List<Constraint<?>> query(String x, String y) {
+        IntegerVariable varX = var(x);
+        IntegerVariable varY = var(y);
+        return Arrays.asList(
+                ConstraintFactory.lt(varX, new IntegerConstant(10)),
+                ConstraintFactory.eq(varY, varX));
+    }
+
+    private static SolverResult solution(String x, long valueX, String y, long valueY) {
+        Map<String, Object> model = new HashMap<>();
+        model.put(x, valueX);
+        model.put(y, valueY);
+        return SolverResult.newSAT(model);
+    }
+
+    @Test
+    public void testRenamedAndReorderedQueriesShareKey() {
+        Collection<Constraint<?>> query = query("a", "b");
+        List<Constraint<?>> renamed = query("var7", "var3");
+        Collection<Constraint<?>> reordered = Arrays.asList(renamed.get(1), renamed.get(0));
+
+        CanonicalConstraintSet key = CanonicalConstraintSet.of(query);
+        assertNotNull(key);
+        assertEquals(key, CanonicalConstraintSet.of(renamed));
+        assertEquals(key, CanonicalConstraintSet.of(reordered));
+
+        Collection<Constraint<?>> other = Arrays.asList(
+                ConstraintFactory.lt(var("a"), new IntegerConstant(11)),
+                ConstraintFactory.eq(var("b"), var("a")));
+        assertNotEquals(key, CanonicalConstraintSet.of(other));
+    }
+
+    @Test
+    public void testBoundsArePartOfKey() {
+        Collection<Constraint<?>> overByte = Arrays.asList(ConstraintFactory.lt(
+                new IntegerConstant(200), new IntegerVariable("a", 0L, Byte.MIN_VALUE, Byte.MAX_VALUE)));
+        Collection<Constraint<?>> overInt = Arrays.asList(ConstraintFactory.lt(
+                new IntegerConstant(200), new IntegerVariable("a", 0L, Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        assertNotEquals(CanonicalConstraintSet.of(overByte), CanonicalConstraintSet.of(overInt));
+
+        PersistentSolverCache cache = new PersistentSolverCache(new File(folder.getRoot(), "cache.ser"), 10);
+        cache.saveResult(overByte, SolverResult.newUNSAT());
+        assertNull(cache.getResult(overInt));
+        assertNotNull(cache.getResult(overByte));
+    }
+
+    @Test
+    public void testSolutionUsesVariablesOfQuery() {
+        PersistentSolverCache cache = new PersistentSolverCache(new File(folder.getRoot(), "cache.ser"), 10);
+        cache.saveResult(query("a", "b"), solution("a", 5L, "b", 5L));
+
+        SolverResult result = cache.getResult(query("x", "y"));
+        assertNotNull(result);
+        assertTrue(result.isSAT());
+        assertEquals(5L, result.getValue("x"));
+        assertEquals(5L, result.getValue("y"));
+        assertFalse(result.containsVariable("a"));
+    }
+
+    @Test
+    public void testResultsSurviveReload() {
+        File file = new File(folder.getRoot(), "ctg/cache.ser");
+        PersistentSolverCache cache = new PersistentSolverCache(file, 10);
+        cache.saveResult(query("a", "b"), SolverResult.newUNSAT());
+        cache.flush();
+        assertTrue(file.exists());
+
+        PersistentSolverCache reloaded = new PersistentSolverCache(file, 10);
+        reloaded.load();
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.getResult(query("c", "d")).isUNSAT());
+    }
+
+    @Test
+    public void testFlushMergesResultsOfOtherClients() {
+        File file = new File(folder.getRoot(), "ctg/cache.ser");
+        Collection<Constraint<?>> first = Arrays.asList(ConstraintFactory.lt(var("a"), new IntegerConstant(1)));
+        Collection<Constraint<?>> second = Arrays.asList(ConstraintFactory.lt(var("a"), new IntegerConstant(2)));
+
+        PersistentSolverCache client1 = new PersistentSolverCache(file, 10);
+        client1.load();
+        PersistentSolverCache client2 = new PersistentSolverCache(file, 10);
+        client2.load();
+
+        client1.saveResult(first, SolverResult.newUNSAT());
+        client1.flush();
+        client2.saveResult(second, SolverResult.newUNSAT());
+        client2.flush();
+
+        PersistentSolverCache reloaded = new PersistentSolverCache(file, 10);
+        reloaded.load();
+        assertEquals(2, reloaded.size());
+        assertNotNull(reloaded.getResult(first));
+        assertNotNull(reloaded.getResult(second));
+        assertEquals(1, file.getParentFile().list().length);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        PersistentSolverCache cache = new PersistentSolverCache(new File(folder.getRoot(), "cache.ser"), 2);
+        Collection<Constraint<?>> first = Arrays.asList(ConstraintFactory.lt(var("a"), new IntegerConstant(1)));
+        Collection<Constraint<?>> second = Arrays.asList(ConstraintFactory.lt(var("a"), new IntegerConstant(2)));
+        Collection<Constraint<?>> third = Arrays.asList(ConstraintFactory.lt(var("a"), new IntegerConstant(3)));
+
+        cache.saveResult(first, SolverResult.newUNSAT());
+        cache.saveResult(second, SolverResult.newUNSAT());
+        assertNotNull(cache.getResult(first));
+        cache.saveResult(third, SolverResult.newUNSAT());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getResult(first));
+        assertNull(cache.getResult(second));
+        assertNotNull(cache.getResult(third));
+    }
+
+    @Test
+    public void testUnknownResultsAreNotStored() {
+        PersistentSolverCache cache = new PersistentSolverCache(new File(folder.getRoot(), "cache.ser"), 10);
+        cache.saveResult(query("a", "b"), SolverResult.newUnknown());
+        assertEquals(0, cache.size());
+    }
+}
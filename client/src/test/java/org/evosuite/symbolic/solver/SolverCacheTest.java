@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SolverCacheTest {
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        SolverCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        SolverCache.getInstance().clear();
+    }
+
+    private static List<Constraint<?>> query(long bound) {
+        IntegerVariable x = new IntegerVariable("x", 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerVariable y = new IntegerVariable("y", 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        return Arrays.asList(
+                ConstraintFactory.lt(x, new IntegerConstant(bound)),
+                ConstraintFactory.eq(y, x));
+    }
+
+    @Test
+    public void testOnlyInsertedQueriesAreInterned() {
+        SolverCache cache = SolverCache.getInstance();
+        assertFalse(cache.hasCachedResult(query(10)));
+        assertEquals(0, cache.getNumberOfInternedConstraints());
+
+        cache.saveSolverResult(query(10), SolverResult.newUNSAT());
+        assertEquals(2, cache.getNumberOfInternedConstraints());
+
+        assertTrue(cache.hasCachedResult(query(10)));
+        assertTrue(cache.getCachedResult().isUNSAT());
+        assertFalse(cache.hasCachedResult(query(11)));
+        assertEquals(2, cache.getNumberOfInternedConstraints());
+    }
+
+    @Test
+    public void testClearRemovesInternedConstraints() {
+        SolverCache cache = SolverCache.getInstance();
+        cache.saveSolverResult(query(10), SolverResult.newUNSAT());
+        assertEquals(1, cache.getNumberOfUNSATs());
+
+        cache.clear();
+        assertEquals(0, cache.getNumberOfInternedConstraints());
+        assertEquals(0, cache.getNumberOfUNSATs());
+        assertFalse(cache.hasCachedResult(query(10)));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.smt;
+
+import org.evosuite.symbolic.solver.SmtExprBuilder;
+import org.evosuite.symbolic.solver.SmtSort;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestQueryPrinter {
+
+    private static SmtQuery buildQuery() {
+        SmtQuery query = new SmtQuery();
+        query.setLogic("QF_LIA");
+        query.addOption(":produce-models", "true");
+        query.addQueryOption(":timeout", "1000");
+        query.addConstantDeclaration(new SmtConstantDeclaration("x", SmtSort.INT));
+        query.addAssertion(new SmtAssertion(SmtExprBuilder.mkEq(
+                SmtExprBuilder.mkIntVariable("x"), SmtExprBuilder.mkIntConstant(42))));
+        return query;
+    }
+
+    @Test
+    public void queryOptionsAreRepeatedInEachScope() {
+        SmtQueryPrinter printer = new SmtQueryPrinter();
+        SmtQuery query = buildQuery();
+
+        String incremental = printer.printIncremental(query);
+        assertTrue(incremental.contains("(set-option :timeout 1000)"));
+        assertFalse(incremental.contains(":produce-models"));
+        assertTrue(incremental.indexOf("(set-option :timeout 1000)") < incremental.indexOf("(check-sat)"));
+
+        assertTrue(printer.print(query).contains("(set-option :timeout 1000)"));
+    }
+}
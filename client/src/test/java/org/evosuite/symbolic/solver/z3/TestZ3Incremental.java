@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.z3;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.solver.SmtSolverSessionPool;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestZ3Incremental extends TestZ3 {
+
+    @After
+    public void closeSessions() {
+        SmtSolverSessionPool.closeAll();
+        Properties.DSE_SOLVER_INCREMENTAL = false;
+    }
+
+    @Test
+    public void testQueriesShareProcess() throws Exception {
+        Properties.DSE_SOLVER_INCREMENTAL = true;
+        Z3Solver solver = new Z3Solver();
+
+        IntegerVariable x = new IntegerVariable("x", 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        Collection<Constraint<?>> sat = new ArrayList<>();
+        sat.add(ConstraintFactory.eq(x, new IntegerConstant(42)));
+        SolverResult first = solver.executeSolver(sat);
+        assertTrue(first.isSAT());
+        assertEquals(42L, first.getValue("x"));
+
+        // the assertions of the first query must not leak into the second one
+        Collection<Constraint<?>> other = new ArrayList<>();
+        other.add(ConstraintFactory.eq(x, new IntegerConstant(7)));
+        SolverResult second = solver.executeSolver(other);
+        assertTrue(second.isSAT());
+        assertEquals(7L, second.getValue("x"));
+
+        Collection<Constraint<?>> unsat = new ArrayList<>();
+        unsat.add(ConstraintFactory.neq(x, x));
+        assertTrue(solver.executeSolver(unsat).isUNSAT());
+    }
+}
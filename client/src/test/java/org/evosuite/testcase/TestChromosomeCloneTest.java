@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestChromosomeCloneTest {
+
+    @After
+    public void resetProperties() {
+        Properties.LOCAL_SEARCH_SELECTIVE = false;
+    }
+
+    private static TestChromosome createChromosome() {
+        TestCase test = new DefaultTestCase();
+        test.addStatement(PrimitiveStatement.getPrimitiveStatement(test, int.class));
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+        return chromosome;
+    }
+
+    @Test
+    public void testCloneSharesTestCaseUntilModified() {
+        TestChromosome original = createChromosome();
+        TestCase test = original.test;
+        TestChromosome copy = original.clone();
+        assertSame(test, copy.test);
+        assertSame(test, copy.getTestCase());
+        assertTrue(original.isTestCaseShared());
+        assertTrue(copy.isTestCaseShared());
+
+        TestCase copiedTest = copy.getMutableTestCase();
+        assertNotSame(test, copiedTest);
+        assertSame(test, original.test);
+        assertEquals(test.toCode(), copiedTest.toCode());
+        assertFalse(original.isTestCaseShared());
+        assertFalse(copy.isTestCaseShared());
+    }
+
+    @Test
+    public void testModifyingCloneDoesNotAffectOriginal() {
+        TestChromosome original = createChromosome();
+        TestChromosome copy = original.clone();
+
+        TestCase copiedTest = copy.getMutableTestCase();
+        copiedTest.addStatement(PrimitiveStatement.getPrimitiveStatement(copiedTest, int.class));
+        assertEquals(2, copy.size());
+        assertEquals(1, original.size());
+    }
+
+    @Test
+    public void testLastOwnerDoesNotCopy() {
+        TestChromosome original = createChromosome();
+        TestCase test = original.test;
+        TestChromosome copy = original.clone();
+
+        copy.getMutableTestCase();
+        assertSame(test, original.getMutableTestCase());
+    }
+
+    @Test
+    public void testCoveredGoalOfCloneDoesNotAffectOriginal() {
+        TestChromosome original = createChromosome();
+        TestCase test = original.test;
+        TestChromosome copy = original.clone();
+
+        MethodCoverageTestFitness goal = new MethodCoverageTestFitness("Foo", "bar()V");
+        copy.addCoveredGoal(goal);
+        assertTrue(copy.getTestCase().isGoalCovered(goal));
+        assertFalse(original.getTestCase().isGoalCovered(goal));
+        assertSame(test, original.test);
+    }
+
+    @Test
+    public void testCoveredGoalAlreadyRecordedIsNotCopied() {
+        TestChromosome original = createChromosome();
+        MethodCoverageTestFitness goal = new MethodCoverageTestFitness("Foo", "bar()V");
+        original.addCoveredGoal(goal);
+        TestCase test = original.test;
+        TestChromosome copy = original.clone();
+
+        copy.addCoveredGoal(goal);
+        assertSame(test, copy.test);
+        assertTrue(copy.isTestCaseShared());
+    }
+
+    @Test
+    public void testRestoredTestCaseIsShared() {
+        TestChromosome original = createChromosome();
+        TestChromosome copy = original.clone();
+        TestCase test = original.test;
+
+        TestCase modified = original.getMutableTestCase();
+        modified.addStatement(PrimitiveStatement.getPrimitiveStatement(modified, int.class));
+        original.shareTestCaseOf(copy);
+        assertSame(test, original.test);
+        assertTrue(copy.isTestCaseShared());
+
+        copy.getMutableTestCase().addStatement(PrimitiveStatement.getPrimitiveStatement(copy.test, int.class));
+        assertEquals(1, original.size());
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    public void testCloneIsNotEqualToOriginal() {
+        TestChromosome original = createChromosome();
+        TestChromosome copy = original.clone();
+        assertNotEquals(original, copy);
+
+        TestChromosome empty = new TestChromosome();
+        assertNotEquals(empty, empty.clone());
+
+        TestChromosome other = new TestChromosome();
+        other.setTestCase(original.getTestCase());
+        assertEquals(original, other);
+    }
+
+    @Test
+    public void testSelectiveLocalSearchCopiesEagerly() {
+        Properties.LOCAL_SEARCH_SELECTIVE = true;
+        TestChromosome original = createChromosome();
+        TestChromosome copy = original.clone();
+        assertNotSame(original.test, copy.test);
+    }
+
+    @Test
+    public void testMutableTestsOfSuiteCloneDoNotAffectOriginal() {
+        TestSuiteChromosome original = new TestSuiteChromosome();
+        original.addTest(createChromosome());
+        TestSuiteChromosome copy = original.clone();
+        assertSame(original.getTests().get(0), copy.getTests().get(0));
+
+        TestCase copiedTest = copy.getMutableTests().get(0);
+        copiedTest.addStatement(PrimitiveStatement.getPrimitiveStatement(copiedTest, int.class));
+        assertEquals(2, copy.getTests().get(0).size());
+        assertEquals(1, original.getTests().get(0).size());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ExecutionResultCacheTest {
+
+    private final ExecutionResultCache cache = ExecutionResultCache.getInstance();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        Properties.EXECUTION_RESULT_CACHE_SIZE = 2;
+        cache.clear();
+    }
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+        MutationObserver.deactivateMutation();
+        ExecutionTracer.disableTraceCalls();
+        cache.clear();
+    }
+
+    private static DefaultTestCase createTest(int value) {
+        TestCaseBuilder builder = new TestCaseBuilder();
+        builder.appendIntPrimitive(value);
+        builder.appendStringPrimitive("foo");
+        return builder.getDefaultTestCase();
+    }
+
+    private ExecutionResult execute(DefaultTestCase test) {
+        executions.incrementAndGet();
+        ExecutionResult result = new ExecutionResult(test, null);
+        result.setTrace(new ExecutionTraceImpl());
+        result.setExecutedStatements(test.size());
+        return result;
+    }
+
+    @Test
+    public void testSameCodeIsNotExecutedAgain() {
+        DefaultTestCase test = createTest(42);
+        DefaultTestCase duplicate = createTest(42);
+        int hits = cache.getHits();
+
+        ExecutionResult first = cache.getOrExecute(test, t -> execute(test));
+        ExecutionResult second = cache.getOrExecute(duplicate, t -> execute(duplicate));
+
+        assertEquals(1, executions.get());
+        assertNotSame(first, second);
+        assertSame(duplicate, second.test);
+        assertEquals(2, second.getExecutedStatements());
+        assertEquals(hits + 1, cache.getHits());
+        assertNotNull(second.getTrace());
+        assertNotSame(first.getTrace(), second.getTrace());
+    }
+
+    @Test
+    public void testRepeatedHitsCopyTheTrace() {
+        DefaultTestCase test = createTest(42);
+        cache.getOrExecute(test, t -> execute(test));
+        for (int i = 0; i < 3; i++) {
+            DefaultTestCase duplicate = createTest(42);
+            ExecutionResult result = cache.getOrExecute(duplicate, t -> execute(duplicate));
+            assertNotNull(result.getTrace());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testDifferentValuesAreExecuted() {
+        DefaultTestCase test = createTest(42);
+        DefaultTestCase other = createTest(43);
+
+        cache.getOrExecute(test, t -> execute(test));
+        cache.getOrExecute(other, t -> execute(other));
+
+        assertEquals(2, executions.get());
+        assertEquals(2, cache.size());
+    }
+
+    private static DefaultTestCase createDateTest(Class<?> dateClass) throws NoSuchMethodException {
+        TestCaseBuilder builder = new TestCaseBuilder();
+        VariableReference time = builder.appendLongPrimitive(0L);
+        builder.appendConstructor(dateClass.getConstructor(long.class), time);
+        return builder.getDefaultTestCase();
+    }
+
+    @Test
+    public void testClassesWithTheSameSimpleNameAreExecuted() throws NoSuchMethodException {
+        DefaultTestCase utilDate = createDateTest(java.util.Date.class);
+        DefaultTestCase sqlDate = createDateTest(java.sql.Date.class);
+        // both tests print as "Date date0 = new Date(0L);"
+        assertEquals(utilDate.toCode(), sqlDate.toCode());
+
+        ExecutionResult first = cache.getOrExecute(utilDate, t -> execute(utilDate));
+        ExecutionResult second = cache.getOrExecute(sqlDate, t -> execute(sqlDate));
+
+        assertEquals(2, executions.get());
+        assertEquals(2, cache.size());
+        assertSame(sqlDate, second.test);
+        assertNotSame(first.getTrace(), second.getTrace());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        for (int i = 0; i < 3; i++) {
+            DefaultTestCase test = createTest(i);
+            cache.getOrExecute(test, t -> execute(test));
+        }
+        assertEquals(2, cache.size());
+
+        DefaultTestCase first = createTest(0);
+        cache.getOrExecute(first, t -> execute(first));
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    public void testFileAccessIsNotCached() {
+        DefaultTestCase test = createTest(42);
+        cache.getOrExecute(test, t -> {
+            test.getAccessedEnvironment().addLocalFiles(Collections.singleton("/tmp/foo.txt"));
+            return execute(test);
+        });
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabled() {
+        Properties.EXECUTION_RESULT_CACHE_SIZE = 0;
+        DefaultTestCase test = createTest(42);
+        cache.getOrExecute(test, t -> execute(test));
+        cache.getOrExecute(test, t -> execute(test));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testMutantsAreNotCached() {
+        MutationObserver.activateMutation(3);
+        DefaultTestCase test = createTest(42);
+        cache.getOrExecute(test, t -> execute(test));
+        cache.getOrExecute(test, t -> execute(test));
+        assertEquals(2, executions.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testChangedTracingClearsCache() {
+        DefaultTestCase test = createTest(42);
+        cache.getOrExecute(test, t -> execute(test));
+        assertEquals(1, cache.size());
+
+        ExecutionTracer.enableTraceCalls();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testResetContextClearsCache() {
+        DefaultTestCase test = createTest(42);
+        cache.getOrExecute(test, t -> execute(test));
+        assertEquals(1, cache.size());
+
+        TestGenerationContext.getInstance().resetContext();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveExecutionTraceImplTest {
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static void passBranches(ExecutionTraceImpl trace) {
+        trace.branchPassed(1, 10, 0.0, 1.0);
+        trace.branchPassed(1, 10, 2.0, 0.0);
+        trace.branchPassed(3, 11, 5.0, 0.0);
+        trace.branchPassed(3, 11, 4.0, 0.0);
+        // beyond the initial capacity, forces the arrays to grow
+        trace.branchPassed(500, 12, 0.5, 0.0);
+    }
+
+    @Test
+    public void testSameCoverageAsMapBasedTrace() {
+        ExecutionTraceImpl expected = new ExecutionTraceImpl();
+        PrimitiveExecutionTraceImpl actual = new PrimitiveExecutionTraceImpl();
+        passBranches(expected);
+        passBranches(actual);
+
+        assertEquals(expected.getPredicateExecutionCount(), actual.getPredicateExecutionCount());
+        assertEquals(expected.coveredTrue, actual.coveredTrue);
+        assertEquals(expected.coveredFalse, actual.coveredFalse);
+        assertEquals(expected.getTrueDistances(), actual.getTrueDistances());
+        assertEquals(expected.getFalseDistances(), actual.getFalseDistances());
+        assertEquals(expected.getTrueDistancesSum(), actual.getTrueDistancesSum());
+        assertEquals(expected.getFalseDistancesSum(), actual.getFalseDistancesSum());
+        assertEquals(expected.getCoveredTrueBranches(), actual.getCoveredTrueBranches());
+        assertEquals(expected.getCoveredFalseBranches(), actual.getCoveredFalseBranches());
+        assertEquals(expected.getCoveredPredicates(), actual.getCoveredPredicates());
+
+        assertTrue(actual.hasTrueDistance(500));
+        assertFalse(actual.hasTrueDistance(2));
+        assertFalse(actual.hasFalseDistance(100000));
+        assertEquals(4.0, actual.getTrueDistance(3), 0.0);
+        assertEquals(9.0, actual.getTrueDistancesSum().get(3), 0.0);
+    }
+
+    @Test
+    public void testCloneIsIndependent() {
+        PrimitiveExecutionTraceImpl trace = new PrimitiveExecutionTraceImpl();
+        passBranches(trace);
+        PrimitiveExecutionTraceImpl copy = trace.clone();
+        assertEquals(trace.getTrueDistances(), copy.getTrueDistances());
+        assertEquals(trace.getPredicateExecutionCount(), copy.getPredicateExecutionCount());
+
+        trace.branchPassed(7, 13, 0.0, 3.0);
+        assertTrue(trace.getCoveredPredicates().contains(7));
+        assertFalse(copy.getCoveredPredicates().contains(7));
+        assertEquals(3, copy.getPredicateExecutionCount().size());
+    }
+
+    @Test
+    public void testClear() {
+        PrimitiveExecutionTraceImpl trace = new PrimitiveExecutionTraceImpl();
+        passBranches(trace);
+        trace.clear();
+        assertTrue(trace.getPredicateExecutionCount().isEmpty());
+        assertTrue(trace.getTrueDistances().isEmpty());
+        assertTrue(trace.getCoveredTrueBranches().isEmpty());
+        assertNull(trace.getFalseDistances().get(1));
+    }
+
+    @Test
+    public void testPropertySelectsImplementation() {
+        Properties.PRIMITIVE_BRANCH_TRACE = false;
+        assertEquals(ExecutionTraceImpl.class, ExecutionTraceImpl.newInstance().getClass());
+        Properties.PRIMITIVE_BRANCH_TRACE = true;
+        assertEquals(PrimitiveExecutionTraceImpl.class, ExecutionTraceImpl.newInstance().getClass());
+    }
+}
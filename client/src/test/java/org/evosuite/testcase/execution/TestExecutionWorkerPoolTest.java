@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import com.examples.with.different.packagename.Dummy;
+import com.examples.with.different.packagename.SimpleInteger;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.instrumentation.WorkerClassLoader;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestExecutionWorkerPoolTest {
+
+    @BeforeClass
+    public static void initClass() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @Before
+    public void setUp() {
+        Properties.TEST_EXECUTION_WORKERS = 2;
+    }
+
+    @After
+    public void tearDown() {
+        TestExecutionWorkerPool.pullDown();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+    }
+
+    private static DefaultTestCase createTest() {
+        TestCaseBuilder builder = new TestCaseBuilder();
+        builder.appendIntPrimitive(42);
+        return builder.getDefaultTestCase();
+    }
+
+    @Test
+    public void testDisabledWhenRuntimeIsResetBeforeEachTest() {
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.RESET_STATIC_FIELDS = false;
+        assertTrue(TestExecutionWorkerPool.isEnabled());
+
+        Properties.RESET_STATIC_FIELDS = true;
+        assertFalse(TestExecutionWorkerPool.isEnabled());
+        Properties.RESET_STATIC_FIELDS = false;
+
+        Properties.VIRTUAL_FS = true;
+        assertFalse(TestExecutionWorkerPool.isEnabled());
+    }
+
+    @Test
+    public void testResultsAreInTaskOrder() {
+        DefaultTestCase test = createTest();
+        List<TestExecutionWorkerPool.WorkerTask<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final int index = i;
+            tasks.add((copy, loader) -> {
+                assertNotSame(test, copy);
+                assertTrue(loader instanceof WorkerClassLoader);
+                Thread.sleep(10 - index);
+                return index;
+            });
+        }
+
+        List<Integer> results = TestExecutionWorkerPool.getInstance().execute(test, tasks);
+
+        assertEquals(10, results.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, (int) results.get(i));
+        }
+        assertTrue(TestExecutionWorkerPool.getInstance().isIdle());
+    }
+
+    @Test
+    public void testFailingTaskWaitsForRunningTasks() {
+        DefaultTestCase test = createTest();
+        List<TestExecutionWorkerPool.WorkerTask<Integer>> tasks = new ArrayList<>();
+        tasks.add((copy, loader) -> 0);
+        tasks.add((copy, loader) -> {
+            throw new IllegalStateException("failing task");
+        });
+        tasks.add((copy, loader) -> {
+            // ignores interruption, like SUT code might do
+            long end = System.currentTimeMillis() + 200;
+            while (System.currentTimeMillis() < end) {
+                Thread.yield();
+            }
+            return 2;
+        });
+
+        TestExecutionWorkerPool pool = TestExecutionWorkerPool.getInstance();
+        List<Integer> results = pool.execute(test, tasks);
+
+        assertEquals(1, results.size());
+        // the sandbox is turned off only once no worker runs SUT code anymore
+        assertTrue(pool.isIdle());
+    }
+
+    private static DefaultTestCase createConstructorTest(Class<?> clazz) throws NoSuchMethodException {
+        TestCaseBuilder builder = new TestCaseBuilder();
+        builder.appendConstructor(clazz.getConstructor());
+        return builder.getDefaultTestCase();
+    }
+
+    private static TestChromosome createChromosome(DefaultTestCase test) {
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+        return chromosome;
+    }
+
+    @Test
+    public void testClassesLoadedBeforeWorkersAreExecutedSequentially() throws Exception {
+        Properties.TEST_EXECUTION_WORKERS = 1;
+        TestGenerationContext.getInstance().resetContext();
+        InstrumentingClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+        // its bytecode is not retained
+        Class<?> loadedBefore = loader.loadClass(SimpleInteger.class.getName());
+        Properties.TEST_EXECUTION_WORKERS = 2;
+        Class<?> loadedAfter = loader.loadClass(Dummy.class.getName());
+
+        TestExecutionWorkerPool pool = TestExecutionWorkerPool.getInstance();
+        DefaultTestCase sequential = createConstructorTest(loadedBefore);
+        DefaultTestCase isolated = createConstructorTest(loadedAfter);
+        assertFalse(pool.canIsolate(sequential));
+        assertTrue(pool.canIsolate(isolated));
+
+        List<Class<?>> executedClasses = pool.execute(isolated, Collections.singletonList(
+                (copy, workerLoader) -> copy.getStatement(0).getReturnValue().getVariableClass()));
+        assertTrue(executedClasses.get(0).getClassLoader() instanceof WorkerClassLoader);
+
+        TestChromosome sequentialChromosome = createChromosome(sequential);
+        TestChromosome isolatedChromosome = createChromosome(isolated);
+        pool.execute(Arrays.asList(sequentialChromosome, isolatedChromosome));
+        // left to the fitness functions, on the calling thread
+        assertTrue(sequentialChromosome.isChanged());
+        assertNull(sequentialChromosome.getLastExecutionResult());
+        assertFalse(isolatedChromosome.isChanged());
+        assertNotNull(isolatedChromosome.getLastExecutionResult());
+    }
+}
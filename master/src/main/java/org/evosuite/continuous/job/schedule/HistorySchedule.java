@@ -89,6 +89,8 @@ public class HistorySchedule extends OneTimeSchedule {
         int totalLeftOver = 0;
         int totalBudgetUsed = 0;
         List<JobDefinition> jobs = new LinkedList<>();
+        // jobs of classes whose best test suite is still valid, which do not get any left over budget
+        List<JobDefinition> sameBytecodeJobs = new LinkedList<>();
 
         for (ClassInfo c_info : classesInfo) {
             if (!c_info.isTestable()) {
@@ -100,8 +102,12 @@ public class HistorySchedule extends OneTimeSchedule {
                 continue;
             }
 
-            double budget = 60.0 * scheduler.getConfiguration().minMinutesPerJob
-                    + (c_info.numberOfBranches * timePerBranch);
+            double budget = 60.0 * scheduler.getConfiguration().minMinutesPerJob;
+            if (!c_info.hasSameBytecode()) {
+                budget += (c_info.numberOfBranches * timePerBranch);
+            }
+            // else, the best test suite is still valid for the current bytecode of the class
+            // and of its dependencies, so only try to improve it with the minimum budget
 
             // classes that have been modified could get more time than 'normal' classes
             budget *= c_info.hasChanged() ? HistorySchedule.MODIFIED : HistorySchedule.NOT_MODIFIED;
@@ -121,15 +127,20 @@ public class HistorySchedule extends OneTimeSchedule {
                 LoggingUtils.getEvoLogger()
                         .info("+ Going to generate test cases for " + c_info.getClassName()
                                 + " using a time budget of " + budget + " seconds. Status of it ["
-                                + (c_info.hasChanged() ? "modified" : "not modified") + "]");
+                                + getStatus(c_info) + "]");
 
-                jobs.add(new JobDefinition((int) budget,
+                JobDefinition job = new JobDefinition((int) budget,
                         this.scheduler.getConfiguration().getConstantMemoryPerJob(), c_info.getClassName(), 0,
-                        null, null));
+                        null, null);
+                if (c_info.hasSameBytecode()) {
+                    sameBytecodeJobs.add(job);
+                } else {
+                    jobs.add(job);
+                }
             } else {
                 LoggingUtils.getEvoLogger()
                         .info("- There is not enough time budget to test " + c_info.getClassName()
-                                + ". Status of it [" + (c_info.hasChanged() ? "modified" : "not modified") + "]");
+                                + ". Status of it [" + getStatus(c_info) + "]");
 
                 // mark this CUT as not tested. this is useful to later on distinguish
                 // classes that EvoSuite failed to generate test cases and classes that
@@ -151,6 +162,14 @@ public class HistorySchedule extends OneTimeSchedule {
             distributeExtraBudgetEvenly(jobs, totalLeftOver, maximumBudgetPerCore);
         }
 
+        jobs.addAll(sameBytecodeJobs);
         return jobs;
     }
+
+    private static String getStatus(ClassInfo c_info) {
+        if (c_info.hasChanged()) {
+            return "modified";
+        }
+        return c_info.hasSameBytecode() ? "not modified, same bytecode" : "not modified";
+    }
 }
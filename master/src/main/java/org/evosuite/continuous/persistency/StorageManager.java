@@ -566,6 +566,7 @@ public class StorageManager {
 
         suite.getCoverage().addAll(coverageValues);
         generation.setSuite(suite);
+        updateBytecodeHash(cut, current.getClassInfo(targetClass));
 
         /*
          * So far we have modified only the content of db.
@@ -590,6 +591,23 @@ public class StorageManager {
         }
     }
 
+    /**
+     * Keep track of the bytecode the best test suite of the CUT was generated for.
+     * Note: this should only be done once a test suite has been generated for the
+     * current bytecode of the CUT. A suite that is kept as it is would already have
+     * a matching hash (see {@link ProjectStaticData#hasSameBytecode(String, String)}),
+     * whereas one of a class that was not considered as changed (eg, due to the
+     * history file) has never been checked against the current bytecode
+     *
+     * @param cut
+     * @param info
+     */
+    private void updateBytecodeHash(CUT cut, ProjectStaticData.ClassInfo info) {
+        if (info.getBytecodeHash() != null) {
+            cut.setBytecodeHash(info.getBytecodeHash());
+        }
+    }
+
     private File getScaffoldingIfExists(File testSuite) throws IllegalArgumentException {
 
         String java = ".java";
@@ -909,7 +927,7 @@ public class StorageManager {
         }
     }
 
-    private File getFileForTargetBestTest(String testName) {
+    public static File getFileForTargetBestTest(String testName) {
         String path = testName.replace(".", File.separator);
         path += ".java";
         return new File(getBestTestFolder() + File.separator + path);
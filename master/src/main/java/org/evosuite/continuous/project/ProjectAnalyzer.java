@@ -19,6 +19,7 @@
  */
 package org.evosuite.continuous.project;
 
+import org.apache.commons.io.IOUtils;
 import org.evosuite.Properties;
 import org.evosuite.Properties.AvailableSchedule;
 import org.evosuite.TestGenerationContext;
@@ -35,6 +36,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 /**
@@ -237,14 +244,94 @@ public class ProjectAnalyzer {
 
             ClassInfo ci = new ClassInfo(theClass, numberOfBranches, hasCode);
             data.addNewClass(ci);
+        }
 
-            if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
-                ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
-                ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
-            }
+        if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
+            // dependencies are only known once all classes have been analyzed
+            analyzeChanges(data);
         }
 
         return data;
     }
+
+    /**
+     * Decide which CUTs have been changed since the previous CTG run, and
+     * which ones are still worth testing. As a CUT is affected by changes in
+     * the classes it depends on as well, it is identified by the hash of its
+     * bytecode and of the bytecode of all its dependencies
+     *
+     * @param data
+     */
+    private void analyzeChanges(ProjectStaticData data) {
+        ProjectGraph graph = data.getProjectGraph();
+
+        /*
+         * Key -> class name
+         * Value -> digest of its bytecode, computed once even if many CUTs depend on it
+         */
+        Map<String, byte[]> digests = new HashMap<>();
+
+        for (ClassInfo ci : data.getClassInfos()) {
+            String className = ci.getClassName();
+            String bytecodeHash = ci.isTestable() ? computeBytecodeHash(className, graph, digests) : null;
+
+            ci.setBytecodeHash(bytecodeHash);
+            ci.setSameBytecode(data.hasSameBytecode(className, bytecodeHash));
+            ci.setChanged(data.hasChanged(className, ci.theClass.getCanonicalName() + ".java", bytecodeHash));
+            ci.isToTest(data.isToTest(ci.theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
+        }
+    }
+
+    /**
+     * Hash of the bytecode of the given class and of all the classes it depends on
+     *
+     * @param className
+     * @param graph
+     * @param digests
+     * @return a hexadecimal hash, or <code>null</code> if it cannot be computed
+     */
+    String computeBytecodeHash(String className, ProjectGraph graph, Map<String, byte[]> digests) {
+        try {
+            MessageDigest digest = newDigest();
+            digest.update(className.getBytes(StandardCharsets.UTF_8));
+            digest.update(getBytecodeDigest(className, digests));
+
+            // dependencies are sorted, so the hash does not depend on the analysis order
+            for (String dependency : graph.getAllDependencies(className)) {
+                digest.update((byte) 0);
+                digest.update(dependency.getBytes(StandardCharsets.UTF_8));
+                digest.update(getBytecodeDigest(dependency, digests));
+            }
+
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (Exception e) {
+            logger.warn("Cannot compute bytecode hash of " + className + " due to: " + e.getClass() + " " + e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] getBytecodeDigest(String className, Map<String, byte[]> digests) throws IOException {
+        byte[] bytecodeDigest = digests.get(className);
+        if (bytecodeDigest == null) {
+            InputStream stream = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+                    .getClassAsStream(className);
+            if (stream == null) {
+                throw new IOException("Bytecode not found");
+            }
+            try (InputStream in = stream) {
+                bytecodeDigest = newDigest().digest(IOUtils.toByteArray(in));
+            }
+            digests.put(className, bytecodeDigest);
+        }
+        return bytecodeDigest;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
 
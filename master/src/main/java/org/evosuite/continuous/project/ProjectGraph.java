@@ -26,9 +26,15 @@ import org.evosuite.setup.InheritanceTree;
 import org.evosuite.setup.InheritanceTreeGenerator;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TypeInsnNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +69,11 @@ public class ProjectGraph {
      */
     private final Map<String, Set<String>> castInformation;
 
+    /**
+     * Map from class name (key) to the classes of the SUT it directly depends on (value)
+     */
+    private final Map<String, Set<String>> directDependencies;
+
     private final ProjectStaticData data;
 
 
@@ -76,6 +87,7 @@ public class ProjectGraph {
         this.data = data;
         inheritanceTree = InheritanceTreeGenerator.createFromClassList(data.getClassNames());
         castInformation = new HashMap<>();
+        directDependencies = new HashMap<>();
 
         if (logger.isDebugEnabled()) {
             logger.debug("Classes in inheritance tree: " + inheritanceTree.getAllClasses());
@@ -303,6 +315,54 @@ public class ProjectGraph {
     }
 
 
+    /**
+     * Return all the classes of the SUT that <code>aClass</code> depends on, directly or
+     * transitively: its parent hierarchy, the classes used as input in its public
+     * methods/fields or in casts, and the classes referenced in its method bodies
+     * (eg, instantiated, called or whose fields are accessed). Classes only reached by
+     * reflection or through a string are not detected. Non-testable classes are included as well, as changing
+     * any of them could change the behavior of <code>aClass</code>.
+     * This <code>aClass</code> will not be part of the returned set
+     *
+     * @param aClass a class belonging to the SUT, but not necessarily a CUT
+     * @return a sorted set of full qualifying names of classes in the SUT
+     * @throws IllegalArgumentException if the input <code>aClass</code> does not belong to the SUT
+     */
+    public Set<String> getAllDependencies(String aClass) throws IllegalArgumentException {
+        checkClass(aClass);
+
+        Set<String> dependencies = new TreeSet<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        toVisit.add(aClass);
+
+        while (!toVisit.isEmpty()) {
+            String current = toVisit.poll();
+            for (String name : getDirectDependencies(current)) {
+                if (!name.equals(aClass) && dependencies.add(name)) {
+                    toVisit.add(name);
+                }
+            }
+        }
+
+        return dependencies;
+    }
+
+    private Set<String> getDirectDependencies(String aClass) {
+        if (!directDependencies.containsKey(aClass)) {
+            Set<String> direct = recursionToSearchDirectInputs(aClass, false);
+            try { //FIXME
+                direct.addAll(inheritanceTree.getSuperclasses(aClass));
+            } catch (Exception e) {
+                logger.error("Bug in inheritanceTree: " + e);
+            }
+            direct.addAll(getReferencedClasses(aClass));
+            direct.removeIf(name -> name.equals(aClass) || !data.containsClass(name));
+            directDependencies.put(aClass, direct);
+        }
+
+        return directDependencies.get(aClass);
+    }
+
     private void removeNonCUT(Set<String> set) throws IllegalArgumentException {
 
         Iterator<String> iter = set.iterator();
@@ -353,6 +413,45 @@ public class ProjectGraph {
         return castInformation.get(className);
     }
 
+    /**
+     * Determine the set of classes that are referenced in the instructions
+     * of the methods of a class, ie the class entries of its constant pool
+     *
+     * @param className
+     * @return
+     */
+    private Set<String> getReferencedClasses(String className) {
+        Set<String> referenced = new LinkedHashSet<>();
+        ClassNode node = getClassNode(className);
+        for (MethodNode methodNode : node.methods) {
+            ListIterator<AbstractInsnNode> iterator = methodNode.instructions.iterator();
+            while (iterator.hasNext()) {
+                AbstractInsnNode insn = iterator.next();
+                if (insn instanceof MethodInsnNode) {
+                    addReferencedClass(Type.getObjectType(((MethodInsnNode) insn).owner), referenced);
+                } else if (insn instanceof FieldInsnNode) {
+                    addReferencedClass(Type.getObjectType(((FieldInsnNode) insn).owner), referenced);
+                } else if (insn instanceof TypeInsnNode) {
+                    addReferencedClass(Type.getObjectType(((TypeInsnNode) insn).desc), referenced);
+                } else if (insn instanceof MultiANewArrayInsnNode) {
+                    addReferencedClass(Type.getType(((MultiANewArrayInsnNode) insn).desc), referenced);
+                } else if (insn instanceof LdcInsnNode && ((LdcInsnNode) insn).cst instanceof Type) {
+                    addReferencedClass((Type) ((LdcInsnNode) insn).cst, referenced);
+                }
+            }
+        }
+        return referenced;
+    }
+
+    private void addReferencedClass(Type type, Set<String> classNames) {
+        if (type.getSort() == Type.ARRAY) {
+            type = type.getElementType();
+        }
+        if (type.getSort() == Type.OBJECT && inheritanceTree.hasClass(type.getClassName())) {
+            classNames.add(type.getClassName());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Set<String> getParameterClasses(String cut) {
         Set<String> parameters = new LinkedHashSet<>();
@@ -22,6 +22,7 @@ package org.evosuite.continuous.project;
 import org.evosuite.Properties;
 import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.xsd.CUT;
+import org.evosuite.xsd.CUTUtil;
 import org.evosuite.xsd.Generation;
 import org.evosuite.xsd.Project;
 import org.slf4j.Logger;
@@ -68,9 +69,19 @@ public class ProjectStaticData {
 
     private final Set<String> modifiedFiles;
 
+    /**
+     * has the history file been read? if not, the source files
+     * that have been added/modified are unknown
+     */
+    private boolean historyLoaded = false;
 
     private Project project = null;
 
+    /**
+     * Map from the full class name of a CUT in {@link #project} (key)
+     * to its CUT object (value)
+     */
+    private final Map<String, CUT> cuts = new HashMap<>();
 
     private ProjectGraph graph = null;
 
@@ -82,6 +93,10 @@ public class ProjectStaticData {
 
 
     public void initializeLocalHistory() {
+        // bytecode hashes recorded in previous runs can tell what has changed,
+        // even without any history file
+        setProject(StorageManager.getDatabaseProject());
+
         if (Properties.CTG_HISTORY_FILE == null) {
             logger.info("ctg history file is not set");
             return;
@@ -111,6 +126,7 @@ public class ProjectStaticData {
                         break;
                 }
             }
+            this.historyLoaded = true;
         } catch (FileNotFoundException e) {
             logger.error("'" + Properties.CTG_HISTORY_FILE + "' file not found");
         } catch (IOException e) {
@@ -123,8 +139,6 @@ public class ProjectStaticData {
                 ex.printStackTrace();
             }
         }
-
-        this.project = StorageManager.getDatabaseProject();
     }
 
     /**
@@ -153,6 +167,18 @@ public class ProjectStaticData {
          */
         private boolean isToTest = true;
 
+        /**
+         * hash of the bytecode of the CUT and of all the classes
+         * it depends on, null if not computed
+         */
+        private String bytecodeHash = null;
+
+        /**
+         * is the bytecode of the CUT and of all the classes it depends on
+         * the same as when its current best test suite was generated?
+         */
+        private boolean hasSameBytecode = false;
+
         /**
          * time budget in seconds allocated to test this class
          */
@@ -194,6 +220,22 @@ public class ProjectStaticData {
             return this.isToTest;
         }
 
+        public void setBytecodeHash(String bytecodeHash) {
+            this.bytecodeHash = bytecodeHash;
+        }
+
+        public String getBytecodeHash() {
+            return this.bytecodeHash;
+        }
+
+        public void setSameBytecode(boolean sameBytecode) {
+            this.hasSameBytecode = sameBytecode;
+        }
+
+        public boolean hasSameBytecode() {
+            return this.hasSameBytecode;
+        }
+
         public void setTimeBudgetInSeconds(int timeBudgetInSeconds) {
             this.timeBudgetInSeconds = timeBudgetInSeconds;
         }
@@ -295,8 +337,67 @@ public class ProjectStaticData {
         return this.modifiedFiles.parallelStream().anyMatch(m -> m.endsWith(javaFileName));
     }
 
+    /**
+     * Returns true if a class has been changed, false otherwise.
+     * If a bytecode hash was recorded for the class in a previous CTG run,
+     * the class has been changed if its bytecode or the bytecode of any of
+     * the classes it depends on is different now (or if its best test suite
+     * is gone). Otherwise, it has been changed if the last commit
+     * added/modified its source file. Without any recorded hash nor
+     * history file, nothing is known about the class, which is then
+     * considered as changed.
+     *
+     * @param className
+     * @param javaFileName
+     * @param bytecodeHash the current hash, see {@link ClassInfo#getBytecodeHash()}
+     * @return
+     */
+    public boolean hasChanged(String className, String javaFileName, String bytecodeHash) {
+        CUT cut = getCUT(className);
+        if (bytecodeHash == null || cut == null || cut.getBytecodeHash() == null) {
+            return !this.historyLoaded || hasChanged(javaFileName);
+        }
+        return !hasSameBytecode(className, bytecodeHash);
+    }
+
+    /**
+     * It checks whether the bytecode of 'className' and of all the
+     * classes it depends on is the same as when its current best
+     * test suite was generated. If so, that test suite is still
+     * valid, and there is no need to generate a new one.
+     *
+     * @param className
+     * @param bytecodeHash the current hash, see {@link ClassInfo#getBytecodeHash()}
+     * @return
+     */
+    public boolean hasSameBytecode(String className, String bytecodeHash) {
+        CUT cut = getCUT(className);
+        if (bytecodeHash == null || cut == null || !bytecodeHash.equals(cut.getBytecodeHash())) {
+            return false;
+        }
+
+        if (CUTUtil.getLatestSuccessfulGeneration(cut) == null) {
+            return false; // there is no generated test suite to keep
+        }
+
+        // the test suite could had been manually removed
+        return StorageManager.getFileForTargetBestTest(cut.getFullNameOfTestSuite()).exists();
+    }
+
+    private CUT getCUT(String className) {
+        return this.cuts.get(className);
+    }
+
     protected void setProject(Project project) {
         this.project = project;
+
+        this.cuts.clear();
+        if (project != null) {
+            for (CUT cut : project.getCut()) {
+                // as in a linear search, the first CUT of a class is the one that counts
+                this.cuts.putIfAbsent(cut.getFullNameOfTargetClass(), cut);
+            }
+        }
     }
 
     /**
@@ -315,9 +416,7 @@ public class ProjectStaticData {
             return true; // we don't have any previous data at all
         }
 
-        CUT cut = this.project.getCut().parallelStream()
-                .filter(p -> p.getFullNameOfTargetClass().equals(className))
-                .findFirst().orElse(null);
+        CUT cut = getCUT(className);
 
         if (cut == null) {
             return true; // we don't have any coverage yet
@@ -19,13 +19,17 @@
  */
 package org.evosuite.rmi;
 
+import org.evosuite.Properties;
+import org.evosuite.rmi.service.ClientNodeRemote;
 import org.evosuite.rmi.service.MasterNodeImpl;
 import org.evosuite.rmi.service.MasterNodeLocal;
 import org.evosuite.rmi.service.MasterNodeRemote;
+import org.evosuite.rmi.socket.SocketServer;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.rmi.NoSuchObjectException;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
@@ -52,6 +56,11 @@ public class MasterServices {
      */
     private Registry registry;
 
+    /**
+     * Used instead of the registry when communicating on sockets
+     */
+    private SocketServer<ClientNodeRemote> socketServer;
+
     private MasterNodeImpl masterNode;
 
 
@@ -66,10 +75,14 @@ public class MasterServices {
 
     public boolean startRegistry() throws IllegalStateException {
 
-        if (registry != null) {
+        if (registry != null || socketServer != null) {
             throw new IllegalStateException("RMI registry is already running");
         }
 
+        if (Properties.PROCESS_COMMUNICATION == Properties.ProcessCommunication.SOCKET) {
+            return startSocketServer();
+        }
+
         /*
          * Unfortunately, it does not seem possible to start a RMI registry on an
          * ephemeral port. So, we start with a port, and see if free. If not, try the
@@ -96,6 +109,26 @@ public class MasterServices {
         return false;
     }
 
+    /**
+     * Sockets can be bound to an ephemeral port, so there is no need to try
+     * random ports
+     */
+    private boolean startSocketServer() {
+        socketServer = new SocketServer<>(ClientNodeRemote.class, r -> {
+            Thread thread = new Thread(r, "Socket transport in master process");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            registryPort = socketServer.bind();
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to open server socket", e);
+            socketServer = null;
+            return false;
+        }
+    }
+
     /**
      * Return the port on which the registry is running.
      *
@@ -106,6 +139,11 @@ public class MasterServices {
     }
 
     public void registerServices() throws RemoteException {
+        if (socketServer != null) {
+            masterNode = new MasterNodeImpl(socketServer::getRemote);
+            socketServer.start(masterNode, MasterNodeRemote.class);
+            return;
+        }
         masterNode = new MasterNodeImpl(registry);
         MasterNodeRemote stub = (MasterNodeRemote) UtilsRMI.exportObject(masterNode);
         registry.rebind(MasterNodeRemote.RMI_SERVICE_NAME, stub);
@@ -117,6 +155,17 @@ public class MasterServices {
     }
 
     public void stopServices() {
+        if (masterNode != null) {
+            masterNode.stop();
+        }
+
+        if (socketServer != null) {
+            socketServer.close();
+            socketServer = null;
+            masterNode = null;
+            registryPort = -1;
+        }
+
         if (masterNode != null) {
             try {
                 UnicastRemoteObject.unexportObject(masterNode, true);
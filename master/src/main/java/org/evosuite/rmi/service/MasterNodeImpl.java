@@ -35,6 +35,9 @@ import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
@@ -42,7 +45,15 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
     private static final Logger logger = LoggerFactory.getLogger(MasterNodeImpl.class);
 
-    private final Registry registry;
+    /**
+     * How the remote reference of a client is obtained once it registers
+     */
+    @FunctionalInterface
+    public interface ClientNodeLookup {
+        ClientNodeRemote lookup(String clientRmiIdentifier) throws Exception;
+    }
+
+    private final ClientNodeLookup lookup;
     private final Map<String, ClientNodeRemote> clients;
 
     protected final Collection<Listener<ClientStateInformation>> listeners = Collections.synchronizedList(new ArrayList<>());
@@ -57,11 +68,19 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
     private final Map<String, ClientStateInformation> clientStateInformation;
 
+    private final Map<String, ExecutorService> migrationExecutors = new ConcurrentHashMap<>();
+
+    private volatile boolean stopped = false;
+
     public MasterNodeImpl(Registry registry) {
+        this(clientRmiIdentifier -> (ClientNodeRemote) registry.lookup(clientRmiIdentifier));
+    }
+
+    public MasterNodeImpl(ClientNodeLookup lookup) {
         clients = new ConcurrentHashMap<>();
         clientStates = new ConcurrentHashMap<>();
         clientStateInformation = new ConcurrentHashMap<>();
-        this.registry = registry;
+        this.lookup = lookup;
     }
 
     @Override
@@ -74,12 +93,16 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
         ClientNodeRemote node = null;
         try {
-            node = (ClientNodeRemote) registry.lookup(clientRmiIdentifier);
+            node = lookup.lookup(clientRmiIdentifier);
         } catch (Exception e) {
             logger.error("Error when client " + clientRmiIdentifier
                     + " tries to register to master", e);
             return;
         }
+        if (node == null) {
+            logger.error("Client " + clientRmiIdentifier + " tries to register to master without being connected");
+            return;
+        }
         synchronized (clients) {
             clients.put(clientRmiIdentifier, node);
             clients.notifyAll();
@@ -169,6 +192,15 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
         SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value);
     }
 
+    @Override
+    public void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable[] variables, Object[] values)
+            throws RemoteException {
+        SearchStatistics statistics = SearchStatistics.getInstance(clientRmiIdentifier);
+        for (int i = 0; i < variables.length; i++) {
+            statistics.setOutputVariable(variables[i], values[i]);
+        }
+    }
+
     @Override
     public void evosuite_collectTestGenerationResult(
             String clientRmiIdentifier, List<TestGenerationResult> results)
@@ -191,18 +223,54 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
     @Override
     public void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome<?>> migrants)
             throws RemoteException {
-        //implements ring topology
         int idSender = Integer.parseInt(clientRmiIdentifier.replaceAll("[^0-9]", ""));
-        int idNeighbour = (idSender + 1) % Properties.NUM_PARALLEL_CLIENTS;
-
-        while (!ClientState.SEARCH.equals(clientStates.get("ClientNode" + idNeighbour)) && idNeighbour != idSender) {
-            idNeighbour = (idNeighbour + 1) % Properties.NUM_PARALLEL_CLIENTS;
+        IslandTopology topology = new IslandTopology(Properties.MIGRATION_TOPOLOGY, Properties.NUM_PARALLEL_CLIENTS);
+        List<Integer> neighbours = topology.getNeighbours(idSender,
+                id -> ClientState.SEARCH.equals(clientStates.get("ClientNode" + id)));
+
+        // Deliver asynchronously, so that neither the sender nor the other
+        // deliveries wait for a busy client
+        for (int idNeighbour : neighbours) {
+            String neighbour = "ClientNode" + idNeighbour;
+            ClientNodeRemote node = clients.get(neighbour);
+            if (node == null || stopped) {
+                continue;
+            }
+            try {
+                getMigrationExecutor(neighbour).execute(() -> {
+                    try {
+                        node.immigrate(migrants);
+                    } catch (RemoteException e) {
+                        logger.warn("Cannot send migrants from " + clientRmiIdentifier + " to " + neighbour + ": " + e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug("Dropping migrants for " + neighbour + ", the master node is stopped");
+            }
         }
+    }
 
-        if (idNeighbour != idSender) {
-            ClientNodeRemote node = clients.get("ClientNode" + idNeighbour);
-            node.immigrate(migrants);
+    /**
+     * Stops delivering migrants. Pending deliveries are dropped, as the
+     * search of the clients is over
+     */
+    public void stop() {
+        stopped = true;
+        for (ExecutorService executor : migrationExecutors.values()) {
+            executor.shutdownNow();
         }
+        migrationExecutors.clear();
+    }
+
+    /**
+     * Migrants are delivered to each client in the order they were sent
+     */
+    private ExecutorService getMigrationExecutor(String clientRmiIdentifier) {
+        return migrationExecutors.computeIfAbsent(clientRmiIdentifier, id -> Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Migration to " + id);
+            thread.setDaemon(true);
+            return thread;
+        }));
     }
 
     @Override
@@ -19,17 +19,32 @@
  */
 package org.evosuite.continuous.job;
 
+import java.io.File;
 import java.util.List;
 import java.util.Set;
 
+import javax.xml.bind.JAXBContext;
+
+import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.continuous.CtgConfiguration;
 import org.evosuite.Properties.AvailableSchedule;
+import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.continuous.project.ProjectAnalyzer;
 import org.evosuite.continuous.project.ProjectStaticData;
+import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
+import org.evosuite.xsd.CUT;
+import org.evosuite.xsd.Coverage;
+import org.evosuite.xsd.Generation;
+import org.evosuite.xsd.Project;
+import org.evosuite.xsd.TestSuite;
+import org.evosuite.xsd.XSDUtils;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.examples.with.different.packagename.continuous.BaseForSeeding;
 import com.examples.with.different.packagename.continuous.MoreBranches;
@@ -50,6 +65,14 @@ public class JobSchedulerTest {
         ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
     }
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
     @Test
     public void testBudget() {
 
@@ -314,5 +337,83 @@ public class JobSchedulerTest {
         Assert.assertTrue(trivialTime < seedingTime);
     }
 
+    @Test
+    public void testHistorySameBytecode() throws Exception {
+        Properties.CTG_SCHEDULE = AvailableSchedule.HISTORY;
+        Properties.CTG_DIR = folder.getRoot().getAbsolutePath();
+
+        String[] cuts = new String[]{MoreBranches.class.getName(), SomeBranches.class.getName()};
+
+        // a previous CTG run generated the best test suite of MoreBranches for its current bytecode
+        ProjectStaticData previous = new ProjectAnalyzer(cuts).analyze();
+        String bytecodeHash = previous.getClassInfo(MoreBranches.class.getName()).getBytecodeHash();
+        Assert.assertNotNull(bytecodeHash);
+        writeDatabaseWithBestTestSuite(MoreBranches.class.getName(), bytecodeHash);
+
+        ProjectStaticData data = new ProjectAnalyzer(cuts).analyze();
+
+        ClassInfo moreBranches = data.getClassInfo(MoreBranches.class.getName());
+        Assert.assertTrue(moreBranches.hasSameBytecode());
+        Assert.assertFalse(moreBranches.hasChanged());
+        ClassInfo someBranches = data.getClassInfo(SomeBranches.class.getName());
+        Assert.assertFalse(someBranches.hasSameBytecode());
+        Assert.assertTrue(someBranches.hasChanged());
 
+        int minMinutesPerJob = 1;
+        CtgConfiguration conf = new CtgConfiguration(1400, 1, 10, minMinutesPerJob, false, AvailableSchedule.HISTORY);
+        JobScheduler scheduler = new JobScheduler(data, conf);
+
+        List<JobDefinition> jobs = scheduler.createNewSchedule();
+        Assert.assertNotNull(jobs);
+        Assert.assertEquals(2, jobs.size());
+
+        Assert.assertEquals(SomeBranches.class.getName(), jobs.get(0).cut);
+        Assert.assertTrue("" + jobs.get(0).seconds, jobs.get(0).seconds > 60 * minMinutesPerJob);
+
+        // the best test suite is still valid, so neither extra nor left over budget is given to it,
+        // even if the class has more branches
+        Assert.assertEquals(MoreBranches.class.getName(), jobs.get(1).cut);
+        Assert.assertEquals(60 * minMinutesPerJob, jobs.get(1).seconds);
+    }
+
+    private static void writeDatabaseWithBestTestSuite(String targetClass, String bytecodeHash) throws Exception {
+        String testName = targetClass + Properties.JUNIT_SUFFIX;
+
+        Coverage coverage = new Coverage();
+        coverage.setCriterion("LINE");
+        coverage.setCoverageValue(1.0);
+        coverage.setCoverageBitString("1");
+
+        TestSuite suite = new TestSuite();
+        suite.setFullPathOfTestSuite(StorageManager.getFileForTargetBestTest(testName).getAbsolutePath());
+        suite.setNumberOfTests(XSDUtils.convert(1));
+        suite.setTotalNumberOfStatements(XSDUtils.convert(1));
+        suite.setTotalEffortInSeconds(XSDUtils.convert(60));
+        suite.getCoverage().add(coverage);
+
+        Generation generation = new Generation();
+        generation.setId(XSDUtils.convert(0));
+        generation.setFailed(false);
+        generation.setModified(true);
+        generation.setTimeBudgetInSeconds(XSDUtils.convert(60));
+        generation.setMemoryInMB(XSDUtils.convert(700));
+        generation.setSuite(suite);
+
+        CUT cut = new CUT();
+        cut.setFullNameOfTargetClass(targetClass);
+        cut.setFullNameOfTestSuite(testName);
+        cut.setBytecodeHash(bytecodeHash);
+        cut.getGeneration().add(generation);
+
+        Project project = new Project();
+        project.setTotalNumberOfTestableClasses(XSDUtils.convert(1));
+        project.getCut().add(cut);
+
+        File bestTestSuite = StorageManager.getFileForTargetBestTest(testName);
+        Assert.assertTrue(bestTestSuite.getParentFile().mkdirs());
+        Assert.assertTrue(bestTestSuite.createNewFile());
+
+        JAXBContext.newInstance(Project.class).createMarshaller()
+                .marshal(project, new File(Properties.CTG_DIR, Properties.CTG_PROJECT_INFO));
+    }
 }
@@ -19,14 +19,25 @@
  */
 package org.evosuite.continuous.project;
 
+import org.evosuite.Properties;
+import org.evosuite.Properties.AvailableSchedule;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.examples.with.different.packagename.continuous.Simple;
 import com.examples.with.different.packagename.continuous.Trivial;
+import com.examples.with.different.packagename.continuous.UsingSimpleAndTrivial;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ProjectAnalyzerIntTest {
 
@@ -35,6 +46,14 @@ public class ProjectAnalyzerIntTest {
         ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
     }
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
     @Test
     public void testActualScanWithPrefix() {
         String target = "target/test-classes";
@@ -79,4 +98,33 @@ public class ProjectAnalyzerIntTest {
         Assert.assertNotNull(trivial);
         Assert.assertEquals(1, trivial.numberOfBranches);
     }
+
+    @Test
+    public void testBytecodeHashOfDependencies() throws Exception {
+        Properties.CTG_SCHEDULE = AvailableSchedule.HISTORY;
+        Properties.CTG_DIR = folder.getRoot().getAbsolutePath();
+
+        String[] cuts = new String[]{UsingSimpleAndTrivial.class.getName(),
+                Simple.class.getName(), Trivial.class.getName()};
+
+        ProjectAnalyzer pa = new ProjectAnalyzer(cuts);
+        ProjectStaticData data = pa.analyze();
+
+        String using = data.getClassInfo(UsingSimpleAndTrivial.class.getName()).getBytecodeHash();
+        String trivial = data.getClassInfo(Trivial.class.getName()).getBytecodeHash();
+        Assert.assertNotNull(using);
+        Assert.assertNotNull(trivial);
+
+        // same bytecode, same hash
+        Map<String, byte[]> digests = new HashMap<>();
+        ProjectGraph graph = data.getProjectGraph();
+        Assert.assertEquals(using, pa.computeBytecodeHash(UsingSimpleAndTrivial.class.getName(), graph, digests));
+        Assert.assertEquals(trivial, pa.computeBytecodeHash(Trivial.class.getName(), graph, digests));
+
+        // the bytecode of Simple is changed, which is a dependency of UsingSimpleAndTrivial only
+        digests.put(Simple.class.getName(), MessageDigest.getInstance("SHA-256")
+                .digest("changed".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertNotEquals(using, pa.computeBytecodeHash(UsingSimpleAndTrivial.class.getName(), graph, digests));
+        Assert.assertEquals(trivial, pa.computeBytecodeHash(Trivial.class.getName(), graph, digests));
+    }
 }
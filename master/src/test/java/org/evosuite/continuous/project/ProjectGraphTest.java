@@ -20,6 +20,7 @@
 package org.evosuite.continuous.project;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Set;
 
 import org.evosuite.classpath.ClassPathHandler;
@@ -88,6 +89,35 @@ public class ProjectGraphTest {
         Assert.assertTrue(graph.isAbstract(G.class.getName()));
     }
 
+    @Test
+    public void testGetAllDependencies() {
+        ProjectStaticData data = new ProjectStaticData();
+        data.addNewClass(new ClassInfo(A.class, 1, true));
+        data.addNewClass(new ClassInfo(B.class, 1, true));
+        data.addNewClass(new ClassInfo(C.class, 0, false));
+        data.addNewClass(new ClassInfo(D.class, 0, false));
+        data.addNewClass(new ClassInfo(E.class, 1, true));
+        data.addNewClass(new ClassInfo(F.class, 0, false));
+        data.addNewClass(new ClassInfo(G.class, 1, true));
+        data.addNewClass(new ClassInfo(H.class, 1, true));
+        data.addNewClass(new ClassInfo(I.class, 1, true));
+
+        ProjectGraph graph = data.getProjectGraph();
+
+        Assert.assertTrue(graph.getAllDependencies(A.class.getName()).isEmpty());
+        Assert.assertEquals(Collections.singleton(A.class.getName()), graph.getAllDependencies(B.class.getName()));
+        Assert.assertTrue(graph.getAllDependencies(G.class.getName()).contains(E.class.getName()));
+
+        // B is used as input, and B extends A
+        Set<String> forH = graph.getAllDependencies(H.class.getName());
+        Assert.assertTrue(forH.contains(A.class.getName()));
+        Assert.assertTrue(forH.contains(B.class.getName()));
+        Assert.assertFalse(forH.contains(H.class.getName()));
+
+        // A is only used in the body of a method
+        Assert.assertEquals(Collections.singleton(A.class.getName()), graph.getAllDependencies(I.class.getName()));
+    }
+
     class A {
         void foo() {
         }
@@ -120,4 +150,15 @@ public class ProjectGraphTest {
         void foo() {
         }
     }
+
+    class H {
+        public void bar(B b) {
+        }
+    }
+
+    class I {
+        void bar() {
+            new A().foo();
+        }
+    }
 }
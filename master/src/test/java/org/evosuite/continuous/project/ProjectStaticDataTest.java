@@ -19,19 +19,36 @@
  */
 package org.evosuite.continuous.project;
 
+import org.apache.commons.io.FileUtils;
+import org.evosuite.Properties;
+import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.xsd.CUT;
 import org.evosuite.xsd.Generation;
 import org.evosuite.xsd.Project;
 import org.evosuite.xsd.TestSuite;
 import org.evosuite.xsd.XSDUtils;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author José Campos
  */
 public class ProjectStaticDataTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
     @Test
     public void testIsToTest_NoData() {
 
@@ -221,4 +238,83 @@ public class ProjectStaticDataTest {
         // coverage has improved
         Assert.assertTrue(data.isToTest("foo.Bar", 3));
     }
+
+    private ProjectStaticData createDataWithBestTestSuite(String bytecodeHash) throws Exception {
+        Properties.CTG_DIR = folder.getRoot().getAbsolutePath();
+
+        Project project = new Project();
+        project.setTotalNumberOfTestableClasses(XSDUtils.convert(1));
+
+        CUT cut = new CUT();
+        cut.setFullNameOfTargetClass("foo.Bar");
+        cut.setFullNameOfTestSuite("foo.BarTest");
+        cut.setBytecodeHash(bytecodeHash);
+
+        Generation g0 = new Generation();
+        g0.setId(XSDUtils.convert(0));
+        g0.setFailed(false);
+        g0.setModified(true);
+        g0.setTimeBudgetInSeconds(XSDUtils.convert(60));
+        g0.setSuite(new TestSuite()); // empty dummy test suite
+
+        cut.getGeneration().add(g0);
+        project.getCut().add(cut);
+
+        File bestTestSuite = StorageManager.getFileForTargetBestTest("foo.BarTest");
+        Assert.assertTrue(bestTestSuite.getParentFile().mkdirs());
+        Assert.assertTrue(bestTestSuite.createNewFile());
+
+        ProjectStaticData data = new ProjectStaticData();
+        data.initializeLocalHistory();
+        data.setProject(project);
+        return data;
+    }
+
+    @Test
+    public void testHasSameBytecode() throws Exception {
+        ProjectStaticData data = createDataWithBestTestSuite("abc");
+
+        Assert.assertTrue(data.hasSameBytecode("foo.Bar", "abc"));
+        Assert.assertFalse(data.hasChanged("foo.Bar", "foo.Bar.java", "abc"));
+
+        // the CUT or any of its dependencies was changed
+        Assert.assertFalse(data.hasSameBytecode("foo.Bar", "def"));
+        Assert.assertTrue(data.hasChanged("foo.Bar", "foo.Bar.java", "def"));
+
+        // no hash could be computed
+        Assert.assertFalse(data.hasSameBytecode("foo.Bar", null));
+    }
+
+    @Test
+    public void testHasSameBytecode_BestTestSuiteRemoved() throws Exception {
+        ProjectStaticData data = createDataWithBestTestSuite("abc");
+        Assert.assertTrue(StorageManager.getFileForTargetBestTest("foo.BarTest").delete());
+
+        // there is no valid test suite to keep, so generate a new one
+        Assert.assertFalse(data.hasSameBytecode("foo.Bar", "abc"));
+        Assert.assertTrue(data.hasChanged("foo.Bar", "foo.Bar.java", "abc"));
+    }
+
+    @Test
+    public void testHasChanged_NoBytecodeHash() throws Exception {
+        File history = folder.newFile("history");
+        FileUtils.writeStringToFile(history, "M\tfoo/Foo.java\n", StandardCharsets.UTF_8);
+        Properties.CTG_HISTORY_FILE = history.getAbsolutePath();
+
+        ProjectStaticData data = createDataWithBestTestSuite(null);
+
+        // without any previous hash, rely on the history file
+        Assert.assertFalse(data.hasSameBytecode("foo.Bar", "abc"));
+        Assert.assertFalse(data.hasChanged("foo.Bar", "foo.Bar.java", "abc"));
+        Assert.assertTrue(data.hasChanged("foo.Foo", "foo.Foo.java", "abc"));
+    }
+
+    @Test
+    public void testHasChanged_NoBytecodeHashNorHistory() throws Exception {
+        ProjectStaticData data = createDataWithBestTestSuite(null);
+
+        // nothing is known about the existing test suite, so it could be stale
+        Assert.assertFalse(data.hasSameBytecode("foo.Bar", "abc"));
+        Assert.assertTrue(data.hasChanged("foo.Bar", "foo.Bar.java", "abc"));
+    }
 }
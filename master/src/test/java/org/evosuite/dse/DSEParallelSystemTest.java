@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import com.examples.with.different.packagename.dse.Max;
+import com.examples.with.different.packagename.solver.MazeClientArrays;
+import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
+import org.evosuite.symbolic.dse.algorithm.DSEAlgorithms;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Solving queries and executing concolically on separate threads, with dse_solver_threads greater than 1
+ */
+public class DSEParallelSystemTest extends DSESystemTestBase {
+
+    @Before
+    public void init() {
+        super.init();
+
+        Properties.CURRENT_DSE_MODULE_VERSION = Properties.DSE_MODULE_VERSION.NEW;
+        Properties.DSE_EXPLORATION_ALGORITHM_TYPE = DSEAlgorithms.GENERATIONAL_SEARCH;
+    }
+
+    @Test
+    public void testMaxWithSolverThreads() {
+        Properties.DSE_SOLVER_THREADS = 4;
+        testDSEExecution(7, 0, Max.class);
+    }
+
+    @Test
+    public void testMazeClientWithSolverThreads() {
+        Properties.DSE_SOLVER_THREADS = 4;
+        Properties.DSE_EXPLORATION_ALGORITHM_TYPE = DSEAlgorithms.DFS;
+        testDSEExecution(26, 0, MazeClientArrays.class);
+    }
+
+    @Test
+    public void testSameTestsWithOneAndSeveralSolverThreads() {
+        String sequential = generateTests(Max.class, 1);
+        assertEquals(sequential, generateTests(Max.class, 1));
+        assertEquals(sequential, generateTests(Max.class, 4));
+    }
+
+    /**
+     * Runs DSE on the SUT, and restores the properties of the test afterwards
+     *
+     * @param SUT
+     * @param solverThreads
+     * @return the code of the generated tests
+     */
+    private String generateTests(Class<?> SUT, int solverThreads) {
+        Properties.DSE_SOLVER_THREADS = solverThreads;
+        Properties.TARGET_CLASS = SUT.getCanonicalName();
+
+        String[] command = new String[]{"-generateSuiteUsingDSE", "-class", SUT.getCanonicalName()};
+        try {
+            Object result = new EvoSuite().parseCommandLine(command);
+            return getDSEAFromResult(result).getGeneratedTestSuite().toString();
+        } finally {
+            resetStaticVariables();
+            setDefaultPropertiesForTestCases();
+            init();
+        }
+    }
+}
@@ -41,6 +41,7 @@ public class ServicesTest {
     @After
     public void tearDown() {
         Properties.PROCESS_COMMUNICATION_PORT = currentPort;
+        Properties.PROCESS_COMMUNICATION = Properties.ProcessCommunication.RMI;
     }
 
     @Test
@@ -64,4 +65,28 @@ public class ServicesTest {
         Assert.assertTrue("summary=" + summary, summary.contains(ClientState.STARTED.toString()));
     }
 
+    @Test
+    public void testMasterClientCommunicationOverSocket() throws Exception {
+        Properties.PROCESS_COMMUNICATION = Properties.ProcessCommunication.SOCKET;
+
+        MasterServices master = new MasterServices();
+        Assert.assertTrue(master.startRegistry());
+        master.registerServices();
+
+        Properties.PROCESS_COMMUNICATION_PORT = master.getRegistryPort();
+
+        ClientServices<?> clients = new ClientServices<>();
+        Assert.assertTrue(clients.registerServices("ClientNode"));
+
+        ClientNodeLocal<?> clientNode = clients.getClientNode();
+        clientNode.changeState(ClientState.STARTED);
+
+        MasterNodeLocal masterNode = master.getMasterNode();
+        String summary = masterNode.getSummaryOfClientStatuses();
+        Assert.assertTrue("summary=" + summary, summary.contains(ClientState.STARTED.toString()));
+        Assert.assertNotNull(masterNode.getClientsOnceAllConnected(10_000));
+
+        clients.stopServices();
+        master.stopServices();
+    }
 }
@@ -37,6 +37,16 @@ public class LoopCounter {
 
     private static final LoopCounter singleton = new LoopCounter();
 
+    /**
+     * Counters of parallel test execution workers, inherited by the threads they spawn
+     */
+    private static final ThreadLocal<LoopCounter> workerInstance = new InheritableThreadLocal<>();
+
+    /**
+     * Avoid the thread local lookup as long as no worker has ever been bound
+     */
+    private static volatile boolean workersBound = false;
+
     private boolean activated = true;
 
     /**
@@ -50,9 +60,42 @@ public class LoopCounter {
     }
 
     public static LoopCounter getInstance() {
+        if (workersBound) {
+            LoopCounter counter = workerInstance.get();
+            if (counter != null) {
+                return counter;
+            }
+        }
         return singleton;
     }
 
+    /**
+     * Create a new counter, independent from the singleton, to be used by a parallel
+     * test execution worker
+     *
+     * @return a new loop counter
+     */
+    public static LoopCounter newWorkerInstance() {
+        LoopCounter counter = new LoopCounter();
+        counter.activated = singleton.activated;
+        return counter;
+    }
+
+    /**
+     * Make {@link #getInstance()} return the given counter on the current thread and
+     * on all the threads it spawns
+     *
+     * @param counter
+     */
+    public static void bindToCurrentThread(LoopCounter counter) {
+        workersBound = true;
+        workerInstance.set(counter);
+    }
+
+    public static void unbindFromCurrentThread() {
+        workerInstance.remove();
+    }
+
     public void reset() {
         counters.clear();
     }
@@ -72,11 +115,28 @@ public class LoopCounter {
      * @return the next valid index for a new loop
      */
     public int getNewIndex() {
+        if (this != singleton) {
+            // indices are assigned during instrumentation, and are the same for all workers
+            return singleton.getNewIndex();
+        }
         int index = counters.size();
         counters.add(0L);
         return index;
     }
 
+    /**
+     * The index that {@link #getNewIndex()} is going to assign to the next parsed loop,
+     * without assigning it
+     *
+     * @return the next valid index for a new loop
+     */
+    public int peekNewIndex() {
+        if (this != singleton) {
+            return singleton.peekNewIndex();
+        }
+        return counters.size();
+    }
+
 
     /**
      * This is added directly in the instrumented CUT after each loop statement
@@ -59,6 +59,16 @@ public class RuntimeSettings {
      */
     public static boolean useVFS = false;
 
+    /**
+     * Shall the content of virtual files be stored in direct (off-heap) buffers?
+     */
+    public static boolean useDirectVirtualFileBuffers = false;
+
+    /**
+     * Maximum size in bytes of a virtual file. Writes beyond it fail as if the disk was full
+     */
+    public static int maxVirtualFileSize = Integer.MAX_VALUE;
+
     /**
      * Shall the test cases use a virtual network?
      */
@@ -54,6 +54,13 @@ public class ClassResetter {
      */
     private static final ClassResetter instance = new ClassResetter();
 
+    /**
+     * Resetters of parallel test execution workers, each using its own class loader
+     */
+    private static final ThreadLocal<ClassResetter> workerInstance = new InheritableThreadLocal<>();
+
+    private static volatile boolean workersBound = false;
+
     private ClassLoader loader;
 
     private final Map<ClassLoader, Map<String, Method>> resetMethodCache;
@@ -68,9 +75,43 @@ public class ClassResetter {
      * @return
      */
     public static ClassResetter getInstance() {
+        if (workersBound) {
+            ClassResetter resetter = workerInstance.get();
+            if (resetter != null) {
+                return resetter;
+            }
+        }
         return instance;
     }
 
+    /**
+     * Create a new resetter, independent from the singleton, to be used by a parallel
+     * test execution worker
+     *
+     * @param loader the class loader of the worker
+     * @return a new class resetter
+     */
+    public static ClassResetter newWorkerInstance(ClassLoader loader) {
+        ClassResetter resetter = new ClassResetter();
+        resetter.setClassLoader(loader);
+        return resetter;
+    }
+
+    /**
+     * Make {@link #getInstance()} return the given resetter on the current thread and
+     * on all the threads it spawns
+     *
+     * @param resetter
+     */
+    public static void bindToCurrentThread(ClassResetter resetter) {
+        workersBound = true;
+        workerInstance.set(resetter);
+    }
+
+    public static void unbindFromCurrentThread() {
+        workerInstance.remove();
+    }
+
     public void setClassLoader(ClassLoader loader) throws IllegalArgumentException {
         if (loader == null) {
             throw new IllegalArgumentException("Null class loader");
@@ -128,31 +128,38 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 			throw new NonReadableChannelException();
 		}
 
+		if( (offset < 0) || (offset > dsts.length) ||  (length < 0) || (length > dsts.length-offset) ){
+			throw new IndexOutOfBoundsException();
+		}
+
 		throwExceptionIfClosed();
 
 		int counter = 0;
 
 		synchronized(readWriteMonitor){
-			for(int j=offset; j<length; j++){
+			for(int j=offset; j<offset+length; j++){
 				ByteBuffer dst = dsts[j];
-				int r = dst.remaining();
-				for(int i=0; i<r; i++){
-					int b = NativeMockedIO.read(path, posToUpdate);
-					if(b < 0){ //end of stream
-						return -1;
-					}
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
-
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
-					}
-
-					dst.put((byte)b);
-					counter++;
+				if(!dst.hasRemaining()){
+					continue;
+				}
+
+				int r = NativeMockedIO.read(path, posToUpdate, dst);
+				if(r < 0){ //end of stream
+					return counter == 0 ? -1 : counter;
+				}
+
+				if(closed){
+					throw new AsynchronousCloseException();
+				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
+				}
+
+				counter += r;
+				if(dst.hasRemaining()){ //reached end of file
+					break;
 				}
 			}
 		}
@@ -203,26 +210,26 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 		int counter = 0;
 
-		byte[] buffer = new byte[1];
-
 		synchronized(readWriteMonitor){
-			for(int j=offset; j<length; j++){
+			for(int j=offset; j<offset+length; j++){
 				ByteBuffer src = srcs[j];
-				int r = src.remaining();
-				for(int i=0; i<r; i++){
-					byte b = src.get();
-					buffer[0] = b;
-					NativeMockedIO.writeBytes(path, posToUpdate, buffer, 0, 1);
-					counter++;
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
-
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
-					}
+				if(!src.hasRemaining()){
+					continue;
+				}
+
+				counter += NativeMockedIO.writeBytes(path, posToUpdate, src);
+
+				if(closed){
+					throw new AsynchronousCloseException();
+				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
+				}
+
+				if(src.hasRemaining()){ //file size limit reached
+					break;
 				}
 			}
 		}
@@ -20,8 +20,10 @@
 package org.evosuite.runtime.mock.java.io;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.vfs.FSObject;
 import org.evosuite.runtime.vfs.VFile;
 import org.evosuite.runtime.vfs.VirtualFileSystem;
@@ -60,6 +62,46 @@ public class NativeMockedIO {
 		return b; 
 	}
 
+	/**
+	 * Read up to {@code len} bytes in one go, and advance the position by the number of bytes read
+	 * 
+	 * @return the number of bytes read, or -1 at the end of the file
+	 */
+	public static int read(String path, AtomicInteger position, byte[] b, int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+		
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		int read = vf.read(position.get(), b, off, len);
+		if(read > 0){
+			position.addAndGet(read);
+		}
+		return read;
+	}
+
+	/**
+	 * Fill the remaining space of {@code dst} in one go, and advance the position by the number of bytes read
+	 * 
+	 * @return the number of bytes read, or -1 at the end of the file
+	 */
+	public static int read(String path, AtomicInteger position, ByteBuffer dst) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+		
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		int read = vf.read(position.get(), dst);
+		if(read > 0){
+			position.addAndGet(read);
+		}
+		return read;
+	}
+
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
@@ -85,6 +127,36 @@ public class NativeMockedIO {
 			throw new MockIOException("Error in writing to file");
 		}
 		position.addAndGet(written);
+		if(written < len){
+			//like a real stream, do not silently drop the bytes that do not fit
+			throw new MockIOException("No space left on device");
+		}
+	}
+
+	/**
+	 * Write the remaining bytes of {@code src} in one go, and advance the position by the number of bytes written
+	 * 
+	 * @return the number of bytes written
+	 */
+	public static int writeBytes(String path, AtomicInteger position, ByteBuffer src) throws IOException{
+		
+		VFile vf = NativeMockedIO.getFileForWriting(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+				
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		if(!src.hasRemaining()){
+			return 0;
+		}
+		
+		int written = vf.writeBytes(position.get(), src);
+		if(written==0){
+			throw new MockIOException("Error in writing to file");
+		}
+		position.addAndGet(written);
+		return written;
 	}
 
 	
@@ -107,6 +179,9 @@ public class NativeMockedIO {
 		if(newLength > Integer.MAX_VALUE){
 			throw new MockIOException("Virtual file system does not handle files larger than  "+Integer.MAX_VALUE+" bytes");
 		}
+		if(newLength > RuntimeSettings.maxVirtualFileSize){
+			throw new MockIOException("No space left for a file of "+newLength+" bytes");
+		}
 		
 		VFile vf = NativeMockedIO.getFileForWriting(path);
 		if(vf==null){
@@ -115,7 +190,9 @@ public class NativeMockedIO {
 		
 		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
 		
-		vf.setLength((int)newLength);
+		if(!vf.setLength((int)newLength)){
+			throw new MockIOException("No space left for a file of "+newLength+" bytes");
+		}
 		
 		if(position.get() > newLength){
 			position.set((int)newLength);
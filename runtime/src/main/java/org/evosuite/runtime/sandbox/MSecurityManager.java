@@ -49,6 +49,8 @@ import java.net.UnknownHostException;
 import java.security.*;
 import java.sql.SQLPermission;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
@@ -177,6 +179,25 @@ public class MSecurityManager extends SecurityManager {
      */
     private final Set<Permission> unrecognizedPermissions;
 
+    /**
+     * Upper bound on the number of cached verdicts. The SUT can ask for an unbounded number of
+     * different permissions (eg, one per property name), so the cache is emptied when full
+     */
+    private static final int MAX_CACHED_VERDICTS = 10000;
+
+    /**
+     * Verdicts for the permissions asked by threads running inside the sandbox.
+     * Only permission types whose verdict depends on nothing else than their
+     * type, name and actions are cached (see {@link #isVerdictCacheable}), and
+     * those are exactly the properties compared by their {@code equals}
+     */
+    private final ConcurrentMap<Permission, Boolean> verdictCache;
+
+    /**
+     * The runtime settings the cached verdicts were computed with, see {@link #getSettingsStamp()}
+     */
+    private volatile int verdictCacheSettings;
+
     /**
      * Create a custom security manager for the SUT. The thread that create this
      * instance is automatically added as "privileged"
@@ -188,6 +209,8 @@ public class MSecurityManager extends SecurityManager {
         executingTestCase = false;
         privilegedThreadToIgnore = null;
         unrecognizedPermissions = new CopyOnWriteArraySet<>();
+        verdictCache = new ConcurrentHashMap<>();
+        verdictCacheSettings = getSettingsStamp();
 
         filesToDelete = new CopyOnWriteArraySet<>();
     }
@@ -446,20 +469,103 @@ public class MSecurityManager extends SecurityManager {
     // ------------------------------------------------------------------------------------------
 
     private boolean isAWTThread() {
-        for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-            if (e.getClassName().startsWith("java.awt"))
-                return true;
+        // Also treat the logmanager like AWT stuff, it is just as weird
+        return isOnStack("java.awt", "javax.swing", "java.util.logging.LogManager");
+    }
 
-            if (e.getClassName().startsWith("javax.swing"))
-                return true;
+    /**
+     * Check whether the current execution stack contains a class whose name starts
+     * with any of the given prefixes.
+     * <p>
+     * This only looks at the classes on the stack ({@link SecurityManager#getClassContext()}),
+     * which is much cheaper than materializing the stack trace with method names, file
+     * names and line numbers, and stops at the first matching frame.
+     *
+     * @param classNamePrefixes
+     * @return
+     */
+    private boolean isOnStack(String... classNamePrefixes) {
+        for (Class<?> c : getClassContext()) {
+            String name = c.getName();
+            for (String prefix : classNamePrefixes) {
+                if (name.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the current execution stack contains the given method. The
+     * stack trace is only materialized if the class is on the stack
+     *
+     * @param className
+     * @param methodName
+     * @return
+     */
+    private boolean isOnStack(String className, String methodName) {
+        boolean found = false;
+        for (Class<?> c : getClassContext()) {
+            if (c.getName().equals(className)) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            return false;
+        }
 
-            // Also treat the logmanager like AWT stuff, it is just as weird
-            if (e.getClassName().startsWith("java.util.logging.LogManager"))
+        for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
+            if (e.getClassName().equals(className) && e.getMethodName().equals(methodName)) {
                 return true;
+            }
         }
         return false;
     }
 
+    /**
+     * The runtime settings the verdicts of the sandbox depend on, encoded in an int
+     */
+    private static int getSettingsStamp() {
+        return RuntimeSettings.sandboxMode.ordinal() * 4
+                + (RuntimeSettings.useVFS ? 2 : 0)
+                + (RuntimeSettings.mockJVMNonDeterminism ? 1 : 0);
+    }
+
+    /**
+     * Check whether the verdict for the given permission only depends on the
+     * permission itself, so that it can be reused for equal permissions.
+     * Not cacheable are the permissions whose verdict depends on the stack
+     * (eg, AWT or coverage tools), on whether a test case is executing, on
+     * the VFS, or that have side effects (property permissions keep track of the
+     * properties to restore). Socket permissions and permissions unknown to
+     * the sandbox are not cached either, as their {@code equals} might resolve
+     * host names or be arbitrary
+     *
+     * @param perm
+     * @return
+     */
+    private static boolean isVerdictCacheable(Permission perm) {
+        if (perm instanceof FilePermission) {
+            return "read".equals(perm.getActions());
+        }
+        if (perm instanceof RuntimePermission) {
+            return !perm.getName().trim().equals("shutdownHooks");
+        }
+        return perm instanceof AllPermission || perm instanceof SecurityPermission
+                || perm instanceof LoggingPermission || perm instanceof ReflectPermission
+                || perm instanceof AWTPermission || perm instanceof UnresolvedPermission
+                || perm instanceof SerializablePermission || perm instanceof AudioPermission
+                || perm instanceof DelegationPermission || perm instanceof ServicePermission
+                || perm instanceof SQLPermission || perm instanceof SSLPermission
+                || perm instanceof PrivateCredentialPermission || perm instanceof WebServicePermission
+                || perm instanceof SubjectDelegationPermission || perm instanceof ManagementPermission
+                || perm instanceof MBeanPermission || perm instanceof MBeanServerPermission
+                || perm instanceof MBeanTrustPermission || perm instanceof NetPermission
+                || perm instanceof AuthPermission;
+    }
+
     /**
      * Method for checking if requested access, specified by the given
      * permission, is permitted.
@@ -551,6 +657,42 @@ public class MSecurityManager extends SecurityManager {
         // TODO: This makes JVM8 on MacOS crash
         //PermissionStatistics.getInstance().countThreads(Thread.currentThread().getThreadGroup().activeCount());
 
+        /*
+         * The SUT usually asks for the same permissions over and over again (eg, during reflection),
+         * so verdicts that only depend on the permission are memoized
+         */
+        if (!isVerdictCacheable(perm)) {
+            return checkSandboxedPermission(perm);
+        }
+
+        int settings = getSettingsStamp();
+        if (settings != verdictCacheSettings) {
+            verdictCache.clear();
+            verdictCacheSettings = settings;
+        }
+        Boolean cached = verdictCache.get(perm);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean verdict = checkSandboxedPermission(perm);
+        if (settings == verdictCacheSettings) {
+            if (verdictCache.size() >= MAX_CACHED_VERDICTS) {
+                verdictCache.clear();
+            }
+            verdictCache.put(perm, verdict);
+        }
+        return verdict;
+    }
+
+    /**
+     * Method for checking if the requested access is permitted for code running inside the sandbox
+     *
+     * @param perm permission for which the security manager is asked
+     * @return false if access is forbidden, true otherwise
+     */
+    private boolean checkSandboxedPermission(Permission perm) {
+
         if (perm instanceof FilePermission) {
             return checkFilePermission((FilePermission) perm);
         }
@@ -710,18 +852,8 @@ public class MSecurityManager extends SecurityManager {
             return false;
         }
 
-        final String pattern = "sun.rmi.";
-        boolean foundRMI = false;
-
         //first check if there is any reference to RMI in the stack trace
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
-            if (element.toString().startsWith(pattern)) {
-                foundRMI = true;
-                break;
-            }
-        }
-
-        if (!foundRMI) {
+        if (!isOnStack("sun.rmi.")) {
             //found no reference to RMI
             return false;
         }
@@ -1207,15 +1339,7 @@ public class MSecurityManager extends SecurityManager {
     private boolean isFileHandlerCall(FilePermission fp) {
         if (fp.getName().contains(FILE_HANDLER_NAME_PATTERN))
             return true;
-        if (fp.getActions().equals("write")) {
-            for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                if (e.getClassName().equals(FileHandler.class.getName()) && e.getMethodName().equals("isParentWritable")) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return fp.getActions().equals("write") && isOnStack(FileHandler.class.getName(), "isParentWritable");
     }
 
     protected boolean checkFilePermission(FilePermission fp) {
@@ -1294,10 +1418,8 @@ public class MSecurityManager extends SecurityManager {
                  * This is not 100% secure, but Jacoco support
                  * is important
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("org.jacoco.")) {
-                        return true;
-                    }
+                if (isOnStack("org.jacoco.")) {
+                    return true;
                 }
             } else if (fp.getName().contains("gzoltar") || fp.getName().equals(System.getProperty("user.dir"))) {
                 // By default, GZoltar writes the gzoltar.ser file that holds the coverage
@@ -1305,20 +1427,16 @@ public class MSecurityManager extends SecurityManager {
                 // As user.dir might not exist, EvoSuite must grant access write access to
                 // GZoltar.
                 // Note: The following is not 100% secure, but GZoltar support is important.
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.gzoltar.")) {
-                        return true;
-                    }
+                if (isOnStack("com.gzoltar.")) {
+                    return true;
                 }
             } else if (fp.getName().contains("clover")) {
                 /*
                  * To make sure this is really clover trying to write a report
                  * we also check that this is invoked by clover
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.atlassian.clover.")) {
-                        return true;
-                    }
+                if (isOnStack("com.atlassian.clover.")) {
+                    return true;
                 }
             }
         } else if (action.equals("delete")) {
@@ -1327,10 +1445,8 @@ public class MSecurityManager extends SecurityManager {
                  * To make sure this is really clover trying to write a report
                  * we also check that this is invoked by clover
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.atlassian.clover.")) {
-                        return true;
-                    }
+                if (isOnStack("com.atlassian.clover.")) {
+                    return true;
                 }
             }
         }
@@ -19,8 +19,10 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.evosuite.runtime.RuntimeSettings;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 
 /**
  * Representation of a virtual file
@@ -29,46 +31,66 @@ import java.util.List;
  */
 public class VFile extends FSObject {
 
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Some VMs reserve header words in an array
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private static final byte[] ZEROS = new byte[4096];
+
     /**
-     * the actual data contained in file as a list of bytes
+     * the actual data contained in file, in the first {@code size} bytes of the buffer.
+     * Allocated at the first write, and grown by doubling its capacity
      */
-    private final List<Byte> data;
+    private ByteBuffer data;
+
+    /**
+     * number of bytes in the file
+     */
+    private int size;
 
     public VFile(String path, VFolder parent) {
         super(path, parent);
-
-        //TODO might need a better type of data structure supporting multi-threading
-        data = new ArrayList<>(1024);
+        data = null;
+        size = 0;
     }
 
-    public void eraseData() {
-        data.clear();
+    public synchronized void eraseData() {
+        data = null;
+        size = 0;
     }
 
     public synchronized int getDataSize() {
-        return data.size();
+        return size;
     }
 
 
-    public synchronized void setLength(int newLength) {
-
-        /*
-         * Note: this implementation is not particularly efficient...
-         * but setLength is rarely called
-         */
-
-        while (newLength > data.size()) {
-            data.add((byte) 0);
+    /**
+     * Truncate or extend the file with zeros to {@code newLength} bytes
+     *
+     * @return false if the file was not changed, as it would exceed {@link RuntimeSettings#maxVirtualFileSize}
+     */
+    public synchronized boolean setLength(int newLength) {
+        if (newLength < 0) {
+            throw new IllegalArgumentException("Length of the file cannot be negative");
         }
 
         if (newLength == 0) {
-            data.clear();
-            return;
+            eraseData();
+            return true;
         }
 
-        while (data.size() > newLength) {
-            data.remove(data.size() - 1);
+        if (newLength > size) {
+            if (newLength > writableBytes(0)) {
+                return false;
+            }
+            ensureCapacity(newLength);
+            fillWithZeros(size, newLength);
         }
+        size = newLength;
+        return true;
     }
 
     /**
@@ -80,18 +102,71 @@ public class VFile extends FSObject {
             throw new IllegalArgumentException("Position in the file cannot be negative");
         }
 
-        if (position >= data.size()) {
+        if (position >= size) {
             return -1; //this represent the end of the stream
         }
 
         return data.get(position) & 0xFF;
     }
 
+    /**
+     * Read up to {@code len} bytes starting from {@code position} into {@code b}
+     *
+     * @return the number of bytes read, or -1 if {@code position} is at the end of the file
+     */
+    public synchronized int read(int position, byte[] b, int off, int len) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1; //this represent the end of the stream
+        }
+
+        int n = Math.min(len, size - position);
+        view(position, n).get(b, off, n);
+        return n;
+    }
+
+    /**
+     * Read as many bytes as {@code dst} has remaining, starting from {@code position}
+     *
+     * @return the number of bytes read, or -1 if {@code position} is at the end of the file
+     */
+    public synchronized int read(int position, ByteBuffer dst) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1; //this represent the end of the stream
+        }
+
+        int n = Math.min(dst.remaining(), size - position);
+        dst.put(view(position, n));
+        return n;
+    }
+
     public synchronized int writeBytes(byte[] b, int off, int len) {
-        return writeBytes(data.size(), b, off, len);
+        return writeBytes(size, b, off, len);
     }
 
 
+    /**
+     * Write {@code len} bytes of {@code b} starting from {@code position}.
+     * Fewer bytes are written if the file would exceed {@link RuntimeSettings#maxVirtualFileSize}
+     *
+     * @return the number of bytes written
+     */
     public synchronized int writeBytes(int position, byte[] b, int off, int len) throws IllegalArgumentException {
 
         if (position < 0) {
@@ -102,24 +177,48 @@ public class VFile extends FSObject {
             return 0;
         }
 
-        if (position >= data.size()) {
-            setLength(position);
+        int n = Math.min(Math.max(0, b.length - off), len);
+        n = Math.min(n, writableBytes(position));
+        if (n <= 0) {
+            return 0;
         }
 
-        int written = 0;
-        for (int i = off; i < b.length & (i - off) < len; i++) {
-            if (position < data.size()) {
-                data.set(position, (b[i]));
-            } else {
-                data.add(b[i]);
-            }
-            position++;
-            written++;
+        prepareWrite(position, n);
+        view(position, n).put(b, off, n);
+        setLastModified(getCurrentTimeMillis());
+
+        return n;
+    }
+
+    /**
+     * Write the remaining bytes of {@code src} starting from {@code position}.
+     * Fewer bytes are written if the file would exceed {@link RuntimeSettings#maxVirtualFileSize}
+     *
+     * @return the number of bytes written
+     */
+    public synchronized int writeBytes(int position, ByteBuffer src) throws IllegalArgumentException {
+
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+
+        if (deleted || !isWritePermission()) {
+            return 0;
         }
 
+        int n = Math.min(src.remaining(), writableBytes(position));
+        if (n <= 0) {
+            return 0;
+        }
+
+        prepareWrite(position, n);
+        ByteBuffer chunk = src.duplicate();
+        ((Buffer) chunk).limit(chunk.position() + n);
+        view(position, n).put(chunk);
+        ((Buffer) src).position(src.position() + n);
         setLastModified(getCurrentTimeMillis());
 
-        return written;
+        return n;
     }
 
 
@@ -128,4 +227,59 @@ public class VFile extends FSObject {
         eraseData();
         return super.delete();
     }
+
+    private int writableBytes(int position) {
+        long max = Math.min(RuntimeSettings.maxVirtualFileSize, MAX_CAPACITY);
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, max - position));
+    }
+
+    /*
+     * Make room for n bytes at position, filling any gap after the current end of file with zeros
+     */
+    private void prepareWrite(int position, int n) {
+        ensureCapacity(position + n);
+        if (position > size) {
+            fillWithZeros(size, position);
+        }
+        size = Math.max(size, position + n);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int capacity = data == null ? 0 : data.capacity();
+        if (minCapacity <= capacity) {
+            return;
+        }
+
+        long newCapacity = Math.max(Math.max(capacity * 2L, INITIAL_CAPACITY), minCapacity);
+        ByteBuffer larger = allocate((int) Math.min(newCapacity, MAX_CAPACITY));
+        if (data != null && size > 0) {
+            larger.put(view(0, size));
+            ((Buffer) larger).clear();
+        }
+        data = larger;
+    }
+
+    private void fillWithZeros(int from, int to) {
+        ByteBuffer gap = view(from, to - from);
+        while (gap.hasRemaining()) {
+            gap.put(ZEROS, 0, Math.min(ZEROS.length, gap.remaining()));
+        }
+    }
+
+    /**
+     * @return a buffer sharing the content of the file in [position, position + length)
+     */
+    private ByteBuffer view(int position, int length) {
+        ByteBuffer view = data.duplicate();
+        ((Buffer) view).limit(position + length);
+        ((Buffer) view).position(position);
+        return view;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        if (RuntimeSettings.useDirectVirtualFileBuffers) {
+            return ByteBuffer.allocateDirect(capacity);
+        }
+        return ByteBuffer.allocate(capacity);
+    }
 }
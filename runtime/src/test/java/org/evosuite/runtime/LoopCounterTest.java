@@ -66,6 +66,29 @@ public class LoopCounterTest {
         }
     }
 
+    @Test
+    public void testWorkerInstance() throws InterruptedException {
+        LoopCounter singleton = LoopCounter.getInstance();
+        LoopCounter worker = LoopCounter.newWorkerInstance();
+        int index = singleton.getNewIndex();
+
+        LoopCounter.bindToCurrentThread(worker);
+        try {
+            Assert.assertSame(worker, LoopCounter.getInstance());
+            // indices are shared, as they are assigned during instrumentation
+            Assert.assertEquals(index + 1, LoopCounter.getInstance().getNewIndex());
+
+            LoopCounter[] seenByChild = new LoopCounter[1];
+            Thread child = new Thread(() -> seenByChild[0] = LoopCounter.getInstance());
+            child.start();
+            child.join();
+            Assert.assertSame(worker, seenByChild[0]);
+        } finally {
+            LoopCounter.unbindFromCurrentThread();
+        }
+        Assert.assertSame(singleton, LoopCounter.getInstance());
+    }
+
     @Test
     public void testNoNewIndex() {
         LoopCounter.getInstance().checkLoop(0);
@@ -334,5 +334,23 @@ public class MSecurityManagerTest {
         future.get((long) Math.pow(1000, 1000), TimeUnit.MILLISECONDS);
     }
 
-
+    @Test
+    public void testRepeatedChecksGetSameVerdict() throws InterruptedException, ExecutionException, TimeoutException {
+        Future<?> future = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                // verdicts of these permissions are cached after the first check
+                for (int i = 0; i < 3; i++) {
+                    securityManager.checkPermission(new java.lang.reflect.ReflectPermission("suppressAccessChecks"));
+                    try {
+                        securityManager.checkPermission(new RuntimePermission("queuePrintJob"));
+                        Assert.fail();
+                    } catch (SecurityException e) {
+                        //expected
+                    }
+                }
+            }
+        });
+        future.get(1000, TimeUnit.MILLISECONDS);
+    }
 }
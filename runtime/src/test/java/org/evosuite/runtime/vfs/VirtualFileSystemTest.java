@@ -19,10 +19,12 @@
  */
 package org.evosuite.runtime.vfs;
 
+import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.mock.java.io.MockFile;
 import org.evosuite.runtime.mock.java.io.MockFileInputStream;
 import org.evosuite.runtime.mock.java.io.MockFileOutputStream;
+import org.evosuite.runtime.mock.java.io.MockRandomAccessFile;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -252,4 +254,61 @@ public class VirtualFileSystemTest {
         Assert.assertFalse(folder.exists());
     }
 
+    @Test
+    public void testBulkReadWrite() throws IOException {
+        File file = new MockFile("bulk");
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        MockFileOutputStream out = new MockFileOutputStream(file);
+        out.write(data, 0, 6_000);
+        out.write(data, 6_000, 4_000);
+        out.close();
+        Assert.assertEquals(data.length, file.length());
+
+        MockFileInputStream in = new MockFileInputStream(file);
+        byte[] buffer = new byte[data.length + 10];
+        Assert.assertEquals(data.length, in.read(buffer));
+        Assert.assertEquals(-1, in.read(buffer));
+        in.close();
+        Assert.assertArrayEquals(data, Arrays.copyOf(buffer, data.length));
+    }
+
+    @Test
+    public void testMaxFileSize() throws IOException {
+        int previous = RuntimeSettings.maxVirtualFileSize;
+        RuntimeSettings.maxVirtualFileSize = 4;
+        try {
+            MockFileOutputStream out = new MockFileOutputStream(new MockFile("capped"));
+            out.write(new byte[]{1, 2, 3});
+            try {
+                out.write(new byte[]{4, 5});
+                Assert.fail();
+            } catch (IOException e) {
+                //expected, only one of the two bytes fits
+            }
+            out.close();
+            Assert.assertEquals(4, new MockFile("capped").length());
+
+            MockRandomAccessFile raf = new MockRandomAccessFile("capped", "rw");
+            try {
+                raf.setLength(5);
+                Assert.fail();
+            } catch (IOException e) {
+                //expected, no space left
+            }
+            raf.setLength(2);
+            raf.close();
+            Assert.assertEquals(2, new MockFile("capped").length());
+
+            VFile file = (VFile) VirtualFileSystem.getInstance().findFSObject(new MockFile("capped").getAbsolutePath());
+            Assert.assertFalse(file.setLength(5));
+            Assert.assertEquals(2, file.getDataSize());
+        } finally {
+            RuntimeSettings.maxVirtualFileSize = previous;
+        }
+    }
+
 }